@@ -7,6 +7,7 @@ import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
+import java.util.UUID;
 
 import javax.sql.DataSource;
 
@@ -43,6 +44,9 @@ import jakarta.servlet.ServletRegistration;
 import lu.itrust.business.ts.component.DataCleaner;
 import lu.itrust.business.ts.component.TrickLogManager;
 import lu.itrust.business.ts.database.service.ServiceStorage;
+import lu.itrust.business.ts.database.service.TaskRegistry;
+import lu.itrust.business.ts.database.service.impl.TaskRegistryJDBC;
+import lu.itrust.business.ts.database.service.impl.TaskRegistryMemory;
 import lu.itrust.business.ts.exception.TrickException;
 import lu.itrust.business.ts.helper.InstanceManager;
 import lu.itrust.business.ts.usermanagement.listner.helper.PasswordEncryptionHelper;
@@ -120,6 +124,24 @@ public class AppConfig {
 		return dataSource;
 	}
 
+	/**
+	 * Creates the registry of the background tasks: in memory by default, in the
+	 * database when several nodes share it
+	 * (app.settings.background.task.registry=jdbc).
+	 *
+	 * @param environment the environment object containing the registry settings
+	 * @param dataSource  the database of the shared registry
+	 * @return the task registry
+	 */
+	@Bean
+	public TaskRegistry taskRegistry(Environment environment, DataSource dataSource) {
+		if (!"jdbc".equalsIgnoreCase(environment.getProperty("app.settings.background.task.registry", "memory")))
+			return new TaskRegistryMemory();
+		return new TaskRegistryJDBC(dataSource, environment.getProperty("app.settings.node.name", UUID.randomUUID().toString()),
+				environment.getProperty("app.settings.background.task.registry.lease", Long.class, 30000L),
+				environment.getProperty("app.settings.background.task.registry.retention", Long.class, 86400000L));
+	}
+
 	/**
 	 * Creates and configures a MessageSource bean.
 	 * The MessageSource is responsible for resolving messages from different sources,
@@ -5,6 +5,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -38,12 +40,21 @@ public class SchedulerConfig {
     }
 
     /**
-     * Creates a ThreadPoolTaskExecutor for executing email tasks.
+     * Creates the executor of email tasks: a ThreadPoolTaskExecutor, or an
+     * executor starting a virtual thread by email when virtual threads are
+     * enabled (Java 21).
      *
-     * @return The configured ThreadPoolTaskExecutor instance.
+     * @param virtualThreads whether emails are sent on virtual threads
+     * @return The configured TaskExecutor instance.
      */
     @Bean
-    public ThreadPoolTaskExecutor emailTaskExecutor() {
+    public TaskExecutor emailTaskExecutor(@Value("${app.settings.email.virtual.threads:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            var emailTaskExecutor = new SimpleAsyncTaskExecutor("email-");
+            emailTaskExecutor.setVirtualThreads(true);
+            emailTaskExecutor.setConcurrencyLimit(10);
+            return emailTaskExecutor;
+        }
         var emailTaskExecutor = new ThreadPoolTaskExecutor();
         emailTaskExecutor.setCorePoolSize(5);
         emailTaskExecutor.setMaxPoolSize(10);
@@ -52,6 +63,25 @@ public class SchedulerConfig {
         return emailTaskExecutor;
     }
 
+    /**
+     * Creates the executor shared by action plan computations to compute their
+     * modes in parallel, the pool size bounds the number of modes computed at
+     * the same time by all computations.
+     *
+     * @param poolSize the size of the thread pool
+     * @return the ThreadPoolTaskExecutor bean
+     */
+    @Bean
+    public ThreadPoolTaskExecutor actionPlanExecutor(
+            @Value("${app.settings.action_plan.computation.pool.size:4}") int poolSize) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("action-plan-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
     /**
      * Creates a ThreadPoolTaskScheduler bean with the specified pool size.
      *
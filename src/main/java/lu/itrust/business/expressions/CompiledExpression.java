@@ -0,0 +1,556 @@
+package lu.itrust.business.expressions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lu.itrust.business.ts.constants.Constant;
+import lu.itrust.business.ts.model.parameter.helper.ValueFactory;
+import lu.itrust.business.ts.model.parameter.value.IValue;
+
+/**
+ * Immutable compiled form of an expression: the expression is parsed once into
+ * a tree of nodes, variables are resolved to slots and the involved variables
+ * are computed at compile time. Compiled expressions are shared through a
+ * bounded cache keyed by expression text and type.
+ * <p>
+ * The grammar is the one of {@link StringExpressionParser}. Evaluation works on
+ * primitive values; when a variable has no value (null), the compiled
+ * expression gives up and {@link StringExpressionParser} falls back to its
+ * interpreter, which owns the semantic of missing values.
+ *
+ * @author itrust consulting s.à r.l.
+ * @since Oct 17, 2026
+ */
+public final class CompiledExpression {
+
+	/** Maximum number of compiled expressions by type. */
+	public static final int CACHE_MAX_SIZE = 4096;
+
+	/** Compiled expressions by type and expression text. */
+	private static final Map<Integer, Map<String, CompiledExpression>> CACHE = new ConcurrentHashMap<>();
+
+	/** The expression text. */
+	private final String expression;
+
+	/** The expression type: IMPACT, PROBABILITY or IMPLEMENTATION. */
+	private final int type;
+
+	/** Root of the tree, null when the expression cannot be parsed. */
+	private final Node root;
+
+	/** Variables by slot, in order of occurrence. */
+	private final String[] variables;
+
+	/** Involved variables, null when the expression cannot be tokenized. */
+	private final Set<String> involvedVariables;
+
+	/** Error raised by the tokenizer, null when the expression can be tokenized. */
+	private final InvalidExpressionException error;
+
+	private CompiledExpression(String expression, int type) {
+		this.expression = expression;
+		this.type = type;
+		final Set<String> involvedVariables = new HashSet<>();
+		InvalidExpressionException error = null;
+		try {
+			final Tokenizer source = new StringTokenizer(expression);
+			Token<?> token;
+			do {
+				token = source.read();
+				if (token.getType().equals(TokenType.Variable))
+					involvedVariables.add((String) token.getParameter());
+			} while (!token.getType().equals(TokenType.End));
+		} catch (InvalidExpressionException e) {
+			error = e;
+		}
+		this.error = error;
+		this.involvedVariables = error == null ? Collections.unmodifiableSet(involvedVariables) : null;
+		final Map<String, Integer> slots = new LinkedHashMap<>();
+		Node root = null;
+		if (error == null) {
+			try {
+				final UndoableTokenizer source = new UndoableTokenizer(new StringTokenizer(expression));
+				root = new Compiler(source, slots, type).compileSum();
+				if (!source.read().getType().equals(TokenType.End))
+					root = null;
+			} catch (InvalidExpressionException e) {
+				root = null;
+			}
+		}
+		this.root = root;
+		this.variables = root == null ? new String[0] : slots.keySet().toArray(new String[slots.size()]);
+	}
+
+	/**
+	 * Returns the compiled expression from the cache, the expression is compiled
+	 * on first use.
+	 *
+	 * @param expression The expression text.
+	 * @param type       The expression type: IMPACT, PROBABILITY or
+	 *                   IMPLEMENTATION.
+	 * @return Returns the compiled expression, null if the expression is null.
+	 */
+	public static CompiledExpression compile(String expression, int type) {
+		if (expression == null)
+			return null;
+		final Map<String, CompiledExpression> expressions = CACHE.computeIfAbsent(type,
+				k -> new ConcurrentHashMap<>());
+		CompiledExpression compiled = expressions.get(expression);
+		if (compiled == null) {
+			// bounded: the cache is dropped when full, compilation is cheap.
+			if (expressions.size() >= CACHE_MAX_SIZE)
+				expressions.clear();
+			compiled = expressions.computeIfAbsent(expression, k -> new CompiledExpression(k, type));
+		}
+		return compiled;
+	}
+
+	/**
+	 * Removes all compiled expressions from the cache.
+	 */
+	public static void clearCache() {
+		CACHE.clear();
+	}
+
+	/**
+	 * @return Returns true if the expression has been parsed successfully.
+	 */
+	public boolean isCompiled() {
+		return root != null;
+	}
+
+	/**
+	 * @return Returns true if the expression has been tokenized successfully.
+	 */
+	public boolean isTokenized() {
+		return error == null;
+	}
+
+	/**
+	 * Returns the variables involved in the expression.
+	 *
+	 * @return Returns an unmodifiable set of variables.
+	 * @throws InvalidExpressionException Throws the tokenizer error if the
+	 *                                    expression cannot be tokenized.
+	 */
+	public Set<String> getInvolvedVariables() throws InvalidExpressionException {
+		if (error != null)
+			throw error;
+		return involvedVariables;
+	}
+
+	/**
+	 * Returns the variables of the expression by slot.
+	 *
+	 * @return Returns a copy of the variables array.
+	 */
+	public String[] getVariables() {
+		return variables.clone();
+	}
+
+	/**
+	 * Returns the slot of the given variable.
+	 *
+	 * @param variable The variable name.
+	 * @return Returns the slot, -1 if the variable is not involved.
+	 */
+	public int getSlot(String variable) {
+		for (int i = 0; i < variables.length; i++) {
+			if (variables[i].equals(variable))
+				return i;
+		}
+		return -1;
+	}
+
+	public String getExpression() {
+		return expression;
+	}
+
+	public int getType() {
+		return type;
+	}
+
+	/**
+	 * Evaluates the expression.
+	 *
+	 * @param values       A ValueFactory or a map which assigns a value to each
+	 *                     variable.
+	 * @param defaultValue The value of variables missing in the map.
+	 * @return Returns the result of the computation.
+	 * @throws InvalidExpressionException Throws an exception if the expression is
+	 *                                    invalid or on evaluation errors (unknown
+	 *                                    function, no argument).
+	 * @throws MissingValueException      Throws an exception when a variable has
+	 *                                    no value (null).
+	 * @throws IllegalStateException      Throws an exception if the expression
+	 *                                    has not been compiled.
+	 */
+	public double evaluate(Object values, Double defaultValue) throws InvalidExpressionException {
+		if (root == null)
+			throw new IllegalStateException("Expression has not been compiled: " + expression);
+		return root.evaluate(values, defaultValue, 0);
+	}
+
+	/**
+	 * Evaluates the expression for a batch of bindings.
+	 *
+	 * @param columns The values of the variables by slot, see
+	 *                {@link #bind(Map, int, Double)}.
+	 * @param size    The number of bindings.
+	 * @return Returns the result of the computation for each binding.
+	 * @throws InvalidExpressionException Throws an exception on evaluation errors
+	 *                                    (unknown function, no argument).
+	 * @throws IllegalStateException      Throws an exception if the expression
+	 *                                    has not been compiled.
+	 */
+	public double[] evaluate(double[][] columns, int size) throws InvalidExpressionException {
+		if (root == null)
+			throw new IllegalStateException("Expression has not been compiled: " + expression);
+		final double[] results = new double[size];
+		for (int i = 0; i < size; i++)
+			results[i] = root.evaluate(columns, null, i);
+		return results;
+	}
+
+	/**
+	 * Arranges the columns of the variables by slot.
+	 *
+	 * @param columns      The values by variable, one per binding.
+	 * @param size         The number of bindings.
+	 * @param defaultValue The value of variables without column.
+	 * @return Returns the columns by slot, null if a variable has no column and
+	 *         defaultValue is null.
+	 * @throws IllegalArgumentException Throws an exception if a column has less
+	 *                                  than size values.
+	 */
+	public double[][] bind(Map<String, double[]> columns, int size, Double defaultValue) {
+		final double[][] values = new double[variables.length][];
+		for (int i = 0; i < variables.length; i++) {
+			values[i] = columns.get(variables[i]);
+			if (values[i] == null) {
+				if (defaultValue == null)
+					return null;
+				values[i] = new double[size];
+				Arrays.fill(values[i], defaultValue);
+			} else if (values[i].length < size)
+				throw new IllegalArgumentException(
+						"The column of variable '" + variables[i] + "' has less than " + size + " values.");
+		}
+		return values;
+	}
+
+	/**
+	 * Thrown when a variable evaluates to null. Preallocated without stack trace:
+	 * it is a signal for the caller to fall back to the interpreter.
+	 */
+	public static final class MissingValueException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		private static final MissingValueException INSTANCE = new MissingValueException();
+
+		private MissingValueException() {
+			super("Missing value", null, false, false);
+		}
+	}
+
+	/**
+	 * A node of the expression tree.
+	 */
+	abstract static class Node {
+
+		/**
+		 * Evaluates the node.
+		 *
+		 * @param values       A ValueFactory, a map or columns of values by slot.
+		 * @param defaultValue The value of variables missing in the map.
+		 * @param index        The row to read when values are columns.
+		 * @return Returns the value of the node.
+		 * @throws InvalidExpressionException
+		 */
+		abstract double evaluate(Object values, Double defaultValue, int index) throws InvalidExpressionException;
+	}
+
+	private static final class NumberNode extends Node {
+
+		private final double value;
+
+		private NumberNode(double value) {
+			this.value = value;
+		}
+
+		@Override
+		double evaluate(Object values, Double defaultValue, int index) {
+			return value;
+		}
+	}
+
+	private static final class VariableNode extends Node {
+
+		private final String name;
+
+		private final int slot;
+
+		private final String parameterType;
+
+		private VariableNode(String name, int slot, int type) {
+			this.name = name;
+			this.slot = slot;
+			this.parameterType = type == StringExpressionParser.PROBABILITY ? Constant.PARAMETER_TYPE_PROPABILITY_NAME
+					: type == StringExpressionParser.IMPACT ? Constant.PARAMETER_TYPE_IMPACT_NAME : null;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		double evaluate(Object values, Double defaultValue, int index) {
+			final Double value;
+			if (values instanceof double[][])
+				return ((double[][]) values)[slot][index];
+			else if (values instanceof ValueFactory) {
+				final ValueFactory factory = (ValueFactory) values;
+				final IValue result = parameterType == null ? null : factory.findValue(name, parameterType, false);
+				if (result == null)
+					return factory.findDyn(name);
+				value = result.getReal();
+			} else if (values instanceof Map && ((Map<String, Double>) values).containsKey(name))
+				value = ((Map<String, Double>) values).get(name);
+			else
+				value = defaultValue;
+			if (value == null)
+				throw MissingValueException.INSTANCE;
+			return value;
+		}
+	}
+
+	private static final class NegateNode extends Node {
+
+		private final Node operand;
+
+		private NegateNode(Node operand) {
+			this.operand = operand;
+		}
+
+		@Override
+		double evaluate(Object values, Double defaultValue, int index) throws InvalidExpressionException {
+			return -operand.evaluate(values, defaultValue, index);
+		}
+	}
+
+	private static final class SumNode extends Node {
+
+		private final Node[] terms;
+
+		/** true: subtract the term, false: add it, the first one is always added. */
+		private final boolean[] minus;
+
+		private SumNode(Node[] terms, boolean[] minus) {
+			this.terms = terms;
+			this.minus = minus;
+		}
+
+		@Override
+		double evaluate(Object values, Double defaultValue, int index) throws InvalidExpressionException {
+			double value = terms[0].evaluate(values, defaultValue, index);
+			for (int i = 1; i < terms.length; i++) {
+				if (minus[i])
+					value = value - terms[i].evaluate(values, defaultValue, index);
+				else
+					value = terms[i].evaluate(values, defaultValue, index) + value;
+			}
+			return value;
+		}
+	}
+
+	private static final class ProductNode extends Node {
+
+		private final Node[] factors;
+
+		/** true: divide by the factor, false: multiply by it. */
+		private final boolean[] divide;
+
+		private ProductNode(Node[] factors, boolean[] divide) {
+			this.factors = factors;
+			this.divide = divide;
+		}
+
+		@Override
+		double evaluate(Object values, Double defaultValue, int index) throws InvalidExpressionException {
+			double value = factors[0].evaluate(values, defaultValue, index);
+			for (int i = 1; i < factors.length; i++) {
+				if (divide[i])
+					value /= factors[i].evaluate(values, defaultValue, index);
+				else
+					value *= factors[i].evaluate(values, defaultValue, index);
+			}
+			return value;
+		}
+	}
+
+	private static final class FunctionNode extends Node {
+
+		private final String name;
+
+		private final Node[] arguments;
+
+		private FunctionNode(String name, Node[] arguments) {
+			this.name = name.toUpperCase();
+			this.arguments = arguments;
+		}
+
+		@Override
+		double evaluate(Object values, Double defaultValue, int index) throws InvalidExpressionException {
+			switch (name) {
+				case "MIN": {
+					if (arguments.length == 0)
+						throw new InvalidExpressionException("Function MIN() expects at least one argument.");
+					double value = arguments[0].evaluate(values, defaultValue, index);
+					for (int i = 1; i < arguments.length; i++)
+						value = Math.min(value, arguments[i].evaluate(values, defaultValue, index));
+					return value;
+				}
+				case "MAX": {
+					if (arguments.length == 0)
+						throw new InvalidExpressionException("Function MAX() expects at least one argument.");
+					double value = Double.NEGATIVE_INFINITY;
+					for (Node argument : arguments) {
+						final double aux = argument.evaluate(values, defaultValue, index);
+						if (aux > value)
+							value = aux;
+					}
+					return value;
+				}
+				default:
+					for (Node argument : arguments)
+						argument.evaluate(values, defaultValue, index);
+					throw new InvalidExpressionException("Unknown function " + name + "().");
+			}
+		}
+	}
+
+	/**
+	 * Recursive descent parser building the tree, it follows the interpreter of
+	 * {@link StringExpressionParser} step by step.
+	 */
+	private static final class Compiler {
+
+		private final UndoableTokenizer source;
+
+		private final Map<String, Integer> slots;
+
+		private final int type;
+
+		private Compiler(UndoableTokenizer source, Map<String, Integer> slots, int type) {
+			this.source = source;
+			this.slots = slots;
+			this.type = type;
+		}
+
+		private Node compileSum() throws InvalidExpressionException {
+			final List<Node> terms = new ArrayList<>();
+			final List<Boolean> minus = new ArrayList<>();
+			terms.add(compileProduct());
+			minus.add(false);
+			while (true) {
+				final Token<?> token = source.read();
+				if (token.getType().equals(TokenType.PlusOperator) || token.getType().equals(TokenType.MinusOperator)) {
+					terms.add(compileProduct());
+					minus.add(token.getType().equals(TokenType.MinusOperator));
+				} else {
+					source.putBack(token);
+					break;
+				}
+			}
+			if (terms.size() == 1)
+				return terms.get(0);
+			return new SumNode(terms.toArray(new Node[terms.size()]), toArray(minus));
+		}
+
+		private Node compileProduct() throws InvalidExpressionException {
+			final List<Node> factors = new ArrayList<>();
+			final List<Boolean> divide = new ArrayList<>();
+			factors.add(compileParentheses());
+			divide.add(false);
+			while (true) {
+				final Token<?> token = source.read();
+				if (token.getType().equals(TokenType.TimesOperator)
+						|| token.getType().equals(TokenType.DivideOperator)) {
+					factors.add(compileParentheses());
+					divide.add(token.getType().equals(TokenType.DivideOperator));
+				} else {
+					source.putBack(token);
+					break;
+				}
+			}
+			if (factors.size() == 1)
+				return factors.get(0);
+			return new ProductNode(factors.toArray(new Node[factors.size()]), toArray(divide));
+		}
+
+		private Node compileParentheses() throws InvalidExpressionException {
+			Token<?> token;
+			if ((token = source.read()).getType().equals(TokenType.LeftBracket)) {
+				final Node node = compileSum();
+				if (!(token = source.read()).getType().equals(TokenType.RightBracket))
+					throw new InvalidExpressionException("Expected ')', got token of type '" + token.getType() + "'.");
+				return node;
+			}
+			source.putBack(token);
+			return compileLiteral();
+		}
+
+		private Node compileLiteral() throws InvalidExpressionException {
+			final Token<?> token = source.read();
+			if (token.getType().equals(TokenType.Number))
+				return new NumberNode((Double) token.getParameter());
+			else if (token.getType().equals(TokenType.Variable)) {
+				final Token<?> nextToken = source.read();
+				source.putBack(nextToken);
+				final String name = (String) token.getParameter();
+				if (nextToken.getType().equals(TokenType.LeftBracket))
+					return compileFunction(name);
+				return new VariableNode(name, slots.computeIfAbsent(name, k -> slots.size()), type);
+			} else if (token.getType().equals(TokenType.PlusOperator))
+				return compileParentheses();
+			else if (token.getType().equals(TokenType.MinusOperator))
+				return new NegateNode(compileParentheses());
+			throw new InvalidExpressionException(
+					"Expected number or variable, got token of type '" + token.getType() + "'.");
+		}
+
+		private Node compileFunction(String name) throws InvalidExpressionException {
+			if (!source.read().getType().equals(TokenType.LeftBracket))
+				throw new InvalidExpressionException("Expected opening bracket '('.");
+			final List<Node> arguments = new ArrayList<>();
+			final Token<?> nextToken = source.read();
+			if (!nextToken.getType().equals(TokenType.RightBracket)) {
+				source.putBack(nextToken);
+				while (true) {
+					arguments.add(compileSum());
+					final Token<?> token = source.read();
+					if (token.getType().equals(TokenType.RightBracket))
+						break;
+					else if (!token.getType().equals(TokenType.Comma))
+						throw new InvalidExpressionException(
+								"Expected comma or closing bracket, got token of type '" + token.getType() + "'.");
+				}
+			}
+			return new FunctionNode(name, arguments.toArray(new Node[arguments.size()]));
+		}
+
+		private static boolean[] toArray(Collection<Boolean> values) {
+			final boolean[] result = new boolean[values.size()];
+			int index = 0;
+			for (Boolean value : values)
+				result[index++] = value;
+			return result;
+		}
+	}
+}
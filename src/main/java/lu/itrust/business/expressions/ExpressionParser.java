@@ -1,6 +1,7 @@
 package lu.itrust.business.expressions;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 
 import lu.itrust.business.ts.model.parameter.helper.ValueFactory;
@@ -69,6 +70,35 @@ public interface ExpressionParser {
 	 */
 	public Double evaluate(Map<String, Double> variableValueMap, Double defaultValue) throws InvalidExpressionException, IllegalArgumentException;
 
+	/**
+	 * Evaluates the expression for a batch of variable bindings, the expression is
+	 * evaluated once per binding.
+	 * 
+	 * @param columns      A map which assigns to each variable its values, one per
+	 *                     binding: the column of a variable holds at least size
+	 *                     values.
+	 * @param size         The number of bindings.
+	 * @param defaultValue The default value to use for variables without column.
+	 * @return Returns the result of the computation for each binding, NaN if the
+	 *         result is undefined.
+	 * @throws InvalidExpressionException Throws an exception if the expression is invalid.
+	 * @throws IllegalArgumentException Throws an exception if a column has less than size values.
+	 */
+	default double[] evaluate(Map<String, double[]> columns, int size, Double defaultValue) throws InvalidExpressionException, IllegalArgumentException {
+		final double[] results = new double[size];
+		final Map<String, Double> variableValueMap = new HashMap<>(columns.size());
+		for (int i = 0; i < size; i++) {
+			for (Map.Entry<String, double[]> column : columns.entrySet()) {
+				if (column.getValue().length < size)
+					throw new IllegalArgumentException("The column of variable '" + column.getKey() + "' has less than " + size + " values.");
+				variableValueMap.put(column.getKey(), column.getValue()[i]);
+			}
+			final Double value = evaluate(variableValueMap, defaultValue);
+			results[i] = value == null ? Double.NaN : value;
+		}
+		return results;
+	}
+
 	/**
 	 * Checks the given expression for syntax errors.
 	 * 
@@ -45,6 +45,10 @@ public class StringExpressionParser implements ExpressionParser {
 	/** {@inheritDoc} */
 	@Override
 	public Collection<String> getInvolvedVariables() throws InvalidExpressionException {
+		final CompiledExpression compiled = CompiledExpression.compile(this.expression, this.type);
+		if (compiled != null && compiled.isTokenized())
+			return compiled.getInvolvedVariables();
+
 		Set<String> involvedVariables = new HashSet<>();
 
 		// Tokenize the expression and process each token
@@ -68,6 +72,14 @@ public class StringExpressionParser implements ExpressionParser {
 	/** {@inheritDoc} */
 	@Override
 	public Double evaluate(ValueFactory factory, Double defaultValue) throws InvalidExpressionException {
+		final CompiledExpression compiled = CompiledExpression.compile(this.expression, this.type);
+		if (compiled != null && compiled.isCompiled()) {
+			try {
+				return compiled.evaluate(factory, defaultValue);
+			} catch (CompiledExpression.MissingValueException e) {
+				// a variable has no value, the interpreter handles it.
+			}
+		}
 		// Tokenize the expression and process each token
 		UndoableTokenizer source = new UndoableTokenizer(new StringTokenizer(this.expression));
 		// Start from the top-layer
@@ -80,6 +92,14 @@ public class StringExpressionParser implements ExpressionParser {
 
 	@Override
 	public Double evaluate(Map<String, Double> variableValueMap, Double defaultValue) throws InvalidExpressionException, IllegalArgumentException {
+		final CompiledExpression compiled = CompiledExpression.compile(this.expression, this.type);
+		if (compiled != null && compiled.isCompiled()) {
+			try {
+				return compiled.evaluate(variableValueMap, defaultValue);
+			} catch (CompiledExpression.MissingValueException e) {
+				// a variable has no value, the interpreter handles it.
+			}
+		}
 		// Tokenize the expression and process each token
 		UndoableTokenizer source = new UndoableTokenizer(new StringTokenizer(this.expression));
 		// Start from the top-layer
@@ -90,6 +110,19 @@ public class StringExpressionParser implements ExpressionParser {
 		return value;
 	}
 
+	/** {@inheritDoc} */
+	@Override
+	public double[] evaluate(Map<String, double[]> columns, int size, Double defaultValue) throws InvalidExpressionException, IllegalArgumentException {
+		final CompiledExpression compiled = CompiledExpression.compile(this.expression, this.type);
+		if (compiled != null && compiled.isCompiled()) {
+			final double[][] values = compiled.bind(columns, size, defaultValue);
+			if (values != null)
+				return compiled.evaluate(values, size);
+		}
+		// a variable has no value, each binding is evaluated by the interpreter.
+		return ExpressionParser.super.evaluate(columns, size, defaultValue);
+	}
+
 	/**
 	 * Evaluates a function which is expected at the current position in the
 	 * expression.
@@ -2,14 +2,27 @@ package lu.itrust.business.ts.asynchronousWorkers;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.sql.Timestamp;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
 
 import lu.itrust.business.ts.asynchronousWorkers.helper.AsyncCallback;
+import lu.itrust.business.ts.asynchronousWorkers.helper.TaskCost;
 import lu.itrust.business.ts.component.TrickLogManager;
+import lu.itrust.business.ts.component.WorkerScheduler;
 import lu.itrust.business.ts.database.DatabaseHandler;
 import lu.itrust.business.ts.database.dao.hbm.DAOCustomerHBM;
 import lu.itrust.business.ts.database.dao.hbm.DAOUserHBM;
@@ -47,6 +60,12 @@ public class WorkerAnalysisImport extends WorkerImpl {
 
 	private MessageHandler messageHandler;
 
+	/** Max number of files imported at once, 1: one after the other */
+	private int maxThreadSize = 1;
+
+	/** Runs the files imported at once, null: one after the other */
+	private WorkerScheduler workerScheduler;
+
 	/**
 	 * Constructs a new WorkerAnalysisImport object.
 	 *
@@ -56,6 +75,7 @@ public class WorkerAnalysisImport extends WorkerImpl {
 	 * @throws IOException if an I/O error occurs
 	 */
 	public WorkerAnalysisImport(List<String> filenames, int customerId, String userName) throws IOException {
+		setName(TaskName.IMPORT_ANALYSIS);
 		setUsername(userName);
 		setCustomerId(customerId);
 		setFileNames(filenames);
@@ -63,6 +83,7 @@ public class WorkerAnalysisImport extends WorkerImpl {
 	}
 
 	public WorkerAnalysisImport(String filename, int customerId, String userName) throws IOException {
+		setName(TaskName.IMPORT_ANALYSIS);
 		setUsername(userName);
 		setCustomerId(customerId);
 		setFileNames(new LinkedList<>());
@@ -175,6 +196,8 @@ public class WorkerAnalysisImport extends WorkerImpl {
 		getMessageHandler().setAsyncCallbacks(getAsyncCallback());
 		InstanceManager.getServiceTaskFeedback().send(getId(), getMessageHandler());
 		Analysis analysis = importAnalysis.getAnalysis();
+		if (analysis == null || analysis.getIdentifier() == null)
+			return;
 		String username = InstanceManager.getServiceTaskFeedback().findUsernameById(this.getId());
 		/**
 		 * Log
@@ -211,9 +234,13 @@ public class WorkerAnalysisImport extends WorkerImpl {
 			Customer customer = new DAOCustomerHBM(session).get(customerId);
 			if (customer == null)
 				throw new TrickException("error.customer.not_exist", "Customer does not exist");
-			int index = 1;
-			for (String fileName : fileNames)
-				process(index++, fileName, session, user, customer);
+			if (workerScheduler != null && maxThreadSize > 1 && fileNames.size() > 1)
+				processAll();
+			else {
+				int index = 1;
+				for (String fileName : fileNames)
+					process(index++, fileName, session, user, customer);
+			}
 
 		} catch (TrickException e) {
 			try {
@@ -286,6 +313,128 @@ public class WorkerAnalysisImport extends WorkerImpl {
 		}
 	}
 
+	/**
+	 * Imports all files with up to maxThreadSize threads, each file with its own
+	 * session and {@link ImportAnalysis}.<br>
+	 * The other threads are parts of this worker queued by the
+	 * {@link WorkerScheduler}, in the cost class of the import, they import the
+	 * files with this thread: the files left are never waiting for a part which
+	 * has not started.<br>
+	 * Only the creation of the analysis versions is serialised by analysis
+	 * identifier (see {@link ImportAnalysis#setImportingVersions(Map)}). A file
+	 * which fails on a constraint violation, e.g. two files creating the same
+	 * measures collection at once, is imported again once the other files are
+	 * done. Progress and failures are reported for each file.
+	 *
+	 * @throws Exception if the import is interrupted
+	 */
+	protected void processAll() throws Exception {
+		final Map<String, Set<String>> identifiers = new ConcurrentHashMap<>();
+		final List<String> retries = Collections.synchronizedList(new LinkedList<>());
+		final AtomicInteger done = new AtomicInteger(), failures = new AtomicInteger();
+		final Queue<String> pendings = new ConcurrentLinkedQueue<>(fileNames);
+		final CountDownLatch processed = new CountDownLatch(fileNames.size());
+		final Runnable importer = () -> {
+			for (String fileName = pendings.poll(); fileName != null; fileName = pendings.poll()) {
+				try {
+					processFile(fileName, identifiers, retries, done, failures);
+				} finally {
+					processed.countDown();
+				}
+			}
+		};
+		final List<Future<?>> futures = new LinkedList<>();
+		try {
+			for (int i = Math.min(maxThreadSize, fileNames.size()) - 1; i > 0; i--)
+				futures.add(workerScheduler.submit(TaskCost.of(getName()), username, importer));
+			importer.run();
+			processed.await();
+		} finally {
+			futures.forEach(future -> future.cancel(false));
+		}
+		for (String fileName : retries)
+			processFile(fileName, identifiers, null, done, failures);
+		if (failures.get() == 0)
+			OnSuccess();
+		else {
+			final TrickException exception = new TrickException("error.import.analysis.files", String.format("%d of %d files cannot be imported", failures.get(), fileNames.size()),
+					String.valueOf(failures.get()), String.valueOf(fileNames.size()));
+			setError(exception);
+			getServiceTaskFeedback().send(getId(), new MessageHandler(exception.getCode(), exception.getParameters(), exception.getMessage(), exception));
+		}
+	}
+
+	/**
+	 * Imports a file of {@link #processAll()}.
+	 *
+	 * @param fileName    the name of the file to be processed
+	 * @param identifiers versions being imported by analysis identifier
+	 * @param retries     files to import again, null: last attempt
+	 * @param done        number of imported files
+	 * @param failures    number of failed files
+	 */
+	private void processFile(String fileName, Map<String, Set<String>> identifiers, List<String> retries, AtomicInteger done, AtomicInteger failures) {
+		Session session = null;
+		boolean retry = false;
+		try (DatabaseHandler databaseHandler = new DatabaseHandler(getServiceStorage().load(fileName).toString())) {
+			if (isCanceled())
+				return;
+			final ImportAnalysis importAnalysis = createImportAnalysis();
+			session = getSessionFactory().openSession();
+			importAnalysis.updateAnalysis(new DAOCustomerHBM(session).get(customerId), new DAOUserHBM(session).get(username));
+			importAnalysis.setIdTask(getId());
+			importAnalysis.setDatabaseHandler(databaseHandler);
+			importAnalysis.setImportingVersions(identifiers);
+			importAnalysis.ImportAnAnalysis(session);
+			final Analysis analysis = importAnalysis.getAnalysis();
+			getServiceTaskFeedback().send(getId(), new MessageHandler("info.import.analysis.file", new Object[] { analysis.getLabel(), analysis.getVersion() },
+					String.format("Analysis %s, version %s has been imported", analysis.getLabel(), analysis.getVersion()),
+					(int) (done.incrementAndGet() * 98.0 / fileNames.size()) + 1));
+			TrickLogManager.Persist(LogType.ANALYSIS, "log.analysis.import", String.format("Analyis: %s, version: %s", analysis.getIdentifier(), analysis.getVersion()), username,
+					LogAction.IMPORT, analysis.getIdentifier(), analysis.getVersion());
+		} catch (Exception e) {
+			retry = retries != null && isConstraintViolation(e);
+			if (retry)
+				retries.add(fileName);
+			else {
+				failures.incrementAndGet();
+				TrickLogManager.Persist(e);
+				getServiceTaskFeedback().send(getId(), new MessageHandler("error.import.analysis.file", new Object[] { fileNames.indexOf(fileName) + 1, e.getMessage() },
+						String.format("File %d cannot be imported: %s", fileNames.indexOf(fileName) + 1, e.getMessage()), e));
+			}
+		} finally {
+			try {
+				if (session != null && session.isOpen())
+					session.close();
+			} catch (Exception e) {
+				TrickLogManager.Persist(e);
+			}
+			if (canDeleteFile && !retry)
+				getServiceStorage().delete(fileName);
+		}
+	}
+
+	/**
+	 * Creates the {@link ImportAnalysis} of a file imported by
+	 * {@link #processAll()}, its progress is not sent.
+	 *
+	 * @return a new ImportAnalysis
+	 */
+	protected ImportAnalysis createImportAnalysis() {
+		return new ImportAnalysis() {
+			@Override
+			protected void notifyUpdate(MessageHandler handler, String code, String message, int progress) {
+			}
+		};
+	}
+
+	private static boolean isConstraintViolation(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause())
+			if (cause instanceof ConstraintViolationException || cause instanceof SQLIntegrityConstraintViolationException)
+				return true;
+		return false;
+	}
+
 	/**
 	 * Sets the worker state to started and performs necessary initialization tasks.
 	 * 
@@ -294,7 +443,6 @@ public class WorkerAnalysisImport extends WorkerImpl {
 	protected synchronized void OnStarted() throws Exception {
 		setWorking(true);
 		setStarted(new Timestamp(System.currentTimeMillis()));
-		setName(TaskName.IMPORT_ANALYSIS);
 		setCurrent(Thread.currentThread());
 	}
 
@@ -388,6 +536,36 @@ public class WorkerAnalysisImport extends WorkerImpl {
 		this.username = username;
 	}
 
+	/**
+	 * @return the max number of files imported at once
+	 */
+	public int getMaxThreadSize() {
+		return maxThreadSize;
+	}
+
+	/**
+	 * @param maxThreadSize the max number of files imported at once, 1: one
+	 *                      after the other
+	 */
+	public void setMaxThreadSize(int maxThreadSize) {
+		this.maxThreadSize = maxThreadSize;
+	}
+
+	/**
+	 * @return the scheduler of the files imported at once
+	 */
+	public WorkerScheduler getWorkerScheduler() {
+		return workerScheduler;
+	}
+
+	/**
+	 * @param workerScheduler the scheduler of the files imported at once, null:
+	 *                        one after the other
+	 */
+	public void setWorkerScheduler(WorkerScheduler workerScheduler) {
+		this.workerScheduler = workerScheduler;
+	}
+
 	/**
 	 * @return the fileNames
 	 */
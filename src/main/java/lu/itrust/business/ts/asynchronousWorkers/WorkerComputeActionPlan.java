@@ -7,6 +7,7 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -88,6 +89,12 @@ public class WorkerComputeActionPlan extends WorkerImpl {
 
 	private Boolean uncertainty = false;
 
+	private int maxThreadSize = 1;
+
+	private boolean indexedComputation = true;
+
+	private Executor executor;
+
 	/**
 	 * Constructor: <br>
 	 * 
@@ -100,6 +107,7 @@ public class WorkerComputeActionPlan extends WorkerImpl {
 	 */
 	public WorkerComputeActionPlan(int idAnalysis, List<Integer> standards, Boolean uncertainty,
 			Boolean reloadSection) {
+		setName(TaskName.COMPUTE_ACTION_PLAN);
 		this.idAnalysis = idAnalysis;
 		this.standards = standards;
 		this.uncertainty = uncertainty;
@@ -190,7 +198,6 @@ public class WorkerComputeActionPlan extends WorkerImpl {
 					return;
 				setWorking(true);
 				setStarted(new Timestamp(System.currentTimeMillis()));
-				setName(TaskName.COMPUTE_ACTION_PLAN);
 				setCurrent(Thread.currentThread());
 			}
 
@@ -222,6 +229,9 @@ public class WorkerComputeActionPlan extends WorkerImpl {
 			ActionPlanComputation computation = new ActionPlanComputation(daoActionPlanType, getServiceTaskFeedback(),
 					getId(), analysis, analysisStandards, this.uncertainty,
 					this.getMessageSource());
+			computation.setMaxThreadSize(maxThreadSize);
+			computation.setIndexedComputation(indexedComputation);
+			computation.setExecutor(executor);
 			if (computation.calculateActionPlans() == null) {
 				MessageHandler messageHandler = null;
 				if (analysis.isHybrid()) {
@@ -356,6 +366,50 @@ public class WorkerComputeActionPlan extends WorkerImpl {
 				.forEach(measure -> measure.getMeasurePropertyList().setSoaRisk(""));
 	}
 
+	/**
+	 * @return the maximum number of action plan modes computed at the same time
+	 */
+	public int getMaxThreadSize() {
+		return maxThreadSize;
+	}
+
+	/**
+	 * @param maxThreadSize the maximum number of action plan modes computed at
+	 *                      the same time
+	 */
+	public void setMaxThreadSize(int maxThreadSize) {
+		this.maxThreadSize = maxThreadSize;
+	}
+
+	/**
+	 * @return true if measures are ranked with the indexed computation
+	 */
+	public boolean isIndexedComputation() {
+		return indexedComputation;
+	}
+
+	/**
+	 * @param indexedComputation true to rank measures with the indexed
+	 *                           computation, false for the legacy loop
+	 */
+	public void setIndexedComputation(boolean indexedComputation) {
+		this.indexedComputation = indexedComputation;
+	}
+
+	/**
+	 * @return the shared executor of the action plan modes
+	 */
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * @param executor the shared executor of the action plan modes
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
 	/**
 	 * initAnalysis: <br>
 	 * order measure by phase + initialise collection.
@@ -15,7 +15,6 @@ import java.sql.Timestamp;
 import org.hibernate.HibernateException;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
-import org.springframework.util.FileCopyUtils;
 
 import lu.itrust.business.ts.asynchronousWorkers.helper.AsyncCallback;
 import lu.itrust.business.ts.component.TrickLogManager;
@@ -54,6 +53,8 @@ public class WorkerExportAnalysis extends WorkerImpl {
 
 	private String username;
 
+	private boolean pipelined = false;
+
 	/**
 	 * WorkerExportAnalysis: desc
 	 * 
@@ -105,11 +106,13 @@ public class WorkerExportAnalysis extends WorkerImpl {
 						"Empty analysis cannot be exported", null));
 			else {
 				final DatabaseHandler databaseHandler = new DatabaseHandler(sqlite.getCanonicalPath());
+				databaseHandler.setExportPragmas();
 				getServiceTaskFeedback().send(getId(),
 						new MessageHandler("info.export.build.structure", "Build sqLite structure", 2));
 				buildSQLiteStructure(databaseHandler);
 				final ExportAnalysis exportAnalysis = new ExportAnalysis(getServiceTaskFeedback(), session,
 						databaseHandler, analysis, getId());
+				exportAnalysis.setPipelined(pipelined);
 				final MessageHandler messageHandler = exportAnalysis.exportAnAnalysis();
 				if (messageHandler != null)
 					setError(messageHandler.getException());
@@ -193,6 +196,7 @@ public class WorkerExportAnalysis extends WorkerImpl {
 		final DAOUser daoUser = new DAOUserHBM(session);
 		final DAOUserSqLite daoUserSqLite = new DAOUserSqLiteHBM(session);
 		Transaction transaction = null;
+		String storage = null;
 		try {
 			final User user = daoUser.get(username);
 			if (user == null) {
@@ -213,9 +217,11 @@ public class WorkerExportAnalysis extends WorkerImpl {
 					Utils.cleanUpFileName(analysis.getLabel()), "DB", analysis.getVersion(),
 					"sqlite", System.nanoTime());
 
-			UserSQLite userSqLite = new UserSQLite(user, analysis.getIdentifier(), analysis.getLabel(),
-					analysis.getVersion(), filename,
-					FileCopyUtils.copyToByteArray(sqlite), sqlite.length());
+			final UserSQLite userSqLite = new UserSQLite(user, analysis.getIdentifier(), analysis.getLabel(),
+					analysis.getVersion(), filename, null, sqlite.length());
+			storage = InstanceManager.getServiceStorage().storeDocument(sqlite);
+			userSqLite.setStorage(storage);
+			userSqLite.setSha256(InstanceManager.getServiceStorage().digestDocument(storage));
 			transaction = session.beginTransaction();
 			daoUserSqLite.saveOrUpdate(userSqLite);
 			transaction.commit();
@@ -238,6 +244,8 @@ public class WorkerExportAnalysis extends WorkerImpl {
 			} catch (Exception e1) {
 				TrickLogManager.Persist(e1);
 			}
+			if (storage != null)
+				InstanceManager.getServiceStorage().deleteDocument(storage);
 		}
 	}
 
@@ -387,6 +395,25 @@ public class WorkerExportAnalysis extends WorkerImpl {
 		this.username = username;
 	}
 
+	/**
+	 * Returns true if the rows are written on a second thread.
+	 *
+	 * @return true if the rows are written on a second thread
+	 */
+	public boolean isPipelined() {
+		return pipelined;
+	}
+
+	/**
+	 * Sets whether the rows are written on a second thread while the next ones
+	 * are produced.
+	 *
+	 * @param pipelined true to write the rows on a second thread
+	 */
+	public void setPipelined(boolean pipelined) {
+		this.pipelined = pipelined;
+	}
+
 	/**
 	 * Returns the ID of the analysis.
 	 *
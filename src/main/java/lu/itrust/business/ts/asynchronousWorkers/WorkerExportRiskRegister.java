@@ -82,6 +82,7 @@ public class WorkerExportRiskRegister extends WorkerImpl {
 	 * @param messageSource
 	 */
 	public WorkerExportRiskRegister(Integer idAnalysis, String username) {
+		setName(TaskName.EXPORT_RISK_REGISTER);
 		this.idAnalysis = idAnalysis;
 		this.username = username;
 	}
@@ -147,7 +148,6 @@ public class WorkerExportRiskRegister extends WorkerImpl {
 					return;
 				setWorking(true);
 				setStarted(new Timestamp(System.currentTimeMillis()));
-				setName(TaskName.EXPORT_RISK_REGISTER);
 				setCurrent(Thread.currentThread());
 			}
 			session = getSessionFactory().openSession();
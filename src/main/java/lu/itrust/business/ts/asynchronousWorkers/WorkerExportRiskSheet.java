@@ -7,14 +7,15 @@ import static lu.itrust.business.ts.exportation.word.impl.docx4j.Docx4jReportImp
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.Docx4jReportImpl.verticalMergeCell;
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.formatting.Docx4jFormatter.updateRow;
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.formatting.Docx4jMeasureFormatter.sum;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getExtension;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.createWorkSheetPart;
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getAddress;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.createRow;
+import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.newRow;
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.setValue;
 import static lu.itrust.business.ts.helper.InstanceManager.loadTemplate;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigInteger;
 import java.sql.Timestamp;
 import java.text.DateFormat;
@@ -25,9 +26,7 @@ import java.util.Locale;
 
 import org.docx4j.jaxb.Context;
 import org.docx4j.model.table.TblFactory;
-import org.docx4j.openpackaging.packages.SpreadsheetMLPackage;
 import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
-import org.docx4j.openpackaging.parts.SpreadsheetML.WorksheetPart;
 import org.docx4j.wml.BooleanDefaultTrue;
 import org.docx4j.wml.CTVerticalJc;
 import org.docx4j.wml.Document;
@@ -49,10 +48,7 @@ import org.docx4j.wml.TrPr;
 import org.hibernate.Session;
 import org.springframework.util.FileCopyUtils;
 import org.springframework.util.StringUtils;
-import org.xlsx4j.sml.CTMergeCell;
-import org.xlsx4j.sml.ObjectFactory;
 import org.xlsx4j.sml.Row;
-import org.xlsx4j.sml.Worksheet;
 
 import jakarta.xml.bind.JAXBElement;
 import lu.itrust.business.ts.asynchronousWorkers.helper.AsyncCallback;
@@ -65,7 +61,7 @@ import lu.itrust.business.ts.database.dao.hbm.DAOAnalysisHBM;
 import lu.itrust.business.ts.database.dao.hbm.DAOUserHBM;
 import lu.itrust.business.ts.database.dao.hbm.DAOWordReportHBM;
 import lu.itrust.business.ts.exception.TrickException;
-import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamWriter;
 import lu.itrust.business.ts.form.CSSFExportForm;
 import lu.itrust.business.ts.helper.InstanceManager;
 import lu.itrust.business.ts.messagehandler.MessageHandler;
@@ -140,6 +136,7 @@ public class WorkerExportRiskSheet extends WorkerImpl {
 	 * @param username       The username.
 	 */
 	public WorkerExportRiskSheet(CSSFExportForm cssfExportForm, Integer analysisId, String username) {
+		setName(TaskName.EXPORT_RISK_SHEET);
 		setCssfExportForm(cssfExportForm);
 		setUsername(username);
 		setIdAnalysis(analysisId);
@@ -217,7 +214,6 @@ public class WorkerExportRiskSheet extends WorkerImpl {
 					return;
 				setWorking(true);
 				setStarted(new Timestamp(System.currentTimeMillis()));
-				setName(TaskName.EXPORT_RISK_SHEET);
 				setCurrent(Thread.currentThread());
 			}
 			session = getSessionFactory().openSession();
@@ -327,15 +323,16 @@ public class WorkerExportRiskSheet extends WorkerImpl {
 	/**
 	 * Adds estimations to the worksheet.
 	 * 
-	 * @param worksheet   The worksheet to add the estimations to.
+	 * @param sheet       The sheet to add the estimations to.
 	 * @param estimations The list of estimations to add.
 	 * @param types       The list of scale types.
+	 * @throws IOException
 	 */
-	private void addEstimation(Worksheet worksheet, List<Estimation> estimations,
-			List<ScaleType> types) {
+	private void addEstimation(ExcelStreamWriter.Sheet sheet, List<Estimation> estimations,
+			List<ScaleType> types) throws IOException {
 		int size = 16 + types.size() * 3;
 		for (Estimation estimation : estimations) {
-			Row row = createRow(worksheet.getSheetData(), size);
+			Row row = newRow(size);
 			String scenarioType = estimation.getScenario().getType().getName();
 			String category = getMessage("label.scenario.type." + scenarioType.replace("-", "_").toLowerCase(),
 					scenarioType);
@@ -383,6 +380,7 @@ public class WorkerExportRiskSheet extends WorkerImpl {
 					actionPlan.add(estimation.getActionPlan());
 				setCellString(row, index++, String.join("\n\r", actionPlan));
 			}
+			sheet.write(row);
 		}
 	}
 
@@ -447,14 +445,14 @@ public class WorkerExportRiskSheet extends WorkerImpl {
 	/**
 	 * Adds the header row to the worksheet.
 	 *
-	 * @param worksheet The worksheet to add the header row to.
-	 * @param factory   The object factory used to create cells and rows.
-	 * @param types     The list of scale types.
+	 * @param sheet The sheet to add the header row to.
+	 * @param types The list of scale types.
+	 * @throws IOException
 	 */
-	private void addHeader(Worksheet worksheet, ObjectFactory factory, List<ScaleType> types) {
+	private void addHeader(ExcelStreamWriter.Sheet sheet, List<ScaleType> types) throws IOException {
 		final int rowCount = showRawColumn ? types.size() * 3 + 16 : types.size() * 2 + 14;
-		final Row row = createRow(worksheet.getSheetData(), rowCount);
-		final Row row1 = createRow(worksheet.getSheetData(), rowCount);
+		final Row row = newRow(rowCount);
+		final Row row1 = newRow(rowCount);
 
 		final int step = 2;
 		final int size = types.size() + step;
@@ -483,25 +481,17 @@ public class WorkerExportRiskSheet extends WorkerImpl {
 		printEvaluationHeader(row1, types, netIndex);
 		printEvaluationHeader(row1, types, expIndex);
 
-		worksheet.setMergeCells(factory.createCTMergeCells());
+		sheet.write(row);
+		sheet.write(row1);
 
-		for (int i = 0; i < 4; i++) {
-			CTMergeCell mergeCell = factory.createCTMergeCell();
-			worksheet.getMergeCells().getMergeCell().add(mergeCell);
-			mergeCell.setRef(getAddress(0, i, 1, i));
-		}
+		for (int i = 0; i < 4; i++)
+			sheet.mergeCells(getAddress(0, i, 1, i));
 
-		for (int i = 4; i <= expIndex; i += size) {
-			CTMergeCell mergeCell = factory.createCTMergeCell();
-			worksheet.getMergeCells().getMergeCell().add(mergeCell);
-			mergeCell.setRef(getAddress(0, i, 0, i + size - 1));
-		}
+		for (int i = 4; i <= expIndex; i += size)
+			sheet.mergeCells(getAddress(0, i, 0, i + size - 1));
 
-		for (int i = expIndex + size; i < index; i++) {
-			CTMergeCell mergeCell = factory.createCTMergeCell();
-			worksheet.getMergeCells().getMergeCell().add(mergeCell);
-			mergeCell.setRef(getAddress(0, i, 1, i));
-		}
+		for (int i = expIndex + size; i < index; i++)
+			sheet.mergeCells(getAddress(0, i, 1, i));
 
 	}
 
@@ -709,80 +699,94 @@ public class WorkerExportRiskSheet extends WorkerImpl {
 		final Analysis analysis = daoAnalysis.get(idAnalysis);
 		final File file = loadTemplate(analysis.getCustomer(), TrickTemplateType.DEFAULT_EXCEL,
 				analysis.getLanguage());
+		final File output = InstanceManager.getServiceStorage().createTmpFile();
 		try {
 			getServiceTaskFeedback().send(getId(),
 					new MessageHandler("info.preparing.risk_sheet.data", "Preparing risk sheet template", 2));
-			final ObjectFactory factory = org.xlsx4j.jaxb.Context.getsmlObjectFactory();
-			final SpreadsheetMLPackage spreadsheetMLPackage = SpreadsheetMLPackage.load(file);
-
-			final List<ScaleType> scaleTypes = analysis.findImpacts();
-			final CSSFFilter cssfFilter = cssfExportForm.getFilter();
+			final String extension;
+			try (final OutputStream outputStream = new FileOutputStream(output);
+					final ExcelStreamWriter writer = new ExcelStreamWriter(file, EXCEL_HEADER_FOOTER_SHEET_NAME,
+							outputStream)) {
+				extension = writer.getExtension();
+				writeData(analysis, writer);
+				writer.complete();
+			}
 
-			final ValueFactory valueFactory = new ValueFactory(analysis.getParameters());
+			final String filename = String.format(Constant.ITR_FILE_NAMING_WIHT_CTRL,
+					Utils.cleanUpFileName(analysis.findSetting(ExportFileName.RISK_SHEET_EXCEL)),
+					Utils.cleanUpFileName(analysis.getCustomer().getOrganisation()),
+					Utils.cleanUpFileName(analysis.getLabel()), "RiskSheet", analysis.getVersion(),
+					extension, System.nanoTime());
 
-			final List<Estimation> directs = new LinkedList<>(), indirects = new LinkedList<>(),
-					cias = new LinkedList<>();
+			final WordReport report = WordReport.BuildRawRiskSheet(analysis.getIdentifier(), analysis.getLabel(),
+					analysis.getVersion(), daoUser.get(username), filename,
+					output.length(), FileCopyUtils.copyToByteArray(output));
+			daoWordReport.saveOrUpdate(report);
+			return report.getId();
+		} finally {
+			if (file != null)
+				InstanceManager.getServiceStorage().delete(file.getName());
+			InstanceManager.getServiceStorage().delete(output.getName());
+		}
 
-			setLocale(new Locale(analysis.getLanguage().getAlpha2()));
-			if (getLocale().getLanguage().equals("fr"))
-				dateFormat = new SimpleDateFormat("dd-MM-yyyy");
-			else
-				dateFormat = new SimpleDateFormat("MM-dd-yyyy");
-			showRawColumn = analysis.findSetting(AnalysisSetting.ALLOW_RISK_ESTIMATION_RAW_COLUMN);
+	}
 
-			scaleTypes.removeIf(scale -> scale.getName().equals(Constant.DEFAULT_IMPACT_NAME));
-			final String name = getMessageSource().getMessage("label.raw.risk_sheet", null, "Raw risk sheet",
-					getLocale());
-			final WorksheetPart worksheetPart = createWorkSheetPart(spreadsheetMLPackage, name);
+	/**
+	 * Writes the raw risk sheet of the analysis.
+	 *
+	 * @param analysis The analysis.
+	 * @param writer   The writer of the workbook.
+	 * @throws Exception If an error occurs during the export process.
+	 */
+	private void writeData(Analysis analysis, ExcelStreamWriter writer) throws Exception {
+		final List<ScaleType> scaleTypes = analysis.findImpacts();
+		final CSSFFilter cssfFilter = cssfExportForm.getFilter();
 
-			Estimation.GenerateEstimation(analysis, cssfFilter, valueFactory, directs, indirects, cias);
+		final ValueFactory valueFactory = new ValueFactory(analysis.getParameters());
 
-			getServiceTaskFeedback().send(getId(),
-					new MessageHandler("info.generating.risk_sheet", "Generating risk sheet", 10));
+		final List<Estimation> directs = new LinkedList<>(), indirects = new LinkedList<>(),
+				cias = new LinkedList<>();
 
-			addHeader(worksheetPart.getContents(), factory, scaleTypes);
+		setLocale(new Locale(analysis.getLanguage().getAlpha2()));
+		if (getLocale().getLanguage().equals("fr"))
+			dateFormat = new SimpleDateFormat("dd-MM-yyyy");
+		else
+			dateFormat = new SimpleDateFormat("MM-dd-yyyy");
+		showRawColumn = analysis.findSetting(AnalysisSetting.ALLOW_RISK_ESTIMATION_RAW_COLUMN);
 
-			getServiceTaskFeedback().send(getId(),
-					new MessageHandler("info.generating.risk_sheet", "Generating risk sheet", 12));
+		scaleTypes.removeIf(scale -> scale.getName().equals(Constant.DEFAULT_IMPACT_NAME));
+		final String name = getMessageSource().getMessage("label.raw.risk_sheet", null, "Raw risk sheet",
+				getLocale());
 
-			if (!directs.isEmpty())
-				addEstimation(worksheetPart.getContents(), directs, scaleTypes);
+		Estimation.GenerateEstimation(analysis, cssfFilter, valueFactory, directs, indirects, cias);
 
-			getServiceTaskFeedback().send(getId(),
-					new MessageHandler("info.generating.risk_sheet", "Generating risk sheet", 50));
+		getServiceTaskFeedback().send(getId(),
+				new MessageHandler("info.generating.risk_sheet", "Generating risk sheet", 10));
 
-			if (!indirects.isEmpty())
-				addEstimation(worksheetPart.getContents(), indirects, scaleTypes);
+		final ExcelStreamWriter.Sheet sheet = writer.createSheet(name);
 
-			getServiceTaskFeedback().send(getId(),
-					new MessageHandler("info.generating.risk_sheet", "Generating risk sheet", 80));
+		addHeader(sheet, scaleTypes);
 
-			if (!cias.isEmpty())
-				addEstimation(worksheetPart.getContents(), cias, scaleTypes);
+		getServiceTaskFeedback().send(getId(),
+				new MessageHandler("info.generating.risk_sheet", "Generating risk sheet", 12));
 
-			getServiceTaskFeedback().send(getId(),
-					new MessageHandler("info.saving.risk_sheet", "Saving risk sheet", 90));
+		if (!directs.isEmpty())
+			addEstimation(sheet, directs, scaleTypes);
 
-			ExcelHelper.applyHeaderAndFooter(EXCEL_HEADER_FOOTER_SHEET_NAME, name, spreadsheetMLPackage);
+		getServiceTaskFeedback().send(getId(),
+				new MessageHandler("info.generating.risk_sheet", "Generating risk sheet", 50));
 
-			final String filename = String.format(Constant.ITR_FILE_NAMING_WIHT_CTRL,
-					Utils.cleanUpFileName(analysis.findSetting(ExportFileName.RISK_SHEET_EXCEL)),
-					Utils.cleanUpFileName(analysis.getCustomer().getOrganisation()),
-					Utils.cleanUpFileName(analysis.getLabel()), "RiskSheet", analysis.getVersion(),
-					getExtension(spreadsheetMLPackage), System.nanoTime());
+		if (!indirects.isEmpty())
+			addEstimation(sheet, indirects, scaleTypes);
 
-			spreadsheetMLPackage.save(file);
+		getServiceTaskFeedback().send(getId(),
+				new MessageHandler("info.generating.risk_sheet", "Generating risk sheet", 80));
 
-			final WordReport report = WordReport.BuildRawRiskSheet(analysis.getIdentifier(), analysis.getLabel(),
-					analysis.getVersion(), daoUser.get(username), filename,
-					file.length(), FileCopyUtils.copyToByteArray(file));
-			daoWordReport.saveOrUpdate(report);
-			return report.getId();
-		} finally {
-			if (file != null)
-				InstanceManager.getServiceStorage().delete(file.getName());
-		}
+		if (!cias.isEmpty())
+			addEstimation(sheet, cias, scaleTypes);
 
+		getServiceTaskFeedback().send(getId(),
+				new MessageHandler("info.saving.risk_sheet", "Saving risk sheet", 90));
 	}
 
 	/**
@@ -71,6 +71,7 @@ public class WorkerGenerateTickets extends WorkerImpl {
 	 * @param sessionFactory
 	 */
 	public WorkerGenerateTickets(Integer idAnalysis, Client client, TicketingForm ticketingForm) {
+		setName(TaskName.GENERATE_TICKETS);
 		this.idAnalysis = idAnalysis;
 		this.client = client;
 		this.ticketingForm = ticketingForm;
@@ -93,7 +94,6 @@ public class WorkerGenerateTickets extends WorkerImpl {
 					return;
 				setWorking(true);
 				setStarted(new Timestamp(System.currentTimeMillis()));
-				setName(TaskName.GENERATE_TICKETS);
 				setCurrent(Thread.currentThread());
 			}
 			session = getSessionFactory().openSession();
@@ -75,6 +75,8 @@ public abstract class WorkerImpl implements Worker {
 	 */
 	protected void setFinished(Date finished) {
 		this.finished = finished;
+		if (finished != null && getWorkersPoolManager() != null)
+			getWorkersPoolManager().finished(this);
 	}
 
 	/**
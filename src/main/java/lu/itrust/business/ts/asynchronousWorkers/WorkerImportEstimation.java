@@ -1,12 +1,5 @@
 package lu.itrust.business.ts.asynchronousWorkers;
 
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.findSheet;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.findTable;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getBoolean;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getDouble;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getInt;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getRow;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getString;
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.isEmpty;
 
 import java.sql.Timestamp;
@@ -24,16 +17,8 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import org.docx4j.openpackaging.exceptions.Docx4JException;
-import org.docx4j.openpackaging.packages.SpreadsheetMLPackage;
-import org.docx4j.openpackaging.parts.SpreadsheetML.TablePart;
-import org.docx4j.openpackaging.parts.SpreadsheetML.WorkbookPart;
 import org.hibernate.Session;
 import org.springframework.util.StringUtils;
-import org.xlsx4j.org.apache.poi.ss.usermodel.DataFormatter;
-import org.xlsx4j.sml.Row;
-import org.xlsx4j.sml.Sheet;
-import org.xlsx4j.sml.SheetData;
 
 import lu.itrust.business.ts.asynchronousWorkers.helper.AsyncCallback;
 import lu.itrust.business.ts.component.AssessmentAndRiskProfileManager;
@@ -62,6 +47,10 @@ import lu.itrust.business.ts.database.dao.hbm.DAOWordReportHBM;
 import lu.itrust.business.ts.exception.TrickException;
 import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.AddressRef;
 import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.CellRef;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader.Row;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader.Rows;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader.Table;
 import lu.itrust.business.ts.helper.Column;
 import lu.itrust.business.ts.helper.DependencyGraphManager;
 import lu.itrust.business.ts.messagehandler.MessageHandler;
@@ -360,15 +349,11 @@ public class WorkerImportEstimation extends WorkerImpl {
 			getWorkersPoolManager().remove(this);
 	}
 
-	private void importAsset(Analysis analysis, WorkbookPart workbook, Map<String, Sheet> sheets,
-			DataFormatter formatter, int min, int max) throws Exception {
-		final Sheet sheet = sheets.get("Assets");
-		if (sheet == null)
+	private void importAsset(Analysis analysis, ExcelStreamReader reader, int min, int max) throws Exception {
+		final String sheet = "Assets";
+		if (!reader.hasSheet(sheet))
 			return;
-		final SheetData sheetData = findSheet(workbook, sheet);
-		if (sheetData == null)
-			return;
-		final TablePart table = findTable(sheetData, "Assets");
+		final Table table = reader.findTable(sheet, "Assets");
 		if (table == null)
 			throw new TrickException("error.import.data.table.not.found", "Table named `Assets` cannot be found!",
 					"Assets");
@@ -376,15 +361,15 @@ public class WorkerImportEstimation extends WorkerImpl {
 		final MessageHandler handler = new MessageHandler("info.updating.asset", null, "Updating assets", min);
 		getServiceTaskFeedback().send(getId(), handler);
 
-		final Map<String, String> names = loadTypeNames(workbook, sheets, formatter, "AssetTypes");
-		final AddressRef address = AddressRef.parse(table.getContents().getRef());
-		final int size = (int) Math.min(address.getEnd().getRow() + 1, sheetData.getRow().size()),
+		final Map<String, String> names = loadTypeNames(reader, "AssetTypes");
+		final AddressRef address = table.getAddress();
+		final int size = address.getEnd().getRow() + 1,
 				maxProgress = (max - min);
-		if (size < 2 || table.getContents().getTableColumns().getTableColumn().size() < 2)
+		if (size < 2 || table.getColumns().size() < 2)
 			throw new TrickException("error.import.data.table.no.data", "Table named `Asset` has not enough data!",
 					"Asset");
-		final List<String> columns = table.getContents().getTableColumns().getTableColumn().stream()
-				.map(c -> c.getName().toLowerCase()).collect(Collectors.toList());
+		final List<String> columns = table.getColumns().stream().map(String::toLowerCase)
+				.collect(Collectors.toList());
 		final int nameIndex = columns.indexOf("name"), odlNameIndex = columns.indexOf("old name");
 		if (nameIndex == -1)
 			throw new TrickException("error.import.data.no.column", "Name column cannot be found!", "Name");
@@ -418,139 +403,145 @@ public class WorkerImportEstimation extends WorkerImpl {
 		final int namePos = nameIndex + beginColumn;
 		final int oldNamePos = odlNameIndex == -1 ? -1 : odlNameIndex + beginColumn;
 
-		for (int i = address.getBegin().getRow() + 1; i < size; i++) {
-			Row row = sheetData.getRow().get(i);
-			String name = getString(row, namePos, formatter);
-			if (isEmpty(name))
-				continue;
+		try (Rows rows = reader.read(sheet)) {
+			for (Row row : rows) {
+				final int i = row.getIndex();
+				if (i < address.getBegin().getRow() + 1)
+					continue;
+				if (i >= size)
+					break;
+				String name = row.getString(namePos);
+				if (isEmpty(name))
+					continue;
 
-			String oldName = getString(row, oldNamePos, formatter);
+				String oldName = row.getString(oldNamePos);
 
-			Asset asset = assets.get(name.trim().toLowerCase());
+				Asset asset = assets.get(name.trim().toLowerCase());
 
-			if (asset == null) {
-				if (!isEmpty(oldName))
-					asset = assets.get(oldName.trim().toLowerCase());
 				if (asset == null) {
-					asset = assets.computeIfAbsent(name.trim().toLowerCase(), k -> new Asset(name));
-				} else
-					asset.setName(name.trim());
+					if (!isEmpty(oldName))
+						asset = assets.get(oldName.trim().toLowerCase());
+					if (asset == null) {
+						asset = assets.computeIfAbsent(name.trim().toLowerCase(), k -> new Asset(name));
+					} else
+						asset.setName(name.trim());
 
-			}
-
-			if (seenAssets.contains(asset.getName().toLowerCase())) {
-				final String cellString = new CellRef(i, 0).toString();
-				throw new TrickException("error.import.data.asset.duplicated",
-						String.format("Duplicated asset `%s`, see: %s", name, cellString), name, cellString);
-			} else
-				seenAssets.add(asset.getName().toLowerCase());
-
-			final AssetNode node;
-			final Asset myAsset = asset;
-
-			if (isILR) {
-				if (isEmpty(oldName) || !nodeByAssetNames.containsKey(oldName.trim().toLowerCase()))
-					node = nodeByAssetNames.computeIfAbsent(asset.getName().trim().toLowerCase(),
-							e -> new AssetNode(myAsset));
-				else
-					node = nodeByAssetNames.computeIfAbsent(oldName.trim().toLowerCase(), e -> new AssetNode());
-			} else {
-				node = null;
-			}
+				}
 
-			for (int j = beginColumn; j < endColumn; j++) {
-				if (j == namePos || j == oldNamePos)
-					continue;
-				final String column = columns.get(j - beginColumn);
-				switch (column) {
-					case "type":
-						AssetType assetType = asset.getAssetType();
-						String type = getString(row, j, formatter);
-						if (!isEmpty(type)) {
-							String typeName = names.get(type.trim());
-							if (!isEmpty(typeName))
-								assetType = assetTypes.get(typeName.trim());
-							if (assetType == null)
-								assetType = assetTypes.get(type.trim());
-						}
+				if (seenAssets.contains(asset.getName().toLowerCase())) {
+					final String cellString = new CellRef(i, 0).toString();
+					throw new TrickException("error.import.data.asset.duplicated",
+							String.format("Duplicated asset `%s`, see: %s", name, cellString), name, cellString);
+				} else
+					seenAssets.add(asset.getName().toLowerCase());
+
+				final AssetNode node;
+				final Asset myAsset = asset;
+
+				if (isILR) {
+					if (isEmpty(oldName) || !nodeByAssetNames.containsKey(oldName.trim().toLowerCase()))
+						node = nodeByAssetNames.computeIfAbsent(asset.getName().trim().toLowerCase(),
+								e -> new AssetNode(myAsset));
+					else
+						node = nodeByAssetNames.computeIfAbsent(oldName.trim().toLowerCase(), e -> new AssetNode());
+				} else {
+					node = null;
+				}
 
-						if (assetType == null) {
-							if (asset.getAssetType() == null)
-								throw new TrickException("error.import.data.asset.bad.type",
-										String.format("Asset type cannot be found for asset `%s`!", name), name,
-										new CellRef(i, j).toString());
-						} else
-							asset.setAssetType(assetType);
-						break;
-					case "selected":
-						asset.setSelected(getBoolean(row, j));
-						break;
-					case "value":
-						asset.setValue(getDouble(row, j, formatter) * 1000);
-						break;
-					case "hidden comment":
-						asset.setHiddenComment(getString(row, j, formatter));
-						break;
-					case "related":
-					case "Related":
-					case "related name":
-					case "Related name":
-						asset.setRelatedName(getString(row, j, formatter));
-						break;
-					case "comment":
-						asset.setComment(getString(row, j, formatter));
-						break;
-					default:
-						if (isILR && (column.startsWith("c-") || column.startsWith("i-") || column.startsWith("a-"))) {
-							final String scaleAcronym = column.substring(2);
-							final ScaleType scaleType = scaleTypes.get(scaleAcronym);
-
-							if (scaleType == null) {
-								handler.update("error.import.asset.scale.not_found",
-										String.format("The impact scale the with acronym '%s' cannot be found!",
-												scaleAcronym),
-										handler.getProgress());
-								getServiceTaskFeedback().send(getId(), handler);
-							} else {
-
-								final int impact = getInt(row, j, -2, formatter);
-
-								final AssetImpact assetImpact = node.getImpact();
-
-								usedScales.add(scaleType);
-
-								if (impact > -2) {
-									switch (column.charAt(0)) {
-										case 'c': {
-											final ILRImpact ilrImpact = assetImpact.getConfidentialityImpacts()
-													.computeIfAbsent(scaleType, k -> new ILRImpact(scaleType));
-											ilrImpact.setValue(impact);
-											break;
-										}
-										case 'i': {
-											final ILRImpact ilrImpact = assetImpact.getIntegrityImpacts()
-													.computeIfAbsent(scaleType, k -> new ILRImpact(scaleType));
-											ilrImpact.setValue(impact);
+				for (int j = beginColumn; j < endColumn; j++) {
+					if (j == namePos || j == oldNamePos)
+						continue;
+					final String column = columns.get(j - beginColumn);
+					switch (column) {
+						case "type":
+							AssetType assetType = asset.getAssetType();
+							String type = row.getString(j);
+							if (!isEmpty(type)) {
+								String typeName = names.get(type.trim());
+								if (!isEmpty(typeName))
+									assetType = assetTypes.get(typeName.trim());
+								if (assetType == null)
+									assetType = assetTypes.get(type.trim());
+							}
 
-											break;
+							if (assetType == null) {
+								if (asset.getAssetType() == null)
+									throw new TrickException("error.import.data.asset.bad.type",
+											String.format("Asset type cannot be found for asset `%s`!", name), name,
+											new CellRef(i, j).toString());
+							} else
+								asset.setAssetType(assetType);
+							break;
+						case "selected":
+							asset.setSelected(row.getBoolean(j));
+							break;
+						case "value":
+							asset.setValue(row.getDouble(j) * 1000);
+							break;
+						case "hidden comment":
+							asset.setHiddenComment(row.getString(j));
+							break;
+						case "related":
+						case "Related":
+						case "related name":
+						case "Related name":
+							asset.setRelatedName(row.getString(j));
+							break;
+						case "comment":
+							asset.setComment(row.getString(j));
+							break;
+						default:
+							if (isILR && (column.startsWith("c-") || column.startsWith("i-") || column.startsWith("a-"))) {
+								final String scaleAcronym = column.substring(2);
+								final ScaleType scaleType = scaleTypes.get(scaleAcronym);
+
+								if (scaleType == null) {
+									handler.update("error.import.asset.scale.not_found",
+											String.format("The impact scale the with acronym '%s' cannot be found!",
+													scaleAcronym),
+											handler.getProgress());
+									getServiceTaskFeedback().send(getId(), handler);
+								} else {
+
+									final int impact = row.getInt(j, -2);
+
+									final AssetImpact assetImpact = node.getImpact();
+
+									usedScales.add(scaleType);
+
+									if (impact > -2) {
+										switch (column.charAt(0)) {
+											case 'c': {
+												final ILRImpact ilrImpact = assetImpact.getConfidentialityImpacts()
+														.computeIfAbsent(scaleType, k -> new ILRImpact(scaleType));
+												ilrImpact.setValue(impact);
+												break;
+											}
+											case 'i': {
+												final ILRImpact ilrImpact = assetImpact.getIntegrityImpacts()
+														.computeIfAbsent(scaleType, k -> new ILRImpact(scaleType));
+												ilrImpact.setValue(impact);
+
+												break;
+											}
+											default: {
+												final ILRImpact ilrImpact = assetImpact.getAvailabilityImpacts()
+														.computeIfAbsent(scaleType, k -> new ILRImpact(scaleType));
+												ilrImpact.setValue(impact);
+
+											}
 										}
-										default: {
-											final ILRImpact ilrImpact = assetImpact.getAvailabilityImpacts()
-													.computeIfAbsent(scaleType, k -> new ILRImpact(scaleType));
-											ilrImpact.setValue(impact);
 
-										}
 									}
-
 								}
-							}
 
-						}
+							}
+					}
 				}
-			}
 
-			handler.setProgress((int) (min + ((double) i / (double) size) * maxProgress));
-			getServiceTaskFeedback().send(getId(), handler);
+				handler.setProgress((int) (min + ((double) i / (double) size) * maxProgress));
+				getServiceTaskFeedback().send(getId(), handler);
+			}
 		}
 
 		assets.values().stream().filter(e -> e.getId() < 1).forEach(e -> {
@@ -578,22 +569,16 @@ public class WorkerImportEstimation extends WorkerImpl {
 	 * Imports asset dependencies from the specified sheet in the workbook.
 	 * 
 	 * @param analysis  The analysis object.
-	 * @param workbook  The workbook containing the data.
-	 * @param sheets    The map of sheet names to sheet objects.
-	 * @param formatter The data formatter for parsing cell values.
+	 * @param reader    The reader of the workbook containing the data.
 	 * @param min       The minimum progress value for the message handler.
 	 * @param max       The maximum progress value for the message handler.
 	 * @throws Exception If an error occurs during the import process.
 	 */
-	private void importAssetDependancy(Analysis analysis, WorkbookPart workbook, Map<String, Sheet> sheets,
-			DataFormatter formatter, int min, int max) throws Exception {
-		final Sheet sheet = sheets.get("Dependency");
-		if (sheet == null)
-			return;
-		final SheetData sheetData = findSheet(workbook, sheet);
-		if (sheetData == null)
+	private void importAssetDependancy(Analysis analysis, ExcelStreamReader reader, int min, int max) throws Exception {
+		final String sheet = "Dependency";
+		if (!reader.hasSheet(sheet))
 			return;
-		final TablePart table = findTable(sheetData, "Table_dep");
+		final Table table = reader.findTable(sheet, "Table_dep");
 		if (table == null)
 			throw new TrickException("error.import.data.table.not.found", "Table named `Table_dep` cannot be found!",
 					"Table_dep");
@@ -602,9 +587,9 @@ public class WorkerImportEstimation extends WorkerImpl {
 				"Updating asset dependancies", min);
 		getServiceTaskFeedback().send(getId(), handler);
 
-		final AddressRef address = AddressRef.parse(table.getContents().getRef());
+		final AddressRef address = table.getAddress();
 
-		final int size = Math.max(address.getEnd().getRow() + 1, sheetData.getRow().size());
+		final int size = address.getEnd().getRow() + 1;
 
 		final Map<String, Asset> assets = analysis.getAssets().stream()
 				.collect(Collectors.toMap(e -> e.getName().toLowerCase(), Function.identity()));
@@ -617,11 +602,11 @@ public class WorkerImportEstimation extends WorkerImpl {
 						e -> e.getEdges().values().stream()
 								.collect(Collectors.toMap(AssetEdge::getChild, Function.identity()))));
 
-		if (size < 2 || table.getContents().getTableColumns().getTableColumn().size() < 2)
+		if (size < 2 || table.getColumns().size() < 2)
 			throw new TrickException("error.import.data.table.no.data", "Table named `Table_dep` has not enough data!",
 					"Asset");
-		final List<String> columns = table.getContents().getTableColumns().getTableColumn().stream()
-				.map(c -> c.getName().trim().toLowerCase()).collect(Collectors.toList());
+		final List<String> columns = table.getColumns().stream()
+				.map(c -> c.trim().toLowerCase()).collect(Collectors.toList());
 
 		final int nameIndex = columns.indexOf("assetlist");
 		final int assetTypeIndex = columns.indexOf("assettype");
@@ -630,47 +615,51 @@ public class WorkerImportEstimation extends WorkerImpl {
 
 		final int headerRowIndex = address.getBegin().getRow();
 
-		for (int i = headerRowIndex + 1; i < size; i++) {
-			final Row row = getRow(sheetData, i);
-			final String name = getString(row, nameIndex, formatter);
-			if (isEmpty(name))
-				continue;
-			final Asset asset = assets.get(name.trim().toLowerCase());
-			if (asset == null) {
-				final String myCell = new CellRef(i, nameIndex).toString();
-				throw new TrickException("error.import.data.asset.not_found",
-						String.format("Asset `%s` cannot be found! See cell `%s`", name, myCell), name,
-						myCell);
-			}
-
-			final AssetNode node = nodes.computeIfAbsent(asset.getName().toLowerCase(), k -> new AssetNode(asset));
-			final Map<AssetNode, AssetEdge> oldEdges = oldDependancies.get(node);
-			for (int j = 0; j < columns.size(); j++) {
-				if (nameIndex == j || assetTypeIndex == j)
+		try (Rows rows = reader.read(sheet)) {
+			for (Row row : rows) {
+				final int i = row.getIndex();
+				if (i < headerRowIndex + 1)
 					continue;
-				final String childName = columns.get(j);
-				final Asset childAsset = assets.get(childName);
-				if (childAsset == null) {
-					final String myCell = new CellRef(headerRowIndex, j).toString();
+				final String name = row.getString(nameIndex);
+				if (isEmpty(name))
+					continue;
+				final Asset asset = assets.get(name.trim().toLowerCase());
+				if (asset == null) {
+					final String myCell = new CellRef(i, nameIndex).toString();
 					throw new TrickException("error.import.data.asset.not_found",
-							String.format("Asset `%s` cannot be found! See cell `%s`", childName, myCell),
-							childName,
+							String.format("Asset `%s` cannot be found! See cell `%s`", name, myCell), name,
 							myCell);
-				} else if (!childAsset.equals(asset)) {
-
-					final double weight = getDouble(row, j, 0d, formatter);
-
-					final AssetNode childNode = nodes.computeIfAbsent(childName, k -> new AssetNode(childAsset));
+				}
 
-					if (Math.abs(weight - 0d) > 1e-9) {
-						AssetEdge assetEdge = oldEdges == null ? null : oldEdges.remove(childNode);
-						if (assetEdge == null)
-							node.getEdges().put(childNode, new AssetEdge(node, childNode, weight));
-						else
-							assetEdge.setWeight(weight);
+				final AssetNode node = nodes.computeIfAbsent(asset.getName().toLowerCase(), k -> new AssetNode(asset));
+				final Map<AssetNode, AssetEdge> oldEdges = oldDependancies.get(node);
+				for (int j = 0; j < columns.size(); j++) {
+					if (nameIndex == j || assetTypeIndex == j)
+						continue;
+					final String childName = columns.get(j);
+					final Asset childAsset = assets.get(childName);
+					if (childAsset == null) {
+						final String myCell = new CellRef(headerRowIndex, j).toString();
+						throw new TrickException("error.import.data.asset.not_found",
+								String.format("Asset `%s` cannot be found! See cell `%s`", childName, myCell),
+								childName,
+								myCell);
+					} else if (!childAsset.equals(asset)) {
+
+						final double weight = row.getDouble(j, 0d);
+
+						final AssetNode childNode = nodes.computeIfAbsent(childName, k -> new AssetNode(childAsset));
+
+						if (Math.abs(weight - 0d) > 1e-9) {
+							AssetEdge assetEdge = oldEdges == null ? null : oldEdges.remove(childNode);
+							if (assetEdge == null)
+								node.getEdges().put(childNode, new AssetEdge(node, childNode, weight));
+							else
+								assetEdge.setWeight(weight);
+						}
 					}
-				}
 
+				}
 			}
 		}
 
@@ -687,35 +676,28 @@ public class WorkerImportEstimation extends WorkerImpl {
 	 * @param analysis           The analysis object.
 	 * @param factory            The value factory.
 	 * @param riskProfileManager The assessment and risk profile manager.
-	 * @param workbook           The workbook containing the data.
-	 * @param sheets             The map of sheet names to sheet objects.
-	 * @param formatter          The data formatter.
+	 * @param reader             The reader of the workbook containing the data.
 	 * @param min                The minimum progress value.
 	 * @param max                The maximum progress value.
-	 * @throws Exception       If an error occurs during the import process.
-	 * @throws Docx4JException If an error occurs while working with the workbook.
+	 * @throws Exception If an error occurs during the import process.
 	 */
 	private void importRiskEstimation(final Analysis analysis, ValueFactory factory,
-			AssessmentAndRiskProfileManager riskProfileManager, final WorkbookPart workbook,
-			final Map<String, Sheet> sheets, DataFormatter formatter, final int min, final int max)
-			throws Exception, Docx4JException {
-		final Sheet sheet = sheets.get("Risk estimation");
-		if (sheet == null)
+			AssessmentAndRiskProfileManager riskProfileManager, final ExcelStreamReader reader, final int min,
+			final int max) throws Exception {
+		final String sheet = "Risk estimation";
+		if (!reader.hasSheet(sheet))
 			return;
-		SheetData sheetData = findSheet(workbook, sheet);
-		if (sheetData == null)
-			return;
-		TablePart table = findTable(sheetData, "Risk_estimation");
+		Table table = reader.findTable(sheet, "Risk_estimation");
 		if (table == null)
 			throw new TrickException("error.import.data.table.not.found",
 					"Table named `Risk_estimation` cannot be found!", "Risk_estimation");
-		final AddressRef address = AddressRef.parse(table.getContents().getRef());
-		final int size = (int) Math.min(address.getEnd().getRow() + 1, sheetData.getRow().size()),
+		final AddressRef address = table.getAddress();
+		final int size = address.getEnd().getRow() + 1,
 				maxProgress = max - min;
-		if (size < 2 || table.getContents().getTableColumns().getTableColumn().size() < 3)
+		if (size < 2 || table.getColumns().size() < 3)
 			return;
-		final List<String> columns = table.getContents().getTableColumns().getTableColumn().stream()
-				.map(c -> c.getName().toLowerCase()).collect(Collectors.toList());
+		final List<String> columns = table.getColumns().stream().map(String::toLowerCase)
+				.collect(Collectors.toList());
 		final int assetIndex = columns.indexOf("asset"), scenarioIndex = columns.indexOf("scenario");
 		if (assetIndex == -1)
 			throw new TrickException("error.import.data.no.column", "Asset column cannot be found!", "Asset");
@@ -756,120 +738,126 @@ public class WorkerImportEstimation extends WorkerImpl {
 		riskProfiles.values().forEach(r -> r.setIdentifier(null));
 		daoRiskProfile.resetRiskIdByIds(riskIDs.values().stream().filter(r -> r.getId() > 0).map(RiskProfile::getId)
 				.collect(Collectors.toList()));
-		for (int i = 1; i < size; i++) {
-			Row row = sheetData.getRow().get(i);
-			String assetName = getString(row, assetIndex, formatter),
-					scenarioName = getString(row, scenarioIndex, formatter);
-			if (isEmpty(assetName) || isEmpty(scenarioName))
-				continue;
-			final Assessment assessment = findOrCreateAssessment(analysis, assets.get(assetName), scenarios.get(scenarioName),
-					factory, assessments, riskProfiles);
-			if (assessment == null)
-				continue;
-			final RiskProfile riskProfile = riskProfiles.isEmpty() ? null
-					: riskProfiles.get(RiskProfile.keyName(assetName, scenarioName));
-	
-			for (int j = 0; j < columns.size(); j++) {
-				String name = columnsMapper.get(columns.get(j));
-				if (name == null || j == assetIndex || j == scenarioIndex)
+		try (Rows rows = reader.read(sheet)) {
+			for (Row row : rows) {
+				final int i = row.getIndex();
+				if (i < 1)
 					continue;
-				String value = getString(row, j, formatter);
-				switch (name) {
-					case "Risk ID":
-						if (riskProfile == null || isEmpty(value))
-							continue;
-						riskProfile.setIdentifier(value);
-						riskIDs.remove(value);
-						break;
-					case "Response":
-						if (riskProfile == null)
-							continue;
-						riskProfile.setRiskStrategy(parseResponse(value, riskProfile.getRiskStrategy()));
-						break;
-					case PROBABILITY:
-						final IValue probability = factory.findProb(value);
-						if (assessment.getLikelihood() == null)
-							assessment.setLikelihood(probability);
-						else if (!(assessment.getLikelihood().merge(probability) || probability == null)) {
-							valuesToDelete.add(assessment.getLikelihood());
-							assessment.setLikelihood(probability);
-						}
-						break;
-					case VULNERABILITY:
-						assessment.setVulnerability(ValueFactory.toInt(value.toLowerCase().replace("v", "").trim(),
-								assessment.getVulnerability()));
-						break;
-					case "Impact":
-						if (!analysis.isQuantitative())
-							continue;
-						if (loadImpact(assessment, scalesMapper.get(name), value, 0d, factory, valuesToDelete))
-							throw new TrickException("error.analysis.parameter.no.impact",
-									"Internal error: something wrong with impacts");
-						break;
-					case "Uncertainty":
-						assessment.setUncertainty(ValueFactory.toDouble(value, assessment.getUncertainty()));
-						break;
-					case "Owner":
-						assessment.setOwner(value);
-						break;
-					case "Comment":
-						assessment.setComment(value);
-						break;
-					case "Hidden comment":
-						assessment.setHiddenComment(value);
-						break;
-					case "Cockpit":
-						assessment.setCockpit(value);
-						break;
-					case "Security measures":
-						if (riskProfile == null)
-							continue;
-						riskProfile.setRiskTreatment(value);
-						break;
-					case "Measures":
-						loadMeasures(riskProfile, value, measuresMapper);
-						break;
-					case "Action plan":
-						if (riskProfile == null)
-							continue;
-						riskProfile.setActionPlan(value);
-						break;
-					default:
-						ScaleType type = scalesMapper.get(name);
-						if (type != null)
-							loadImpact(assessment, type, value, 0, factory, valuesToDelete);
-						else if (riskProfile != null) {
-							RiskProbaImpact probaImpact = null;
-							String subName = null;
-							if (name.startsWith("RAW")) {
-								if (riskProfile.getRawProbaImpact() == null)
-									riskProfile.setRawProbaImpact(new RiskProbaImpact());
-								probaImpact = riskProfile.getRawProbaImpact();
-								subName = name.replace("RAW", "").trim();
-							} else if (name.startsWith("EXP")) {
-								if (riskProfile.getExpProbaImpact() == null)
-									riskProfile.setExpProbaImpact(new RiskProbaImpact());
-								probaImpact = riskProfile.getExpProbaImpact();
-								subName = name.replace("EXP", "").trim();
+				if (i >= size)
+					break;
+				String assetName = row.getString(assetIndex),
+						scenarioName = row.getString(scenarioIndex);
+				if (isEmpty(assetName) || isEmpty(scenarioName))
+					continue;
+				final Assessment assessment = findOrCreateAssessment(analysis, assets.get(assetName), scenarios.get(scenarioName),
+						factory, assessments, riskProfiles);
+				if (assessment == null)
+					continue;
+				final RiskProfile riskProfile = riskProfiles.isEmpty() ? null
+						: riskProfiles.get(RiskProfile.keyName(assetName, scenarioName));
+	
+				for (int j = 0; j < columns.size(); j++) {
+					String name = columnsMapper.get(columns.get(j));
+					if (name == null || j == assetIndex || j == scenarioIndex)
+						continue;
+					String value = row.getString(j);
+					switch (name) {
+						case "Risk ID":
+							if (riskProfile == null || isEmpty(value))
+								continue;
+							riskProfile.setIdentifier(value);
+							riskIDs.remove(value);
+							break;
+						case "Response":
+							if (riskProfile == null)
+								continue;
+							riskProfile.setRiskStrategy(parseResponse(value, riskProfile.getRiskStrategy()));
+							break;
+						case PROBABILITY:
+							final IValue probability = factory.findProb(value);
+							if (assessment.getLikelihood() == null)
+								assessment.setLikelihood(probability);
+							else if (!(assessment.getLikelihood().merge(probability) || probability == null)) {
+								valuesToDelete.add(assessment.getLikelihood());
+								assessment.setLikelihood(probability);
 							}
-							if (subName == null || probaImpact == null
-									|| Constant.DEFAULT_IMPACT_NAME.equalsIgnoreCase(subName))
-								break;
-							if (subName.equals(PROBABILITY))
-								probaImpact.setProbability((LikelihoodParameter) factory.findProbParameter(value));
-							else if (subName.equals(VULNERABILITY))
-								probaImpact.setVulnerability(ValueFactory.toInt(
-										value.toLowerCase().replace("v", "").trim(), probaImpact.getVulnerability()));
-							else {
-								type = scalesMapper.get(subName);
-								if (type != null)
-									probaImpact.add((ImpactParameter) factory.findParameter(parseValue(type, value),
-											type.getName()));
+							break;
+						case VULNERABILITY:
+							assessment.setVulnerability(ValueFactory.toInt(value.toLowerCase().replace("v", "").trim(),
+									assessment.getVulnerability()));
+							break;
+						case "Impact":
+							if (!analysis.isQuantitative())
+								continue;
+							if (loadImpact(assessment, scalesMapper.get(name), value, 0d, factory, valuesToDelete))
+								throw new TrickException("error.analysis.parameter.no.impact",
+										"Internal error: something wrong with impacts");
+							break;
+						case "Uncertainty":
+							assessment.setUncertainty(ValueFactory.toDouble(value, assessment.getUncertainty()));
+							break;
+						case "Owner":
+							assessment.setOwner(value);
+							break;
+						case "Comment":
+							assessment.setComment(value);
+							break;
+						case "Hidden comment":
+							assessment.setHiddenComment(value);
+							break;
+						case "Cockpit":
+							assessment.setCockpit(value);
+							break;
+						case "Security measures":
+							if (riskProfile == null)
+								continue;
+							riskProfile.setRiskTreatment(value);
+							break;
+						case "Measures":
+							loadMeasures(riskProfile, value, measuresMapper);
+							break;
+						case "Action plan":
+							if (riskProfile == null)
+								continue;
+							riskProfile.setActionPlan(value);
+							break;
+						default:
+							ScaleType type = scalesMapper.get(name);
+							if (type != null)
+								loadImpact(assessment, type, value, 0, factory, valuesToDelete);
+							else if (riskProfile != null) {
+								RiskProbaImpact probaImpact = null;
+								String subName = null;
+								if (name.startsWith("RAW")) {
+									if (riskProfile.getRawProbaImpact() == null)
+										riskProfile.setRawProbaImpact(new RiskProbaImpact());
+									probaImpact = riskProfile.getRawProbaImpact();
+									subName = name.replace("RAW", "").trim();
+								} else if (name.startsWith("EXP")) {
+									if (riskProfile.getExpProbaImpact() == null)
+										riskProfile.setExpProbaImpact(new RiskProbaImpact());
+									probaImpact = riskProfile.getExpProbaImpact();
+									subName = name.replace("EXP", "").trim();
+								}
+								if (subName == null || probaImpact == null
+										|| Constant.DEFAULT_IMPACT_NAME.equalsIgnoreCase(subName))
+									break;
+								if (subName.equals(PROBABILITY))
+									probaImpact.setProbability((LikelihoodParameter) factory.findProbParameter(value));
+								else if (subName.equals(VULNERABILITY))
+									probaImpact.setVulnerability(ValueFactory.toInt(
+											value.toLowerCase().replace("v", "").trim(), probaImpact.getVulnerability()));
+								else {
+									type = scalesMapper.get(subName);
+									if (type != null)
+										probaImpact.add((ImpactParameter) factory.findParameter(parseValue(type, value),
+												type.getName()));
+								}
 							}
-						}
+					}
+					handler.setProgress((int) (min + ((double) i / (double) size) * maxProgress));
+					getServiceTaskFeedback().send(getId(), handler);
 				}
-				handler.setProgress((int) (min + ((double) i / (double) size) * maxProgress));
-				getServiceTaskFeedback().send(getId(), handler);
 			}
 		}
 
@@ -912,42 +900,36 @@ public class WorkerImportEstimation extends WorkerImpl {
 	 * Imports scenarios from a workbook into the analysis.
 	 *
 	 * @param analysis  The analysis to import the scenarios into.
-	 * @param workbook  The workbook containing the scenarios.
-	 * @param sheets    A map of sheet names to sheet objects.
-	 * @param formatter The data formatter to use for formatting cell values.
+	 * @param reader    The reader of the workbook containing the scenarios.
 	 * @param min       The minimum progress value for the progress handler.
 	 * @param max       The maximum progress value for the progress handler.
 	 * @throws Exception If an error occurs during the import process.
 	 */
-	private void importScenario(Analysis analysis, WorkbookPart workbook, Map<String, Sheet> sheets,
-			DataFormatter formatter, int min, int max) throws Exception {
-		final Sheet sheet = sheets.get("Scenarios");
-		if (sheet == null)
+	private void importScenario(Analysis analysis, ExcelStreamReader reader, int min, int max) throws Exception {
+		final String sheet = "Scenarios";
+		if (!reader.hasSheet(sheet))
 			return;
-		SheetData sheetData = findSheet(workbook, sheet);
-		if (sheetData == null)
-			return;
-		TablePart table = findTable(sheetData, "Scenarios");
+		Table table = reader.findTable(sheet, "Scenarios");
 		if (table == null)
 			throw new TrickException("error.import.data.table.not.found", "Table named `Scenarios` cannot be found!",
 					"Scenarios");
 		final MessageHandler handler = new MessageHandler("info.updating.scenario", null, "Updating scenarios", min);
 		getServiceTaskFeedback().send(getId(), handler);
-		final AddressRef address = AddressRef.parse(table.getContents().getRef());
-		final int size = (int) Math.min(address.getEnd().getRow() + 1, sheetData.getRow().size()),
+		final AddressRef address = table.getAddress();
+		final int size = address.getEnd().getRow() + 1,
 				maxProgress = max - min;
-		if (size < 2 || table.getContents().getTableColumns().getTableColumn().size() < 2)
+		if (size < 2 || table.getColumns().size() < 2)
 			throw new TrickException("error.import.data.table.no.data", "Table named `Scenario` has not enough data!",
 					"Scenario");
-		final List<String> columns = table.getContents().getTableColumns().getTableColumn().stream()
-				.map(c -> c.getName().toLowerCase()).collect(Collectors.toList());
+		final List<String> columns = table.getColumns().stream().map(String::toLowerCase)
+				.collect(Collectors.toList());
 		final int nameIndex = columns.indexOf("name"), odlNameIndex = columns.indexOf("old name");
 		if (nameIndex == -1)
 			throw new TrickException("error.import.data.no.column", "Name column cannot be found!", "Name");
 
 		final boolean isILR = Analysis.isILR(analysis);
 
-		final Map<String, String> names = loadTypeNames(workbook, sheets, formatter, "ScenarioTypes");
+		final Map<String, String> names = loadTypeNames(reader, "ScenarioTypes");
 		final Map<String, ScenarioType> scenarioTypes = new LinkedHashMap<>();
 		final List<AssetType> assetTypes = daoAssetType.getAll();
 		for (ScenarioType scenarioType : ScenarioType.values())
@@ -955,94 +937,100 @@ public class WorkerImportEstimation extends WorkerImpl {
 
 		final Map<String, Scenario> scenarios = analysis.getScenarios().stream()
 				.collect(Collectors.toMap(e -> e.getName().trim(), Function.identity()));
-		for (int i = 1; i < size; i++) {
-			Row row = sheetData.getRow().get(i);
-			String name = getString(row, nameIndex, formatter), oldName = getString(row, odlNameIndex, formatter);
-			if (isEmpty(name))
-				continue;
-			Scenario scenario = scenarios.get(name.trim());
+		try (Rows rows = reader.read(sheet)) {
+			for (Row row : rows) {
+				final int i = row.getIndex();
+				if (i < 1)
+					continue;
+				if (i >= size)
+					break;
+				String name = row.getString(nameIndex), oldName = row.getString(odlNameIndex);
+				if (isEmpty(name))
+					continue;
+				Scenario scenario = scenarios.get(name.trim());
 
-			if (scenario == null) {
-				if (!isEmpty(oldName))
-					scenario = scenarios.get(oldName);
 				if (scenario == null) {
-					analysis.getScenarios().add(scenario = new Scenario(name));
-					scenarios.put(name, scenario);
-				} else
-					scenario.setName(name);
-			}
-
-			for (int j = 0; j < columns.size(); j++) {
-				if (j == nameIndex || j == odlNameIndex)
-					continue;
-				switch (columns.get(j)) {
-					case "type":
-						ScenarioType scenarioType = scenario.getType();
-						String type = getString(row, j, formatter);
-						if (!isEmpty(type)) {
-							String typeName = names.get(type);
-							if (!isEmpty(typeName))
-								scenarioType = scenarioTypes.get(typeName);
-							if (scenarioType == null)
-								scenarioType = scenarioTypes.get(type);
-						}
+					if (!isEmpty(oldName))
+						scenario = scenarios.get(oldName);
+					if (scenario == null) {
+						analysis.getScenarios().add(scenario = new Scenario(name));
+						scenarios.put(name, scenario);
+					} else
+						scenario.setName(name);
+				}
 
-						if (scenarioType == null) {
-							if (scenario.getType() == null)
-								throw new TrickException("error.import.data.scenario.bad.type",
-										String.format("Scenario type cannot be found for scenario `%s`!", name), name,
-										new CellRef(i, j).toString());
-						} else if (scenario.getType() != scenarioType) {
-							scenario.setType(scenarioType);
-							for (String category : ScenarioType.JAVAKEYS)
-								scenario.setCategoryValue(category, 0);
-						}
+				for (int j = 0; j < columns.size(); j++) {
+					if (j == nameIndex || j == odlNameIndex)
+						continue;
+					switch (columns.get(j)) {
+						case "type":
+							ScenarioType scenarioType = scenario.getType();
+							String type = row.getString(j);
+							if (!isEmpty(type)) {
+								String typeName = names.get(type);
+								if (!isEmpty(typeName))
+									scenarioType = scenarioTypes.get(typeName);
+								if (scenarioType == null)
+									scenarioType = scenarioTypes.get(type);
+							}
 
-						break;
-					case "selected":
-						scenario.setSelected(getBoolean(row, j));
-						break;
-					case "description":
-						scenario.setDescription(getString(row, j, formatter));
-						break;
-					case "apply to":
-						String value = getString(row, j, formatter);
-						if (!isEmpty(value)) {
-							if (value.equalsIgnoreCase("asset")) {
-								while (!scenario.getAssetTypeValues().isEmpty())
-									daoAssetTypeValue.delete(scenario.getAssetTypeValues().remove(0));
-								scenario.setAssetLinked(true);
-								break;
-							} else if (value.equalsIgnoreCase("asset type")) {
-								if (scenario.isAssetLinked())
-									scenario.getLinkedAssets().clear();
-								scenario.setAssetLinked(false);
+							if (scenarioType == null) {
+								if (scenario.getType() == null)
+									throw new TrickException("error.import.data.scenario.bad.type",
+											String.format("Scenario type cannot be found for scenario `%s`!", name), name,
+											new CellRef(i, j).toString());
+							} else if (scenario.getType() != scenarioType) {
+								scenario.setType(scenarioType);
+								for (String category : ScenarioType.JAVAKEYS)
+									scenario.setCategoryValue(category, 0);
 							}
-						}
-						updateAssetTypeValue(assetTypes, scenario);
-						break;
-					case "threat":
-						if (isILR)
-							scenario.setThreat(getString(row, j, formatter));
-						else
-							handler.update("error.import.ilr.no_ilr_analysis",
-									"Trying to import ILR data into No ILR Analysis", handler.getProgress());
-						break;
-					case "vulnerability":
-						if (isILR)
-							scenario.setVulnerability(getString(row, j, formatter));
-						else
-							handler.update("error.import.ilr.no_ilr_analysis",
-									"Trying to import ILR data into No ILR Analysis", handler.getProgress());
-						break;
 
-					default:
-						// ignore for now
+							break;
+						case "selected":
+							scenario.setSelected(row.getBoolean(j));
+							break;
+						case "description":
+							scenario.setDescription(row.getString(j));
+							break;
+						case "apply to":
+							String value = row.getString(j);
+							if (!isEmpty(value)) {
+								if (value.equalsIgnoreCase("asset")) {
+									while (!scenario.getAssetTypeValues().isEmpty())
+										daoAssetTypeValue.delete(scenario.getAssetTypeValues().remove(0));
+									scenario.setAssetLinked(true);
+									break;
+								} else if (value.equalsIgnoreCase("asset type")) {
+									if (scenario.isAssetLinked())
+										scenario.getLinkedAssets().clear();
+									scenario.setAssetLinked(false);
+								}
+							}
+							updateAssetTypeValue(assetTypes, scenario);
+							break;
+						case "threat":
+							if (isILR)
+								scenario.setThreat(row.getString(j));
+							else
+								handler.update("error.import.ilr.no_ilr_analysis",
+										"Trying to import ILR data into No ILR Analysis", handler.getProgress());
+							break;
+						case "vulnerability":
+							if (isILR)
+								scenario.setVulnerability(row.getString(j));
+							else
+								handler.update("error.import.ilr.no_ilr_analysis",
+										"Trying to import ILR data into No ILR Analysis", handler.getProgress());
+							break;
+
+						default:
+							// ignore for now
+					}
 				}
-			}
-			handler.setProgress((int) (min + ((double) i / (double) size) * maxProgress));
-			getServiceTaskFeedback().send(getId(), handler);
+				handler.setProgress((int) (min + ((double) i / (double) size) * maxProgress));
+				getServiceTaskFeedback().send(getId(), handler);
 
+			}
 		}
 
 		if (isILR) {
@@ -1187,35 +1175,28 @@ public class WorkerImportEstimation extends WorkerImpl {
 	/**
 	 * Loads the type names from the specified worksheet in the given workbook.
 	 * 
-	 * @param workbook  the workbook containing the worksheet
-	 * @param sheets    a map of sheet names to sheet objects
-	 * @param formatter the data formatter used to format cell values
+	 * @param reader    the reader of the workbook containing the worksheet
 	 * @param value     the name of the worksheet to load type names from
 	 * @return a map of display names to type names
 	 * @throws Exception if the worksheet or table cannot be found, or if there is
 	 *                   not enough data in the table
 	 */
-	private Map<String, String> loadTypeNames(WorkbookPart workbook, Map<String, Sheet> sheets, DataFormatter formatter,
-			String value) throws Exception {
-		final Sheet sheet = sheets.get(value);
-		if (sheet == null)
+	private Map<String, String> loadTypeNames(ExcelStreamReader reader, String value) throws Exception {
+		final String sheet = value;
+		if (!reader.hasSheet(sheet))
 			throw new TrickException("error.import.data.sheet.not.found",
 					"Worksheet named `" + value + "` cannot be found!", value);
-		SheetData sheetData = findSheet(workbook, sheet);
-		if (sheetData == null)
-			throw new TrickException("error.import.data.sheet.no.data", "No data for worksheet named `" + value + "`",
-					value);
-		TablePart table = findTable(sheetData, value);
+		Table table = reader.findTable(sheet, value);
 		if (table == null)
 			throw new TrickException("error.import.data.table.not.found",
 					"Table named `" + value + "` cannot be found!", value);
-		final AddressRef address = AddressRef.parse(table.getContents().getRef());
-		final int size = (int) Math.min(address.getEnd().getRow() + 1, sheetData.getRow().size());
-		if (size < 2 || table.getContents().getTableColumns().getTableColumn().size() < 2)
+		final AddressRef address = table.getAddress();
+		final int size = address.getEnd().getRow() + 1;
+		if (size < 2 || table.getColumns().size() < 2)
 			throw new TrickException("error.import.data.table.no.data",
 					"Table named `" + value + "` has not enough data!", value);
-		final List<String> columns = table.getContents().getTableColumns().getTableColumn().stream()
-				.map(c -> c.getName().toLowerCase()).collect(Collectors.toList());
+		final List<String> columns = table.getColumns().stream().map(String::toLowerCase)
+				.collect(Collectors.toList());
 		final int nameIndex = columns.indexOf("name"), displayNameIndex = columns.indexOf("display name");
 		if (nameIndex == -1)
 			throw new TrickException("error.import.data.no.column", "Name column cannot be found!", "Name");
@@ -1223,13 +1204,19 @@ public class WorkerImportEstimation extends WorkerImpl {
 			throw new TrickException("error.import.data.no.column", "Display name column cannot be found!",
 					"Display name");
 		Map<String, String> names = new LinkedHashMap<>(size - 1);
-		for (int i = 1; i < size; i++) {
-			Row row = sheetData.getRow().get(i);
-			String name = getString(row, nameIndex, formatter),
-					displayName = getString(row, displayNameIndex, formatter);
-			if (isEmpty(name) || isEmpty(displayName))
-				continue;
-			names.put(displayName, name);
+		try (Rows rows = reader.read(sheet)) {
+			for (Row row : rows) {
+				final int i = row.getIndex();
+				if (i < 1)
+					continue;
+				if (i >= size)
+					break;
+				String name = row.getString(nameIndex),
+						displayName = row.getString(displayNameIndex);
+				if (isEmpty(name) || isEmpty(displayName))
+					continue;
+				names.put(displayName, name);
+			}
 		}
 		return names;
 	}
@@ -1277,28 +1264,25 @@ public class WorkerImportEstimation extends WorkerImpl {
 			throw new TrickException("error.analysis.not_found", "Analysis cannot be found");
 		if (user == null)
 			throw new TrickException("error.user.not_found", "User cannot be found");
-		final DataFormatter formatter = new DataFormatter();
 		final boolean isILR = Analysis.isILR(analysis);
-		final SpreadsheetMLPackage mlPackage = SpreadsheetMLPackage.load(getServiceStorage().loadAsFile(getFilename()));
-		final WorkbookPart workbook = mlPackage.getWorkbookPart();
-		final Map<String, Sheet> sheets = workbook.getContents().getSheets().getSheet().parallelStream()
-				.collect(Collectors.toMap(Sheet::getName, Function.identity()));
 		final ValueFactory factory = new ValueFactory(analysis.getParameters());
 		final AssessmentAndRiskProfileManager riskProfileManager = new AssessmentAndRiskProfileManager().initialise(
 				daoAnalysis, daoAsset, daoAssessment, daoRiskProfile,
 				daoScenario);
-		if (isAssetOnly())
-			importAsset(analysis, workbook, sheets, formatter, 6, 90);
-		else if (isScenarioOnly())
-			importScenario(analysis, workbook, sheets, formatter, 6, 90);
-		else if (isAssetDependancyOnly()) {
-			importAssetDependancy(analysis, workbook, sheets, formatter, 6, 90);
-		} else if (isILR) {
-			importAssetDependancy(analysis, workbook, sheets, formatter, 6, 60);
-			importRiskEstimation(analysis, factory, riskProfileManager, workbook, sheets, formatter, 60, 90);
-			DependencyGraphManager.computeImpact(analysis.getAssetNodes());
-		} else {
-			importRiskEstimation(analysis, factory, riskProfileManager, workbook, sheets, formatter, 6, 90);
+		try (ExcelStreamReader reader = new ExcelStreamReader(getServiceStorage().loadAsFile(getFilename()))) {
+			if (isAssetOnly())
+				importAsset(analysis, reader, 6, 90);
+			else if (isScenarioOnly())
+				importScenario(analysis, reader, 6, 90);
+			else if (isAssetDependancyOnly()) {
+				importAssetDependancy(analysis, reader, 6, 90);
+			} else if (isILR) {
+				importAssetDependancy(analysis, reader, 6, 60);
+				importRiskEstimation(analysis, factory, riskProfileManager, reader, 60, 90);
+				DependencyGraphManager.computeImpact(analysis.getAssetNodes());
+			} else {
+				importRiskEstimation(analysis, factory, riskProfileManager, reader, 6, 90);
+			}
 		}
 		getServiceTaskFeedback().send(getId(),
 				new MessageHandler("info.compute.risk.esitmation", null, "Computing risk estimation", 91));
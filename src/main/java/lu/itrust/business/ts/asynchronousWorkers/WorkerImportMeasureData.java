@@ -3,12 +3,6 @@
  */
 package lu.itrust.business.ts.asynchronousWorkers;
 
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.findSheet;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.findTableNameStartWith;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getDouble;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getInt;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getString;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getWorksheetPart;
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.isEmpty;
 
 import java.sql.Timestamp;
@@ -19,16 +13,7 @@ import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import org.docx4j.openpackaging.exceptions.Docx4JException;
-import org.docx4j.openpackaging.packages.SpreadsheetMLPackage;
-import org.docx4j.openpackaging.parts.SpreadsheetML.TablePart;
-import org.docx4j.openpackaging.parts.SpreadsheetML.WorkbookPart;
 import org.hibernate.Session;
-import org.xlsx4j.org.apache.poi.ss.usermodel.DataFormatter;
-import org.xlsx4j.sml.Row;
-import org.xlsx4j.sml.STSheetState;
-import org.xlsx4j.sml.Sheet;
-import org.xlsx4j.sml.SheetData;
 
 import lu.itrust.business.ts.asynchronousWorkers.helper.AsyncCallback;
 import lu.itrust.business.ts.component.TrickLogManager;
@@ -37,6 +22,10 @@ import lu.itrust.business.ts.database.dao.DAOAnalysis;
 import lu.itrust.business.ts.database.dao.hbm.DAOAnalysisHBM;
 import lu.itrust.business.ts.exception.TrickException;
 import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.AddressRef;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader.Row;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader.Rows;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader.Table;
 import lu.itrust.business.ts.messagehandler.MessageHandler;
 import lu.itrust.business.ts.messagehandler.TaskName;
 import lu.itrust.business.ts.model.analysis.Analysis;
@@ -191,45 +180,37 @@ public class WorkerImportMeasureData extends WorkerImpl {
 	}
 
 	private void loadMeasures(Analysis analysis) throws Exception {
-		final SpreadsheetMLPackage mlPackage = SpreadsheetMLPackage.load(getServiceStorage().loadAsFile(getFilename()));
-		final WorkbookPart workbook = mlPackage.getWorkbookPart();
-		final DataFormatter formatter = new DataFormatter();
-		final Map<String, Sheet> sheets = workbook.getContents().getSheets().getSheet().parallelStream()
-				.filter(s -> s.getState() == STSheetState.VISIBLE)
-				.collect(Collectors.toMap(Sheet::getName, Function.identity()));
-		final Map<Integer, Phase> phases = analysis.getPhases().stream()
-				.collect(Collectors.toMap(Phase::getNumber, Function.identity()));
-		final int maxProgress = 90 / Math.max(analysis.getAnalysisStandards().size(), 1);
-		int index = 1, minProgress = 6;
-		for (AnalysisStandard analysisStandard : analysis.getAnalysisStandards().values())
-			minProgress = loadData(analysis, workbook, formatter, sheets, phases, analysisStandard, minProgress,
-					maxProgress * index++);
+		try (ExcelStreamReader reader = new ExcelStreamReader(
+				getServiceStorage().loadAsFile(getFilename()))) {
+			final Map<Integer, Phase> phases = analysis.getPhases().stream()
+					.collect(Collectors.toMap(Phase::getNumber, Function.identity()));
+			final int maxProgress = 90 / Math.max(analysis.getAnalysisStandards().size(), 1);
+			int index = 1, minProgress = 6;
+			for (AnalysisStandard analysisStandard : analysis.getAnalysisStandards().values())
+				minProgress = loadData(analysis, reader, phases, analysisStandard, minProgress,
+						maxProgress * index++);
+		}
 	}
 
-	private int loadData(Analysis analysis, final WorkbookPart workbook, final DataFormatter formatter,
-			final Map<String, Sheet> sheets, final Map<Integer, Phase> phases,
-			AnalysisStandard analysisStandard, final int minProgress, final int maxProgress)
-			throws Exception, Docx4JException {
-		final Sheet sheet = sheets.get(analysisStandard.getStandard().getName());
-		if (sheet == null)
-			return minProgress;
-		final SheetData sheetData = findSheet(workbook, sheet);
-		if (sheetData == null)
+	private int loadData(Analysis analysis, final ExcelStreamReader reader, final Map<Integer, Phase> phases,
+			AnalysisStandard analysisStandard, final int minProgress, final int maxProgress) throws Exception {
+		final String sheet = analysisStandard.getStandard().getName();
+		if (!reader.isVisible(sheet))
 			return minProgress;
-		final TablePart table = findTableNameStartWith(getWorksheetPart(sheetData), "Measures");
+		final Table table = reader.findTableNameStartWith(sheet, "Measures");
 		if (table == null)
 			throw new TrickException("error.import.data.table.not.found", "Table named `Measures` cannot be found!",
 					"Measures");
 
-		final AddressRef address = AddressRef.parse(table.getContents().getRef());
+		final AddressRef address = table.getAddress();
 
-		int size = (int) Math.min(address.getEnd().getRow() + 1, sheetData.getRow().size());
+		final int size = address.getEnd().getRow() + 1;
 
-		if (size < 2 || table.getContents().getTableColumns().getTableColumn().size() < 2)
+		if (size < 2 || table.getColumns().size() < 2)
 			return minProgress;
 		final List<SimpleParameter> parameters = findMaturityImplementationRates(analysis, analysisStandard);
-		final List<String> columns = table.getContents().getTableColumns().getTableColumn().stream()
-				.map(c -> c.getName().toLowerCase()).collect(Collectors.toList());
+		final List<String> columns = table.getColumns().stream().map(String::toLowerCase)
+				.collect(Collectors.toList());
 		final Map<String, Measure> measures = analysisStandard.getMeasures().stream()
 				.collect(Collectors.toMap(m -> m.getMeasureDescription().getReference(), Function.identity()));
 		final Map<String, String> columnsMapper = new LinkedHashMap<>(Constant.NORMAL_MEASURE_COLUMNS.length);
@@ -241,125 +222,132 @@ public class WorkerImportMeasureData extends WorkerImpl {
 		final MessageHandler handler = new MessageHandler("info.updating.measure", null, "Update security measures",
 				minProgress);
 		getServiceTaskFeedback().send(getId(), handler);
-		for (int i = 1; i < size; i++) {
-			final Row row = sheetData.getRow().get(i);
-			final String reference = getString(row, refIndex, formatter);
-			if (isEmpty(reference))
-				continue;
-			final Measure measure = measures.get(reference);
-			if (measure == null)
-				continue;
-			boolean updateCost = false;
-			for (int j = 0; j < columns.size(); j++) {
-				final String name = columnsMapper.get(columns.get(j));
-				if (name == null || j == refIndex)
+		try (Rows rows = reader.read(sheet)) {
+			if (rows == null)
+				return minProgress;
+			for (Row row : rows) {
+				final int i = row.getIndex();
+				if (i < 1)
+					continue;
+				if (i >= size)
+					break;
+				final String reference = row.getString(refIndex);
+				if (isEmpty(reference))
+					continue;
+				final Measure measure = measures.get(reference);
+				if (measure == null)
 					continue;
-				switch (name) {
-					case "Status":
-						measure.setStatus(getString(row, j, formatter));
-						break;
-					case "Phase":
-						measure.setPhase(phases.getOrDefault(getInt(row, j, formatter), measure.getPhase()));
-						break;
-					case "Importance":
-						final String importance = getString(row, j, formatter);
-						if (importance != null) {
-							switch (importance.trim().toUpperCase()) {
-								case "1":
-								case "L":
-									measure.setImportance(1);
+				boolean updateCost = false;
+				for (int j = 0; j < columns.size(); j++) {
+					final String name = columnsMapper.get(columns.get(j));
+					if (name == null || j == refIndex)
+						continue;
+					switch (name) {
+						case "Status":
+							measure.setStatus(row.getString(j));
+							break;
+						case "Phase":
+							measure.setPhase(phases.getOrDefault(row.getInt(j), measure.getPhase()));
+							break;
+						case "Importance":
+							final String importance = row.getString(j);
+							if (importance != null) {
+								switch (importance.trim().toUpperCase()) {
+									case "1":
+									case "L":
+										measure.setImportance(1);
+										break;
+									case "2":
+									case "M":
+										measure.setImportance(2);
+										break;
+									case "3":
+									case "H":
+										measure.setImportance(3);
+										break;
+									default:
+										break;
+								}
+							}
+							break;
+						case "Responsible":
+							measure.setResponsible(row.getString(j));
+							break;
+						case "To check":
+							if (measure instanceof AbstractNormalMeasure)
+								((AbstractNormalMeasure) measure).setToCheck(row.getString(j));
+							break;
+						case "Comment":
+							measure.setComment(row.getString(j));
+							break;
+						case "To do":
+							measure.setToDo(row.getString(j));
+							break;
+						case "SOA Mitigated risk":
+							if (measure instanceof AbstractNormalMeasure)
+								((AbstractNormalMeasure) measure).getOrCreateMeasurePropertyList()
+										.setSoaRisk(row.getString(j));
+							break;
+						case "SOA Justification":
+							if (measure instanceof AbstractNormalMeasure)
+								((AbstractNormalMeasure) measure).getOrCreateMeasurePropertyList()
+										.setSoaComment(row.getString(j));
+							break;
+						case "SOA Reference":
+							if (measure instanceof AbstractNormalMeasure)
+								((AbstractNormalMeasure) measure).getOrCreateMeasurePropertyList()
+										.setSoaReference(row.getString(j));
+							break;
+
+						default:
+							boolean tmpUpdateCost = true;
+							switch (name) {
+								case "Implemention":
+									double value = row.getDouble(j) * 100;
+									if (value > 100)
+										value = 100;
+									else if (value < 0)
+										value = 0;
+									if (measure instanceof MaturityMeasure)
+										measure.setImplementationRate(findParameter(value, parameters));
+									else
+										measure.setImplementationRate(value);
+									break;
+								case "Internal Workload":
+									measure.setInternalWL(row.getDouble(j));
+									break;
+								case "External Workload":
+									measure.setExternalWL(row.getDouble(j));
 									break;
-								case "2":
-								case "M":
-									measure.setImportance(2);
+								case "Investment":
+									measure.setInvestment(row.getDouble(j) * 1000);
 									break;
-								case "3":
-								case "H":
-									measure.setImportance(3);
+								case "Life time":
+									measure.setLifetime(row.getDouble(j));
+									break;
+								case "Internal Maintenance":
+									measure.setInternalMaintenance(row.getDouble(j));
+									break;
+								case "External Maintenance":
+									measure.setExternalMaintenance(row.getDouble(j));
+									break;
+								case "Recurrent Maintenance":
+									measure.setRecurrentInvestment(row.getDouble(j) * 1000);
 									break;
 								default:
+									tmpUpdateCost = false;
 									break;
 							}
-						}
-						break;
-					case "Responsible":
-						measure.setResponsible(getString(row, j, formatter));
-						break;
-					case "To check":
-						if (measure instanceof AbstractNormalMeasure)
-							((AbstractNormalMeasure) measure).setToCheck(getString(row, j, formatter));
-						break;
-					case "Comment":
-						measure.setComment(getString(row, j, formatter));
-						break;
-					case "To do":
-						measure.setToDo(getString(row, j, formatter));
-						break;
-					case "SOA Mitigated risk":
-						if (measure instanceof AbstractNormalMeasure)
-							((AbstractNormalMeasure) measure).getOrCreateMeasurePropertyList()
-									.setSoaRisk(getString(row, j, formatter));
-						break;
-					case "SOA Justification":
-						if (measure instanceof AbstractNormalMeasure)
-							((AbstractNormalMeasure) measure).getOrCreateMeasurePropertyList()
-									.setSoaComment(getString(row, j, formatter));
-						break;
-					case "SOA Reference":
-						if (measure instanceof AbstractNormalMeasure)
-							((AbstractNormalMeasure) measure).getOrCreateMeasurePropertyList()
-									.setSoaReference(getString(row, j, formatter));
-						break;
-
-					default:
-						boolean tmpUpdateCost = true;
-						switch (name) {
-							case "Implemention":
-								double value = getDouble(row, j, formatter) * 100;
-								if (value > 100)
-									value = 100;
-								else if (value < 0)
-									value = 0;
-								if (measure instanceof MaturityMeasure)
-									measure.setImplementationRate(findParameter(value, parameters));
-								else
-									measure.setImplementationRate(value);
-								break;
-							case "Internal Workload":
-								measure.setInternalWL(getDouble(row, j, formatter));
-								break;
-							case "External Workload":
-								measure.setExternalWL(getDouble(row, j, formatter));
-								break;
-							case "Investment":
-								measure.setInvestment(getDouble(row, j, formatter) * 1000);
-								break;
-							case "Life time":
-								measure.setLifetime(getDouble(row, j, formatter));
-								break;
-							case "Internal Maintenance":
-								measure.setInternalMaintenance(getDouble(row, j, formatter));
-								break;
-							case "External Maintenance":
-								measure.setExternalMaintenance(getDouble(row, j, formatter));
-								break;
-							case "Recurrent Maintenance":
-								measure.setRecurrentInvestment(getDouble(row, j, formatter) * 1000);
-								break;
-							default:
-								tmpUpdateCost = false;
-								break;
-						}
-						updateCost |= tmpUpdateCost;
-				}
+							updateCost |= tmpUpdateCost;
+					}
 
-				if (updateCost)
-					Measure.computeCost(measure, analysis);
+					if (updateCost)
+						Measure.computeCost(measure, analysis);
 
-				handler.setProgress((int) (minProgress + (i / (double) size) * maxProgress));
-				getServiceTaskFeedback().send(getId(), handler);
+					handler.setProgress((int) (minProgress + (i / (double) size) * maxProgress));
+					getServiceTaskFeedback().send(getId(), handler);
+				}
 			}
-
 		}
 		return handler.getProgress();
 	}
@@ -9,9 +9,6 @@ import static lu.itrust.business.ts.constants.Constant.RI_TYPE_RISK;
 import static lu.itrust.business.ts.constants.Constant.RI_TYPE_RISK_TBA;
 import static lu.itrust.business.ts.constants.Constant.RI_TYPE_RISK_TBS;
 import static lu.itrust.business.ts.constants.Constant.RI_TYPE_THREAT;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.findSheet;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.findTable;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getString;
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.numToColString;
 import static lu.itrust.business.ts.helper.NaturalOrderComparator.compareTo;
 
@@ -23,16 +20,10 @@ import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import org.docx4j.openpackaging.packages.SpreadsheetMLPackage;
-import org.docx4j.openpackaging.parts.SpreadsheetML.TablePart;
-import org.docx4j.openpackaging.parts.SpreadsheetML.WorkbookPart;
 import org.hibernate.HibernateException;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.springframework.util.StringUtils;
-import org.xlsx4j.org.apache.poi.ss.usermodel.DataFormatter;
-import org.xlsx4j.sml.Row;
-import org.xlsx4j.sml.SheetData;
 
 import lu.itrust.business.ts.asynchronousWorkers.helper.AsyncCallback;
 import lu.itrust.business.ts.component.TrickLogManager;
@@ -42,6 +33,10 @@ import lu.itrust.business.ts.database.dao.hbm.DAOAnalysisHBM;
 import lu.itrust.business.ts.database.dao.hbm.DAORiskInformationHBM;
 import lu.itrust.business.ts.exception.TrickException;
 import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.AddressRef;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader.Row;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader.Rows;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader.Table;
 import lu.itrust.business.ts.messagehandler.MessageHandler;
 import lu.itrust.business.ts.messagehandler.TaskName;
 import lu.itrust.business.ts.model.analysis.Analysis;
@@ -213,9 +208,6 @@ public class WorkerImportRiskInformation extends WorkerImpl {
 	private void importRiskInformation(Analysis analysis) throws Exception {
 		final Map<String, RiskInformation> riskInformations = analysis.getRiskInformations().stream()
 				.collect(Collectors.toMap(RiskInformation::getKey, Function.identity()));
-		final SpreadsheetMLPackage mlPackage = SpreadsheetMLPackage.load(getServiceStorage().loadAsFile(getFilename()));
-		final WorkbookPart workbook = mlPackage.getWorkbookPart();
-		final DataFormatter formatter = new DataFormatter();
 		final Locale locale = new Locale(analysis.getLanguage().getAlpha2());
 		final Pattern exposurePattern = Pattern.compile(REGEXP_VALID_RISKINFORMATION_EXPOSED);
 		final int min = 2;
@@ -224,97 +216,107 @@ public class WorkerImportRiskInformation extends WorkerImpl {
 		int progress = min;
 		int indexProgress = 1;
 
-		for (Object[] mapper : RI_SHEET_MAPPERS) {
+		try (ExcelStreamReader reader = new ExcelStreamReader(getServiceStorage().loadAsFile(getFilename()))) {
+			for (Object[] mapper : RI_SHEET_MAPPERS) {
 
-			final String category = mapper[0].toString();
+				final String category = mapper[0].toString();
 
-			final MessageHandler messageHandler = new MessageHandler(
-					"info.risk.information.process.sheet." + category.toLowerCase(),
-					String.format("Processing of %s in progress", category.toLowerCase()),
-					progress);
+				final MessageHandler messageHandler = new MessageHandler(
+						"info.risk.information.process.sheet." + category.toLowerCase(),
+						String.format("Processing of %s in progress", category.toLowerCase()),
+						progress);
 
-			getServiceTaskFeedback().send(getId(), messageHandler);
+				getServiceTaskFeedback().send(getId(), messageHandler);
 
-			final SheetData sheet = findSheet(workbook, mapper[1].toString());
-			if (sheet == null)
-				throw new TrickException("error.risk.information.sheet.not.found",
-						String.format("Something wrong with file: Sheet `%s` cannot be found", mapper[1].toString()),
-						mapper[1].toString());
-			final TablePart tablePart = findTable(sheet, category + "Table");
-			if (tablePart == null)
-				throw new TrickException("error.risk.information.table.not.found",
-						String.format("Something wrong with sheet `%s` : Table `%s` cannot be found",
-								mapper[1].toString(), category + "Table"),
-						mapper[1].toString(),
-						category + "Table");
-			final AddressRef address = AddressRef.parse(tablePart.getContents().getRef());
-			final int maxProgress = progress + (multi * indexProgress);
-			final int minProgress = progress;
-			final int size = Math.min(address.getEnd().getRow() + 1, sheet.getRow().size());
-			final Map<String, Boolean> chapterIndexer = new HashMap<>(size);
-
-			for (int i = address.getBegin().getRow() + 1; i < size; i++) {
-
-				int colIndex = 0;
-
-				final Row row = sheet.getRow().get(i);
-
-				final String chapter = trim(getString(row, colIndex++, formatter));
-
-				if (!StringUtils.hasText(chapter))
-					emptyCellError(mapper[1].toString(), i, colIndex);
-				else if (chapterIndexer.containsKey(chapter))
-					duplicateCellError(mapper[1].toString(), i, colIndex);
-				else
-					chapterIndexer.put(chapter, true);
-
-				RiskInformation riskInformation = riskInformations
-						.remove(RiskInformation.key(category, chapter));
-				if (riskInformation == null)
-					analysis.getRiskInformations().add(riskInformation = new RiskInformation(chapter));
-
-				if (RI_TYPE_RISK.equalsIgnoreCase(category)) {
-					if (compareTo(chapter, "7") < 0)
-						riskInformation.setCategory(RI_TYPE_RISK_TBS);
-					else
-						riskInformation.setCategory(RI_TYPE_RISK_TBA);
-				} else if (riskInformation.getId() < 1)
-					riskInformation.setCategory(category);
-
-				final String name = trim(getString(row, colIndex++, formatter));
-
-				if (!StringUtils.hasText(name))
-					emptyCellError(mapper[1].toString(), i, colIndex);
-
-				if (!riskInformation.isCustom() && riskInformation.getId() > 0) {
-					final String label = trim(getOrignalLabel(locale, riskInformation));
-					if ((label == null || label.equalsIgnoreCase(name))) {
-						riskInformation.setLabel(name);
-						riskInformation.setCustom(true);
-					}
-				} else {
-					riskInformation.setLabel(name);
-					riskInformation.setCustom(true);
-				}
+				final String sheet = mapper[1].toString();
+				if (!reader.hasSheet(sheet))
+					throw new TrickException("error.risk.information.sheet.not.found",
+							String.format("Something wrong with file: Sheet `%s` cannot be found", mapper[1].toString()),
+							mapper[1].toString());
+				final Table table = reader.findTable(sheet, category + "Table");
+				if (table == null)
+					throw new TrickException("error.risk.information.table.not.found",
+							String.format("Something wrong with sheet `%s` : Table `%s` cannot be found",
+									mapper[1].toString(), category + "Table"),
+							mapper[1].toString(),
+							category + "Table");
+				final AddressRef address = table.getAddress();
+				final int maxProgress = progress + (multi * indexProgress);
+				final int minProgress = progress;
+				final int size = address.getEnd().getRow() + 1;
+				final Map<String, Boolean> chapterIndexer = new HashMap<>(size);
 
-				if (mapper[0].equals(RI_TYPE_THREAT))
-					riskInformation.setAcronym(getString(row, colIndex++, formatter));
+				try (Rows rows = reader.read(sheet)) {
+					for (Row row : rows) {
 
-				final String exposed = trim(getString(row, colIndex++, formatter));
-				if (!StringUtils.hasText(exposed) || exposurePattern.matcher(exposed).matches())
-					riskInformation.setExposed(exposed);
-				else
-					errorInvalidValue(category, i, colIndex);
+						final int i = row.getIndex();
 
-				riskInformation.setOwner(getString(row, colIndex++, formatter));
+						if (i <= address.getBegin().getRow())
+							continue;
 
-				riskInformation.setComment(getString(row, colIndex++, formatter));
+						if (i >= size)
+							break;
 
-				riskInformation.setHiddenComment(getString(row, colIndex, formatter));
+						int colIndex = 0;
 
-				messageHandler.setProgress((int) (minProgress + ((i / (double) size) * maxProgress)));
-			}
+						final String chapter = trim(row.getString(colIndex++));
+
+						if (!StringUtils.hasText(chapter))
+							emptyCellError(mapper[1].toString(), i, colIndex);
+						else if (chapterIndexer.containsKey(chapter))
+							duplicateCellError(mapper[1].toString(), i, colIndex);
+						else
+							chapterIndexer.put(chapter, true);
+
+						RiskInformation riskInformation = riskInformations
+								.remove(RiskInformation.key(category, chapter));
+						if (riskInformation == null)
+							analysis.getRiskInformations().add(riskInformation = new RiskInformation(chapter));
+
+						if (RI_TYPE_RISK.equalsIgnoreCase(category)) {
+							if (compareTo(chapter, "7") < 0)
+								riskInformation.setCategory(RI_TYPE_RISK_TBS);
+							else
+								riskInformation.setCategory(RI_TYPE_RISK_TBA);
+						} else if (riskInformation.getId() < 1)
+							riskInformation.setCategory(category);
+
+						final String name = trim(row.getString(colIndex++));
+
+						if (!StringUtils.hasText(name))
+							emptyCellError(mapper[1].toString(), i, colIndex);
+
+						if (!riskInformation.isCustom() && riskInformation.getId() > 0) {
+							final String label = trim(getOrignalLabel(locale, riskInformation));
+							if ((label == null || label.equalsIgnoreCase(name))) {
+								riskInformation.setLabel(name);
+								riskInformation.setCustom(true);
+							}
+						} else {
+							riskInformation.setLabel(name);
+							riskInformation.setCustom(true);
+						}
+
+						if (mapper[0].equals(RI_TYPE_THREAT))
+							riskInformation.setAcronym(row.getString(colIndex++));
+
+						final String exposed = trim(row.getString(colIndex++));
+						if (!StringUtils.hasText(exposed) || exposurePattern.matcher(exposed).matches())
+							riskInformation.setExposed(exposed);
+						else
+							errorInvalidValue(category, i, colIndex);
 
+						riskInformation.setOwner(row.getString(colIndex++));
+
+						riskInformation.setComment(row.getString(colIndex++));
+
+						riskInformation.setHiddenComment(row.getString(colIndex));
+
+						messageHandler.setProgress((int) (minProgress + ((i / (double) size) * maxProgress)));
+					}
+				}
+
+			}
 		}
 
 		getServiceTaskFeedback().send(getId(), new MessageHandler("info.save.analysis", "Saving analysis", max));
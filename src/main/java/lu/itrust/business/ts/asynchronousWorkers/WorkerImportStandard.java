@@ -1,13 +1,9 @@
 package lu.itrust.business.ts.asynchronousWorkers;
 
 import static lu.itrust.business.ts.component.MeasureManager.update;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.findSheet;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.findTable;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getBoolean;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getInt;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getString;
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.isEmpty;
 
+import java.io.IOException;
 import java.sql.Timestamp;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -16,16 +12,10 @@ import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import org.docx4j.openpackaging.packages.SpreadsheetMLPackage;
-import org.docx4j.openpackaging.parts.SpreadsheetML.TablePart;
-import org.docx4j.openpackaging.parts.SpreadsheetML.WorkbookPart;
 import org.hibernate.HibernateException;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.springframework.util.StringUtils;
-import org.xlsx4j.org.apache.poi.ss.usermodel.DataFormatter;
-import org.xlsx4j.sml.Row;
-import org.xlsx4j.sml.SheetData;
 
 import lu.itrust.business.ts.asynchronousWorkers.helper.AsyncCallback;
 import lu.itrust.business.ts.component.TrickLogManager;
@@ -46,6 +36,10 @@ import lu.itrust.business.ts.database.dao.hbm.DAOMeasureDescriptionTextHBM;
 import lu.itrust.business.ts.database.dao.hbm.DAOStandardHBM;
 import lu.itrust.business.ts.exception.TrickException;
 import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.AddressRef;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader.Row;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader.Rows;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader.Table;
 import lu.itrust.business.ts.messagehandler.MessageHandler;
 import lu.itrust.business.ts.messagehandler.TaskName;
 import lu.itrust.business.ts.model.general.Language;
@@ -212,25 +206,23 @@ public class WorkerImportStandard extends WorkerImpl {
 		getServiceTaskFeedback().send(getId(),
 				new MessageHandler("info.import.norm.from.excel", "Import new Standard from Excel template", 1));
 
-		final DataFormatter formatter = new DataFormatter();
+		try (ExcelStreamReader reader = new ExcelStreamReader(getServiceStorage().loadAsFile(getFilename()))) {
 
-		final WorkbookPart workbookPart = SpreadsheetMLPackage.load(getServiceStorage().loadAsFile(getFilename()))
-				.getWorkbookPart();
-
-		getServiceTaskFeedback().send(getId(),
-				new MessageHandler("info.import.norm.information", "Import standard information", 5));
-
-		getStandard(workbookPart, formatter);
-
-		if (newstandard != null) {
 			getServiceTaskFeedback().send(getId(),
-					new MessageHandler("info.import.norm.measure", "Import measures", 10));
-			getMeasures(workbookPart, formatter);
-			getServiceTaskFeedback().send(getId(),
-					new MessageHandler("success.import.norm", "Standard was been successfully imported", 95));
-		} else
-			throw new TrickException("error.import.norm.malformedExcelFile",
-					"The Excel file containing Standard to import is malformed. Please check its content!");
+					new MessageHandler("info.import.norm.information", "Import standard information", 5));
+
+			getStandard(reader);
+
+			if (newstandard != null) {
+				getServiceTaskFeedback().send(getId(),
+						new MessageHandler("info.import.norm.measure", "Import measures", 10));
+				getMeasures(reader);
+				getServiceTaskFeedback().send(getId(),
+						new MessageHandler("success.import.norm", "Standard was been successfully imported", 95));
+			} else
+				throw new TrickException("error.import.norm.malformedExcelFile",
+						"The Excel file containing Standard to import is malformed. Please check its content!");
+		}
 	}
 
 	/**
@@ -242,26 +234,26 @@ public class WorkerImportStandard extends WorkerImpl {
 	 * @param sharedStrings
 	 * 
 	 */
-	public void getStandard(WorkbookPart workbookPart, DataFormatter formatter) throws Exception {
+	public void getStandard(ExcelStreamReader reader) throws Exception {
 		this.newstandard = null;
-		SheetData infoSheet = findSheet(workbookPart, "NormInfo");
-		if (infoSheet == null)
+		if (!reader.hasSheet("NormInfo"))
 			return;
-		this.newstandard = loadStandard(infoSheet, formatter);
+		this.newstandard = loadStandard(reader, "NormInfo");
 	}
 
-	private Standard loadStandard(SheetData infoSheet, DataFormatter formatter) throws Exception {
-		final TablePart tablePart = findTable(infoSheet, "TableNormInfo");
-		if (tablePart == null)
+	private Standard loadStandard(ExcelStreamReader reader, String infoSheet) throws Exception {
+		final Table table = reader.findTable(infoSheet, "TableNormInfo");
+		if (table == null)
 			return null;
-		final AddressRef addressRef = AddressRef.parse(tablePart.getContents().getRef());
-		final Row data = infoSheet.getRow().get(addressRef.getEnd().getRow());
-		final int labelIndex = data.getC().size() == 4 ? addressRef.getBegin().getCol()
+		final AddressRef addressRef = table.getAddress();
+		final Row data = findRow(reader, infoSheet, addressRef.getEnd().getRow());
+		if (data == null)
+			return null;
+		final int labelIndex = data.size() == 4 ? addressRef.getBegin().getCol()
 				: addressRef.getBegin().getCol() + 1;
-		final String label = getString(data.getC().get(labelIndex), formatter);
-		final int version = getInt(data.getC().get(labelIndex + 1), formatter);
-		final String name = data.getC().size() == 4 ? label
-				: getString(data.getC().get(addressRef.getBegin().getCol()), formatter);
+		final String label = data.getString(labelIndex);
+		final int version = data.getInt(labelIndex + 1);
+		final String name = data.size() == 4 ? label : data.getString(addressRef.getBegin().getCol());
 		if (isEmpty(label))
 			throw new TrickException("error.standard.label.empty", "Standard name cannot be empty");
 		if (isEmpty(name))
@@ -274,13 +266,13 @@ public class WorkerImportStandard extends WorkerImpl {
 		else if (standard.isAnalysisOnly())
 			throw new TrickException("error.standard.link.analysis", "Standard cannot be updated from knowledge base");
 
-		return loadStandardData(standard, data, labelIndex, formatter);
+		return loadStandardData(standard, data, labelIndex);
 	}
 
-	private Standard loadStandardData(Standard standard, Row data, int startCol, DataFormatter formatter) {
-		standard.setVersion(getInt(data.getC().get(startCol + 1), formatter));
-		standard.setDescription(getString(data.getC().get(startCol + 2), formatter));
-		standard.setComputable(getBoolean(data.getC().get(startCol + 3), formatter));
+	private Standard loadStandardData(Standard standard, Row data, int startCol) {
+		standard.setVersion(data.getInt(startCol + 1));
+		standard.setDescription(data.getString(startCol + 2));
+		standard.setComputable(data.getBoolean(startCol + 3));
 		if (standard.getId() > 0) {
 			setUpdated(true);
 			daoStandard.saveOrUpdate(standard);
@@ -315,64 +307,77 @@ public class WorkerImportStandard extends WorkerImpl {
 	 * @param workbookPart
 	 * 
 	 */
-	public void getMeasures(WorkbookPart workbookPart, DataFormatter formatter) throws Exception {
-		SheetData sheet = findSheet(workbookPart, "NormData");
-		if (sheet == null)
+	public void getMeasures(ExcelStreamReader reader) throws Exception {
+		final String sheet = "NormData";
+		if (!reader.hasSheet(sheet))
 			getServiceTaskFeedback().send(getId(),
 					new MessageHandler("error.import.norm.measure", null,
 							"There was problem during import of measures. Please check measure content!"));
-		TablePart tablePart = findTable(sheet, "TableNormData");
-		if (tablePart == null)
+		Table table = reader.findTable(sheet, "TableNormData");
+		if (table == null)
 			getServiceTaskFeedback().send(getId(),
 					new MessageHandler("error.import.norm.measure", null,
 							"There was problem during import of measures. Please check measure content!"));
-		loadMeasureDescription(sheet, AddressRef.parse(tablePart.getContents().getRef()), formatter);
+		loadMeasureDescription(reader, sheet, table.getAddress());
 	}
 
-	private void loadMeasureDescription(SheetData sheet, AddressRef address, DataFormatter formatter) {
-		Map<Integer, Language> languages = loadLanguages(sheet, address, formatter);
-		if (languages.isEmpty())
-			getServiceTaskFeedback().send(getId(),
-					new MessageHandler("error.import.norm.measure", null,
-							"There was problem during import of measures. Please check measure content!"));
+	private void loadMeasureDescription(ExcelStreamReader reader, String sheet, AddressRef address)
+			throws IOException {
 
-		final int begin = address.getBegin().getRow() + 1,
-				end = Math.min(address.getEnd().getRow() + 1, sheet.getRow().size()),
-				startIndex = getStartIndex(sheet, begin, formatter);
+		final int begin = address.getBegin().getRow() + 1, end = address.getEnd().getRow() + 1;
 
 		final List<MeasureDescription> measureDescriptions = new LinkedList<>();
 
-		for (int i = begin; i < end; i++) {
-			final Row row = sheet.getRow().get(i);
-			final String reference = getString(row.getC().get(startIndex), formatter);
-			if (isEmpty(reference))
-				continue;
-			MeasureDescription measureDescription = daoMeasureDescription.getByReferenceAndStandard(reference,
-					newstandard);
-
-			if (measureDescription == null) {
-				measureDescription = new MeasureDescription(reference, newstandard);
-				if (isUpdated())
-					measureDescriptions.add(measureDescription);
-			}
+		Map<Integer, Language> languages = new HashMap<>();
+
+		int startIndex = 0;
+
+		try (Rows rows = reader.read(sheet)) {
+			for (Row row : rows) {
+				final int i = row.getIndex();
+				if (i < begin - 1)
+					continue;
+				if (i >= end)
+					break;
+				if (i == begin - 1) {
+					languages = loadLanguages(row, address);
+					if (languages.isEmpty())
+						getServiceTaskFeedback().send(getId(),
+								new MessageHandler("error.import.norm.measure", null,
+										"There was problem during import of measures. Please check measure content!"));
+					startIndex = hasLevel(row) ? 1 : 0;
+					continue;
+				}
+				final String reference = row.getString(startIndex);
+				if (isEmpty(reference))
+					continue;
+				MeasureDescription measureDescription = daoMeasureDescription.getByReferenceAndStandard(reference,
+						newstandard);
+
+				if (measureDescription == null) {
+					measureDescription = new MeasureDescription(reference, newstandard);
+					if (isUpdated())
+						measureDescriptions.add(measureDescription);
+				}
 
-			measureDescription.setComputable(getBoolean(row.getC().get(startIndex + 1), formatter));
-			final int languageCount = (address.getEnd().getCol() - (startIndex + 1)) / 2;
-			for (int j = 0; j < languageCount; j++) {
-				Language language = languages.get(j);
-				int domInd = j * 2 + (startIndex + 2), descInd = domInd + 1;
-				MeasureDescriptionText descriptionText = daoMeasureDescriptionText
-						.getForMeasureDescriptionAndLanguage(measureDescription.getId(), language.getId());
-				if (descriptionText == null)
-					measureDescription.getMeasureDescriptionTexts()
-							.add(descriptionText = new MeasureDescriptionText(measureDescription, language));
-				String domain = getString(row, domInd, formatter), description = getString(row, descInd, formatter);
-				if (StringUtils.hasText(domain))
-					descriptionText.setDomain(domain);
-				if (StringUtils.hasText(description))
-					descriptionText.setDescription(description);
+				measureDescription.setComputable(row.getBoolean(startIndex + 1));
+				final int languageCount = (address.getEnd().getCol() - (startIndex + 1)) / 2;
+				for (int j = 0; j < languageCount; j++) {
+					Language language = languages.get(j);
+					int domInd = j * 2 + (startIndex + 2), descInd = domInd + 1;
+					MeasureDescriptionText descriptionText = daoMeasureDescriptionText
+							.getForMeasureDescriptionAndLanguage(measureDescription.getId(), language.getId());
+					if (descriptionText == null)
+						measureDescription.getMeasureDescriptionTexts()
+								.add(descriptionText = new MeasureDescriptionText(measureDescription, language));
+					String domain = row.getString(domInd), description = row.getString(descInd);
+					if (StringUtils.hasText(domain))
+						descriptionText.setDomain(domain);
+					if (StringUtils.hasText(description))
+						descriptionText.setDescription(description);
+				}
+				daoMeasureDescription.saveOrUpdate(measureDescription);
 			}
-			daoMeasureDescription.saveOrUpdate(measureDescription);
 		}
 
 		if (!measureDescriptions.isEmpty()) {
@@ -395,27 +400,34 @@ public class WorkerImportStandard extends WorkerImpl {
 
 	}
 
-	private int getStartIndex(final SheetData sheet, final int begin, final DataFormatter formatter) {
-		if (sheet.getRow().size() < begin || begin < 0)
-			return 0;
-		return hasLevel(sheet.getRow().get(begin - 1), formatter) ? 1 : 0;
+	private Row findRow(ExcelStreamReader reader, String sheet, int index) throws IOException {
+		try (Rows rows = reader.read(sheet)) {
+			if (rows == null)
+				return null;
+			for (Row row : rows) {
+				if (row.getIndex() == index)
+					return row;
+				if (row.getIndex() > index)
+					break;
+			}
+		}
+		return null;
 	}
 
-	private boolean hasColumn(final String name, final Row row, final int cellIndex, final DataFormatter formatter) {
-		return name.equalsIgnoreCase(getString(row, cellIndex, formatter));
+	private boolean hasColumn(final String name, final Row row, final int cellIndex) {
+		return name.equalsIgnoreCase(row.getString(cellIndex));
 	}
 
-	private boolean hasLevel(final Row row, final DataFormatter formatter) {
-		return hasColumn("Level", row, 0, formatter);
+	private boolean hasLevel(final Row row) {
+		return hasColumn("Level", row, 0);
 	}
 
-	private Map<Integer, Language> loadLanguages(SheetData sheet, AddressRef address, DataFormatter formatter) {
+	private Map<Integer, Language> loadLanguages(Row row, AddressRef address) {
 		final Map<Integer, Language> languages = new HashMap<>();
-		final Row row = sheet.getRow().get(address.getBegin().getRow());
-		final int startIndex = hasLevel(row, formatter) ? 1 : 0,
+		final int startIndex = hasLevel(row) ? 1 : 0,
 				languageCount = (address.getEnd().getCol() - (1 + startIndex)) / 2;
 		for (int i = 0; i < languageCount; i++) {
-			String domain = getString(row.getC().get(i * 2 + (2 + startIndex)), formatter);
+			String domain = row.getString(i * 2 + (2 + startIndex));
 			if (isEmpty(domain))
 				throw new TrickException("error.standard.bad.table.header", "Please check for table header");
 			Matcher matcher = pattern.matcher(domain);
@@ -102,6 +102,7 @@ public class WorkerSOAExport extends WorkerImpl {
 	private DAOWordReport daoWordReport;
 
 	public WorkerSOAExport(String username, Integer idAnalysis) {
+		setName(TaskName.EXPORT_SOA);
 		this.username = username;
 		this.idAnalysis = idAnalysis;
 	}
@@ -178,7 +179,6 @@ public class WorkerSOAExport extends WorkerImpl {
 					return;
 				setWorking(true);
 				setStarted(new Timestamp(System.currentTimeMillis()));
-				setName(TaskName.EXPORT_SOA);
 				setCurrent(Thread.currentThread());
 			}
 			session = getSessionFactory().openSession();
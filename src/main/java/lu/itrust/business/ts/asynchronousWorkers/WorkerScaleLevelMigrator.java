@@ -74,6 +74,7 @@ public class WorkerScaleLevelMigrator extends WorkerImpl {
 	 * @param sessionFactory
 	 */
 	public WorkerScaleLevelMigrator(int idAnalysis, Map<Integer, List<Integer>> levelMappers) {
+		setName(TaskName.SCALE_LEVEL_MIGRATE);
 		setIdAnalysis(idAnalysis);
 		setLevelMappers(levelMappers);
 	}
@@ -138,7 +139,6 @@ public class WorkerScaleLevelMigrator extends WorkerImpl {
 					return;
 				setWorking(true);
 				setStarted(new Timestamp(System.currentTimeMillis()));
-				setName(TaskName.SCALE_LEVEL_MIGRATE);
 				setCurrent(Thread.currentThread());
 			}
 			getServiceTaskFeedback().send(getId(), new MessageHandler("info.scale.level.migrate.initialise.data", "Initialising data", 1));
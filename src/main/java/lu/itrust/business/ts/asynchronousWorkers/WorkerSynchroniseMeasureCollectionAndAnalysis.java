@@ -52,6 +52,7 @@ public class WorkerSynchroniseMeasureCollectionAndAnalysis extends WorkerImpl {
 	private DAOMeasureDescription daoMeasureDescription;
 
 	public WorkerSynchroniseMeasureCollectionAndAnalysis(String username) {
+		setName(TaskName.SYNCHRONIZE_ANALYSES_MEASURE_COLLECION);
 		setUsername(username);
 	}
 
@@ -72,7 +73,6 @@ public class WorkerSynchroniseMeasureCollectionAndAnalysis extends WorkerImpl {
 					return;
 				setWorking(true);
 				setStarted(new Timestamp(System.currentTimeMillis()));
-				setName(TaskName.SYNCHRONIZE_ANALYSES_MEASURE_COLLECION);
 				setCurrent(Thread.currentThread());
 			}
 			getServiceTaskFeedback().send(getId(), new MessageHandler("info.synchronise.analyses.measure.collection.initialise", "Initialising data", null));
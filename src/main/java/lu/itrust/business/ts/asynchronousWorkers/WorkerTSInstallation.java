@@ -19,6 +19,7 @@ import lu.itrust.business.ts.database.dao.hbm.DAOTrickServiceHBM;
 import lu.itrust.business.ts.database.service.ServiceStorage;
 import lu.itrust.business.ts.database.service.ServiceTaskFeedback;
 import lu.itrust.business.ts.database.service.WorkersPoolManager;
+import lu.itrust.business.ts.importation.ImportAnalysis;
 import lu.itrust.business.ts.messagehandler.MessageHandler;
 import lu.itrust.business.ts.messagehandler.TaskName;
 import lu.itrust.business.ts.model.TrickService;
@@ -50,6 +51,7 @@ public class WorkerTSInstallation extends WorkerAnalysisImport {
 	public WorkerTSInstallation(String version, WorkersPoolManager workersPoolManager, SessionFactory sessionFactory, ServiceTaskFeedback serviceTaskFeedback,
 			ServiceStorage serviceStorage, List<String> fileNames, int customerId, String ownerUsername) throws IOException {
 		super(fileNames, customerId, ownerUsername);
+		setName(TaskName.INSTALL_APPLICATION);
 		setCurrentVersion(version);
 		setCanDeleteFile(false);
 	}
@@ -65,7 +67,6 @@ public class WorkerTSInstallation extends WorkerAnalysisImport {
 		Session session = null;
 		try {
 			super.OnStarted();
-			setName(TaskName.INSTALL_APPLICATION);
 			getServiceTaskFeedback().send(getId(), new MessageHandler("info.delete.default.profile", "Removing the default profiles", 1));
 			session = getSessionFactory().openSession();
 			final DAOAnalysis daoAnalysis = new DAOAnalysisHBM(session);
@@ -95,11 +96,28 @@ public class WorkerTSInstallation extends WorkerAnalysisImport {
 	 */
 	@Override
 	protected void process(int index, String fileName, Session session, User user, Customer customer) throws ClassNotFoundException, SQLException, Exception {
+		getImportAnalysis().setAnalysis(createDefaultProfile());
+		super.process(index, fileName, session, user, customer);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see lu.itrust.business.ts.asynchronousWorkers.WorkerAnalysisImport#
+	 * createImportAnalysis()
+	 */
+	@Override
+	protected ImportAnalysis createImportAnalysis() {
+		final ImportAnalysis importAnalysis = super.createImportAnalysis();
+		importAnalysis.setAnalysis(createDefaultProfile());
+		return importAnalysis;
+	}
+
+	private Analysis createDefaultProfile() {
 		final Analysis analysis = new Analysis();
 		analysis.setProfile(true);
 		analysis.setDefaultProfile(true);
-		getImportAnalysis().setAnalysis(analysis);
-		super.process(index, fileName, session, user, customer);
+		return analysis;
 	}
 
 	/*
@@ -0,0 +1,52 @@
+package lu.itrust.business.ts.asynchronousWorkers.helper;
+
+import lu.itrust.business.ts.messagehandler.TaskName;
+
+/**
+ * Cost class of a background task, used by the worker scheduler to order the
+ * pending tasks.<br>
+ * Classes are declared by decreasing priority.
+ */
+public enum TaskCost {
+
+	/** Short computations the user is waiting for */
+	INTERACTIVE,
+
+	/** Imports and updates of a part of an analysis */
+	STANDARD,
+
+	/** Exports and imports of a whole analysis, installation and migrations */
+	BULK;
+
+	/**
+	 * of: <br>
+	 * Returns the cost class of a task.
+	 *
+	 * @param name the name of the task, can be null
+	 * @return the cost class, {@link #STANDARD} when the name is unknown
+	 */
+	public static TaskCost of(TaskName name) {
+		if (name == null)
+			return STANDARD;
+		switch (name) {
+		case COMPUTE_ACTION_PLAN:
+		case COMPUTE_DYNAMIC_PARAMETER:
+		case COMPUTE_RISK_REGISTER:
+		case RESET_ANALYSIS_RIGHT:
+			return INTERACTIVE;
+		case EXPORT_ANALYSIS:
+		case EXPORT_ANALYSIS_REPORT:
+		case EXPORT_RISK_ESTIMATION:
+		case EXPORT_RISK_REGISTER:
+		case EXPORT_RISK_SHEET:
+		case EXPORT_SOA:
+		case IMPORT_ANALYSIS:
+		case INSTALL_APPLICATION:
+		case SCALE_LEVEL_MIGRATE:
+		case SYNCHRONIZE_ANALYSES_MEASURE_COLLECION:
+			return BULK;
+		default:
+			return STANDARD;
+		}
+	}
+}
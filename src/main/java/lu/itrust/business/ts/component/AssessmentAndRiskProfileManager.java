@@ -1,10 +1,13 @@
 package lu.itrust.business.ts.component;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -496,6 +499,42 @@ public class AssessmentAndRiskProfileManager {
 		}
 	}
 
+	/**
+	 * UpdateAssetALE: <br>
+	 * Computes the ALE of the given assessments and updates the ALE of their
+	 * selected assets only.
+	 * 
+	 * @param analysis
+	 * @param assessments
+	 *            The updated assessments
+	 * @return The updated assets
+	 */
+	public static Set<Asset> UpdateAssetALE(Analysis analysis, Collection<Assessment> assessments) {
+		final Set<Asset> assets = new LinkedHashSet<>();
+		for (Assessment assessment : assessments) {
+			ComputeAlE(assessment);
+			if (assessment.getAsset().isSelected())
+				assets.add(assessment.getAsset());
+		}
+		if (assets.isEmpty())
+			return assets;
+		final Map<Integer, List<Assessment>> assessmentsByAsset = analysis.getAssessments().stream()
+				.filter(a -> a.isSelected() && assets.contains(a.getAsset()))
+				.collect(Collectors.groupingBy(a -> a.getAsset().getId()));
+		for (Asset asset : assets) {
+			double ale = 0, alep = 0, aleo = 0;
+			for (Assessment assessment : assessmentsByAsset.getOrDefault(asset.getId(), Collections.emptyList())) {
+				ale += assessment.getALE();
+				aleo += assessment.getALEO();
+				alep += assessment.getALEP();
+			}
+			asset.setALE(ale);
+			asset.setALEO(aleo);
+			asset.setALEP(alep);
+		}
+		return assets;
+	}
+
 	/**
 	 * Updates the risk dependencies in the analysis based on the provided analysis
 	 * and value factory.
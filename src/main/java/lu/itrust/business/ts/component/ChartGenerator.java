@@ -72,9 +72,9 @@ import lu.itrust.business.ts.model.parameter.IParameter;
 import lu.itrust.business.ts.model.parameter.helper.ValueFactory;
 import lu.itrust.business.ts.model.parameter.impl.RiskAcceptanceParameter;
 import lu.itrust.business.ts.model.parameter.impl.SimpleParameter;
-import lu.itrust.business.ts.model.rrf.RRF;
 import lu.itrust.business.ts.model.rrf.RRFAsset;
 import lu.itrust.business.ts.model.rrf.RRFAssetType;
+import lu.itrust.business.ts.model.rrf.RRFMatrix;
 import lu.itrust.business.ts.model.rrf.RRFMeasure;
 import lu.itrust.business.ts.model.scenario.Scenario;
 import lu.itrust.business.ts.model.scenario.ScenarioType;
@@ -975,7 +975,7 @@ public class ChartGenerator {
 		final Map<Long, Map<Assessment, Set<String>>> involvedVariables = new HashMap<>(); // dito
 		final Map<Long, Map<String, Double>> expressionParameters = new HashMap<>(); // dito
 		final Map<T, Map<Long, Double>> data = dynamicRiskComputer.generateAleEvolutionData(assessments, standards, sourceUserNames, allParameters, aggregator, xAxisValues,
-				involvedVariables, expressionParameters);
+				involvedVariables, expressionParameters, analysis.getRRFMatrix());
 		// Output data
 		final Chart chart = new Chart("ale-evolution-" + chartTitle.hashCode(), chartTitle);
 		for (T key : data.keySet()) {
@@ -1069,9 +1069,9 @@ public class ChartGenerator {
 		chart.getDatasets().add(dataset);
 	}
 
-	private void computeRRFAssetMeasure(Scenario scenario, IParameter parameter, Asset asset, RRFAssetType rrfAssetType, RRFMeasure rrfMeasure, AssetMeasure measure)
-			throws TrickException, ParseException {
-		rrfMeasure.setValue(RRF.calculateAssetMeasureRRF(scenario, asset, parameter, measure));
+	private void computeRRFAssetMeasure(RRFMatrix rrfMatrix, Scenario scenario, IParameter parameter, Asset asset, RRFAssetType rrfAssetType, RRFMeasure rrfMeasure,
+			AssetMeasure measure) throws TrickException, ParseException {
+		rrfMeasure.setValue(rrfMatrix.getAssetMeasureRRF(scenario, asset, parameter, measure));
 		rrfAssetType.getRrfMeasures().add(rrfMeasure);
 	}
 
@@ -1091,16 +1091,15 @@ public class ChartGenerator {
 		if (measure.getMeasureAssetValues().size() == 0)
 			throw new TrickException("error.rrf.measure.no_assets", "The measure " + measure.getMeasureDescription().getReference() + " does not have any assets attributed!",
 					measure.getMeasureDescription().getReference());
+		final RRFMatrix rrfMatrix = daoAnalysis.get(idAnalysis).getRRFMatrix();
+		final NumberFormat nf = new DecimalFormat();
+		nf.setMaximumFractionDigits(2);
 		for (MeasureAssetValue assetValue : measure.getMeasureAssetValues()) {
 			RRFAsset rrfAsset = new RRFAsset(assetValue.getAsset().getName());
 			for (Scenario scenario : scenarios) {
 				RRFMeasure rrfMeasure = new RRFMeasure(measure.getId(), measure.getMeasureDescription().getReference());
 
-				double val = RRF.calculateAssetMeasureRRF(scenario, assetValue.getAsset(), parameter, measure);
-
-				NumberFormat nf = new DecimalFormat();
-
-				nf.setMaximumFractionDigits(2);
+				double val = rrfMatrix.getAssetMeasureRRF(scenario, assetValue.getAsset(), parameter, measure);
 
 				val = nf.parse(nf.format(val)).doubleValue();
 
@@ -1128,16 +1127,15 @@ public class ChartGenerator {
 			throws Exception {
 		IParameter parameter = daoSimpleParameter.findByAnalysisIdAndTypeAndDescription(idAnalysis, Constant.PARAMETERTYPE_TYPE_SINGLE_NAME, Constant.PARAMETER_MAX_RRF);
 		Map<String, RRFAssetType> rrfs = new LinkedHashMap<String, RRFAssetType>(assetTypes.size());
+		final RRFMatrix rrfMatrix = daoAnalysis.get(idAnalysis).getRRFMatrix();
+		final NumberFormat nf = new DecimalFormat();
+		nf.setMaximumFractionDigits(2);
 		for (AssetType assetType : assetTypes) {
 			RRFAssetType rrfAssetType = new RRFAssetType(messageSource.getMessage("label.asset_type." + assetType.getName().toLowerCase(), null, assetType.getName(), locale));
 			for (Scenario scenario : scenarios) {
 				RRFMeasure rrfMeasure = new RRFMeasure(measure.getId(), measure.getMeasureDescription().getReference());
 
-				double val = RRF.calculateNormalMeasureRRF(scenario, assetType, parameter, measure);
-
-				NumberFormat nf = new DecimalFormat();
-
-				nf.setMaximumFractionDigits(2);
+				double val = rrfMatrix.getNormalMeasureRRF(scenario, assetType, parameter, measure);
 
 				val = nf.parse(nf.format(val)).doubleValue();
 
@@ -1153,6 +1151,7 @@ public class ChartGenerator {
 	private Map<String, Object> computeRRFByScenario(Scenario scenario, List<Measure> measures, int idAnalysis, Locale locale) throws Exception {
 		IParameter parameter = daoSimpleParameter.findByAnalysisIdAndTypeAndDescription(idAnalysis, Constant.PARAMETERTYPE_TYPE_SINGLE_NAME, Constant.PARAMETER_MAX_RRF);
 		Map<String, Object> rrfs = new LinkedHashMap<String, Object>();
+		final RRFMatrix rrfMatrix = daoAnalysis.get(idAnalysis).getRRFMatrix();
 		List<AssetType> assetTypes = scenario.getAssetTypes();
 		if (assetTypes.isEmpty())
 			throw new TrickException("error.rrf.scneario.no_assettypevalues", "The scenario " + scenario.getName() + " does not have any asset types attributed!",
@@ -1161,11 +1160,11 @@ public class ChartGenerator {
 			if (measure instanceof NormalMeasure) {
 				if (scenario.isAssetLinked()) {
 					for (Asset asset : scenario.getLinkedAssets())
-						computeRRFNormalMeasure(scenario, parameter, asset.getAssetType(), findRRFAssetType(asset.getName(), rrfs),
+						computeRRFNormalMeasure(rrfMatrix, scenario, parameter, asset.getAssetType(), findRRFAssetType(asset.getName(), rrfs),
 								new RRFMeasure(measure.getId(), measure.getMeasureDescription().getReference()), (NormalMeasure) measure);
 				} else {
 					for (AssetType assetType : scenario.getAssetTypes())
-						computeRRFNormalMeasure(scenario, parameter, assetType,
+						computeRRFNormalMeasure(rrfMatrix, scenario, parameter, assetType,
 								findRRFAssetType(messageSource.getMessage("label.asset_type." + assetType.getName().toLowerCase(), null, assetType.getName(), locale), rrfs),
 								new RRFMeasure(measure.getId(), measure.getMeasureDescription().getReference()), (NormalMeasure) measure);
 				}
@@ -1173,13 +1172,13 @@ public class ChartGenerator {
 			} else if (measure instanceof AssetMeasure) {
 				if (scenario.isAssetLinked()) {
 					for (Asset asset : scenario.getLinkedAssets())
-						computeRRFAssetMeasure(scenario, parameter, asset, findRRFAssetType(asset.getName(), rrfs),
+						computeRRFAssetMeasure(rrfMatrix, scenario, parameter, asset, findRRFAssetType(asset.getName(), rrfs),
 								new RRFMeasure(measure.getId(), measure.getMeasureDescription().getReference()), (AssetMeasure) measure);
 				} else {
 					AssetMeasure assetMeasure = (AssetMeasure) measure;
 					for (MeasureAssetValue measureAssetValue : assetMeasure.getMeasureAssetValues()) {
 						if (scenario.hasInfluenceOnAsset(measureAssetValue.getAsset()))
-							computeRRFAssetMeasure(scenario, parameter, measureAssetValue.getAsset(), findRRFAssetType(measureAssetValue.getAsset().getName(), rrfs),
+							computeRRFAssetMeasure(rrfMatrix, scenario, parameter, measureAssetValue.getAsset(), findRRFAssetType(measureAssetValue.getAsset().getName(), rrfs),
 									new RRFMeasure(measure.getId(), measure.getMeasureDescription().getReference()), assetMeasure);
 					}
 				}
@@ -1188,9 +1187,9 @@ public class ChartGenerator {
 		return rrfs;
 	}
 
-	private void computeRRFNormalMeasure(Scenario scenario, IParameter parameter, AssetType assetType, RRFAssetType rrfAssetType, RRFMeasure rrfMeasure,
+	private void computeRRFNormalMeasure(RRFMatrix rrfMatrix, Scenario scenario, IParameter parameter, AssetType assetType, RRFAssetType rrfAssetType, RRFMeasure rrfMeasure,
 			NormalMeasure normalMeasure) throws ParseException {
-		rrfMeasure.setValue(RRF.calculateNormalMeasureRRF(scenario, assetType, parameter, normalMeasure));
+		rrfMeasure.setValue(rrfMatrix.getNormalMeasureRRF(scenario, assetType, parameter, normalMeasure));
 		rrfAssetType.getRrfMeasures().add(rrfMeasure);
 	}
 
@@ -1370,7 +1369,11 @@ public class ChartGenerator {
 	}
 
 	public static double ComputeCompliance(AnalysisStandard analysisStandard, ValueFactory factory) {
-		return analysisStandard.getMeasures().stream().filter(m -> !m.getStatus().equals(Constant.MEASURE_STATUS_NOT_APPLICABLE) && m.getMeasureDescription().isComputable())
+		return ComputeCompliance(analysisStandard.getMeasures(), factory);
+	}
+
+	public static double ComputeCompliance(List<? extends Measure> measures, ValueFactory factory) {
+		return measures.stream().filter(m -> !m.getStatus().equals(Constant.MEASURE_STATUS_NOT_APPLICABLE) && m.getMeasureDescription().isComputable())
 				.mapToDouble(m -> m.getImplementationRateValue(factory)).average().orElse(0);
 	}
 
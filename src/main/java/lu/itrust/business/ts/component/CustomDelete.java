@@ -48,6 +48,7 @@ import lu.itrust.business.ts.database.dao.DAOUser;
 import lu.itrust.business.ts.database.dao.DAOUserAnalysisRight;
 import lu.itrust.business.ts.database.dao.DAOUserSqLite;
 import lu.itrust.business.ts.database.dao.DAOWordReport;
+import lu.itrust.business.ts.database.service.ServiceStorage;
 import lu.itrust.business.ts.exception.TrickException;
 import lu.itrust.business.ts.helper.SwitchAnalysisOwnerHelper;
 import lu.itrust.business.ts.model.analysis.Analysis;
@@ -140,6 +141,9 @@ public class CustomDelete {
 	@Autowired
 	private DAOUserSqLite daoUserSqLite;
 
+	@Autowired
+	private ServiceStorage serviceStorage;
+
 	@Autowired
 	private DAORiskProfile daoRiskProfile;
 
@@ -208,6 +212,7 @@ public class CustomDelete {
 
 					if (measure.getMeasureDescription().equals(measureDescription)) {
 						iterator.remove();
+						analysis.invalidateRRF(measure);
 						daoMeasure.delete(measure);
 						/**
 						 * Log
@@ -325,6 +330,8 @@ public class CustomDelete {
 
 		analysisStandard.getMeasures().remove(measure);
 
+		analysis.invalidateRRF(measure);
+
 		daoMeasure.delete(measure);
 
 		daoMeasureDescription.delete(measureDescription);
@@ -454,6 +461,7 @@ public class CustomDelete {
 				analysis.removeRiskProfile(scenario));
 
 		analysis.getScenarios().remove(scenario);
+		analysis.invalidateRRF(scenario);
 		daoScenario.delete(scenario);
 		daoAnalysis.saveOrUpdate(analysis);
 	}
@@ -491,7 +499,9 @@ public class CustomDelete {
 
 		user.getCustomers().clear();
 		daoWordReport.deleteByUser(user);
+		final List<String> storages = daoUserSqLite.findStorageByUser(user);
 		daoUserSqLite.deleteByUser(user);
+		storages.forEach(serviceStorage::deleteDocument);
 		daoUserAnalysisRight.deleteByUser(user);
 		daoAnalysisShareInvitation.deleteByUser(user);
 		daoEmailValidatingRequest.deleteByUser(user);
@@ -13,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import lu.itrust.business.ts.database.dao.DAOUserSqLite;
 import lu.itrust.business.ts.database.dao.DAOWordReport;
+import lu.itrust.business.ts.database.service.ServiceStorage;
 import lu.itrust.business.ts.helper.CleanerDate;
 import lu.itrust.business.ts.model.general.LogAction;
 import lu.itrust.business.ts.model.general.LogLevel;
@@ -37,6 +38,9 @@ public class DataCleaner {
 	@Autowired
 	private DAOWordReport daoWordReport;
 
+	@Autowired
+	private ServiceStorage serviceStorage;
+
 	@Value("${app.settings.cleaner.data.max.size}")
 	private int pageMaxSize;
 
@@ -110,6 +114,8 @@ public class DataCleaner {
 			List<UserSQLite> sqLites = daoUserSqLite.findByCreatedBefore(deleteDate, i, pageSize);
 			for (UserSQLite sqlite : sqLites) {
 				daoUserSqLite.delete(sqlite);
+				if (sqlite.getStorage() != null)
+					serviceStorage.deleteDocument(sqlite.getStorage());
 				TrickLogManager.Persist(LogLevel.INFO, LogType.SYSTEM, "log.system.data.cleaner.sqlite",
 						String.format("Type: database, analysis: %s,name: %s, version: %s, exported: %s, owner: %s",
 								sqlite.getIdentifier(), sqlite.getLabel(), sqlite.getVersion(),
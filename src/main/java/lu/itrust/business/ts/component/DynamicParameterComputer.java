@@ -1,6 +1,12 @@
 package lu.itrust.business.ts.component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,14 +16,23 @@ import org.springframework.transaction.annotation.Transactional;
 
 import lu.itrust.business.ts.constants.Constant;
 import lu.itrust.business.ts.database.dao.DAOAnalysis;
+import lu.itrust.business.ts.database.dao.DAOAssessment;
+import lu.itrust.business.ts.database.dao.DAOAsset;
+import lu.itrust.business.ts.database.dao.DAODynamicParameter;
 import lu.itrust.business.ts.database.dao.DAOIDS;
 import lu.itrust.business.ts.database.dao.hbm.DAOAnalysisHBM;
+import lu.itrust.business.ts.database.dao.hbm.DAOAssessmentHBM;
+import lu.itrust.business.ts.database.dao.hbm.DAOAssetHBM;
+import lu.itrust.business.ts.database.dao.hbm.DAODynamicParameterHBM;
 import lu.itrust.business.ts.database.dao.hbm.DAOIDSHBM;
 import lu.itrust.business.ts.database.service.ServiceExternalNotification;
 import lu.itrust.business.ts.database.service.impl.ServiceExternalNotificationImpl;
 import lu.itrust.business.ts.model.analysis.Analysis;
+import lu.itrust.business.ts.model.assessment.Assessment;
+import lu.itrust.business.ts.model.asset.Asset;
 import lu.itrust.business.ts.model.general.LogAction;
 import lu.itrust.business.ts.model.general.LogType;
+import lu.itrust.business.ts.model.parameter.helper.DynamicParameterIndex;
 import lu.itrust.business.ts.model.parameter.helper.ValueFactory;
 import lu.itrust.business.ts.model.parameter.impl.DynamicParameter;
 import lu.itrust.business.ts.model.parameter.value.IValue;
@@ -42,6 +57,15 @@ public class DynamicParameterComputer {
 	@Autowired
 	private DAOIDS daoIDS;
 
+	@Autowired
+	private DAODynamicParameter daoDynamicParameter;
+
+	@Autowired
+	private DAOAssessment daoAssessment;
+
+	@Autowired
+	private DAOAsset daoAsset;
+
 	public DynamicParameterComputer() {
 	}
 
@@ -53,6 +77,9 @@ public class DynamicParameterComputer {
 		this.daoAnalysis = daoAnalysis;
 		this.serviceExternalNotification = new ServiceExternalNotificationImpl(session);
 		this.daoIDS = new DAOIDSHBM(session);
+		this.daoDynamicParameter = new DAODynamicParameterHBM(session);
+		this.daoAssessment = new DAOAssessmentHBM(session);
+		this.daoAsset = new DAOAssetHBM(session);
 	}
 
 	/**
@@ -61,13 +88,35 @@ public class DynamicParameterComputer {
 	 * @param userName The name of the user to compute the dynamic parameters for.
 	 */
 	public void computeForAllAnalysesOfUser(String userName) throws Exception {
-		// Fetch all analyses which the user can access
-		daoIDS.findSubscriberIdByUsername(userName).parallel().forEach(id -> computeForAnalysisAndSource(userName, id));
+		// Likelihoods do not depend on the analysis
+		final Map<String, Double> likelihoods = computeLikelihoods(userName);
+		// Fetch all analyses which the user can access, only the ones whose
+		// dynamic parameters have changed are loaded
+		daoIDS.findSubscriberIdByUsername(userName).filter(id -> hasChanges(id, likelihoods))
+				.forEach(id -> computeForAnalysisAndSource(userName, daoAnalysis.get(id), likelihoods, false));
+	}
+
+	/**
+	 * Checks, without loading the analysis, whether the given likelihoods
+	 * change or create one of its dynamic parameters.
+	 * 
+	 * @param idAnalysis  The id of the analysis
+	 * @param likelihoods The likelihoods of the user.
+	 * @return true if the analysis has to be updated.
+	 */
+	private boolean hasChanges(Integer idAnalysis, Map<String, Double> likelihoods) {
+		final Map<String, Double> values = new HashMap<>();
+		daoDynamicParameter.findByAnalysisId(idAnalysis).forEach(parameter -> values.put(parameter.getAcronym(), parameter.getValue()));
+		final Set<String> excludeAcronyms = new HashSet<>(daoAnalysis.getExcludeAcronymsByIdAnalysis(idAnalysis));
+		return likelihoods.entrySet().stream().filter(entry -> !excludeAcronyms.contains(entry.getKey())).anyMatch(entry -> {
+			final Double value = values.get(entry.getKey());
+			return value == null || Double.compare(value, entry.getValue() == null ? 0.0 : entry.getValue()) != 0;
+		});
 	}
 
 	@Transactional(propagation = Propagation.REQUIRED)
 	public void computeForAnalysisAndSource(String username, Integer idAnalysis) {
-		computeForAnalysisAndSource(username, daoAnalysis.get(idAnalysis));
+		computeForAnalysisAndSource(username, daoAnalysis.get(idAnalysis), computeLikelihoods(username), false);
 	}
 
 	/**
@@ -80,23 +129,16 @@ public class DynamicParameterComputer {
 		// parameters
 		// Compute dynamic parameters
 		if (!analysis.isArchived())
-			daoIDS.getPrefixesByAnalysisId(analysis.getId()).stream().forEach(prefix -> this.computeForAnalysisAndSource(prefix, analysis));
+			daoIDS.getPrefixesByAnalysisId(analysis.getId()).stream().forEach(prefix -> this.computeForAnalysisAndSource(prefix, analysis, computeLikelihoods(prefix), true));
 	}
 
 	/**
-	 * Computes all dynamic parameters for the given analysis and the given user.
+	 * Computes the likelihoods of the dynamic parameters of the given user.
 	 * 
 	 * @param userName The name of the user to compute the dynamic parameters for.
-	 * @param analysis The analysis for which parameters shall be recomputed.
+	 * @return The likelihood by parameter name
 	 */
-	private void computeForAnalysisAndSource(String userName, Analysis analysis) {
-		if (analysis.isArchived())
-			return;
-		// Log
-		TrickLogManager.Persist(LogType.ANALYSIS, "log.analysis.compute.dynamicparameters",
-				String.format("Updating dynamic parameters for analysis: %s, version: %s", analysis.getIdentifier(), analysis.getVersion()), userName, LogAction.UPDATE,
-				analysis.getIdentifier(), analysis.getVersion());
-
+	private Map<String, Double> computeLikelihoods(String userName) {
 		// Get parameters
 		/*
 		 * final double minimumProbability = Math.max(0.0,
@@ -111,7 +153,24 @@ public class DynamicParameterComputer {
 		final long now = java.time.Instant.now().getEpochSecond();
 
 		// Compute likelihoods
-		final Map<String, Double> likelihoods = serviceExternalNotification.computeProbabilitiesAtTime(now, userName, minimumProbability);
+		return serviceExternalNotification.computeProbabilitiesAtTime(now, userName, minimumProbability);
+	}
+
+	/**
+	 * Computes all dynamic parameters for the given analysis and the given user.
+	 * Unless a full update is requested, only the assessments whose impact
+	 * formula involves a parameter which has changed are updated and saved.
+	 * 
+	 * @param userName    The name of the user to compute the dynamic parameters
+	 *                    for.
+	 * @param analysis    The analysis for which parameters shall be recomputed.
+	 * @param likelihoods The likelihoods of the user.
+	 * @param full        true to update all assessments and save the whole
+	 *                    analysis.
+	 */
+	private void computeForAnalysisAndSource(String userName, Analysis analysis, Map<String, Double> likelihoods, boolean full) {
+		if (analysis.isArchived())
+			return;
 
 		// Fetch instances of all (existing) dynamic parameters
 		// and map them by their acronym
@@ -122,14 +181,21 @@ public class DynamicParameterComputer {
 		// - update existing dynamic parameters with the respective value in the
 		// frequencies collection; or
 		// - create parameter if it does not exist.
-		likelihoods.keySet().stream().filter(e -> !analysis.getExcludeAcronyms().contains(e)).forEach(parameterName -> {
+		final List<DynamicParameter> changedParameters = new ArrayList<>();
+		final Set<String> changedAcronyms = new LinkedHashSet<>();
+		boolean created = false;
+		for (String parameterName : likelihoods.keySet()) {
+			if (analysis.getExcludeAcronyms().contains(parameterName))
+				continue;
 			DynamicParameter parameter = dynamicParameters.get(parameterName);
-			if (parameter == null) {
+			final boolean isNew = parameter == null;
+			if (isNew) {
 				// The description/label of dynamic parameters is never used
 				// within Open Trick,
 				// we will set a value nevertheless to ease the work for a
 				// database maintainer. :-)
 				analysis.add(parameter = new DynamicParameter(parameterName, String.format("dynamic:%s", parameterName)));
+				created = true;
 			}
 			// Remove entry from parameter map so that we know it has been
 			// handled
@@ -139,12 +205,27 @@ public class DynamicParameterComputer {
 			// zero.
 			// NB: the user is free to enforce a minimum value by using the
 			// max() function in his formula
-			parameter.setValue(likelihoods.getOrDefault(parameterName, 0.0));
-		});
+			final double value = likelihoods.getOrDefault(parameterName, 0.0);
+			if (isNew || parameter.getValue() == null || Double.compare(parameter.getValue(), value) != 0) {
+				parameter.setValue(value);
+				changedParameters.add(parameter);
+				changedAcronyms.add(parameterName);
+			}
+		}
+
+		// Nothing to update
+		if (!full && changedAcronyms.isEmpty())
+			return;
+
+		// Log
+		TrickLogManager.Persist(LogType.ANALYSIS, "log.analysis.compute.dynamicparameters",
+				String.format("Updating dynamic parameters for analysis: %s, version: %s", analysis.getIdentifier(), analysis.getVersion()), userName, LogAction.UPDATE,
+				analysis.getIdentifier(), analysis.getVersion());
 
-		// Update Dynamics impact.
+		// Update Dynamics impact, only the ones involving changed parameters.
 		final ValueFactory factory = new ValueFactory(analysis.getParameters());
-		analysis.getAssessments().stream().filter(a -> {
+		final List<Assessment> assessments = new ArrayList<>(full ? analysis.getAssessments() : new DynamicParameterIndex(analysis).findAssessments(changedAcronyms));
+		assessments.stream().filter(a -> {
 			final IValue value = a.getImpact(Constant.PARAMETER_TYPE_IMPACT_NAME);
 			return value instanceof FormulaValue;
 		}).map(a -> (FormulaValue) a.getImpact(Constant.PARAMETER_TYPE_IMPACT_NAME)).forEach(v -> {
@@ -157,9 +238,18 @@ public class DynamicParameterComputer {
 			}
 		});
 
-		// Update assessment to reflect the new values of the dynamic parameters
-		AssessmentAndRiskProfileManager.UpdateAssetALE(analysis, factory);
-		// Save everything
-		daoAnalysis.saveOrUpdate(analysis);
+		if (full || created) {
+			// Update assessment to reflect the new values of the dynamic parameters
+			AssessmentAndRiskProfileManager.UpdateAssetALE(analysis, factory);
+			// Save everything
+			daoAnalysis.saveOrUpdate(analysis);
+		} else {
+			// Update affected assessments and their assets only
+			final Set<Asset> assets = AssessmentAndRiskProfileManager.UpdateAssetALE(analysis, assessments);
+			daoDynamicParameter.saveOrUpdate(changedParameters);
+			if (!assessments.isEmpty())
+				daoAssessment.saveOrUpdate(assessments);
+			assets.forEach(daoAsset::saveOrUpdate);
+		}
 	}
 }
@@ -1,6 +1,7 @@
 package lu.itrust.business.ts.component;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -23,7 +24,7 @@ import lu.itrust.business.ts.model.parameter.impl.LikelihoodParameter;
 import lu.itrust.business.ts.model.parameter.impl.SimpleParameter;
 import lu.itrust.business.ts.model.parameter.value.IValue;
 import lu.itrust.business.ts.model.parameter.value.impl.FormulaValue;
-import lu.itrust.business.ts.model.rrf.RRF;
+import lu.itrust.business.ts.model.rrf.RRFMatrix;
 import lu.itrust.business.ts.model.standard.AnalysisStandard;
 import lu.itrust.business.ts.model.standard.measure.Measure;
 import lu.itrust.business.expressions.StringExpressionParser;
@@ -73,7 +74,7 @@ public class DynamicRiskComputer {
 		final Map<Assessment, Set<String>> out_involvedVariables = new HashMap<>();
 		final Map<String, Double> out_expressionParameters = new HashMap<>();
 		return computeAleOfAssessments(assessments, standards, timestampBegin, timestampEnd, cache_sourceUserNames, allParameters, minimumProbability, out_involvedVariables,
-				out_expressionParameters);
+				out_expressionParameters, new RRFMatrix());
 	}
 
 	/**
@@ -103,13 +104,14 @@ public class DynamicRiskComputer {
 	 * @param out_expressionParameters An empty map, to which this method will add
 	 *                                 all used dynamic parameters and their values
 	 *                                 in the time interval.
+	 * @param rrfMatrix                The RRF matrix of the analysis.
 	 * @return Returns the computed value for each assessment in the given list.
 	 * @throws Exception
 	 * @throws IllegalArgumentException
 	 */
 	public Map<Assessment, Double> computeAleOfAssessments(List<Assessment> assessments, Collection<AnalysisStandard> standards, long timestampBegin, long timestampEnd,
 			List<String> cache_sourceUserNames, List<IParameter> allParameters, double minimumProbability, final Map<Assessment, Set<String>> out_involvedVariables,
-			final Map<String, Double> out_expressionParameters) throws Exception {
+			final Map<String, Double> out_expressionParameters, final RRFMatrix rrfMatrix) throws Exception {
 		// Find all measures
 		final List<Measure> measures = new LinkedList<>();
 		for (AnalysisStandard standard : standards)
@@ -168,7 +170,7 @@ public class DynamicRiskComputer {
 				if (involvedVariables.size() > 0) {
 					out_involvedVariables.get(assessment).addAll(involvedVariables);
 					final double implementationRate = measure.getImplementationRateValue(out_expressionParameters) / 100.0;
-					final double rrf = RRF.calculateRRF(assessment, tuningParameter, measure);
+					final double rrf = rrfMatrix.getRRF(assessment, tuningParameter, measure);
 
 					// TODO: consider maturity standards
 
@@ -209,7 +211,7 @@ public class DynamicRiskComputer {
 	 */
 	public <TAggregator> Map<TAggregator, Map<Long, Double>> generateAleEvolutionData(List<Assessment> assessments, List<AnalysisStandard> standards, List<String> sourceUserNames,
 			List<IParameter> allParameters, Function<Assessment, TAggregator> aggregator, List<Long> out_timePoints) throws Exception {
-		return generateAleEvolutionData(assessments, standards, sourceUserNames, allParameters, aggregator, out_timePoints, null, null);
+		return generateAleEvolutionData(assessments, standards, sourceUserNames, allParameters, aggregator, out_timePoints, null, null, new RRFMatrix());
 	}
 
 	/**
@@ -240,18 +242,36 @@ public class DynamicRiskComputer {
 	 *                                         parameters and their values in the
 	 *                                         time interval. Or null, in which case
 	 *                                         no data is output.
+	 * @param rrfMatrix                        The RRF matrix of the analysis.
 	 * @return Returns the ALE by aggregation key and by time.
 	 * @throws Exception
 	 */
 	public <TAggregator> Map<TAggregator, Map<Long, Double>> generateAleEvolutionData(List<Assessment> assessments, Collection<AnalysisStandard> standards,
 			List<String> sourceUserNames, List<IParameter> allParameters, Function<Assessment, TAggregator> aggregator, List<Long> out_timePoints,
-			final Map<Long, Map<Assessment, Set<String>>> out_involvedVariables_or_null, final Map<Long, Map<String, Double>> out_expressionParameters_or_null) throws Exception {
+			final Map<Long, Map<Assessment, Set<String>>> out_involvedVariables_or_null, final Map<Long, Map<String, Double>> out_expressionParameters_or_null,
+			final RRFMatrix rrfMatrix) throws Exception {
 		// Determine time-related stuff
 		final long timeUpperBound = Instant.now().getEpochSecond();
 		final long timeLowerBound = timeUpperBound - Constant.CHART_DYNAMIC_PARAMETER_EVOLUTION_HISTORY_IN_SECONDS;
 		long nextTimeIntervalSize = 60; // in seconds
 
-		Map<TAggregator, Map<Long, Double>> data = new HashMap<>();
+		// Find all static expression parameters ("p0" etc.)
+		final Map<String, Double> parameters = new HashMap<>();
+		IParameter tuningParameter = null;
+		for (IParameter p : allParameters) {
+			if (p instanceof LikelihoodParameter)
+				parameters.put(((LikelihoodParameter) p).getAcronym(), p.getValue().doubleValue());
+			else if ((p instanceof IImpactParameter) && p.getTypeName().equals(Constant.PARAMETER_TYPE_IMPACT_NAME))
+				parameters.put(((IImpactParameter) p).getAcronym(), p.getValue().doubleValue());
+			else if ((p instanceof SimpleParameter) && p.isMatch(Constant.PARAMETERTYPE_TYPE_SINGLE_NAME, Constant.PARAMETER_MAX_RRF))
+				tuningParameter = p;
+		}
+
+		// Fetch the dynamic parameters of each time interval, formulas are
+		// evaluated afterwards, once for all time intervals
+		final List<Long> timePoints = new ArrayList<>();
+		final List<Map<String, Double>> expressionParameters = new ArrayList<>();
+		final List<Map<Assessment, Set<String>>> involvedVariables = new ArrayList<>();
 		for (long timeEnd = timeUpperBound; timeEnd - nextTimeIntervalSize >= timeLowerBound; timeEnd -= nextTimeIntervalSize) {
 			// Add x-axis values to a list in reverse order (we use
 			// Collections.reverse() later on)
@@ -265,28 +285,136 @@ public class DynamicRiskComputer {
 			if (out_expressionParameters_or_null != null)
 				out_expressionParameters_or_null.put(timeEnd, out2);
 
-			// Fetch data
-			final Map<Assessment, Double> aleByAssessment = this.computeAleOfAssessments(assessments, standards, timeEnd - nextTimeIntervalSize, timeEnd, sourceUserNames,
-					allParameters, 0., out1, out2);
-			for (Assessment assessment : aleByAssessment.keySet()) {
-				final double partialAle = aleByAssessment.get(assessment);
-
-				// Group by aggregator
-				final TAggregator key = aggregator.apply(assessment);
-				data.putIfAbsent(key, new HashMap<Long, Double>());
-
-				// Group by time
-				final Map<Long, Double> dataByTime = data.get(key);
-				dataByTime.put(timeEnd, dataByTime.getOrDefault(timeEnd, 0.) + partialAle);
+			for (IParameter p : allParameters) {
+				if (p instanceof LikelihoodParameter)
+					out2.put(((LikelihoodParameter) p).getAcronym(), p.getValue().doubleValue());
 			}
+			for (String sourceUserName : sourceUserNames)
+				out2.putAll(serviceExternalNotification.computeProbabilitiesInInterval(timeEnd - nextTimeIntervalSize, timeEnd, sourceUserName, 0.));
+
+			timePoints.add(timeEnd);
+			expressionParameters.add(out2);
+			involvedVariables.add(out1);
 
 			// Modify interval size
 			if (nextTimeIntervalSize < Constant.CHART_DYNAMIC_PARAMETER_MAX_SIZE_OF_LOGARITHMIC_SCALE)
 				nextTimeIntervalSize = (int) (nextTimeIntervalSize * Constant.CHART_DYNAMIC_PARAMETER_LOGARITHMIC_FACTOR);
 		}
 
+		final Map<TAggregator, Map<Long, Double>> data = new HashMap<>();
+		if (!timePoints.isEmpty()) {
+			// Fetch data
+			final Map<Assessment, double[]> aleByAssessment = this.computeAleOfAssessments(assessments, standards, parameters, tuningParameter, expressionParameters,
+					involvedVariables, rrfMatrix);
+			for (int i = 0; i < timePoints.size(); i++) {
+				final long timeEnd = timePoints.get(i);
+				for (Map.Entry<Assessment, double[]> entry : aleByAssessment.entrySet()) {
+					final double partialAle = entry.getValue()[i];
+
+					// Group by aggregator
+					final TAggregator key = aggregator.apply(entry.getKey());
+					data.putIfAbsent(key, new HashMap<Long, Double>());
+
+					// Group by time
+					final Map<Long, Double> dataByTime = data.get(key);
+					dataByTime.put(timeEnd, dataByTime.getOrDefault(timeEnd, 0.) + partialAle);
+				}
+			}
+		}
+
 		if (out_timePoints != null)
 			Collections.reverse(out_timePoints);
 		return data;
 	}
+
+	/**
+	 * Computes the ALE of all given assessments for a batch of time intervals.
+	 * Each formula (impact, likelihood, implementation rate) is evaluated once
+	 * for all time intervals.
+	 * 
+	 * @param assessments              The list of assessments that are taken into
+	 *                                 consideration when computing ALE.
+	 * @param standards                The collection of all standards containing
+	 *                                 the security measures taken into
+	 *                                 consideration.
+	 * @param parameters               The static expression parameters.
+	 * @param tuningParameter          The MAX_RRF parameter, or null.
+	 * @param expressionParameters     The expression parameters and their values,
+	 *                                 one map per time interval.
+	 * @param out_involvedVariables    An empty map per time interval, to which
+	 *                                 this method will add all involved variables
+	 *                                 of each assessment.
+	 * @param rrfMatrix                The RRF matrix of the analysis.
+	 * @return Returns the computed values, one per time interval, for each
+	 *         assessment in the given list.
+	 * @throws Exception
+	 */
+	private Map<Assessment, double[]> computeAleOfAssessments(List<Assessment> assessments, Collection<AnalysisStandard> standards, Map<String, Double> parameters,
+			IParameter tuningParameter, List<Map<String, Double>> expressionParameters, List<Map<Assessment, Set<String>>> out_involvedVariables,
+			RRFMatrix rrfMatrix) throws Exception {
+		final int size = expressionParameters.size();
+		// Values of each expression parameter, one per time interval
+		final Map<String, double[]> columns = new HashMap<>();
+		for (int i = 0; i < size; i++) {
+			for (Map.Entry<String, Double> entry : expressionParameters.get(i).entrySet())
+				columns.computeIfAbsent(entry.getKey(), k -> new double[size])[i] = entry.getValue();
+		}
+
+		// Implementation rates do not depend on the assessment
+		final List<Measure> measures = new ArrayList<>();
+		final List<List<String>> measureVariables = new ArrayList<>();
+		final List<double[]> implementationRates = new ArrayList<>();
+		for (AnalysisStandard standard : standards) {
+			for (Measure measure : standard.getMeasures()) {
+				final List<String> involvedVariables = measure.getVariablesInvolvedInImplementationRateValue();
+				if (involvedVariables.size() > 0) {
+					final double[] implementationRate = measure.getImplementationRateValues(columns, size);
+					for (int i = 0; i < size; i++)
+						implementationRate[i] /= 100.0;
+					measures.add(measure);
+					measureVariables.add(involvedVariables);
+					implementationRates.add(implementationRate);
+				}
+			}
+		}
+
+		final Map<Assessment, double[]> totalAleGrouped = new HashMap<>();
+		for (Assessment assessment : assessments) {
+			final IValue impact = assessment.getImpact(Constant.PARAMETER_TYPE_IMPACT_NAME);
+			final double realImact;
+			if (impact == null)
+				continue;
+			else if (impact instanceof FormulaValue) {
+				realImact = new StringExpressionParser(impact.getVariable(), StringExpressionParser.IMPACT).evaluate(parameters);
+			} else
+				realImact = impact.getReal();
+			// Determine the likelihood of the current risk assessment
+			final StringExpressionParser likelihoodExprParser = new StringExpressionParser(assessment.getLikelihood() == null ? "0" : assessment.getLikelihood().getVariable(),
+					StringExpressionParser.PROBABILITY);
+			final double[] likelihoods = likelihoodExprParser.evaluate(columns, size, 0d);
+			if (!assessment.isSelected())
+				continue;
+			final Collection<String> likelihoodVariables = likelihoodExprParser.getInvolvedVariables();
+			for (Map<Assessment, Set<String>> involvedVariables : out_involvedVariables) {
+				involvedVariables.putIfAbsent(assessment, new HashSet<>());
+				involvedVariables.get(assessment).addAll(likelihoodVariables);
+				for (List<String> variables : measureVariables)
+					involvedVariables.get(assessment).addAll(variables);
+			}
+
+			// Determine the total ALE of this assessment, considering risk
+			// reduction, see computeAleOfAssessments for the background.
+			final double[] rrfs = new double[measures.size()];
+			for (int j = 0; j < rrfs.length; j++)
+				rrfs[j] = rrfMatrix.getRRF(assessment, tuningParameter, measures.get(j));
+			final double[] totalAle = totalAleGrouped.computeIfAbsent(assessment, k -> new double[size]);
+			for (int i = 0; i < size; i++) {
+				double aleFactor = 1.;
+				for (int j = 0; j < rrfs.length; j++)
+					aleFactor *= 1 - rrfs[j] * implementationRates.get(j)[i];
+				totalAle[i] = totalAle[i] + realImact * likelihoods[i] * aleFactor;
+			}
+		}
+		return totalAleGrouped;
+	}
 }
@@ -0,0 +1,262 @@
+package lu.itrust.business.ts.component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import lu.itrust.business.ts.asynchronousWorkers.WorkerComputeDynamicParameters;
+import lu.itrust.business.ts.database.dao.DAOIDS;
+import lu.itrust.business.ts.database.dao.hbm.DAOIDSHBM;
+import lu.itrust.business.ts.database.service.ServiceExternalNotification;
+import lu.itrust.business.ts.model.externalnotification.ExternalNotification;
+import lu.itrust.business.ts.model.general.LogAction;
+import lu.itrust.business.ts.model.general.LogLevel;
+import lu.itrust.business.ts.model.general.LogType;
+import lu.itrust.business.ts.usermanagement.IDS;
+
+/**
+ * Bounded ingestion queue of external notifications.<br>
+ * Notify requests are accepted immediately, a writer flushes the queue
+ * periodically: repeated alerts of the same category inside the coalescing
+ * window are merged into a single notification (see
+ * {@link ExternalNotification#getNumber()}), notifications are inserted with
+ * JDBC batches, the IDS are updated once and the computation of the dynamic
+ * parameters is triggered once per IDS and per flush.
+ */
+@Component
+public class ExternalNotificationQueue {
+
+	private static final String INSERT_QUERY = "INSERT INTO ExternalNotification (dtCategory, dtHalfLife, dtNumber, dtSeverity, dtSourceUserName, dtTimestamp, dtType) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+	@Value("${app.settings.dynamicparameters.ingestion.queue.size:10000}")
+	private int queueSize;
+
+	@Value("${app.settings.dynamicparameters.ingestion.batch.size:500}")
+	private int batchSize;
+
+	@Value("${app.settings.dynamicparameters.ingestion.flush.delay.milliseconds:500}")
+	private long flushDelay;
+
+	@Value("${app.settings.dynamicparameters.ingestion.coalescing.window.seconds:1}")
+	private long coalescingWindow;
+
+	@Value("${app.settings.dynamicparameters.ingestion.failure.report.size:10}")
+	private int failureReportSize;
+
+	@Value("${app.settings.dynamicparameters.computationdelayseconds}")
+	private Integer computationDelayInSeconds;
+
+	@Autowired
+	private SessionFactory sessionFactory;
+
+	@Autowired
+	private ServiceExternalNotification serviceExternalNotification;
+
+	@Autowired
+	private DynamicParameterComputer dynamicParameterComputer;
+
+	@Autowired
+	private ThreadPoolTaskScheduler scheduler;
+
+	private BlockingQueue<ExternalNotification> queue;
+
+	/** Number of consecutive failed writes, guarded by the queue */
+	private int failures = 0;
+
+	@PostConstruct
+	public void initialise() {
+		queue = new ArrayBlockingQueue<>(queueSize);
+		scheduler.scheduleWithFixedDelay(this::flush, Duration.ofMillis(flushDelay));
+	}
+
+	@PreDestroy
+	public void destroy() {
+		flush();
+		if (!queue.isEmpty())
+			TrickLogManager.Persist(LogLevel.ERROR, LogType.SYSTEM, "error.external_notification.queue.lost",
+					String.format("%d external notifications cannot be saved before shutdown", queue.size()), "Notification queue",
+					LogAction.STOP, String.valueOf(queue.size()));
+	}
+
+	/**
+	 * Adds the given notifications to the queue, either all of them or none.
+	 * 
+	 * @param notifications The notifications of a notify request.
+	 * @return false if the queue is full.
+	 */
+	public synchronized boolean offer(List<ExternalNotification> notifications) {
+		// The writer only removes elements, the remaining capacity cannot
+		// decrease between the check and the insertion.
+		if (queue.remainingCapacity() < notifications.size())
+			return false;
+		queue.addAll(notifications);
+		return true;
+	}
+
+	/**
+	 * Writes all pending notifications to the database.<br>
+	 * A batch is removed from the queue once it has been committed: when the
+	 * write fails, the batch stays at the head of the queue and is written
+	 * again by the next flush, the failure is reported every
+	 * "failureReportSize" consecutive failures.
+	 */
+	public void flush() {
+		final Set<String> sourceUserNames = new LinkedHashSet<>();
+		final List<ExternalNotification> notifications = new ArrayList<>(batchSize);
+		synchronized (queue) {
+			while (peek(notifications) > 0) {
+				final List<ExternalNotification> saved = write(coalesce(notifications));
+				if (saved == null) {
+					if (++failures % failureReportSize == 0)
+						TrickLogManager.Persist(LogLevel.ERROR, LogType.SYSTEM, "error.external_notification.queue.write",
+								String.format("External notifications cannot be saved: %d consecutive failures, %d notifications pending",
+										failures, queue.size()),
+								"Notification queue", LogAction.RISE_EXCEPTION, String.valueOf(failures), String.valueOf(queue.size()));
+					break;
+				}
+				failures = 0;
+				// The writer is the only consumer, the head of the queue is the
+				// written batch.
+				for (int i = 0; i < notifications.size(); i++)
+					queue.poll();
+				saved.forEach(notification -> sourceUserNames.add(notification.getSourceUserName()));
+				serviceExternalNotification.index(saved);
+				notifications.clear();
+			}
+		}
+
+		// This method only schedules the task if it does not have been
+		// scheduled yet for the given user.
+		sourceUserNames.forEach(sourceUserName -> WorkerComputeDynamicParameters.trigger(sourceUserName, computationDelayInSeconds, dynamicParameterComputer, scheduler));
+	}
+
+	/**
+	 * Copies the first notifications of the queue, at most "batchSize", to the
+	 * given list without removing them.
+	 * 
+	 * @return The number of copied notifications.
+	 */
+	private int peek(List<ExternalNotification> notifications) {
+		final Iterator<ExternalNotification> iterator = queue.iterator();
+		while (notifications.size() < batchSize && iterator.hasNext())
+			notifications.add(iterator.next());
+		return notifications.size();
+	}
+
+	/**
+	 * Merges the notifications of the same source and category, with the same
+	 * half-life and severity, which are issued in the same coalescing window.
+	 * The merged notification keeps the latest timestamp, queued notifications
+	 * are not changed as they are written again when the write fails.
+	 */
+	private List<ExternalNotification> coalesce(List<ExternalNotification> notifications) {
+		if (coalescingWindow <= 0)
+			return new ArrayList<>(notifications);
+		final Map<String, ExternalNotification> coalesced = new LinkedHashMap<>(notifications.size());
+		for (ExternalNotification notification : notifications) {
+			final String key = String.join("|", notification.getSourceUserName(), notification.getCategory(), String.valueOf(notification.getHalfLife()),
+					String.valueOf(notification.getSeverity()), String.valueOf(notification.getTimestamp() / coalescingWindow));
+			coalesced.merge(key, notification, ExternalNotificationQueue::merge);
+		}
+		return new ArrayList<>(coalesced.values());
+	}
+
+	/**
+	 * @return A new notification counting both notifications, with the latest
+	 *         timestamp.
+	 */
+	private static ExternalNotification merge(ExternalNotification previous, ExternalNotification notification) {
+		final ExternalNotification merged = new ExternalNotification();
+		merged.setSourceUserName(previous.getSourceUserName());
+		merged.setCategory(previous.getCategory());
+		merged.setType(previous.getType());
+		merged.setHalfLife(previous.getHalfLife());
+		merged.setSeverity(previous.getSeverity());
+		merged.setNumber(previous.getNumber() + notification.getNumber());
+		merged.setTimestamp(Math.max(previous.getTimestamp(), notification.getTimestamp()));
+		return merged;
+	}
+
+	/**
+	 * Inserts the given notifications and updates their IDS.
+	 * 
+	 * @return The inserted notifications, null on failure.
+	 */
+	private List<ExternalNotification> write(List<ExternalNotification> notifications) {
+		final List<Integer> keys = new ArrayList<>(notifications.size());
+		Session session = null;
+		try {
+			session = sessionFactory.openSession();
+			session.beginTransaction();
+			session.doWork(connection -> {
+				try (PreparedStatement statement = connection.prepareStatement(INSERT_QUERY, Statement.RETURN_GENERATED_KEYS)) {
+					for (ExternalNotification notification : notifications) {
+						statement.setString(1, notification.getCategory());
+						statement.setLong(2, notification.getHalfLife());
+						statement.setInt(3, notification.getNumber());
+						statement.setDouble(4, notification.getSeverity());
+						statement.setString(5, notification.getSourceUserName());
+						statement.setLong(6, notification.getTimestamp());
+						statement.setInt(7, notification.getType().ordinal());
+						statement.addBatch();
+					}
+					statement.executeBatch();
+					try (ResultSet resultSet = statement.getGeneratedKeys()) {
+						while (resultSet.next())
+							keys.add(resultSet.getInt(1));
+					}
+				}
+			});
+			// The index relies on identifiers to ignore notifications which
+			// are indexed twice, inserted notifications are read back.
+			final List<ExternalNotification> saved = keys.isEmpty() ? notifications
+					: session.createQuery("FROM ExternalNotification WHERE id IN :ids", ExternalNotification.class)
+							.setParameterList("ids", keys).getResultList();
+			final DAOIDS daoIDS = new DAOIDSHBM(session);
+			notifications.stream().map(ExternalNotification::getSourceUserName).distinct().forEach(prefix -> {
+				final IDS ids = daoIDS.get(prefix);
+				if (ids != null)
+					daoIDS.saveOrUpdate(ids.notifyAlert());
+			});
+			session.getTransaction().commit();
+			return saved;
+		} catch (Exception e) {
+			TrickLogManager.Persist(e);
+			try {
+				if (session != null && session.getTransaction().getStatus().canRollback())
+					session.getTransaction().rollback();
+			} catch (HibernateException e1) {
+				TrickLogManager.Persist(e1);
+			}
+			return null;
+		} finally {
+			try {
+				if (session != null && session.isOpen())
+					session.close();
+			} catch (HibernateException e) {
+				TrickLogManager.Persist(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,309 @@
+package lu.itrust.business.ts.component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import lu.itrust.business.ts.asynchronousWorkers.Worker;
+import lu.itrust.business.ts.asynchronousWorkers.helper.TaskCost;
+import lu.itrust.business.ts.database.service.ServiceTaskFeedback;
+import lu.itrust.business.ts.messagehandler.MessageHandler;
+import lu.itrust.business.ts.messagehandler.TaskName;
+
+/**
+ * Priority and fair-share scheduler of background workers.<br>
+ * Workers are not queued by the thread pool: they wait here, in one queue by
+ * user and by cost class (see {@link TaskCost}), and are handed to the pool
+ * only when a thread is free.<br>
+ * When a thread is free, the classes are served by priority, bulk tasks are
+ * limited to a part of the threads so that interactive computations always
+ * find one, and the users of a class are served in turn, each one with a limited
+ * number of running tasks.<br>
+ * Workers of the tasks listed in
+ * <code>app.settings.background.task.virtual.thread.names</code> run on
+ * virtual threads (Java 21) instead of the pool, the number of them running at
+ * once is limited by the number of database connections they may hold.<br>
+ * A running worker can split its work in parts (see
+ * {@link #submit(TaskCost, String, Runnable)}), they are queued like the
+ * workers of its class and of its user.
+ */
+@Component
+public class WorkerScheduler implements TaskExecutor {
+
+	@Autowired
+	@Qualifier("executor")
+	private ThreadPoolTaskExecutor executor;
+
+	@Autowired
+	private ServiceTaskFeedback serviceTaskFeedback;
+
+	@Value("${app.settings.background.task.core.pool.size}")
+	private int maxRunningSize;
+
+	@Value("${app.settings.background.task.bulk.max.size:10}")
+	private int maxBulkSize;
+
+	@Value("${app.settings.background.task.max.user.running.size:2}")
+	private int maxUserRunningSize;
+
+	@Value("${app.settings.background.task.virtual.thread.names:}")
+	private Set<TaskName> virtualTaskNames;
+
+	@Value("${app.settings.background.task.virtual.max.connection.size:20}")
+	private int maxConnectionSize;
+
+	/** Starts a virtual thread by worker, null when no task runs on virtual threads */
+	private SimpleAsyncTaskExecutor virtualExecutor;
+
+	/** Database connections left to workers running on virtual threads */
+	private Semaphore connections;
+
+	/** Pending tasks by cost class and by user, users are served in turn */
+	private final Map<TaskCost, LinkedHashMap<String, Deque<Runnable>>> queues = new EnumMap<>(TaskCost.class);
+
+	/** Running workers by cost class */
+	private final Map<TaskCost, Integer> runningSizes = new EnumMap<>(TaskCost.class);
+
+	/** Running workers by user */
+	private final Map<String, Integer> userRunningSizes = new HashMap<>();
+
+	/** Workers running on the pool */
+	private int runningSize;
+
+	/** Bulk workers running on the pool */
+	private int bulkSize;
+
+	public WorkerScheduler() {
+		for (TaskCost cost : TaskCost.values()) {
+			queues.put(cost, new LinkedHashMap<>());
+			runningSizes.put(cost, 0);
+		}
+	}
+
+	@PostConstruct
+	public void initialise() {
+		if (virtualTaskNames == null || virtualTaskNames.isEmpty())
+			return;
+		virtualExecutor = new SimpleAsyncTaskExecutor("worker-");
+		virtualExecutor.setVirtualThreads(true);
+		connections = new Semaphore(maxConnectionSize);
+	}
+
+	/**
+	 * execute: <br>
+	 * Queues a worker, other tasks are directly handed to the thread pool.
+	 * 
+	 * @param task the task to execute
+	 */
+	@Override
+	public void execute(Runnable task) {
+		if (!(task instanceof Worker)) {
+			executor.execute(task);
+			return;
+		}
+		final Worker worker = (Worker) task;
+		queue(TaskCost.of(worker.getName()), serviceTaskFeedback.findUsernameById(worker.getId()), worker);
+	}
+
+	/**
+	 * submit: <br>
+	 * Queues a part of a running worker, e.g. a file of an import, it is served
+	 * like the workers of the cost class and of the user.<br>
+	 * The worker must not wait for a part which has not started: the running
+	 * limits of the user may delay it until the worker is done.
+	 * 
+	 * @param cost     the cost class of the worker
+	 * @param username the user of the worker
+	 * @param task     the part to execute
+	 * @return the future of the part, a part cancelled before it starts is not
+	 *         run
+	 */
+	public Future<?> submit(TaskCost cost, String username, Runnable task) {
+		final FutureTask<?> future = new FutureTask<>(task, null);
+		queue(cost, username, future);
+		return future;
+	}
+
+	private void queue(TaskCost cost, String username, Runnable task) {
+		synchronized (this) {
+			queues.get(cost).computeIfAbsent(username == null ? "" : username, k -> new ArrayDeque<>()).add(task);
+		}
+		dispatch();
+	}
+
+	/**
+	 * getQueueSize: <br>
+	 * Returns the number of pending workers of a cost class.
+	 * 
+	 * @param cost the cost class
+	 * @return the number of pending workers
+	 */
+	public synchronized int getQueueSize(TaskCost cost) {
+		return queues.get(cost).values().stream().mapToInt(Deque::size).sum();
+	}
+
+	/**
+	 * getQueueSizes: <br>
+	 * Returns the number of pending workers by cost class.
+	 * 
+	 * @return the number of pending workers by cost class
+	 */
+	public synchronized Map<TaskCost, Integer> getQueueSizes() {
+		final Map<TaskCost, Integer> sizes = new EnumMap<>(TaskCost.class);
+		for (TaskCost cost : TaskCost.values())
+			sizes.put(cost, getQueueSize(cost));
+		return sizes;
+	}
+
+	/**
+	 * getRunningSize: <br>
+	 * Returns the number of running workers of a cost class.
+	 * 
+	 * @param cost the cost class
+	 * @return the number of running workers
+	 */
+	public synchronized int getRunningSize(TaskCost cost) {
+		return runningSizes.get(cost);
+	}
+
+	/**
+	 * Starts the pending tasks while threads are free, it never throws: a task
+	 * rejected by the executor is queued again at the head of its user queue
+	 * while another task is running, as its end dispatches again, otherwise it
+	 * fails (see {@link #reject(Runnable, TaskRejectedException)}).
+	 */
+	private void dispatch() {
+		while (true) {
+			final TaskCost cost;
+			final String username;
+			final Runnable task;
+			final boolean virtual;
+			synchronized (this) {
+				final Entry<TaskCost, String> next = next();
+				if (next == null)
+					return;
+				cost = next.getKey();
+				username = next.getValue();
+				task = poll(cost, username);
+				virtual = isVirtual(task);
+				if (virtual)
+					connections.acquireUninterruptibly();
+				started(cost, username, virtual, 1);
+			}
+			try {
+				(virtual ? virtualExecutor : executor).execute(() -> {
+					try {
+						task.run();
+					} finally {
+						synchronized (this) {
+							started(cost, username, virtual, -1);
+						}
+						if (virtual)
+							connections.release();
+						dispatch();
+					}
+				});
+			} catch (TaskRejectedException e) {
+				final boolean queued;
+				synchronized (this) {
+					started(cost, username, virtual, -1);
+					queued = runningSizes.values().stream().anyMatch(size -> size > 0);
+					if (queued)
+						queues.get(cost).computeIfAbsent(username, k -> new ArrayDeque<>()).addFirst(task);
+				}
+				if (virtual)
+					connections.release();
+				if (queued)
+					return;
+				reject(task, e);
+			}
+		}
+	}
+
+	/**
+	 * Fails a task which cannot be started, the user is notified of a rejected
+	 * worker and a rejected part is cancelled.
+	 */
+	private void reject(Runnable task, TaskRejectedException e) {
+		try {
+			TrickLogManager.Persist(e);
+			if (task instanceof Future)
+				((Future<?>) task).cancel(false);
+			else if (task instanceof Worker) {
+				final Worker worker = (Worker) task;
+				serviceTaskFeedback.send(worker.getId(), new MessageHandler("error.task_manager.rejected", "The task cannot be started, please retry later!", e));
+				worker.cancel();
+			}
+		} catch (Exception ex) {
+			TrickLogManager.Persist(ex);
+		}
+	}
+
+	/**
+	 * Returns the cost class and the user of the next task to start, null if
+	 * none can be started.
+	 */
+	private Entry<TaskCost, String> next() {
+		for (TaskCost cost : TaskCost.values()) {
+			for (Entry<String, Deque<Runnable>> entry : queues.get(cost).entrySet()) {
+				if (userRunningSizes.getOrDefault(entry.getKey(), 0) >= maxUserRunningSize)
+					continue;
+				if (isVirtual(entry.getValue().peek()) ? connections.availablePermits() > 0
+						: runningSize < maxRunningSize && (cost != TaskCost.BULK || bulkSize < maxBulkSize))
+					return Map.entry(cost, entry.getKey());
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Removes the first task of the user and moves the user at the end of the
+	 * class queue.
+	 */
+	private Runnable poll(TaskCost cost, String username) {
+		final LinkedHashMap<String, Deque<Runnable>> users = queues.get(cost);
+		final Deque<Runnable> tasks = users.remove(username);
+		final Runnable task = tasks.poll();
+		if (!tasks.isEmpty())
+			users.put(username, tasks);
+		return task;
+	}
+
+	/**
+	 * Only workers run on virtual threads, the parts of a worker run on the pool.
+	 */
+	private boolean isVirtual(Runnable task) {
+		return virtualExecutor != null && task instanceof Worker && virtualTaskNames.contains(((Worker) task).getName());
+	}
+
+	private void started(TaskCost cost, String username, boolean virtual, int count) {
+		if (!virtual) {
+			runningSize += count;
+			if (cost == TaskCost.BULK)
+				bulkSize += count;
+		}
+		runningSizes.merge(cost, count, Integer::sum);
+		if (userRunningSizes.merge(username, count, Integer::sum) == 0)
+			userRunningSizes.remove(username);
+	}
+
+}
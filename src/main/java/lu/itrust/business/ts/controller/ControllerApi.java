@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.security.Principal;
 import java.sql.Timestamp;
 import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
@@ -17,7 +18,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.FileCopyUtils;
@@ -38,10 +39,9 @@ import org.springframework.web.multipart.MultipartFile;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
-import lu.itrust.business.ts.asynchronousWorkers.WorkerComputeDynamicParameters;
 import lu.itrust.business.ts.component.AssessmentAndRiskProfileManager;
 import lu.itrust.business.ts.component.CustomDelete;
-import lu.itrust.business.ts.component.DynamicParameterComputer;
+import lu.itrust.business.ts.component.ExternalNotificationQueue;
 import lu.itrust.business.ts.component.TrickLogManager;
 import lu.itrust.business.ts.constants.Constant;
 import lu.itrust.business.ts.database.service.ServiceAnalysis;
@@ -50,7 +50,6 @@ import lu.itrust.business.ts.database.service.ServiceAsset;
 import lu.itrust.business.ts.database.service.ServiceAssetEdge;
 import lu.itrust.business.ts.database.service.ServiceAssetType;
 import lu.itrust.business.ts.database.service.ServiceCustomer;
-import lu.itrust.business.ts.database.service.ServiceExternalNotification;
 import lu.itrust.business.ts.database.service.ServiceIDS;
 import lu.itrust.business.ts.database.service.ServiceImpactParameter;
 import lu.itrust.business.ts.database.service.ServiceLikelihoodParameter;
@@ -81,6 +80,7 @@ import lu.itrust.business.ts.model.api.basic.ApiScenario;
 import lu.itrust.business.ts.model.api.basic.ApiStandard;
 import lu.itrust.business.ts.model.assessment.Assessment;
 import lu.itrust.business.ts.model.asset.Asset;
+import lu.itrust.business.ts.model.externalnotification.ExternalNotification;
 import lu.itrust.business.ts.model.externalnotification.helper.ExternalNotificationHelper;
 import lu.itrust.business.ts.model.general.Customer;
 import lu.itrust.business.ts.model.general.document.impl.SimpleDocument;
@@ -92,7 +92,6 @@ import lu.itrust.business.ts.model.parameter.IParameter;
 import lu.itrust.business.ts.model.parameter.helper.ValueFactory;
 import lu.itrust.business.ts.model.parameter.impl.ImpactParameter;
 import lu.itrust.business.ts.model.parameter.value.IValue;
-import lu.itrust.business.ts.model.rrf.RRF;
 import lu.itrust.business.ts.model.standard.AnalysisStandard;
 import lu.itrust.business.ts.usermanagement.IDS;
 
@@ -111,16 +110,7 @@ import lu.itrust.business.ts.usermanagement.IDS;
 public class ControllerApi {
 
 	@Autowired
-	private ServiceExternalNotification serviceExternalNotification;
-
-	@Value("${app.settings.dynamicparameters.computationdelayseconds}")
-	private Integer computationDelayInSeconds;
-
-	@Autowired
-	private DynamicParameterComputer dynamicParameterComputer;
-
-	@Autowired
-	private ThreadPoolTaskScheduler scheduler;
+	private ExternalNotificationQueue externalNotificationQueue;
 
 	@Autowired
 	private ServiceAnalysis serviceAnalysis;
@@ -562,7 +552,7 @@ public class ControllerApi {
 										measure.getMeasureDescription()
 												.getMeasureDescriptionTextByAlpha2(locale.getLanguage()).getDomain(),
 										(int) measure.getImplementationRateValue(factory), measure.getCost(),
-										RRF.calculateRRF(assessment, rrfTuning, measure)));
+										analysis.getRRFMatrix().getRRF(assessment, rrfTuning, measure)));
 					});
 			apiRRF.getStandards().add(apiStandard);
 		}
@@ -587,23 +577,22 @@ public class ControllerApi {
 	 * @return Returns an error code (0 = success).
 	 * @throws Exception
 	 */
-	@Transactional
+	@Transactional(readOnly = true)
 	@PostMapping("/ids/notify")
 	public Object notify(final HttpSession session, final Principal principal,
 			@RequestBody final ApiNotifyRequest request) {
 
-		final IDS ids = serviceIDS.get(principal.getName()).notifyAlert();
+		final IDS ids = serviceIDS.get(principal.getName());
 
+		final List<ExternalNotification> externalNotifications = new ArrayList<>(request.getData().size());
 		for (final ApiExternalNotification apiObj : request.getData())
-			serviceExternalNotification.save(ExternalNotificationHelper.createEntityBasedOn(apiObj, ids.getPrefix()));
-
-		// Trigger execution of worker which computes dynamic parameters.
-		// This method only schedules the task if it does not have been
-		// scheduled yet for the given user.
-		WorkerComputeDynamicParameters.trigger(ids.getPrefix(), computationDelayInSeconds, dynamicParameterComputer,
-				scheduler);
+			externalNotifications.add(ExternalNotificationHelper.createEntityBasedOn(apiObj, ids.getPrefix()));
 
-		serviceIDS.saveOrUpdate(ids);
+		// Notifications are saved by the queue writer, which also updates the
+		// IDS and triggers the computation of the dynamic parameters.
+		if (!externalNotificationQueue.offer(externalNotifications))
+			return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+					.body(new ApiResult(-1, "Too many notifications, please try again later."));
 
 		// Success
 		return new ApiResult(0);
@@ -5,6 +5,7 @@ import static lu.itrust.business.ts.constants.Constant.ACCEPT_APPLICATION_JSON_C
 import java.security.Principal;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -20,6 +21,8 @@ import org.springframework.web.bind.annotation.ResponseBody;
 
 import lu.itrust.business.ts.asynchronousWorkers.Worker;
 import lu.itrust.business.ts.asynchronousWorkers.helper.AsyncResult;
+import lu.itrust.business.ts.asynchronousWorkers.helper.TaskCost;
+import lu.itrust.business.ts.component.WorkerScheduler;
 import lu.itrust.business.ts.constants.Constant;
 import lu.itrust.business.ts.database.service.ServiceTaskFeedback;
 import lu.itrust.business.ts.database.service.WorkersPoolManager;
@@ -44,6 +47,9 @@ public class ControllerTask {
 	@Autowired
 	private ServiceTaskFeedback serviceTaskFeedback;
 
+	@Autowired
+	private WorkerScheduler workerScheduler;
+
 	@Autowired
 	private MessageSource messageSource;
 
@@ -73,7 +79,10 @@ public class ControllerTask {
 			// retrieve last feedback message
 			MessageHandler messageHandler = serviceTaskFeedback.recieveById(id);
 			// set worker status
-			if (worker == null) {
+			if (worker == null && serviceTaskFeedback.isProcessedElsewhere(id)) {
+				asyncResult.setStatus(messageSource.getMessage("label.task_status.process", null, "Processing", locale));
+				asyncResult.setFlag(3);
+			} else if (worker == null) {
 				asyncResult.setStatus(messageSource.getMessage("label.task_status.delete", null, "Deleted", locale));
 				asyncResult.setFlag(0);
 			} else {
@@ -161,4 +170,16 @@ public class ControllerTask {
 		// check if user has a task
 		return serviceTaskFeedback.userHasTask(principal.getName());
 	}
+
+	/**
+	 * queue: <br>
+	 * Returns the number of pending background tasks by cost class.
+	 * 
+	 * @return the number of pending tasks by cost class
+	 */
+	@PreAuthorize(Constant.ROLE_MIN_ADMIN)
+	@GetMapping(value = "/Task/Queue", headers = ACCEPT_APPLICATION_JSON_CHARSET_UTF_8)
+	public @ResponseBody Map<TaskCost, Integer> queue() {
+		return workerScheduler.getQueueSizes();
+	}
 }
\ No newline at end of file
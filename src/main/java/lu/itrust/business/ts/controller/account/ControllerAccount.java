@@ -10,10 +10,17 @@ import static lu.itrust.business.ts.constants.Constant.FILTER_CONTROL_SORT_DIRCT
 import static lu.itrust.business.ts.constants.Constant.FILTER_CONTROL_SORT_KEY;
 import static lu.itrust.business.ts.constants.Constant.FILTER_CONTROL_SQLITE;
 
+import java.io.IOException;
 import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.Principal;
 import java.security.SecureRandom;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
@@ -24,6 +31,8 @@ import org.jboss.aerogear.security.otp.api.Base32;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.token.Sha512DigestUtils;
@@ -45,6 +54,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
 import lu.itrust.business.ts.component.TrickLogManager;
@@ -54,6 +64,7 @@ import lu.itrust.business.ts.database.service.ServiceAnalysisShareInvitation;
 import lu.itrust.business.ts.database.service.ServiceDataValidation;
 import lu.itrust.business.ts.database.service.ServiceEmailSender;
 import lu.itrust.business.ts.database.service.ServiceEmailValidatingRequest;
+import lu.itrust.business.ts.database.service.ServiceStorage;
 import lu.itrust.business.ts.database.service.ServiceTSSetting;
 import lu.itrust.business.ts.database.service.ServiceUser;
 import lu.itrust.business.ts.database.service.ServiceUserAnalysisRight;
@@ -126,6 +137,9 @@ public class ControllerAccount {
 	@Autowired
 	private ServiceWordReport serviceWordReport;
 
+	@Autowired
+	private ServiceStorage serviceStorage;
+
 	@Autowired
 	private ServiceEmailValidatingRequest serviceEmailValidatingRequest;
 
@@ -272,8 +286,8 @@ public class ControllerAccount {
 	 * @throws Exception
 	 */
 	@RequestMapping("/Sqlite/{id}/Download")
-	public String downloadSqlite(@PathVariable Long id, Principal principal, HttpServletResponse response,
-			Locale locale) throws Exception {
+	public String downloadSqlite(@PathVariable Long id, Principal principal, HttpServletRequest request,
+			HttpServletResponse response, Locale locale) throws Exception {
 
 		// get user file by given file id and username
 		UserSQLite userSqLite = serviceUserSqLite.getByIdAndUser(id, principal.getName());
@@ -295,13 +309,17 @@ public class ControllerAccount {
 		response.setHeader("Content-Disposition",
 				"attachment; filename=\"" + Utils.extractOrignalFilename(userSqLite.getName()) + "\"");
 
-		// set sqlite file size as response size
-		response.setContentLength((int) userSqLite.getLength());
+		if (userSqLite.getStorage() == null) {
+			// set sqlite file size as response size
+			response.setContentLength((int) userSqLite.getLength());
 
-		// return the sqlite file (as copy) to the response outputstream ( whihc
-		// creates on the
-		// client side the sqlite file)
-		FileCopyUtils.copy(userSqLite.getData(), response.getOutputStream());
+			// return the sqlite file (as copy) to the response outputstream ( whihc
+			// creates on the
+			// client side the sqlite file)
+			FileCopyUtils.copy(userSqLite.getData(), response.getOutputStream());
+		} else
+			sendDocument(serviceStorage.loadDocument(userSqLite.getStorage()), userSqLite.getSha256(), request,
+					response);
 
 		/**
 		 * Log
@@ -662,6 +680,49 @@ public class ControllerAccount {
 		}
 	}
 
+	/**
+	 * sendDocument: <br>
+	 * Streams a stored document to the response, a single byte range is served
+	 * when requested so that interrupted downloads can be resumed.
+	 * 
+	 * @param path     the document path
+	 * @param sha256   the document hash, used as ETag
+	 * @param request
+	 * @param response
+	 * @throws IOException
+	 */
+	private void sendDocument(Path path, String sha256, HttpServletRequest request, HttpServletResponse response)
+			throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final long length = channel.size();
+			final String etag = sha256 == null ? null : "\"" + sha256 + "\"";
+			final String range = request.getHeader(HttpHeaders.RANGE), ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+			long start = 0, end = length - 1;
+			response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+			if (etag != null)
+				response.setHeader(HttpHeaders.ETAG, etag);
+			if (range != null && length > 0 && (ifRange == null || ifRange.equals(etag))) {
+				try {
+					final List<HttpRange> ranges = HttpRange.parseRanges(range);
+					if (ranges.size() == 1) {
+						start = ranges.get(0).getRangeStart(length);
+						end = ranges.get(0).getRangeEnd(length);
+						response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+						response.setHeader(HttpHeaders.CONTENT_RANGE, String.format("bytes %d-%d/%d", start, end, length));
+					}
+				} catch (IllegalArgumentException e) {
+					response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+					response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+					return;
+				}
+			}
+			response.setContentLengthLong(end - start + 1);
+			final WritableByteChannel output = Channels.newChannel(response.getOutputStream());
+			for (long position = start; position <= end;)
+				position += channel.transferTo(position, end - position + 1, output);
+		}
+	}
+
 	private String readStringValue(JsonNode jsonNode, String fieldName) {
 		return jsonNode.has(fieldName) ? jsonNode.get(fieldName).textValue() : null;
 	}
@@ -11,7 +11,6 @@ import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
-import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -20,10 +19,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.ResponseBody;
 
-import lu.itrust.business.ts.asynchronousWorkers.Worker;
 import lu.itrust.business.ts.asynchronousWorkers.WorkerTSInstallation;
 import lu.itrust.business.ts.component.DefaultTemplateLoader;
 import lu.itrust.business.ts.component.TrickLogManager;
+import lu.itrust.business.ts.component.WorkerScheduler;
 import lu.itrust.business.ts.constants.Constant;
 import lu.itrust.business.ts.database.service.ServiceCustomer;
 import lu.itrust.business.ts.database.service.ServiceStorage;
@@ -60,7 +59,7 @@ public class ControllerIntstallation {
 	private WorkersPoolManager workersPoolManager;
 
 	@Autowired
-	private TaskExecutor executor;
+	private WorkerScheduler executor;
 
 	private ServiceStorage serviceStorage;
 
@@ -76,6 +75,9 @@ public class ControllerIntstallation {
 	@Value("${app.settings.default.profile.mixed.fr.sqlite.path}")
 	private String defaultProfileMixedFrSqlitePath;
 
+	@Value("${app.settings.import.sqlite.max.thread.size:1}")
+	private int sqliteImportMaxThreadSize;
+
 	/**
 	 * installTS: <br>
 	 * Description
@@ -152,7 +154,9 @@ public class ControllerIntstallation {
 				errors.put("error", messageSource.getMessage("error.analysis.owner.no_found", null, "Could not determine owner!", locale));
 				return false;
 			}
-			final Worker worker = new WorkerTSInstallation(version, workersPoolManager, sessionFactory, serviceTaskFeedback, serviceStorage, fileNames, customer.getId(), principal.getName());
+			final WorkerTSInstallation worker = new WorkerTSInstallation(version, workersPoolManager, sessionFactory, serviceTaskFeedback, serviceStorage, fileNames, customer.getId(), principal.getName());
+			worker.setMaxThreadSize(sqliteImportMaxThreadSize);
+			worker.setWorkerScheduler(executor);
 			if (!serviceTaskFeedback.registerTask(principal.getName(), worker.getId(), locale)) {
 				errors.put("error", messageSource.getMessage("error.task_manager.too.many", null, "Too many tasks running in background", locale));
 				return false;
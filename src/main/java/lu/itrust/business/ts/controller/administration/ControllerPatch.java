@@ -12,7 +12,6 @@ import java.util.stream.IntStream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
-import org.springframework.core.task.TaskExecutor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -24,6 +23,7 @@ import lu.itrust.business.ts.asynchronousWorkers.WorkerRestoreAnalyisRight;
 import lu.itrust.business.ts.asynchronousWorkers.WorkerSynchroniseMeasureCollectionAndAnalysis;
 import lu.itrust.business.ts.component.AssessmentAndRiskProfileManager;
 import lu.itrust.business.ts.component.TrickLogManager;
+import lu.itrust.business.ts.component.WorkerScheduler;
 import lu.itrust.business.ts.constants.Constant;
 import lu.itrust.business.ts.database.service.ServiceAnalysis;
 import lu.itrust.business.ts.database.service.ServiceAssetType;
@@ -90,7 +90,7 @@ public class ControllerPatch {
 	private ServiceSimpleParameter serviceSimpleParameter;
 
 	@Autowired
-	private TaskExecutor executor;
+	private WorkerScheduler executor;
 
 	@RequestMapping(value = "/Update/ScenarioCategoryValue", method = RequestMethod.POST, headers = ACCEPT_APPLICATION_JSON_CHARSET_UTF_8)
 	public @ResponseBody String updateAllScenario(Principal principal, Locale locale) {
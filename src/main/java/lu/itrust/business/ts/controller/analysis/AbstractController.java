@@ -17,11 +17,11 @@ import javax.annotation.Nullable;
 import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
-import org.springframework.core.task.TaskExecutor;
 import org.springframework.ui.Model;
 import org.springframework.util.StringUtils;
 
 import lu.itrust.business.ts.component.TrickLogManager;
+import lu.itrust.business.ts.component.WorkerScheduler;
 import lu.itrust.business.ts.constants.Constant;
 import lu.itrust.business.ts.database.service.ServiceAnalysis;
 import lu.itrust.business.ts.database.service.ServiceTSSetting;
@@ -44,7 +44,7 @@ import lu.itrust.business.ts.usermanagement.User;
 public abstract class AbstractController {
 
 	@Autowired
-	protected TaskExecutor executor;
+	protected WorkerScheduler executor;
 
 	@Autowired
 	protected ServiceUser serviceUser;
@@ -8,6 +8,9 @@ import java.util.Locale;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -23,7 +26,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 
 import jakarta.servlet.http.HttpSession;
-import lu.itrust.business.ts.asynchronousWorkers.Worker;
 import lu.itrust.business.ts.asynchronousWorkers.WorkerComputeActionPlan;
 import lu.itrust.business.ts.component.TrickLogManager;
 import lu.itrust.business.ts.constants.Constant;
@@ -61,6 +63,16 @@ public class ControllerActionPlan extends AbstractController {
 	@Autowired
 	private ServiceUserAnalysisRight serviceUserAnalysisRight;
 
+	@Autowired
+	@Qualifier("actionPlanExecutor")
+	private TaskExecutor actionPlanExecutor;
+
+	@Value("${app.settings.action_plan.computation.max.thread.size:1}")
+	private int actionPlanMaxThreadSize;
+
+	@Value("${app.settings.action_plan.computation.indexed:true}")
+	private boolean actionPlanIndexedComputation;
+
 	/**
 	 * showActionPlan: <br>
 	 * dispaly all actionplans of an analysis
@@ -173,7 +185,14 @@ public class ControllerActionPlan extends AbstractController {
 
 		final boolean reloadSection = session.getAttribute(Constant.SELECTED_ANALYSIS) != null;
 
-		final Worker worker = new WorkerComputeActionPlan(analysisId, standards, uncertainty, reloadSection);
+		final WorkerComputeActionPlan worker = new WorkerComputeActionPlan(analysisId, standards, uncertainty,
+				reloadSection);
+
+		worker.setMaxThreadSize(actionPlanMaxThreadSize);
+
+		worker.setIndexedComputation(actionPlanIndexedComputation);
+
+		worker.setExecutor(actionPlanExecutor);
 
 		if (!serviceTaskFeedback.registerTask(principal.getName(), worker.getId(), locale))
 			return JsonMessage.Error(messageSource.getMessage("error.task_manager.too.many", null,
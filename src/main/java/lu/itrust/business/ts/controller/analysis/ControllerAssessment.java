@@ -53,7 +53,6 @@ import lu.itrust.business.ts.model.ilr.AssetNode;
 import lu.itrust.business.ts.model.parameter.IParameter;
 import lu.itrust.business.ts.model.parameter.helper.ValueFactory;
 import lu.itrust.business.ts.model.parameter.impl.DynamicParameter;
-import lu.itrust.business.ts.model.rrf.RRF;
 import lu.itrust.business.ts.model.scenario.Scenario;
 import lu.itrust.business.ts.model.standard.AssetStandard;
 import lu.itrust.business.ts.model.standard.NormalStandard;
@@ -280,7 +279,7 @@ public class ControllerAssessment {
 							&& e.getImplementationRateValue(factory) < 100
 							&& e.getPhase().getNumber() <= mandatoryPhase)
 					.filter(AbstractNormalMeasure.class::isInstance).forEach(e -> assessments.stream().forEach(ass -> {
-						final double rrf = RRF.calculateRRF(ass, maxRRFParameter, e);
+						final double rrf = analysis.getRRFMatrix().getRRF(ass, maxRRFParameter, e);
 						if (rrf >= rrfThreshold) {
 							final RiskProfile riskProfile = riskProfiles
 									.get(RiskProfile.key(ass.getAsset(), ass.getScenario()));
@@ -5,7 +5,6 @@ import static lu.itrust.business.ts.constants.Constant.APPLICATION_JSON_CHARSET_
 import static lu.itrust.business.ts.constants.Constant.RI_SHEET_MAPPERS;
 import static lu.itrust.business.ts.constants.Constant.ROLE_MIN_USER;
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.createHeader;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.createRow;
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.createWorkSheetPart;
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.findSheet;
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.findTable;
@@ -32,7 +31,6 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -47,7 +45,6 @@ import org.docx4j.openpackaging.parts.SpreadsheetML.WorksheetPart;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
-import org.springframework.core.task.TaskExecutor;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -88,6 +85,7 @@ import lu.itrust.business.ts.component.AssessmentAndRiskProfileManager;
 import lu.itrust.business.ts.component.DefaultTemplateLoader;
 import lu.itrust.business.ts.component.MeasureManager;
 import lu.itrust.business.ts.component.TrickLogManager;
+import lu.itrust.business.ts.component.WorkerScheduler;
 import lu.itrust.business.ts.constants.Constant;
 import lu.itrust.business.ts.database.service.ServiceAnalysis;
 import lu.itrust.business.ts.database.service.ServiceAssessment;
@@ -110,6 +108,7 @@ import lu.itrust.business.ts.exportation.word.impl.docx4j.Docx4jReportImpl;
 import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.AddressRef;
 import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.CellRef;
 import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamWriter;
 import lu.itrust.business.ts.form.CSSFExportForm;
 import lu.itrust.business.ts.form.DataManagerItem;
 import lu.itrust.business.ts.form.ExportWordReportForm;
@@ -213,11 +212,17 @@ public class ControllerDataManager {
 	@Value("${app.settings.excel.header.footer.sheet.name}")
 	private String headerFooterSheetName;
 
+	@Value("${app.settings.export.sqlite.pipelined:false}")
+	private boolean sqliteExportPipelined;
+
+	@Value("${app.settings.import.sqlite.max.thread.size:1}")
+	private int sqliteImportMaxThreadSize;
+
 	@Autowired
 	private DefaultTemplateLoader defaultTemplateLoader;
 
 	@Autowired
-	private TaskExecutor executor;
+	private WorkerScheduler executor;
 
 	private long maxRefurbishReportSize;
 
@@ -290,10 +295,9 @@ public class ControllerDataManager {
 			HttpSession session, Principal principal, Locale locale) throws Exception {
 		final Analysis analysis = serviceAnalysis.get((Integer) session.getAttribute(Constant.SELECTED_ANALYSIS));
 		final File file = loadTemplate(analysis.getCustomer(), TrickTemplateType.DEFAULT_EXCEL, analysis.getLanguage());
-		try {
-			final SpreadsheetMLPackage spreadsheetMLPackage = SpreadsheetMLPackage.load(file);
-			exportRawActionPlan(analysis, spreadsheetMLPackage, new Locale(analysis.getLanguage().getAlpha2()));
-			final String extension = getExtension(spreadsheetMLPackage);
+		try (final ExcelStreamWriter writer = new ExcelStreamWriter(file, headerFooterSheetName,
+				response.getOutputStream())) {
+			final String extension = writer.getExtension();
 			response.setContentType(extension);
 			// set response header with location of the filename
 			final String filename = String.format(Constant.ITR_FILE_NAMING,
@@ -304,7 +308,8 @@ public class ControllerDataManager {
 			response.setHeader("Content-Disposition", "attachment; filename=\""
 					+ filename + "\"");
 			updateTokenCookie(request, response);
-			spreadsheetMLPackage.save(response.getOutputStream());
+			exportRawActionPlan(analysis, writer, new Locale(analysis.getLanguage().getAlpha2()));
+			writer.complete();
 			// Log
 			TrickLogManager.Persist(LogLevel.INFO, LogType.ANALYSIS, "log.analysis.export.raw.action_plan",
 					String.format("Analysis: %s, version: %s, type: Raw action plan", analysis.getIdentifier(),
@@ -333,10 +338,9 @@ public class ControllerDataManager {
 			Principal principal, Locale locale) throws Exception {
 		final Analysis analysis = serviceAnalysis.get((Integer) session.getAttribute(Constant.SELECTED_ANALYSIS));
 		final File file = loadTemplate(analysis.getCustomer(), TrickTemplateType.DEFAULT_EXCEL, analysis.getLanguage());
-		try {
-			final SpreadsheetMLPackage spreadsheetMLPackage = SpreadsheetMLPackage.load(file);
-			final String extension = getExtension(spreadsheetMLPackage);
-			exportAsset(analysis, spreadsheetMLPackage);
+		try (final ExcelStreamWriter writer = new ExcelStreamWriter(file, headerFooterSheetName,
+				response.getOutputStream())) {
+			final String extension = writer.getExtension();
 			response.setContentType(extension);
 			final String filename = String.format(Constant.ITR_FILE_NAMING,
 					Utils.cleanUpFileName(analysis.findSetting(ExportFileName.ASSET)),
@@ -347,7 +351,8 @@ public class ControllerDataManager {
 			response.setHeader("Content-Disposition", "attachment; filename=\""
 					+ filename + "\"");
 			updateTokenCookie(request, response);
-			spreadsheetMLPackage.save(response.getOutputStream());
+			exportAsset(analysis, writer);
+			writer.complete();
 			// Log
 			TrickLogManager.Persist(LogLevel.INFO, LogType.ANALYSIS, "log.analysis.export.asset",
 					String.format("Analysis: %s, version: %s, type: Asset", analysis.getIdentifier(),
@@ -663,19 +668,9 @@ public class ControllerDataManager {
 			Principal principal, Locale locale) throws Exception {
 		final Analysis analysis = serviceAnalysis.get((Integer) session.getAttribute(Constant.SELECTED_ANALYSIS));
 		final File file = loadTemplate(analysis.getCustomer(), TrickTemplateType.DEFAULT_EXCEL, analysis.getLanguage());
-		try {
-			final SpreadsheetMLPackage mlPackage = SpreadsheetMLPackage.load(file);
-			final ValueFactory factory = new ValueFactory(analysis.getParameters());
-			for (AnalysisStandard analysisStandard : analysis.getAnalysisStandards().values()) {
-				if (standards.contains(analysisStandard.getStandard().getId())) {
-					final WorksheetPart worksheetPart = createWorkSheetPart(mlPackage,
-							analysisStandard.getStandard().getName());
-					exportMeasureStandard(factory, analysisStandard, worksheetPart);
-					ExcelHelper.applyHeaderAndFooter(headerFooterSheetName, analysisStandard.getStandard().getName(),
-							mlPackage);
-				}
-			}
-			final String extension = getExtension(mlPackage);
+		try (final ExcelStreamWriter writer = new ExcelStreamWriter(file, headerFooterSheetName,
+				response.getOutputStream())) {
+			final String extension = writer.getExtension();
 			response.setContentType(extension);
 
 			final String filename = String.format(Constant.ITR_FILE_NAMING,
@@ -687,7 +682,12 @@ public class ControllerDataManager {
 			response.setHeader("Content-Disposition", "attachment; filename=\""
 					+ filename + "\"");
 			updateTokenCookie(request, response);
-			mlPackage.save(response.getOutputStream());
+			final ValueFactory factory = new ValueFactory(analysis.getParameters());
+			for (AnalysisStandard analysisStandard : analysis.getAnalysisStandards().values()) {
+				if (standards.contains(analysisStandard.getStandard().getId()))
+					exportMeasureStandard(factory, analysisStandard, writer);
+			}
+			writer.complete();
 			// Log
 			TrickLogManager.Persist(LogLevel.INFO, LogType.ANALYSIS, "log.analysis.export.measure",
 					String.format("Analysis: %s, version: %s, type: Measure data", analysis.getIdentifier(),
@@ -1047,34 +1047,28 @@ public class ControllerDataManager {
 		final Analysis analysis = serviceAnalysis.get((Integer) session.getAttribute(Constant.SELECTED_ANALYSIS));
 		final File file = InstanceManager.loadTemplate(analysis.getCustomer(), TrickTemplateType.DEFAULT_EXCEL,
 				analysis.getLanguage());
-		try {
-
-			final Consumer<SpreadsheetMLPackage> callback = (m) -> {
-				try {
-					final String extension = getExtension(m);
-					response.setContentType(extension);
-					final String filename = String.format(Constant.ITR_FILE_NAMING,
-							Utils.cleanUpFileName(analysis.findSetting(ExportFileName.RRF)),
-							Utils.cleanUpFileName(analysis.getCustomer().getOrganisation()),
-							Utils.cleanUpFileName(analysis.getLabel()), "RRF", analysis.getVersion(),
-							extension);
-					// set response header with location of the filename
-					response.setHeader("Content-Disposition", "attachment; filename=\""
-							+ filename + "\"");
-					updateTokenCookie(request, response);
-					m.save(response.getOutputStream());
-					// log
-					TrickLogManager.Persist(LogLevel.INFO, LogType.ANALYSIS, "log.analysis.export.raw.rrf",
-							String.format("Analysis: %s, version: %s, type: Raw RRF", analysis.getIdentifier(),
-									analysis.getVersion()),
-							principal.getName(), LogAction.EXPORT,
-							analysis.getIdentifier(), analysis.getVersion());
-				} catch (Exception e) {
-					throw new RuntimeException(e);
-				}
-			};
+		try (final ExcelStreamWriter writer = new ExcelStreamWriter(file, headerFooterSheetName,
+				response.getOutputStream())) {
+			final String extension = writer.getExtension();
+			response.setContentType(extension);
+			final String filename = String.format(Constant.ITR_FILE_NAMING,
+					Utils.cleanUpFileName(analysis.findSetting(ExportFileName.RRF)),
+					Utils.cleanUpFileName(analysis.getCustomer().getOrganisation()),
+					Utils.cleanUpFileName(analysis.getLabel()), "RRF", analysis.getVersion(),
+					extension);
+			// set response header with location of the filename
+			response.setHeader("Content-Disposition", "attachment; filename=\""
+					+ filename + "\"");
+			updateTokenCookie(request, response);
 			new RRFExportImport(serviceAssetType, serviceAnalysis, serviceAssetTypeValue, messageSource)
-					.exportRawRRF(analysis, file, callback);
+					.exportRawRRF(analysis, writer);
+			writer.complete();
+			// log
+			TrickLogManager.Persist(LogLevel.INFO, LogType.ANALYSIS, "log.analysis.export.raw.rrf",
+					String.format("Analysis: %s, version: %s, type: Raw RRF", analysis.getIdentifier(),
+							analysis.getVersion()),
+					principal.getName(), LogAction.EXPORT,
+					analysis.getIdentifier(), analysis.getVersion());
 		} finally {
 			serviceStorage.delete(file.getAbsolutePath());
 		}
@@ -1087,10 +1081,9 @@ public class ControllerDataManager {
 		final Analysis analysis = serviceAnalysis.get((Integer) session.getAttribute(Constant.SELECTED_ANALYSIS));
 		final File file = InstanceManager.loadTemplate(analysis.getCustomer(), TrickTemplateType.DEFAULT_EXCEL,
 				analysis.getLanguage());
-		try {
-			final SpreadsheetMLPackage spreadsheetMLPackage = SpreadsheetMLPackage.load(file);
-			exportScenario(analysis, spreadsheetMLPackage);
-			final String extension = getExtension(spreadsheetMLPackage);
+		try (final ExcelStreamWriter writer = new ExcelStreamWriter(file, headerFooterSheetName,
+				response.getOutputStream())) {
+			final String extension = writer.getExtension();
 			response.setContentType(extension);
 			final String filename = String.format(Constant.ITR_FILE_NAMING,
 					Utils.cleanUpFileName(analysis.findSetting(ExportFileName.SCENARIO)),
@@ -1101,7 +1094,8 @@ public class ControllerDataManager {
 			response.setHeader("Content-Disposition", "attachment; filename=\""
 					+ filename + "\"");
 			updateTokenCookie(request, response);
-			spreadsheetMLPackage.save(response.getOutputStream());
+			exportScenario(analysis, writer);
+			writer.complete();
 			// Log
 			TrickLogManager.Persist(LogLevel.INFO, LogType.ANALYSIS, "log.analysis.export.asset",
 					String.format("Analysis: %s, version: %s, type: Asset", analysis.getIdentifier(),
@@ -1155,7 +1149,8 @@ public class ControllerDataManager {
 			Principal principal, HttpServletRequest request, Locale locale)
 			throws Exception {
 		// create worker
-		final Worker worker = new WorkerExportAnalysis(principal.getName(), analysisId);
+		final WorkerExportAnalysis worker = new WorkerExportAnalysis(principal.getName(), analysisId);
+		worker.setPipelined(sqliteExportPipelined);
 		// register worker
 		if (serviceTaskFeedback.registerTask(principal.getName(), worker.getId(), locale)) {
 			executor.execute(worker);
@@ -1217,7 +1212,7 @@ public class ControllerDataManager {
 		// the file to import
 		final String filename = principal.getName() + "_" + System.nanoTime() + ".tsdb";
 		// create worker
-		Worker worker = new WorkerAnalysisImport(filename, idCustomer, principal.getName());
+		final WorkerAnalysisImport worker = new WorkerAnalysisImport(filename, idCustomer, principal.getName());
 		// register worker to tasklist
 		if (!serviceTaskFeedback.registerTask(principal.getName(), worker.getId(), locale))
 			return JsonMessage.Error(messageSource.getMessage("error.task_manager.too.many", null,
@@ -1230,6 +1225,52 @@ public class ControllerDataManager {
 				"Please wait while importing your analysis", locale));
 	}
 
+	/**
+	 * importAnalysesSave: <br>
+	 * Imports several sqlite files of a customer at once, e.g. to migrate its
+	 * analyses, up to "app.settings.import.sqlite.max.thread.size" files are
+	 * imported at the same time.
+	 * 
+	 * @param idCustomer
+	 * @param files
+	 * @param principal
+	 * @param locale
+	 * @return
+	 * @throws Exception
+	 */
+	@PostMapping(value = "/Sqlite/Import-all-process", headers = ACCEPT_APPLICATION_JSON_CHARSET_UTF_8)
+	public @ResponseBody Object importAnalysesSave(@RequestParam(name = "customer") Integer idCustomer,
+			@RequestParam(name = "file") List<MultipartFile> files, Principal principal, Locale locale) throws Exception {
+		// retrieve the customer
+		if (!serviceCustomer.hasAccess(principal.getName(), idCustomer))
+			throw new AccessDeniedException("access denied");
+		if (files.isEmpty() || files.stream().anyMatch(MultipartFile::isEmpty))
+			return JsonMessage.Error(messageSource.getMessage("error.customer_or_file.import.analysis", null,
+					"Customer or file are not set or empty!", locale));
+		else if (files.stream().anyMatch(file -> file.getSize() > maxUploadFileSize))
+			return JsonMessage.Error(messageSource.getMessage("error.file.too.large",
+					new Object[] { maxUploadFileSize }, "File is to large", locale));
+		// the files to import
+		final List<String> filenames = new ArrayList<>(files.size());
+		for (int i = 0; i < files.size(); i++)
+			filenames.add(principal.getName() + "_" + System.nanoTime() + "_" + i + ".tsdb");
+		// create worker
+		final WorkerAnalysisImport worker = new WorkerAnalysisImport(filenames, idCustomer, principal.getName());
+		worker.setMaxThreadSize(sqliteImportMaxThreadSize);
+		worker.setWorkerScheduler(executor);
+		// register worker to tasklist
+		if (!serviceTaskFeedback.registerTask(principal.getName(), worker.getId(), locale))
+			return JsonMessage.Error(messageSource.getMessage("error.task_manager.too.many", null,
+					"Too many tasks running in background", locale));
+		// transfer form files to java files
+		for (int i = 0; i < files.size(); i++)
+			serviceStorage.store(files.get(i), filenames.get(i));
+		// execute task
+		executor.execute(worker);
+		return JsonMessage.Success(messageSource.getMessage("sucess.analysis.importing", null,
+				"Please wait while importing your analysis", locale));
+	}
+
 	@PostMapping(value = "/Asset/Import-process", headers = ACCEPT_APPLICATION_JSON_CHARSET_UTF_8)
 	@PreAuthorize("@permissionEvaluator.userIsAuthorized(#session, #principal, T(lu.itrust.business.ts.model.analysis.rights.AnalysisRight).MODIFY)")
 	public @ResponseBody String importAssetProcess(@RequestParam(value = "file") MultipartFile file,
@@ -1697,13 +1738,6 @@ public class ControllerDataManager {
 		return result;
 	}
 
-	private void exportAsset(Analysis analysis, SpreadsheetMLPackage spreadsheetMLPackage)
-			throws Exception, JAXBException {
-		final boolean hiddenComment = analysis.findSetting(AnalysisSetting.ALLOW_RISK_HIDDEN_COMMENT);
-		final boolean isILR = Analysis.isILR(analysis);
-		exportAsset(analysis, spreadsheetMLPackage, hiddenComment, isILR);
-	}
-
 	private void exportAsset(Analysis analysis, SpreadsheetMLPackage spreadsheetMLPackage, final boolean hiddenComment,
 			boolean isILR)
 			throws InvalidFormatException, JAXBException, Docx4JException, Exception {
@@ -1712,58 +1746,95 @@ public class ControllerDataManager {
 		final WorksheetPart worksheetPart = createWorkSheetPart(spreadsheetMLPackage, name);
 		final SheetData sheet = worksheetPart.getContents().getSheetData();
 		final List<String> ilrImpactHeaders = (isILR ? new ArrayList<>() : Collections.emptyList());
-		final List<String> myColumns = new ArrayList<>(Arrays.asList("Name", "Type", "Selected", "Value", "Comment"));
 		final Map<String, Map<String, Integer>> ilrAssetImpacts = (isILR ? new HashMap<>() : Collections.emptyMap());
-		final Map<String, String> maxFormulas;
+		final String[] columns = generateAssetColumns(analysis, hiddenComment, isILR, ilrImpactHeaders,
+				ilrAssetImpacts);
+		final Map<String, String> maxFormulas = generateAssetMaxFormulas(ilrImpactHeaders);
+
+		createHeader(worksheetPart, name, defaultExcelTableStyle, columns, analysis.getAssets().size());
+		final Map<String, String> assetTypes = exportAssetType(spreadsheetMLPackage,
+				new Locale(analysis.getLanguage().getAlpha2()), factory);
+
+		for (Asset asset : analysis.getAssets())
+			sheet.getRow().add(writeAssetData(factory.createRow(), columns, asset, assetTypes, hiddenComment, isILR,
+					ilrImpactHeaders, ilrAssetImpacts, maxFormulas));
+		ExcelHelper.applyHeaderAndFooter(headerFooterSheetName, name, spreadsheetMLPackage);
+	}
+
+	private void exportAsset(Analysis analysis, ExcelStreamWriter writer) throws Exception {
+		final String name = "Assets";
+		final ObjectFactory factory = Context.getsmlObjectFactory();
+		final boolean hiddenComment = analysis.findSetting(AnalysisSetting.ALLOW_RISK_HIDDEN_COMMENT);
+		final boolean isILR = Analysis.isILR(analysis);
+		final List<String> ilrImpactHeaders = (isILR ? new ArrayList<>() : Collections.emptyList());
+		final Map<String, Map<String, Integer>> ilrAssetImpacts = (isILR ? new HashMap<>() : Collections.emptyMap());
+		final String[] columns = generateAssetColumns(analysis, hiddenComment, isILR, ilrImpactHeaders,
+				ilrAssetImpacts);
+		final Map<String, String> maxFormulas = generateAssetMaxFormulas(ilrImpactHeaders);
+		final Map<String, String> assetTypes = findAssetTypeNames(new Locale(analysis.getLanguage().getAlpha2()));
+		final ExcelStreamWriter.Sheet sheet = writer.createSheet(name);
+		sheet.createHeader(name, defaultExcelTableStyle, columns);
+		for (Asset asset : analysis.getAssets())
+			sheet.write(writeAssetData(factory.createRow(), columns, asset, assetTypes, hiddenComment, isILR,
+					ilrImpactHeaders, ilrAssetImpacts, maxFormulas));
+		final ExcelStreamWriter.Sheet typeSheet = writer.createSheet("AssetTypes");
+		typeSheet.createHeader("AssetTypes", defaultExcelTableStyle, new String[] { "Name", "Display name" });
+		for (Map.Entry<String, String> entry : assetTypes.entrySet()) {
+			final Row row = factory.createRow();
+			setValue(row, 0, entry.getKey());
+			setValue(row, 1, entry.getValue());
+			typeSheet.write(row);
+		}
+	}
+
+	private String[] generateAssetColumns(Analysis analysis, final boolean hiddenComment, boolean isILR,
+			final List<String> ilrImpactHeaders, final Map<String, Map<String, Integer>> ilrAssetImpacts) {
+		final List<String> myColumns = new ArrayList<>(Arrays.asList("Name", "Type", "Selected", "Value", "Comment"));
 
 		if (hiddenComment)
 			myColumns.add("Hidden comment");
 
 		myColumns.add("Related name");
 
-		if (isILR) {
+		if (isILR)
 			writeAssetILRImpacts(analysis, ilrImpactHeaders, myColumns, ilrAssetImpacts);
-			maxFormulas = ilrImpactHeaders.stream()
-					.collect(Collectors.groupingBy(e -> e.substring(0, 1),
-							Collectors.reducing("", e -> String.format("Assets[[#This Row],[%s]]", e),
-									(e1, e2) -> e1 + (e1.isEmpty() ? "" : ",") + e2)));
-		} else
-			maxFormulas = Collections.emptyMap();
-
-		final String[] columns = myColumns.toArray(new String[myColumns.size()]);
-
-		createHeader(worksheetPart, name, defaultExcelTableStyle, columns, analysis.getAssets().size());
-		final Map<String, String> assetTypes = exportAssetType(spreadsheetMLPackage,
-				new Locale(analysis.getLanguage().getAlpha2()), factory);
 
-		for (Asset asset : analysis.getAssets()) {
+		return myColumns.toArray(new String[myColumns.size()]);
+	}
 
-			final Row row = factory.createRow();
+	private Map<String, String> generateAssetMaxFormulas(final List<String> ilrImpactHeaders) {
+		return ilrImpactHeaders.stream()
+				.collect(Collectors.groupingBy(e -> e.substring(0, 1),
+						Collectors.reducing("", e -> String.format("Assets[[#This Row],[%s]]", e),
+								(e1, e2) -> e1 + (e1.isEmpty() ? "" : ",") + e2)));
+	}
 
-			for (int i = 0; i <= columns.length; i++) {
-				if (row.getC().size() < i)
-					row.getC().add(Context.smlObjectFactory.createCell());
-			}
+	private Row writeAssetData(final Row row, final String[] columns, Asset asset,
+			final Map<String, String> assetTypes, final boolean hiddenComment, boolean isILR,
+			final List<String> ilrImpactHeaders, final Map<String, Map<String, Integer>> ilrAssetImpacts,
+			final Map<String, String> maxFormulas) {
 
-			writeAssetDefaultCells(assetTypes, asset, row);
+		for (int i = 0; i <= columns.length; i++) {
+			if (row.getC().size() < i)
+				row.getC().add(Context.smlObjectFactory.createCell());
+		}
 
-			if (hiddenComment) {
-				setValue(row.getC().get(ASSET_HIDDEN_COMMENT_CELL_INDEX), asset.getHiddenComment());
-				setValue(row.getC().get(ASSET_HIDDEN_COMMENT_CELL_INDEX + 1), asset.getRelatedName());
-			} else {
-				setValue(row.getC().get(ASSET_HIDDEN_COMMENT_CELL_INDEX), asset.getRelatedName());
-			}
+		writeAssetDefaultCells(assetTypes, asset, row);
 
-			if (isILR)
-				writeAssetILRCells(hiddenComment, ilrImpactHeaders, ilrAssetImpacts, asset, row);
-			if (!maxFormulas.isEmpty()) {
-				for (int i = columns.length - 3; i < columns.length; i++)
-					setFormula(getOrCreateCell(row, i), String.format("MAX(%s)", maxFormulas.get(columns[i])));
-			}
+		if (hiddenComment) {
+			setValue(row.getC().get(ASSET_HIDDEN_COMMENT_CELL_INDEX), asset.getHiddenComment());
+			setValue(row.getC().get(ASSET_HIDDEN_COMMENT_CELL_INDEX + 1), asset.getRelatedName());
+		} else {
+			setValue(row.getC().get(ASSET_HIDDEN_COMMENT_CELL_INDEX), asset.getRelatedName());
+		}
 
-			sheet.getRow().add(row);
+		if (isILR)
+			writeAssetILRCells(hiddenComment, ilrImpactHeaders, ilrAssetImpacts, asset, row);
+		if (!maxFormulas.isEmpty()) {
+			for (int i = columns.length - 3; i < columns.length; i++)
+				setFormula(getOrCreateCell(row, i), String.format("MAX(%s)", maxFormulas.get(columns[i])));
 		}
-		ExcelHelper.applyHeaderAndFooter(headerFooterSheetName, name, spreadsheetMLPackage);
+		return row;
 	}
 
 	private void writeAssetDefaultCells(final Map<String, String> assetTypes, Asset asset, final Row row) {
@@ -1843,32 +1914,38 @@ public class ControllerDataManager {
 		final String name = "AssetTypes";
 		final WorksheetPart worksheetPart = createWorkSheetPart(spreadsheetMLPackage, name);
 		final SheetData sheet = worksheetPart.getContents().getSheetData();
-		final List<AssetType> assetTypes = serviceAssetType.getAll();
+		final Map<String, String> names = findAssetTypeNames(locale);
 		createHeader(worksheetPart, name, defaultExcelTableStyle, new String[] { "Name", "Display name" },
-				assetTypes.size());
-		final Map<String, String> names = new LinkedHashMap<>(assetTypes.size());
-		for (AssetType assetType : assetTypes) {
-			String value = messageSource.getMessage("label.asset_type." + assetType.getName().toLowerCase(), null,
-					assetType.getName(), locale);
-			names.put(assetType.getName(), value);
+				names.size());
+		for (Map.Entry<String, String> entry : names.entrySet()) {
 			final Row row = factory.createRow();
-			setValue(row, 0, assetType.getName());
-			setValue(row, 1, value);
+			setValue(row, 0, entry.getKey());
+			setValue(row, 1, entry.getValue());
 			sheet.getRow().add(row);
 		}
 		ExcelHelper.applyHeaderAndFooter(headerFooterSheetName, name, spreadsheetMLPackage);
 		return names;
 	}
 
+	private Map<String, String> findAssetTypeNames(Locale locale) {
+		final List<AssetType> assetTypes = serviceAssetType.getAll();
+		final Map<String, String> names = new LinkedHashMap<>(assetTypes.size());
+		for (AssetType assetType : assetTypes)
+			names.put(assetType.getName(), messageSource.getMessage(
+					"label.asset_type." + assetType.getName().toLowerCase(), null, assetType.getName(), locale));
+		return names;
+	}
+
 	private void exportMeasureStandard(ValueFactory valueFactory, AnalysisStandard analysisStandard,
-			WorksheetPart worksheetPart) throws Exception {
-		String[] columns = getColumns(analysisStandard);
-		prepareTableHeader(analysisStandard, worksheetPart, columns);
-		SheetData sheetData = worksheetPart.getContents().getSheetData();
+			ExcelStreamWriter writer) throws Exception {
+		final ObjectFactory factory = Context.getsmlObjectFactory();
+		final String[] columns = getColumns(analysisStandard);
+		final ExcelStreamWriter.Sheet sheet = writer.createSheet(analysisStandard.getStandard().getName());
+		sheet.createHeader("Measures" + analysisStandard.getStandard().getId(), defaultExcelTableStyle, columns);
 		analysisStandard.getMeasures().sort((m1, m2) -> NaturalOrderComparator
 				.compareTo(m1.getMeasureDescription().getReference(), m2.getMeasureDescription().getReference()));
 		for (Measure measure : analysisStandard.getMeasures()) {
-			Row row = createRow(sheetData);
+			final Row row = factory.createRow();
 			for (int i = 0; i < columns.length; i++) {
 				switch (columns[i]) {
 					case "Reference":
@@ -1945,10 +2022,11 @@ public class ControllerDataManager {
 						break;
 				}
 			}
+			sheet.write(row);
 		}
 	}
 
-	private void exportRawActionPlan(Analysis analysis, SpreadsheetMLPackage spreadsheetMLPackage, Locale locale)
+	private void exportRawActionPlan(Analysis analysis, ExcelStreamWriter writer, Locale locale)
 			throws Exception {
 		ObjectFactory factory = Context.getsmlObjectFactory();
 		final List<IAcronymParameter> expressionParameters = analysis.getExpressionParameters();
@@ -1964,53 +2042,73 @@ public class ControllerDataManager {
 				continue;
 			final String name = messageSource.getMessage("label.title.plan_type." + type.getName().toLowerCase(), null,
 					type.getName(), locale);
-			final WorksheetPart worksheetPart = createWorkSheetPart(spreadsheetMLPackage, name);
-			final SheetData sheet = worksheetPart.getContents().getSheetData();
+			final ExcelStreamWriter.Sheet sheet = writer.createSheet(name);
 			final String title = messageSource.getMessage(
 					"label.title.export.plan_type." + type.getName().toLowerCase(), null, type.getName(), locale);
-			createHeader(worksheetPart, title, defaultExcelTableStyle,
-					generateActionPlanColumns(colCount - 1, type, locale), actionPlanEntries.size());
+			sheet.createHeader(title, defaultExcelTableStyle, generateActionPlanColumns(colCount - 1, type, locale));
 			for (ActionPlanEntry actionPlanEntry : actionPlanEntries)
-				sheet.getRow().add(writeActionPLanData(factory.createRow(), colCount, actionPlanEntry,
+				sheet.write(writeActionPLanData(factory.createRow(), colCount, actionPlanEntry,
 						expressionParameters, locale));
-			ExcelHelper.applyHeaderAndFooter(headerFooterSheetName, name, spreadsheetMLPackage);
 		}
 	}
 
 	private void exportScenario(Analysis analysis, SpreadsheetMLPackage spreadsheetMLPackage) throws Exception {
 		final String name = "Scenarios";
 		final ObjectFactory factory = Context.getsmlObjectFactory();
-		final boolean isILR = Analysis.isILR(analysis);
-		final String[] columns = isILR
-				? new String[] { "Name", "Type", "Apply to", "Selected", "Description", "Threat", "Vulnerability" }
-				: new String[] { "Name", "Type", "Apply to", "Selected", "Description" };
+		final String[] columns = generateScenarioColumns(analysis);
 		final WorksheetPart worksheetPart = createWorkSheetPart(spreadsheetMLPackage, name);
 		final SheetData sheet = worksheetPart.getContents().getSheetData();
 		createHeader(worksheetPart, name, defaultExcelTableStyle, columns, analysis.getScenarios().size());
 		final Map<String, String> scenarioTypes = exportScenarioType(spreadsheetMLPackage,
 				new Locale(analysis.getLanguage().getAlpha2()), factory);
 
-		for (Scenario scenario : analysis.getScenarios()) {
-			Row row = factory.createRow();
-			for (int i = 0; i <= columns.length; i++) {
-				if (row.getC().size() < i)
-					row.getC().add(Context.smlObjectFactory.createCell());
-			}
-			setValue(row.getC().get(0), scenario.getName());
-			setValue(row.getC().get(1),
-					scenarioTypes.getOrDefault(scenario.getType().getName(), scenario.getType().getName()));
-			setValue(row.getC().get(2), scenario.isAssetLinked() ? "Asset" : "Asset type");
-			setValue(row.getC().get(3), scenario.isSelected());
-			setValue(row.getC().get(4), scenario.getDescription());
+		for (Scenario scenario : analysis.getScenarios())
+			sheet.getRow().add(writeScenarioData(factory.createRow(), columns.length, scenario, scenarioTypes));
+		ExcelHelper.applyHeaderAndFooter(headerFooterSheetName, name, spreadsheetMLPackage);
+	}
 
-			if (isILR) {
-				setValue(row.getC().get(5), scenario.getThreat());
-				setValue(row.getC().get(6), scenario.getVulnerability());
-			}
+	private void exportScenario(Analysis analysis, ExcelStreamWriter writer) throws Exception {
+		final String name = "Scenarios";
+		final ObjectFactory factory = Context.getsmlObjectFactory();
+		final String[] columns = generateScenarioColumns(analysis);
+		final Map<String, String> scenarioTypes = findScenarioTypeNames(new Locale(analysis.getLanguage().getAlpha2()));
+		final ExcelStreamWriter.Sheet sheet = writer.createSheet(name);
+		sheet.createHeader(name, defaultExcelTableStyle, columns);
+		for (Scenario scenario : analysis.getScenarios())
+			sheet.write(writeScenarioData(factory.createRow(), columns.length, scenario, scenarioTypes));
+		final ExcelStreamWriter.Sheet typeSheet = writer.createSheet("ScenarioTypes");
+		typeSheet.createHeader("ScenarioTypes", defaultExcelTableStyle, new String[] { "Name", "Display name" });
+		for (Map.Entry<String, String> entry : scenarioTypes.entrySet()) {
+			final Row row = factory.createRow();
+			setValue(row, 0, entry.getKey());
+			setValue(row, 1, entry.getValue());
+			typeSheet.write(row);
+		}
+	}
 
-			sheet.getRow().add(row);
+	private String[] generateScenarioColumns(Analysis analysis) {
+		return Analysis.isILR(analysis)
+				? new String[] { "Name", "Type", "Apply to", "Selected", "Description", "Threat", "Vulnerability" }
+				: new String[] { "Name", "Type", "Apply to", "Selected", "Description" };
+	}
+
+	private Row writeScenarioData(Row row, int colCount, Scenario scenario, Map<String, String> scenarioTypes) {
+		for (int i = 0; i <= colCount; i++) {
+			if (row.getC().size() < i)
+				row.getC().add(Context.smlObjectFactory.createCell());
 		}
-		ExcelHelper.applyHeaderAndFooter(headerFooterSheetName, name, spreadsheetMLPackage);
+		setValue(row.getC().get(0), scenario.getName());
+		setValue(row.getC().get(1),
+				scenarioTypes.getOrDefault(scenario.getType().getName(), scenario.getType().getName()));
+		setValue(row.getC().get(2), scenario.isAssetLinked() ? "Asset" : "Asset type");
+		setValue(row.getC().get(3), scenario.isSelected());
+		setValue(row.getC().get(4), scenario.getDescription());
+
+		if (colCount > 5) {
+			setValue(row.getC().get(5), scenario.getThreat());
+			setValue(row.getC().get(6), scenario.getVulnerability());
+		}
+		return row;
 	}
 
 	private Map<String, String> exportScenarioType(SpreadsheetMLPackage spreadsheetMLPackage, Locale locale,
@@ -2021,21 +2119,28 @@ public class ControllerDataManager {
 		final SheetData sheet = worksheetPart.getContents().getSheetData();
 		createHeader(worksheetPart, name, defaultExcelTableStyle, new String[] { "Name", "Display name" },
 				scenarioTypes.length);
-		final Map<String, String> names = new LinkedHashMap<>(scenarioTypes.length);
-		for (ScenarioType scenarioType : ScenarioType.values()) {
-			String value = messageSource.getMessage(
-					"label.scenario.type." + scenarioType.getName().replaceAll("-", "_").toLowerCase(), null,
-					scenarioType.getName(), locale);
-			names.put(scenarioType.getName(), value);
+		final Map<String, String> names = findScenarioTypeNames(locale);
+		for (Map.Entry<String, String> entry : names.entrySet()) {
 			final Row row = factory.createRow();
-			setValue(row, 0, scenarioType.getName());
-			setValue(row, 1, value);
+			setValue(row, 0, entry.getKey());
+			setValue(row, 1, entry.getValue());
 			sheet.getRow().add(row);
 		}
 		ExcelHelper.applyHeaderAndFooter(headerFooterSheetName, name, spreadsheetMLPackage);
 		return names;
 	}
 
+	private Map<String, String> findScenarioTypeNames(Locale locale) {
+		final ScenarioType[] scenarioTypes = ScenarioType.values();
+		final Map<String, String> names = new LinkedHashMap<>(scenarioTypes.length);
+		for (ScenarioType scenarioType : scenarioTypes)
+			names.put(scenarioType.getName(),
+					messageSource.getMessage(
+							"label.scenario.type." + scenarioType.getName().replaceAll("-", "_").toLowerCase(), null,
+							scenarioType.getName(), locale));
+		return names;
+	}
+
 	private String[] generateActionPlanColumns(final int count, ActionPlanMode type, Locale locale) {
 		int colIndex = 0;
 		final String[] columns = new String[count];
@@ -2114,12 +2219,6 @@ public class ControllerDataManager {
 								"Importing of risk estimations data", locale));
 	}
 
-	private void prepareTableHeader(AnalysisStandard analysisStandard, WorksheetPart worksheetPart, String[] columns)
-			throws Exception {
-		createHeader(worksheetPart, "Measures" + analysisStandard.getStandard().getId(), defaultExcelTableStyle,
-				columns, analysisStandard.getMeasures().size());
-	}
-
 	private void updateTokenCookie(HttpServletRequest request, HttpServletResponse response) {
 		String token = request.getParameter("token");
 		if (token != null) {
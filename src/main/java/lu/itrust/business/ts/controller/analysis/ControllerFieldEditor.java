@@ -811,6 +811,8 @@ public class ControllerFieldEditor {
 				// update measure
 				serviceMeasure.saveOrUpdate(measure);
 
+				analysis.invalidateRRF(measure);
+
 			} else {
 
 				if (measure instanceof NormalMeasure) {
@@ -18,7 +18,6 @@ import jakarta.servlet.http.HttpSession;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.MessageSource;
-import org.springframework.core.task.TaskExecutor;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -34,6 +33,7 @@ import lu.itrust.business.ts.asynchronousWorkers.Worker;
 import lu.itrust.business.ts.asynchronousWorkers.WorkerCreateAnalysisProfile;
 import lu.itrust.business.ts.component.CustomDelete;
 import lu.itrust.business.ts.component.TrickLogManager;
+import lu.itrust.business.ts.component.WorkerScheduler;
 import lu.itrust.business.ts.constants.Constant;
 import lu.itrust.business.ts.database.service.ServiceAnalysis;
 import lu.itrust.business.ts.database.service.ServiceAnalysisStandard;
@@ -65,7 +65,7 @@ public class ControllerProfile {
 	private ServiceAnalysis serviceAnalysis;
 
 	@Autowired
-	private TaskExecutor executor;
+	private WorkerScheduler executor;
 
 	@Autowired
 	private ServiceAnalysisStandard serviceAnalysisStandard;
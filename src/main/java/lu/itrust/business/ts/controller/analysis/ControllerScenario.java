@@ -334,6 +334,8 @@ public class ControllerScenario {
 
 				serviceScenario.saveOrUpdate(scenario);
 
+				analysis.invalidateRRF(scenario);
+
 				if (!assetTypeValues.isEmpty())
 					serviceAssetTypeValue.delete(assetTypeValues);
 
@@ -24,7 +24,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.task.TaskExecutor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -54,6 +53,7 @@ import lu.itrust.business.ts.asynchronousWorkers.WorkerImportStandard;
 import lu.itrust.business.ts.component.CustomDelete;
 import lu.itrust.business.ts.component.MeasureManager;
 import lu.itrust.business.ts.component.TrickLogManager;
+import lu.itrust.business.ts.component.WorkerScheduler;
 import lu.itrust.business.ts.constants.Constant;
 import lu.itrust.business.ts.database.service.ServiceDataValidation;
 import lu.itrust.business.ts.database.service.ServiceLanguage;
@@ -107,7 +107,7 @@ public class ControllerMeasureCollection {
 	private ServiceLanguage serviceLanguage;
 
 	@Autowired
-	private TaskExecutor executor;
+	private WorkerScheduler executor;
 
 	@Autowired
 	private ServiceTaskFeedback serviceTaskFeedback;
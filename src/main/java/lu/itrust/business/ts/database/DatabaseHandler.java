@@ -6,6 +6,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Savepoint;
+import java.sql.Statement;
 import java.util.List;
 
 import lu.itrust.business.ts.component.TrickLogManager;
@@ -24,6 +25,9 @@ public class DatabaseHandler implements AutoCloseable {
 	 * Fields declaration
 	 **********************************************************************************************/
 
+	/** Page size of exported Sqlite files */
+	private static final int EXPORT_PAGE_SIZE = 8192;
+
 	/** The connection to the Database */
 	private Connection con = null;
 
@@ -159,6 +163,36 @@ public class DatabaseHandler implements AutoCloseable {
 		return res;
 	}
 
+	/**
+	 * getConnection: <br>
+	 * Returns the connection, used by {@link SqliteBatchWriter} to manage its
+	 * statements and its transaction.
+	 * 
+	 * @return The connection to the Database
+	 */
+	Connection getConnection() {
+		return con;
+	}
+
+	/**
+	 * setExportPragmas: <br>
+	 * Prepares a new Sqlite file for a bulk export: bigger pages, rollback
+	 * journal kept in memory and no sync to disk. The exported file is a
+	 * temporary file which is dropped when the export fails, durability is
+	 * therefore not needed.<br>
+	 * Must be called before the structure is created, the page size of an
+	 * existing database cannot be changed.
+	 * 
+	 * @throws SQLException
+	 */
+	public void setExportPragmas() throws SQLException {
+		try (Statement statement = con.createStatement()) {
+			statement.execute("PRAGMA page_size = " + EXPORT_PAGE_SIZE);
+			statement.execute("PRAGMA journal_mode = MEMORY");
+			statement.execute("PRAGMA synchronous = OFF");
+		}
+	}
+
 	/**
 	 * getLastInsertId: <br>
 	 * Retrieve Last ID that was Inserted into the Database.
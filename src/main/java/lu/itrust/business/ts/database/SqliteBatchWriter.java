@@ -0,0 +1,226 @@
+package lu.itrust.business.ts.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lu.itrust.business.ts.component.TrickLogManager;
+
+/**
+ * SqliteBatchWriter: <br>
+ * Writes rows into the tables of a Sqlite file using one prepared statement
+ * per table and JDBC batches, all in one transaction.<br>
+ * Rows are sent to the database every {@link #getBatchSize()} rows of a table
+ * and on {@link #flush()} or {@link #commit()}. Queries executed directly on
+ * the {@link DatabaseHandler} share the connection and the transaction of the
+ * writer, but do not see rows which are not flushed yet.
+ */
+public class SqliteBatchWriter implements SqliteRowWriter, AutoCloseable {
+
+	/** Default number of rows sent to the database at once per table */
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+
+	private final DatabaseHandler sqlite;
+
+	private final int batchSize;
+
+	/** Pending batches by table */
+	private final Map<String, Batch> batches = new LinkedHashMap<>();
+
+	private boolean transaction;
+
+	/**
+	 * Constructor: <br>
+	 * 
+	 * @param sqlite The Sqlite Database Handler
+	 */
+	public SqliteBatchWriter(DatabaseHandler sqlite) {
+		this(sqlite, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Constructor: <br>
+	 * 
+	 * @param sqlite    The Sqlite Database Handler
+	 * @param batchSize The number of rows sent to the database at once per table
+	 */
+	public SqliteBatchWriter(DatabaseHandler sqlite, int batchSize) {
+		if (batchSize < 1)
+			throw new IllegalArgumentException("Batch size must be greater than 0");
+		this.sqlite = sqlite;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * begin: <br>
+	 * Starts the transaction enclosing all writes.
+	 * 
+	 * @throws SQLException
+	 */
+	public void begin() throws SQLException {
+		if (transaction)
+			return;
+		getConnection().setAutoCommit(false);
+		transaction = true;
+	}
+
+	@Override
+	public void insert(String table, Object... values) throws SQLException {
+		final Batch batch = getBatch(table, values.length);
+		for (int i = 0; i < values.length; i++)
+			batch.statement.setObject(i + 1, values[i]);
+		add(batch);
+	}
+
+	@Override
+	public void insert(String table, List<Object> values) throws SQLException {
+		final Batch batch = getBatch(table, values.size());
+		for (int i = 0; i < values.size(); i++)
+			batch.statement.setObject(i + 1, values.get(i));
+		add(batch);
+	}
+
+	/**
+	 * execute: <br>
+	 * Sends pending rows then executes the given statement.
+	 * 
+	 * @see SqliteRowWriter#execute(String, List)
+	 */
+	@Override
+	public void execute(String query, List<Object> params) throws SQLException {
+		flush();
+		try (PreparedStatement statement = getConnection().prepareStatement(query)) {
+			if (params != null) {
+				for (int i = 0; i < params.size(); i++)
+					statement.setObject(i + 1, params.get(i));
+			}
+			statement.execute();
+		}
+	}
+
+	/**
+	 * flush: <br>
+	 * Sends all pending rows to the database.
+	 * 
+	 * @throws SQLException
+	 */
+	public void flush() throws SQLException {
+		for (Batch batch : batches.values())
+			execute(batch);
+	}
+
+	/**
+	 * commit: <br>
+	 * Sends all pending rows and commits the transaction.
+	 * 
+	 * @throws SQLException
+	 */
+	public void commit() throws SQLException {
+		flush();
+		if (!transaction)
+			return;
+		final Connection connection = getConnection();
+		connection.commit();
+		connection.setAutoCommit(true);
+		transaction = false;
+	}
+
+	/**
+	 * rollback: <br>
+	 * Drops pending rows and rolls the transaction back.
+	 * 
+	 * @throws SQLException
+	 */
+	public void rollback() throws SQLException {
+		for (Batch batch : batches.values()) {
+			batch.statement.clearBatch();
+			batch.size = 0;
+		}
+		if (!transaction)
+			return;
+		final Connection connection = getConnection();
+		try {
+			connection.rollback();
+		} finally {
+			connection.setAutoCommit(true);
+			transaction = false;
+		}
+	}
+
+	/**
+	 * close: <br>
+	 * Rolls back an uncommitted transaction and closes the statements. The
+	 * Database Handler is not closed.
+	 * 
+	 * @throws SQLException
+	 */
+	@Override
+	public void close() throws SQLException {
+		try {
+			if (transaction)
+				rollback();
+		} finally {
+			for (Batch batch : batches.values()) {
+				try {
+					batch.statement.close();
+				} catch (SQLException e) {
+					TrickLogManager.Persist(e);
+				}
+			}
+			batches.clear();
+		}
+	}
+
+	/**
+	 * @return The number of rows sent to the database at once per table
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	private Batch getBatch(String table, int columns) throws SQLException {
+		Batch batch = batches.get(table);
+		if (batch == null)
+			batches.put(table, batch = new Batch(getConnection().prepareStatement(DatabaseHandler.generateInsertQuery(table, columns)), columns));
+		else if (batch.columns != columns)
+			throw new SQLException(String.format("Table %s: %d values expected, %d given", table, batch.columns, columns));
+		return batch;
+	}
+
+	private void add(Batch batch) throws SQLException {
+		batch.statement.addBatch();
+		if (++batch.size >= batchSize)
+			execute(batch);
+	}
+
+	private void execute(Batch batch) throws SQLException {
+		if (batch.size == 0)
+			return;
+		batch.statement.executeBatch();
+		batch.size = 0;
+	}
+
+	private Connection getConnection() {
+		return sqlite.getConnection();
+	}
+
+	/**
+	 * Prepared statement of a table and its number of pending rows.
+	 */
+	private static class Batch {
+
+		private final PreparedStatement statement;
+
+		private final int columns;
+
+		private int size;
+
+		private Batch(PreparedStatement statement, int columns) {
+			this.statement = statement;
+			this.columns = columns;
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package lu.itrust.business.ts.database;
+
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * SqliteRowWriter: <br>
+ * Destination of the rows and statements of a Sqlite file.
+ */
+public interface SqliteRowWriter {
+
+	/**
+	 * insert: <br>
+	 * Adds a row to the given table, values are set in the order of the columns
+	 * of the table.
+	 * 
+	 * @param table  The table name
+	 * @param values The values of the row
+	 * @throws SQLException
+	 */
+	void insert(String table, Object... values) throws SQLException;
+
+	/**
+	 * insert: <br>
+	 * see {@link #insert(String, Object...)}
+	 * 
+	 * @param table  The table name
+	 * @param values The values of the row
+	 * @throws SQLException
+	 */
+	void insert(String table, List<Object> values) throws SQLException;
+
+	/**
+	 * execute: <br>
+	 * Executes a statement which is not a row insert, e.g. an update, after the
+	 * rows added before.
+	 * 
+	 * @param query  The SQL Structured Query
+	 * @param params The parameters of the query, may be null
+	 * @throws SQLException
+	 */
+	void execute(String query, List<Object> params) throws SQLException;
+}
@@ -128,6 +128,8 @@ public interface DAOAnalysis {
 
 	public List<Customer> getCustomersByIdAnalysis(String identifier);
 
+	public List<String> getExcludeAcronymsByIdAnalysis(Integer idAnalysis);
+
 	public Analysis getDefaultProfile(AnalysisType analysisType);
 
 	public int findDefaultProfileIdByAnalysisTypeAndLanguage(AnalysisType analysisType, Language language);
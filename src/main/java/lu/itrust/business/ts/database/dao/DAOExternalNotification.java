@@ -12,6 +12,13 @@ public interface DAOExternalNotification {
 	/** Retrieves all entities from the DAO. */
 	public List<ExternalNotification> getAll();
 
+	/**
+	 * Retrieves the entities which are still applicable at the given time
+	 * (issued less than seven half-lives before), and the latest entity of
+	 * each source and category.
+	 */
+	public List<ExternalNotification> getAllApplicableFrom(long timestamp);
+
 	/** Saves an entity into the DAO. */
 	public void save(ExternalNotification externalNotification);
 
@@ -44,6 +44,8 @@ public interface DAOUserSqLite {
 
 	public void deleteByUser(User user);
 
+	public List<String> findStorageByUser(User user);
+
 	public List<UserSQLite> findByCreatedBefore(Date date, int page, int size);
 
 	public long countByCreatedBefore(Date date);
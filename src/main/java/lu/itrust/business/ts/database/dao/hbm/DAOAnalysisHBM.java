@@ -620,6 +620,12 @@ public class DAOAnalysisHBM extends DAOHibernate implements DAOAnalysis {
 				Analysis.class).getResultList();
 	}
 
+	@Override
+	public List<String> getExcludeAcronymsByIdAnalysis(Integer idAnalysis) {
+		return getSession().createQuery("Select acronym From Analysis analysis inner join analysis.excludeAcronyms as acronym where analysis.id = :idAnalysis", String.class)
+				.setParameter("idAnalysis", idAnalysis).getResultList();
+	}
+
 	/**
 	 * getFromIdentifierVersion: <br>
 	 * Description
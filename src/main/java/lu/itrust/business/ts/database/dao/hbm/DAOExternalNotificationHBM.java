@@ -47,6 +47,15 @@ public class DAOExternalNotificationHBM extends DAOHibernate implements DAOExter
 		return (List<ExternalNotification>) getSession().createQuery("From ExternalNotification").getResultList();
 	}
 
+	@Override
+	public List<ExternalNotification> getAllApplicableFrom(long timestamp) {
+		final String query = ""
+				+ "FROM ExternalNotification extnot "
+				+ "WHERE extnot.timestamp + extnot.halfLife*7 >= :timestamp "
+				+ "OR extnot.timestamp = (SELECT MAX(extnotmax.timestamp) FROM ExternalNotification extnotmax WHERE extnotmax.sourceUserName = extnot.sourceUserName AND extnotmax.category = extnot.category)";
+		return getSession().createQuery(query, ExternalNotification.class).setParameter("timestamp", timestamp).getResultList();
+	}
+
 	/** {@inheritDoc} */
 	@Override
 	public void save(ExternalNotification externalNotification){
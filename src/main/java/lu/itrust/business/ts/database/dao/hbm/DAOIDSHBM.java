@@ -184,7 +184,7 @@ public class DAOIDSHBM extends DAOHibernate implements DAOIDS {
 
 	@Override
 	public Stream<Integer> findSubscriberIdByUsername(String username) {
-		return getSession().createQuery("Select distinct (subscriber.id) From IDS ids inner join ids.subscribers as subscriber where ids.prefix = :prefix", Integer.class)
+		return getSession().createQuery("Select distinct (subscriber.id) From IDS ids inner join ids.subscribers as subscriber where ids.prefix = :prefix and subscriber.archived = false", Integer.class)
 				.setParameter("prefix", username).getResultStream();
 	}
 
@@ -196,6 +196,11 @@ public class DAOUserSqLiteHBM extends DAOHibernate implements DAOUserSqLite {
 		getSession().createQuery("Delete From UserSQLite where user =:user").setParameter("user", user).executeUpdate();
 	}
 
+	@Override
+	public List<String> findStorageByUser(User user) {
+		return getSession().createQuery("Select storage From UserSQLite where user = :user and storage is not null", String.class).setParameter("user", user).getResultList();
+	}
+
 	@Override
 	public List<UserSQLite> findByCreatedBefore(Date date, int page, int size) {
 		return getSession().createQuery("From UserSQLite where created < :deleteDate", UserSQLite.class).setParameter("deleteDate", date).setFirstResult((page - 1) * size)
@@ -40,6 +40,25 @@ public interface ServiceExternalNotification {
 	 */
 	public void delete(ExternalNotification externalNotification);
 
+	/**
+	 * Adds the given saved external notifications to the in-memory index, once
+	 * the current transaction has been committed.
+	 * @param externalNotifications The saved objects.
+	 */
+	public void index(List<ExternalNotification> externalNotifications);
+
+	/**
+	 * Loads the in-memory index from the database, only the notifications
+	 * which are applicable in the chart history are loaded.
+	 */
+	public void loadIndex();
+
+	/**
+	 * Removes the notifications which are no longer applicable in the chart
+	 * history from the in-memory index.
+	 */
+	public void pruneIndex();
+
 	/** @see lu.itrust.business.ts.database.dao.DAOExternalNotification#computeProbabilitiesAtTime(long, String, Map) */
 	public Map<String, Double> computeProbabilitiesAtTime(long timestamp, String sourceUserName, double minimumProbability);
 	
@@ -50,6 +50,44 @@ public interface ServiceStorage {
 
 	Path getRoot();
 
+	/**
+	 * storeDocument: <br>
+	 * Moves the file into the document store, which is kept across restarts
+	 * unlike the storage root.
+	 * 
+	 * @param file the file to store, it no longer exists afterwards
+	 * @return the key of the stored document
+	 */
+	String storeDocument(File file);
+
+	/**
+	 * digestDocument: <br>
+	 * Computes the SHA-256 of a stored document.
+	 * 
+	 * @param key the document key
+	 * @return the hexadecimal SHA-256
+	 */
+	String digestDocument(String key);
+
+	/**
+	 * loadDocument: <br>
+	 * Returns the path of a stored document, a TrickException is thrown if the
+	 * document cannot be found.
+	 * 
+	 * @param key the document key
+	 * @return the path of the stored document
+	 */
+	Path loadDocument(String key);
+
+	/**
+	 * deleteDocument: <br>
+	 * Deletes a stored document, within a transaction the file is deleted once
+	 * the transaction is committed.
+	 * 
+	 * @param key the document key
+	 */
+	void deleteDocument(String key);
+
 	static String RandoomFilename() {
 		return RandoomFilename(null);
 	}
@@ -46,4 +46,10 @@ public interface ServiceTaskFeedback {
 	boolean isWebSocketSupported(String username);
 
 	void setWebSocketSupported(String username, boolean support);
+
+	/**
+	 * @param id the task id
+	 * @return true if the task is still running on another node
+	 */
+	boolean isProcessedElsewhere(String id);
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package lu.itrust.business.ts.database.service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import lu.itrust.business.ts.messagehandler.MessageHandler;
+
+/**
+ * TaskRegistry.java: <br>
+ * Registry of the background tasks: owner, last message and, when it is shared
+ * by several nodes, the node running the task.<br>
+ * The workers themselves stay in the {@link WorkersPoolManager} of the node
+ * running them. A task removed by another node is reported by
+ * {@link #renew()} so that its worker can be cancelled.
+ */
+public interface TaskRegistry {
+
+	/**
+	 * register: <br>
+	 * Registers a task run by this node.
+	 * 
+	 * @param id          the task id
+	 * @param username    the owner of the task
+	 * @param maxUserSize the max number of tasks of a user
+	 * @return false if the task exists or if the user has too many tasks
+	 */
+	boolean register(String id, String username, int maxUserSize);
+
+	/**
+	 * unregister: <br>
+	 * Removes a task and its messages.
+	 * 
+	 * @param id the task id
+	 * @return false if the task does not exist
+	 */
+	boolean unregister(String id);
+
+	/**
+	 * @param id the task id
+	 * @return the owner of the task, null if the task does not exist
+	 */
+	String findUsername(String id);
+
+	/**
+	 * @param username the user
+	 * @return the ids of the tasks of the user, in registration order
+	 */
+	List<String> findTasks(String username);
+
+	/**
+	 * saveMessage: <br>
+	 * Replaces the last message of a task, unless a more recent message has
+	 * already been saved.
+	 * 
+	 * @param id       the task id
+	 * @param handler  the message
+	 * @param sequence the sequence number of the message, increasing with time
+	 * @return false if the task does not exist or if a more recent message has
+	 *         been saved
+	 */
+	boolean saveMessage(String id, MessageHandler handler, long sequence);
+
+	/**
+	 * saveMessages: <br>
+	 * Saves the last message of several tasks at once, see
+	 * {@link #saveMessage(String, MessageHandler, long)}.
+	 * 
+	 * @param messages the message and its sequence number by task id
+	 * @return the ids of the tasks of which the message has been saved
+	 */
+	default Set<String> saveMessages(Map<String, Entry<Long, MessageHandler>> messages) {
+		final Set<String> saved = new HashSet<>();
+		messages.forEach((id, message) -> {
+			if (saveMessage(id, message.getValue(), message.getKey()))
+				saved.add(id);
+		});
+		return saved;
+	}
+
+	/**
+	 * @param id the task id
+	 * @return the last message of the task, null if none
+	 */
+	MessageHandler findMessage(String id);
+
+	/**
+	 * @param username the user
+	 * @return the last message by task of the user, in registration order, null
+	 *         if a task has none
+	 */
+	default Map<String, MessageHandler> findMessages(String username) {
+		final Map<String, MessageHandler> messages = new LinkedHashMap<>();
+		for (String id : findTasks(username))
+			messages.put(id, findMessage(id));
+		return messages;
+	}
+
+	/**
+	 * @param id the task id
+	 * @return true if the task is still running on another node
+	 */
+	boolean isProcessedElsewhere(String id);
+
+	/**
+	 * renew: <br>
+	 * Extends the ownership of the tasks run by this node and records whether
+	 * they are still processed.
+	 * 
+	 * @param working tells whether the worker of a task is still processing
+	 * @return the ids of the tasks of this node removed by another node, or
+	 *         failed by another node because their lease had expired
+	 */
+	Collection<String> renew(Predicate<String> working);
+
+	/**
+	 * expire: <br>
+	 * Fails the running tasks of the nodes which stopped renewing them and
+	 * removes the tasks expired for too long.
+	 * 
+	 * @param lost the message of the failed tasks
+	 * @return the number of failed and removed tasks
+	 */
+	int expire(MessageHandler lost);
+}
@@ -18,11 +18,29 @@ public interface WorkersPoolManager {
 
 	 int poolSize();
 
+	 /**
+	  * @return the number of workers which have not finished yet
+	  */
+	 int activeSize();
+
+	 /**
+	  * @return the number of finished workers still retained
+	  */
+	 int finishedSize();
+
 	 boolean add(Worker worker);
 
 	 Worker remove(String id);
 
 	 Worker remove(Worker worker);
+
+	 /**
+	  * Notifies that a worker has finished, it is removed once the retention
+	  * time has elapsed.
+	  * 
+	  * @param worker
+	  */
+	 void finished(Worker worker);
 	 
 	 void cleaning();
 }
\ No newline at end of file
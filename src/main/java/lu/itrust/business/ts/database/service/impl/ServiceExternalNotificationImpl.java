@@ -1,20 +1,31 @@
 package lu.itrust.business.ts.database.service.impl;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
+import lu.itrust.business.ts.constants.Constant;
 import lu.itrust.business.ts.database.dao.DAOExternalNotification;
 import lu.itrust.business.ts.database.dao.hbm.DAOExternalNotificationHBM;
 import lu.itrust.business.ts.database.service.ServiceExternalNotification;
 import lu.itrust.business.ts.model.externalnotification.ExternalNotification;
+import lu.itrust.business.ts.model.externalnotification.helper.ExternalNotificationIndex;
 
 import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * Represents a default implementation of the ServiceExternalNotification interface,
  * just passing method calls down to a DAOExternalNotification instance.
+ * Probabilities are computed from an in-memory index of the external
+ * notifications, once it has been loaded at startup.
  * @author Steve Muller  itrust consulting s.à r.l.
  * @since Jun 8, 2015
  */
@@ -24,6 +35,8 @@ public class ServiceExternalNotificationImpl implements ServiceExternalNotificat
 	@Autowired
 	private DAOExternalNotification daoExternalNotification;
 
+	private final ExternalNotificationIndex externalNotificationIndex = new ExternalNotificationIndex();
+
 	public ServiceExternalNotificationImpl() {
 	}
 
@@ -59,17 +72,60 @@ public class ServiceExternalNotificationImpl implements ServiceExternalNotificat
 	@Override
 	public void delete(ExternalNotification externalNotification){
 		daoExternalNotification.delete(externalNotification);
+		externalNotificationIndex.remove(externalNotification);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	public void index(List<ExternalNotification> externalNotifications) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					externalNotificationIndex.addAll(externalNotifications);
+				}
+			});
+		} else
+			externalNotificationIndex.addAll(externalNotifications);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	@Transactional(readOnly = true)
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadIndex() {
+		final long horizon = computeHorizon();
+		externalNotificationIndex.load(daoExternalNotification.getAllApplicableFrom(horizon), horizon);
+	}
+
+	/** {@inheritDoc} */
+	@Override
+	@Scheduled(initialDelay = 3600000, fixedDelay = 3600000)
+	public void pruneIndex() {
+		if (externalNotificationIndex.isLoaded())
+			externalNotificationIndex.prune(computeHorizon());
+	}
+
+	/**
+	 * @return The oldest time of the ALE evolution charts, in seconds.
+	 */
+	private long computeHorizon() {
+		return Instant.now().getEpochSecond() - Constant.CHART_DYNAMIC_PARAMETER_EVOLUTION_HISTORY_IN_SECONDS;
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public Map<String, Double> computeProbabilitiesAtTime(long timestampNow, String sourceUserName, double minimumProbability){
+		if (externalNotificationIndex.covers(timestampNow))
+			return externalNotificationIndex.computeProbabilitiesAtTime(timestampNow, sourceUserName);
 		return daoExternalNotification.computeProbabilitiesAtTime(timestampNow, sourceUserName, minimumProbability);
 	}
 
 	/** {@inheritDoc} */
 	@Override
 	public Map<String, Double> computeProbabilitiesInInterval(long timestampBegin, long timestampEnd, String sourceUserName, double minimumProbability){
+		if (externalNotificationIndex.covers(timestampBegin))
+			return externalNotificationIndex.computeProbabilitiesInInterval(timestampBegin, timestampEnd, sourceUserName);
 		return daoExternalNotification.computeProbabilitiesInInterval(timestampBegin, timestampEnd, sourceUserName, minimumProbability);
 	}
 }
@@ -9,11 +9,18 @@ import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -31,6 +38,8 @@ import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.FileSystemUtils;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -45,8 +54,12 @@ import lu.itrust.business.ts.exception.TrickException;
 @Service
 public class ServiceStorageImpl implements ServiceStorage {
 
+	private static final int DIGEST_BUFFER_SIZE = 65536;
+
 	private Path root;
 
+	private Path documentRoot;
+
 	@Value("${app.settings.data.folder}")
 	private String classPathResourceDir;
 
@@ -140,6 +153,86 @@ public class ServiceStorageImpl implements ServiceStorage {
 		}
 	}
 
+	@Value("${app.setting.storage.document.folder:ot-documents}")
+	public void setDocumentStorage(String storage) {
+		this.documentRoot = Paths.get(storage);
+		try {
+			Files.createDirectories(documentRoot);
+		} catch (SecurityException | IOException e) {
+			this.documentRoot = Paths.get(System.getProperty("java.io.tmpdir")).resolve("ot-documents");
+		}
+	}
+
+	@Override
+	public String storeDocument(File file) {
+		final String extension = FilenameUtils.getExtension(file.getName());
+		final String key = ServiceStorage.RandoomFilename(extension.isEmpty() ? null : "." + extension);
+		final Path source = file.toPath(), target = documentRoot.resolve(key);
+		try {
+			Files.createDirectories(documentRoot);
+			try {
+				Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ);
+						FileChannel output = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+					for (long position = 0, size = input.size(); position < size;)
+						position += input.transferTo(position, size - position, output);
+				}
+				Files.delete(source);
+			}
+			return key;
+		} catch (IOException e) {
+			throw new TrickException("error.store.file.failed", "An unknown error occurred while storing file", e);
+		}
+	}
+
+	@Override
+	public String digestDocument(String key) {
+		try (FileChannel channel = FileChannel.open(loadDocument(key), StandardOpenOption.READ)) {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			final ByteBuffer buffer = ByteBuffer.allocateDirect(DIGEST_BUFFER_SIZE);
+			while (channel.read(buffer) != -1) {
+				buffer.flip();
+				digest.update(buffer);
+				buffer.clear();
+			}
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (IOException | NoSuchAlgorithmException e) {
+			throw new TrickException("error.read.storage.file", "Stored document cannot be read", e);
+		}
+	}
+
+	@Override
+	public Path loadDocument(String key) {
+		final Path path = documentRoot.resolve(key).normalize();
+		if (path.startsWith(documentRoot.normalize()) && Files.isRegularFile(path))
+			return path;
+		throw new TrickException("error.resource.not.found", "Resource cannot be found!");
+	}
+
+	@Override
+	public void deleteDocument(String key) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					deleteDocumentFile(key);
+				}
+			});
+		} else
+			deleteDocumentFile(key);
+	}
+
+	private void deleteDocumentFile(String key) {
+		try {
+			final Path path = documentRoot.resolve(key).normalize();
+			if (path.startsWith(documentRoot.normalize()))
+				Files.deleteIfExists(path);
+		} catch (IOException e) {
+			TrickLogManager.Persist(e);
+		}
+	}
+
 	@Override
 	public void store(byte[] bytes, String filename) {
 		try {
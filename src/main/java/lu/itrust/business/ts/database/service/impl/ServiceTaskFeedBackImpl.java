@@ -1,30 +1,44 @@
 package lu.itrust.business.ts.database.service.impl;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+import jakarta.annotation.PostConstruct;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.messaging.MessagingException;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.stereotype.Service;
 
 import lu.itrust.business.ts.asynchronousWorkers.Worker;
 import lu.itrust.business.ts.asynchronousWorkers.helper.AsyncResult;
 import lu.itrust.business.ts.component.TrickLogManager;
 import lu.itrust.business.ts.database.service.ServiceTaskFeedback;
+import lu.itrust.business.ts.database.service.TaskRegistry;
 import lu.itrust.business.ts.database.service.WorkersPoolManager;
 import lu.itrust.business.ts.messagehandler.MessageHandler;
 
 /**
  * ServiceTaskFeedBackImpl.java: <br>
- * Detailed description...
+ * Progress messages are coalesced: only the latest message of a task is
+ * pushed to its user at each flush, final messages (success, error, progress
+ * 100 or callbacks) are pushed immediately.<br>
+ * Owners and messages of the tasks are kept by the {@link TaskRegistry}, which
+ * may be shared by several nodes.
  * 
  * @author itrust consulting s.a.rl.
  * @version
@@ -37,11 +51,24 @@ public class ServiceTaskFeedBackImpl implements ServiceTaskFeedback {
 
 	private Map<String, Locale> userLocales = Collections.synchronizedMap(new LinkedHashMap<String, Locale>());
 
-	private Map<String, String> taskUsers = Collections.synchronizedMap(new LinkedHashMap<String, String>());
+	/** Latest progress message by task and its sequence number, not saved yet */
+	private Map<String, Entry<Long, MessageHandler>> pendingHandlers = new ConcurrentHashMap<>();
+
+	/** Orders the messages saved in the registry */
+	private final AtomicLong sequences = new AtomicLong();
+
+	/**
+	 * Sequence number of the latest message pushed by task, also the lock which
+	 * orders the pushes of a task. It is removed at the first renewal after the
+	 * worker of the task has finished.
+	 */
+	private final Map<String, AtomicLong> publishedSequences = new ConcurrentHashMap<>();
 
-	private Map<String, List<String>> userTasks = Collections.synchronizedMap(new LinkedHashMap<String, List<String>>());
+	/** Time of the previous renewal */
+	private volatile long renewed = 0;
 
-	private Map<String, MessageHandler> messageHandlers = Collections.synchronizedMap(new LinkedHashMap<String, MessageHandler>());
+	@Autowired
+	private TaskRegistry taskRegistry;
 
 	@Autowired
 	private MessageSource messageSource;
@@ -52,12 +79,24 @@ public class ServiceTaskFeedBackImpl implements ServiceTaskFeedback {
 	@Autowired
 	private WorkersPoolManager workersPoolManager;
 
+	@Autowired
+	private ThreadPoolTaskScheduler scheduler;
+
+	@Value("${app.settings.background.task.feedback.flush.delay.milliseconds:250}")
+	private long flushDelay;
+
 	@Value("${app.settings.background.task.max.pool.size}")
 	private int maxPoolSize;
 
 	@Value("${app.settings.background.task.max.user.size}")
 	private int maxUserSize;
 
+	@PostConstruct
+	public void initialise() {
+		if (flushDelay > 0)
+			scheduler.scheduleWithFixedDelay(this::flush, Duration.ofMillis(flushDelay));
+	}
+
 	/**
 	 * messageCount: <br>
 	 * Description
@@ -69,7 +108,7 @@ public class ServiceTaskFeedBackImpl implements ServiceTaskFeedback {
 	 */
 	@Override
 	public boolean exists(String id) {
-		return taskUsers.containsKey(id);
+		return taskRegistry.findUsername(id) != null;
 	}
 
 	/**
@@ -83,7 +122,7 @@ public class ServiceTaskFeedBackImpl implements ServiceTaskFeedback {
 	 */
 	@Override
 	public boolean hasMessage(String id) {
-		return messageHandlers.containsKey(id);
+		return recieveById(id) != null;
 	}
 
 	/**
@@ -97,10 +136,7 @@ public class ServiceTaskFeedBackImpl implements ServiceTaskFeedback {
 	 */
 	@Override
 	public boolean userHasTask(String userName) {
-		if (!userTasks.containsKey(userName))
-			return false;
-		List<String> tasks = userTasks.get(userName);
-		return tasks != null && !tasks.isEmpty();
+		return !taskRegistry.findTasks(userName).isEmpty();
 	}
 
 	/**
@@ -116,12 +152,7 @@ public class ServiceTaskFeedBackImpl implements ServiceTaskFeedback {
 	 */
 	@Override
 	public boolean hasTask(String userName, String id) {
-		if (!userTasks.containsKey(userName))
-			return false;
-		for (String task : userTasks.get(userName))
-			if (task.equals(id))
-				return true;
-		return false;
+		return userName != null && userName.equals(taskRegistry.findUsername(id));
 	}
 
 	/**
@@ -137,15 +168,8 @@ public class ServiceTaskFeedBackImpl implements ServiceTaskFeedback {
 	 */
 	@Override
 	public boolean registerTask(String userName, String id, Locale locale) {
-		if (messageHandlers.containsKey(id))
-			return false;
-		List<String> tasks = userTasks.containsKey(userName) ? userTasks.get(userName) : Collections.synchronizedList(new LinkedList<String>());
-		if (tasks.size() >= maxUserSize || workersPoolManager.poolSize() >= maxPoolSize)
+		if (workersPoolManager.activeSize() >= maxPoolSize || !taskRegistry.register(id, userName, maxUserSize))
 			return false;
-		taskUsers.put(id, userName);
-		tasks.add(id);
-		if (!userTasks.containsKey(userName))
-			userTasks.put(userName, tasks);
 		userLocales.put(userName, locale);
 		return true;
 	}
@@ -163,25 +187,70 @@ public class ServiceTaskFeedBackImpl implements ServiceTaskFeedback {
 	@Override
 	public void unregisterTask(String userName, String id) {
 		try {
-			if (!userTasks.containsKey(userName))
+			if (!hasTask(userName, id))
 				return;
-			List<String> tasks = userTasks.get(userName);
-			if (tasks == null || tasks.isEmpty())
-				return;
-			tasks.remove(id);
-			if (tasks.isEmpty())
-				userTasks.remove(userName);
-			messageHandlers.remove(id);
-			taskUsers.remove(id);
-			Worker worker = workersPoolManager.remove(id);
-			if (worker != null && worker.isWorking())
-				worker.cancel();
+			taskRegistry.unregister(id);
+			cancel(id);
 		} finally {
-			if (!userTasks.containsKey(userName))
+			if (!userHasTask(userName))
 				userLocales.remove(userName);
 		}
 	}
 
+	/**
+	 * renew: <br>
+	 * Renews the tasks of this node in the registry, cancels the ones removed
+	 * by another node and fails the ones of the nodes which have stopped.
+	 */
+	@Scheduled(initialDelayString = "${app.settings.background.task.registry.renew.delay:10000}", fixedDelayString = "${app.settings.background.task.registry.renew.delay:10000}")
+	public void renew() {
+		try {
+			final long now = System.currentTimeMillis();
+			taskRegistry.renew(this::isWorking).forEach(this::cancel);
+			publishedSequences.keySet().removeIf(id -> isDone(id, renewed));
+			renewed = now;
+			taskRegistry.expire(new MessageHandler("error.task.lost", "The server running the task has stopped", new IllegalStateException("Task lost")));
+		} catch (Exception e) {
+			TrickLogManager.Persist(e);
+		}
+	}
+
+	@Override
+	public boolean isProcessedElsewhere(String id) {
+		return taskRegistry.isProcessedElsewhere(id);
+	}
+
+	/**
+	 * A task is working until its worker has finished, a task without worker is
+	 * waiting for a thread unless its last message tells that it is done.
+	 */
+	private boolean isWorking(String id) {
+		final Worker worker = workersPoolManager.get(id);
+		if (worker != null)
+			return worker.getFinished() == null;
+		final MessageHandler handler = recieveById(id);
+		return handler == null || handler.getProgress() < 100 && handler.getException() == null;
+	}
+
+	/**
+	 * A task is done when it has no pending message and its worker has been
+	 * removed or has finished before the given time.
+	 */
+	private boolean isDone(String id, long time) {
+		if (pendingHandlers.containsKey(id))
+			return false;
+		final Worker worker = workersPoolManager.get(id);
+		return worker == null || worker.getFinished() != null && worker.getFinished().getTime() < time;
+	}
+
+	private void cancel(String id) {
+		pendingHandlers.remove(id);
+		publishedSequences.remove(id);
+		final Worker worker = workersPoolManager.remove(id);
+		if (worker != null && worker.isWorking())
+			worker.cancel();
+	}
+
 	/**
 	 * send: <br>
 	 * Description
@@ -217,10 +286,73 @@ public class ServiceTaskFeedBackImpl implements ServiceTaskFeedback {
 	}
 
 	private void sendMessage(MessageHandler handler) {
-		if (!exists(handler.getIdTask()))
+		final long sequence = sequences.incrementAndGet();
+		if (flushDelay > 0 && !isFinal(handler))
+			pendingHandlers.put(handler.getIdTask(), Map.entry(sequence, handler));
+		else {
+			pendingHandlers.remove(handler.getIdTask());
+			publish(handler, sequence);
+		}
+	}
+
+	/**
+	 * flush: <br>
+	 * Saves the latest progress message of each task in a single batch and
+	 * pushes them, messages replaced by a final one in the meantime are dropped
+	 * by the registry.
+	 */
+	private void flush() {
+		final Map<String, Entry<Long, MessageHandler>> pendings = new LinkedHashMap<>();
+		for (String id : pendingHandlers.keySet()) {
+			final Entry<Long, MessageHandler> pending = pendingHandlers.remove(id);
+			if (pending != null)
+				pendings.put(id, pending);
+		}
+		if (pendings.isEmpty())
 			return;
-		messageHandlers.put(handler.getIdTask(), handler);
-		sendToUser(handler);
+		try {
+			final Set<String> saved = taskRegistry.saveMessages(pendings);
+			pendings.forEach((id, pending) -> {
+				if (saved.contains(id))
+					push(pending.getValue(), pending.getKey());
+			});
+		} catch (Exception e) {
+			TrickLogManager.Persist(e);
+		}
+	}
+
+	/**
+	 * publish: <br>
+	 * Saves and pushes a message.
+	 */
+	private void publish(MessageHandler handler, long sequence) {
+		try {
+			if (taskRegistry.saveMessage(handler.getIdTask(), handler, sequence))
+				push(handler, sequence);
+		} catch (Exception e) {
+			TrickLogManager.Persist(e);
+		}
+	}
+
+	/**
+	 * push: <br>
+	 * Pushes a saved message, the messages of a task are pushed one at a time
+	 * so that an older progress message cannot be pushed after a newer one,
+	 * e.g. after the final message.
+	 */
+	private void push(MessageHandler handler, long sequence) {
+		final AtomicLong published = publishedSequences.computeIfAbsent(handler.getIdTask(), id -> new AtomicLong());
+		synchronized (published) {
+			if (published.get() > sequence)
+				return;
+			published.set(sequence);
+			sendToUser(handler);
+		}
+	}
+
+	private static boolean isFinal(MessageHandler handler) {
+		return handler.getProgress() >= 100 || handler.getException() != null || handler.getAsyncCallbacks() != null
+				|| handler.getCode() != null && (handler.getCode().startsWith("error.") || handler.getCode().startsWith("success."));
 	}
 
 	private void sendToUser(MessageHandler handler) {
@@ -317,7 +449,8 @@ public class ServiceTaskFeedBackImpl implements ServiceTaskFeedback {
 	 */
 	@Override
 	public MessageHandler recieveById(String id) {
-		return messageHandlers.get(id);
+		final Entry<Long, MessageHandler> pending = pendingHandlers.get(id);
+		return pending == null ? taskRegistry.findMessage(id) : pending.getValue();
 	}
 
 	/**
@@ -331,10 +464,10 @@ public class ServiceTaskFeedBackImpl implements ServiceTaskFeedback {
 	 */
 	@Override
 	public List<MessageHandler> recieve(String userName) {
-		List<String> tasks = userTasks.get(userName);
-		if (tasks == null || tasks.isEmpty())
-			return Collections.emptyList();
-		return tasks.parallelStream().filter(id -> messageHandlers.containsKey(id)).map(id -> messageHandlers.get(id)).collect(Collectors.toList());
+		return taskRegistry.findMessages(userName).entrySet().stream().map(entry -> {
+			final Entry<Long, MessageHandler> pending = pendingHandlers.get(entry.getKey());
+			return pending == null ? entry.getValue() : pending.getValue();
+		}).filter(Objects::nonNull).collect(Collectors.toList());
 	}
 
 	/**
@@ -348,14 +481,12 @@ public class ServiceTaskFeedBackImpl implements ServiceTaskFeedback {
 	 */
 	@Override
 	public List<String> tasks(String userName) {
-		return userTasks.getOrDefault(userName, Collections.emptyList());
+		return taskRegistry.findTasks(userName);
 	}
 
 	@Override
 	public String findUsernameById(String id) {
-		String username = taskUsers.get(id);
-		return username == null ? userTasks.entrySet().parallelStream().filter(entry -> entry.getValue().contains(id)).map(entry -> entry.getKey()).findAny().orElse(username)
-				: username;
+		return taskRegistry.findUsername(id);
 	}
 
 	public Map<String, Locale> getUserLocales() {
@@ -368,7 +499,7 @@ public class ServiceTaskFeedBackImpl implements ServiceTaskFeedback {
 
 	@Override
 	public void update(String username, Locale locale) {
-		if (userTasks.containsKey(username))
+		if (userHasTask(username))
 			userLocales.put(username, locale);
 		else if (userLocales.containsKey(username))
 			userLocales.remove(username);
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import lu.itrust.business.ts.database.dao.DAOUserSqLite;
+import lu.itrust.business.ts.database.service.ServiceStorage;
 import lu.itrust.business.ts.database.service.ServiceUserSqLite;
 import lu.itrust.business.ts.model.general.document.impl.UserSQLite;
 import lu.itrust.business.ts.model.general.helper.FilterControl;
@@ -27,6 +28,9 @@ public class ServiceUserSqLiteImpl implements ServiceUserSqLite {
 	@Autowired
 	private DAOUserSqLite daoUserSqLite;
 
+	@Autowired
+	private ServiceStorage serviceStorage;
+
 	/**
 	 * get: <br>
 	 * Description
@@ -166,7 +170,7 @@ public class ServiceUserSqLiteImpl implements ServiceUserSqLite {
 	@Transactional
 	@Override
 	public void delete(Long id)  {
-		daoUserSqLite.delete(id);
+		delete(daoUserSqLite.get(id));
 	}
 
 	/**
@@ -181,7 +185,7 @@ public class ServiceUserSqLiteImpl implements ServiceUserSqLite {
 	@Transactional
 	@Override
 	public void delete(String filename)  {
-		daoUserSqLite.delete(filename);
+		delete(daoUserSqLite.getByName(filename));
 	}
 
 	/**
@@ -196,7 +200,11 @@ public class ServiceUserSqLiteImpl implements ServiceUserSqLite {
 	@Transactional
 	@Override
 	public void delete(UserSQLite userSqLite)  {
+		if (userSqLite == null)
+			return;
 		daoUserSqLite.delete(userSqLite);
+		if (userSqLite.getStorage() != null)
+			serviceStorage.deleteDocument(userSqLite.getStorage());
 	}
 
 	@Override
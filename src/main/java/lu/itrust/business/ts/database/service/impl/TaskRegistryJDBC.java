@@ -0,0 +1,283 @@
+package lu.itrust.business.ts.database.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lu.itrust.business.ts.asynchronousWorkers.helper.AsyncCallback;
+import lu.itrust.business.ts.database.service.TaskRegistry;
+import lu.itrust.business.ts.exception.TrickException;
+import lu.itrust.business.ts.messagehandler.MessageHandler;
+import lu.itrust.business.ts.messagehandler.TaskName;
+
+/**
+ * TaskRegistryJDBC.java: <br>
+ * Task registry shared by the nodes using the same database (table
+ * TaskRegistry).<br>
+ * Each task is leased by the node running it: the node renews the lease of its
+ * tasks periodically, a task of which the lease expires while it is processed
+ * is failed, so that the other nodes do not report it as running forever. Tasks
+ * are removed when their lease has expired for longer than the retention.<br>
+ * The owner and the last message of the tasks run by this node are cached
+ * until they are done, progress messages are saved in batches.
+ */
+public class TaskRegistryJDBC implements TaskRegistry {
+
+	private static final String INSERT_QUERY = "INSERT INTO TaskRegistry (idTask, dtUsername, dtNode, dtLease, dtWorking, dtSequence, dtCreated) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+	private static final String RANK_QUERY = "SELECT COUNT(*) FROM TaskRegistry WHERE dtUsername = ? AND (dtCreated < ? OR dtCreated = ? AND idTask <= ?)";
+
+	private static final String RENEW_QUERY = "UPDATE TaskRegistry SET dtLease = ?, dtWorking = ? WHERE idTask = ? AND dtNode = ? AND dtSequence < ?";
+
+	private static final String SAVE_MESSAGE_QUERY = "UPDATE TaskRegistry SET dtMessage = ?, dtSequence = ? WHERE idTask = ? AND dtSequence <= ?";
+
+	private static final String DELETE_QUERY = "DELETE FROM TaskRegistry WHERE idTask = ?";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	/** Name of this node */
+	private final String node;
+
+	/** Duration of a lease in milliseconds */
+	private final long lease;
+
+	/** Time in milliseconds a task is kept once its lease has expired */
+	private final long retention;
+
+	/** Owner by task registered by this node, until the task is done */
+	private final Map<String, String> owned = new ConcurrentHashMap<>();
+
+	/** Last message saved by this node and its sequence number by owned task */
+	private final Map<String, Entry<Long, MessageHandler>> messages = new ConcurrentHashMap<>();
+
+	public TaskRegistryJDBC(DataSource dataSource, String node, long lease, long retention) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.node = node;
+		this.lease = lease;
+		this.retention = retention;
+	}
+
+	/**
+	 * register: <br>
+	 * The task is inserted first, the primary key rejects an existing task.
+	 * The tasks of a user are then admitted in registration order: the task is
+	 * removed if the user has already max tasks registered before it, so that
+	 * nodes registering tasks of the same user at once cannot exceed the limit.
+	 * 
+	 * @see lu.itrust.business.ts.database.service.TaskRegistry#register(String,
+	 *      String, int)
+	 */
+	@Override
+	public boolean register(String id, String username, int maxUserSize) {
+		final long now = System.currentTimeMillis();
+		try {
+			jdbcTemplate.update(INSERT_QUERY, id, username, node, now + lease, true, 0L, now);
+		} catch (DuplicateKeyException e) {
+			return false;
+		}
+		final Integer rank = jdbcTemplate.queryForObject(RANK_QUERY, Integer.class, username, now, now, id);
+		if (rank != null && rank > maxUserSize) {
+			jdbcTemplate.update(DELETE_QUERY, id);
+			return false;
+		}
+		owned.put(id, username);
+		return true;
+	}
+
+	@Override
+	public boolean unregister(String id) {
+		owned.remove(id);
+		messages.remove(id);
+		return jdbcTemplate.update(DELETE_QUERY, id) > 0;
+	}
+
+	@Override
+	public String findUsername(String id) {
+		final String username = owned.get(id);
+		if (username != null)
+			return username;
+		final List<String> usernames = jdbcTemplate.queryForList("SELECT dtUsername FROM TaskRegistry WHERE idTask = ?", String.class, id);
+		return usernames.isEmpty() ? null : usernames.get(0);
+	}
+
+	@Override
+	public List<String> findTasks(String username) {
+		return jdbcTemplate.queryForList("SELECT idTask FROM TaskRegistry WHERE dtUsername = ? ORDER BY dtCreated, idTask", String.class, username);
+	}
+
+	@Override
+	public boolean saveMessage(String id, MessageHandler handler, long sequence) {
+		return saved(id, handler, sequence, jdbcTemplate.update(SAVE_MESSAGE_QUERY, encode(handler), sequence, id, sequence) > 0);
+	}
+
+	/**
+	 * saveMessages: <br>
+	 * The messages are saved in a single batch.
+	 * 
+	 * @see lu.itrust.business.ts.database.service.TaskRegistry#saveMessages(Map)
+	 */
+	@Override
+	public Set<String> saveMessages(Map<String, Entry<Long, MessageHandler>> handlers) {
+		if (handlers.isEmpty())
+			return Collections.emptySet();
+		final List<String> ids = new ArrayList<>(handlers.keySet());
+		final List<Object[]> parameters = new ArrayList<>(ids.size());
+		for (String id : ids) {
+			final Entry<Long, MessageHandler> message = handlers.get(id);
+			parameters.add(new Object[] { encode(message.getValue()), message.getKey(), id, message.getKey() });
+		}
+		final int[] counts = jdbcTemplate.batchUpdate(SAVE_MESSAGE_QUERY, parameters);
+		final Set<String> saved = new HashSet<>();
+		for (int i = 0; i < counts.length; i++) {
+			final Entry<Long, MessageHandler> message = handlers.get(ids.get(i));
+			if (saved(ids.get(i), message.getValue(), message.getKey(), counts[i] != 0))
+				saved.add(ids.get(i));
+		}
+		return saved;
+	}
+
+	/**
+	 * Caches the last message of an owned task, a message which cannot be saved
+	 * while the cached one is older tells that another node has replaced it.
+	 */
+	private boolean saved(String id, MessageHandler handler, long sequence, boolean saved) {
+		if (!owned.containsKey(id))
+			return saved;
+		if (saved)
+			messages.merge(id, Map.entry(sequence, handler), (previous, current) -> previous.getKey() > current.getKey() ? previous : current);
+		else
+			messages.computeIfPresent(id, (key, previous) -> previous.getKey() < sequence ? null : previous);
+		return saved;
+	}
+
+	@Override
+	public MessageHandler findMessage(String id) {
+		final Entry<Long, MessageHandler> message = messages.get(id);
+		if (message != null)
+			return message.getValue();
+		final List<String> values = jdbcTemplate.queryForList("SELECT dtMessage FROM TaskRegistry WHERE idTask = ?", String.class, id);
+		return values.isEmpty() || values.get(0) == null ? null : decode(values.get(0));
+	}
+
+	@Override
+	public Map<String, MessageHandler> findMessages(String username) {
+		final Map<String, MessageHandler> handlers = new LinkedHashMap<>();
+		jdbcTemplate.query("SELECT idTask, dtMessage FROM TaskRegistry WHERE dtUsername = ? ORDER BY dtCreated, idTask", resultSet -> {
+			handlers.put(resultSet.getString(1), resultSet.getString(2) == null ? null : decode(resultSet.getString(2)));
+		}, username);
+		return handlers;
+	}
+
+	@Override
+	public boolean isProcessedElsewhere(String id) {
+		final Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM TaskRegistry WHERE idTask = ? AND dtNode <> ? AND dtWorking = ? AND dtLease >= ?",
+				Integer.class, id, node, true, System.currentTimeMillis());
+		return count != null && count > 0;
+	}
+
+	/**
+	 * renew: <br>
+	 * A task which is done is renewed a last time and is no longer owned, its
+	 * row is removed once the retention has elapsed. A task failed by another
+	 * node is reported like a removed one.
+	 * 
+	 * @see lu.itrust.business.ts.database.service.TaskRegistry#renew(Predicate)
+	 */
+	@Override
+	public Collection<String> renew(Predicate<String> working) {
+		if (owned.isEmpty())
+			return Collections.emptyList();
+		final long until = System.currentTimeMillis() + lease;
+		final List<String> ids = new ArrayList<>(owned.keySet());
+		final List<Object[]> parameters = new ArrayList<>(ids.size());
+		final List<String> done = new ArrayList<>();
+		for (String id : ids) {
+			final boolean isWorking = working.test(id);
+			if (!isWorking)
+				done.add(id);
+			parameters.add(new Object[] { until, isWorking, id, node, Long.MAX_VALUE });
+		}
+		final int[] counts = jdbcTemplate.batchUpdate(RENEW_QUERY, parameters);
+		final List<String> removed = new ArrayList<>();
+		for (int i = 0; i < counts.length; i++) {
+			if (counts[i] == 0)
+				removed.add(ids.get(i));
+		}
+		done.addAll(removed);
+		done.forEach(id -> {
+			owned.remove(id);
+			messages.remove(id);
+		});
+		return removed;
+	}
+
+	@Override
+	public int expire(MessageHandler lost) {
+		final long now = System.currentTimeMillis();
+		return jdbcTemplate.update("UPDATE TaskRegistry SET dtWorking = ?, dtMessage = ?, dtSequence = ? WHERE dtWorking = ? AND dtLease < ?", false, encode(lost),
+				Long.MAX_VALUE, true, now) + jdbcTemplate.update("DELETE FROM TaskRegistry WHERE dtLease < ?", now - retention);
+	}
+
+	private String encode(MessageHandler handler) {
+		final Map<String, Object> values = new LinkedHashMap<>();
+		values.put("code", handler.getCode());
+		values.put("message", handler.getMessage());
+		values.put("progress", handler.getProgress());
+		values.put("taskName", handler.getTaskName());
+		if (handler.getParameters() != null) {
+			final List<Object> parameters = new ArrayList<>(handler.getParameters().length);
+			for (Object parameter : handler.getParameters())
+				parameters.add(parameter == null || parameter instanceof Number || parameter instanceof Boolean ? parameter : String.valueOf(parameter));
+			values.put("parameters", parameters);
+		}
+		if (handler.getException() != null)
+			values.put("error", String.valueOf(handler.getException().getMessage()));
+		if (handler.getAsyncCallbacks() != null)
+			values.put("callbacks", handler.getAsyncCallbacks());
+		try {
+			return mapper.writeValueAsString(values);
+		} catch (JsonProcessingException e) {
+			throw new TrickException("error.task.message.encode", "Task message cannot be saved", e);
+		}
+	}
+
+	private MessageHandler decode(String value) {
+		try {
+			final JsonNode node = mapper.readTree(value);
+			final MessageHandler handler = new MessageHandler();
+			handler.setCode(node.path("code").textValue());
+			handler.setMessage(node.path("message").textValue());
+			handler.setProgress(node.path("progress").intValue());
+			if (node.hasNonNull("taskName"))
+				handler.setTaskName(TaskName.valueOf(node.get("taskName").textValue()));
+			if (node.has("parameters"))
+				handler.setParameters(mapper.treeToValue(node.get("parameters"), Object[].class));
+			if (node.has("error"))
+				handler.setException(new Exception(node.get("error").textValue()));
+			if (node.has("callbacks"))
+				handler.setAsyncCallbacks(mapper.treeToValue(node.get("callbacks"), AsyncCallback[].class));
+			return handler;
+		} catch (JsonProcessingException e) {
+			throw new TrickException("error.task.message.decode", "Task message cannot be read", e);
+		}
+	}
+}
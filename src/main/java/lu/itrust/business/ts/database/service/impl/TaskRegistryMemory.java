@@ -0,0 +1,107 @@
+package lu.itrust.business.ts.database.service.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import lu.itrust.business.ts.database.service.TaskRegistry;
+import lu.itrust.business.ts.messagehandler.MessageHandler;
+
+/**
+ * TaskRegistryMemory.java: <br>
+ * Task registry of a single node, lost on restart.
+ */
+public class TaskRegistryMemory implements TaskRegistry {
+
+	private final Map<String, String> taskUsers = new ConcurrentHashMap<>();
+
+	private final Map<String, List<String>> userTasks = Collections.synchronizedMap(new LinkedHashMap<String, List<String>>());
+
+	private final Map<String, MessageHandler> messageHandlers = new ConcurrentHashMap<>();
+
+	/** Sequence number of the last message by task */
+	private final Map<String, Long> sequences = new ConcurrentHashMap<>();
+
+	@Override
+	public boolean register(String id, String username, int maxUserSize) {
+		synchronized (userTasks) {
+			if (taskUsers.containsKey(id) || messageHandlers.containsKey(id))
+				return false;
+			final List<String> tasks = userTasks.computeIfAbsent(username, k -> Collections.synchronizedList(new LinkedList<String>()));
+			if (tasks.size() >= maxUserSize) {
+				if (tasks.isEmpty())
+					userTasks.remove(username);
+				return false;
+			}
+			taskUsers.put(id, username);
+			tasks.add(id);
+			return true;
+		}
+	}
+
+	@Override
+	public boolean unregister(String id) {
+		synchronized (userTasks) {
+			messageHandlers.remove(id);
+			sequences.remove(id);
+			final String username = taskUsers.remove(id);
+			if (username == null)
+				return false;
+			final List<String> tasks = userTasks.get(username);
+			if (tasks != null) {
+				tasks.remove(id);
+				if (tasks.isEmpty())
+					userTasks.remove(username);
+			}
+			return true;
+		}
+	}
+
+	@Override
+	public String findUsername(String id) {
+		return taskUsers.get(id);
+	}
+
+	@Override
+	public List<String> findTasks(String username) {
+		return userTasks.getOrDefault(username, Collections.emptyList());
+	}
+
+	@Override
+	public boolean saveMessage(String id, MessageHandler handler, long sequence) {
+		if (!taskUsers.containsKey(id))
+			return false;
+		synchronized (messageHandlers) {
+			if (sequences.getOrDefault(id, Long.MIN_VALUE) > sequence)
+				return false;
+			messageHandlers.put(id, handler);
+			sequences.put(id, sequence);
+		}
+		return true;
+	}
+
+	@Override
+	public MessageHandler findMessage(String id) {
+		return messageHandlers.get(id);
+	}
+
+	@Override
+	public boolean isProcessedElsewhere(String id) {
+		return false;
+	}
+
+	@Override
+	public Collection<String> renew(Predicate<String> working) {
+		return Collections.emptyList();
+	}
+
+	@Override
+	public int expire(MessageHandler lost) {
+		return 0;
+	}
+}
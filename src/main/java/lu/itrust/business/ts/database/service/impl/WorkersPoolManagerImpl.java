@@ -1,12 +1,12 @@
 package lu.itrust.business.ts.database.service.impl;
 
-import java.sql.Timestamp;
-import java.util.Date;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -15,7 +15,11 @@ import lu.itrust.business.ts.database.service.WorkersPoolManager;
 
 /**
  * WorkersPoolManagerImpl.java: <br>
- * Detailed description...
+ * Concurrent registry of workers.<br>
+ * Workers are kept in a concurrent map with a counter by state, a finished
+ * worker is queued once and removed when its retention time has elapsed or
+ * when too many finished workers are retained. All finished workers have the
+ * same retention time, the queue is therefore sorted by expiry.
  * 
  * @author itrust consulting s.a.rl.
  * @version
@@ -24,7 +28,20 @@ import lu.itrust.business.ts.database.service.WorkersPoolManager;
 @Service
 public class WorkersPoolManagerImpl implements WorkersPoolManager {
 
-	private final Map<String, Worker> workersPool = new LinkedHashMap<>();
+	private final Map<String, Entry> workersPool = new ConcurrentHashMap<>();
+
+	/** Finished workers, oldest first */
+	private final Queue<Entry> finishedWorkers = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger activeSize = new AtomicInteger();
+
+	private final AtomicInteger finishedSize = new AtomicInteger();
+
+	@Value("${app.settings.background.task.finished.retention:300000}")
+	private long retention = 300000;
+
+	@Value("${app.settings.background.task.finished.max.size:1000}")
+	private int maxFinishedSize = 1000;
 
 	/**
 	 * Constructor: <br>
@@ -43,10 +60,12 @@ public class WorkersPoolManagerImpl implements WorkersPoolManager {
 	 */
 	@Override
 	public boolean add(Worker worker) {
-		if (worker == null || workersPool.containsKey(worker.getId()))
+		if (worker == null || workersPool.putIfAbsent(worker.getId(), new Entry(worker)) != null)
 			return false;
-		workersPool.put(worker.getId(), worker);
-		return workersPool.containsKey(worker.getId());
+		activeSize.incrementAndGet();
+		if (worker.getFinished() != null)
+			finished(worker);
+		return true;
 	}
 
 	/**
@@ -60,7 +79,8 @@ public class WorkersPoolManagerImpl implements WorkersPoolManager {
 	 */
 	@Override
 	public Worker get(String id) {
-		return workersPool.get(id);
+		final Entry entry = workersPool.get(id);
+		return entry == null ? null : entry.worker;
 	}
 
 	/**
@@ -74,7 +94,7 @@ public class WorkersPoolManagerImpl implements WorkersPoolManager {
 	 */
 	@Override
 	public Worker remove(Worker worker) {
-		return workersPool.remove(worker.getId());
+		return remove(worker.getId());
 	}
 
 	/**
@@ -88,7 +108,14 @@ public class WorkersPoolManagerImpl implements WorkersPoolManager {
 	 */
 	@Override
 	public Worker remove(String id) {
-		return workersPool.remove(id);
+		final Entry entry = workersPool.remove(id);
+		if (entry == null)
+			return null;
+		if (entry.finished)
+			finishedSize.decrementAndGet();
+		else
+			activeSize.decrementAndGet();
+		return entry.worker;
 	}
 
 	/**
@@ -115,20 +142,104 @@ public class WorkersPoolManagerImpl implements WorkersPoolManager {
 	 */
 	@Override
 	public int poolSize() {
-		return workersPool.size();
+		return activeSize.get() + finishedSize.get();
+	}
+
+	@Override
+	public int activeSize() {
+		return activeSize.get();
+	}
+
+	@Override
+	public int finishedSize() {
+		return finishedSize.get();
 	}
 
+	/**
+	 * finished: <br>
+	 * Moves the worker to the finished state, it is removed once the retention
+	 * time has elapsed.
+	 * 
+	 * @param worker
+	 * 
+	 * @see lu.itrust.business.ts.database.service.WorkersPoolManager#finished(lu.itrust.business.ts.asynchronousWorkers.Worker)
+	 */
+	@Override
+	public void finished(Worker worker) {
+		if (worker == null)
+			return;
+		workersPool.computeIfPresent(worker.getId(), (id, entry) -> {
+			if (!entry.finished) {
+				entry.finished = true;
+				entry.expiry = System.currentTimeMillis() + retention;
+				activeSize.decrementAndGet();
+				finishedSize.incrementAndGet();
+				finishedWorkers.add(entry);
+			}
+			return entry;
+		});
+		while (finishedSize.get() > maxFinishedSize && expire(Long.MAX_VALUE))
+			;
+	}
+
+	/**
+	 * cleaning: <br>
+	 * Removes the finished workers whose retention time has elapsed. Workers
+	 * which have finished without notifying the registry are moved to the
+	 * finished state first.
+	 * 
+	 * @see lu.itrust.business.ts.database.service.WorkersPoolManager#cleaning()
+	 */
 	@Override
 	@Scheduled(initialDelay = 60000, fixedDelay = 60000)
 	public void cleaning() {
-		if (workersPool.isEmpty())
-			return;
-		final Date limit = new Timestamp(System.currentTimeMillis() - 300000);
-		Iterator<Entry<String, Worker>> iterator = workersPool.entrySet().iterator();
-		while (iterator.hasNext()) {
-			Entry<String, Worker> entry = iterator.next();
-			if (entry.getValue().getFinished() != null && limit.before(entry.getValue().getFinished()))
-				workersPool.remove(entry.getKey());
+		if (activeSize.get() > 0)
+			workersPool.values().stream().filter(entry -> !entry.finished && entry.worker.getFinished() != null)
+					.forEach(entry -> finished(entry.worker));
+		final long now = System.currentTimeMillis();
+		while (expire(now))
+			;
+	}
+
+	/**
+	 * Removes the oldest finished worker if it has expired at the given time.
+	 * 
+	 * @param time current time
+	 * @return false if there is no finished worker to expire
+	 */
+	private boolean expire(long time) {
+		final Entry entry = finishedWorkers.peek();
+		if (entry == null || entry.expiry > time)
+			return false;
+		if (finishedWorkers.remove(entry) && workersPool.remove(entry.worker.getId(), entry))
+			finishedSize.decrementAndGet();
+		return true;
+	}
+
+	/**
+	 * @param retention the retention time of finished workers in milliseconds
+	 */
+	public void setRetention(long retention) {
+		this.retention = retention;
+	}
+
+	/**
+	 * @param maxFinishedSize the max number of finished workers retained
+	 */
+	public void setMaxFinishedSize(int maxFinishedSize) {
+		this.maxFinishedSize = maxFinishedSize;
+	}
+
+	private static class Entry {
+
+		private final Worker worker;
+
+		private volatile boolean finished = false;
+
+		private volatile long expiry;
+
+		private Entry(Worker worker) {
+			this.worker = worker;
 		}
 	}
-}
\ No newline at end of file
+}
@@ -17,6 +17,8 @@ import org.hibernate.Session;
 import lu.itrust.business.ts.component.TrickLogManager;
 import lu.itrust.business.ts.constants.Constant;
 import lu.itrust.business.ts.database.DatabaseHandler;
+import lu.itrust.business.ts.database.SqliteBatchWriter;
+import lu.itrust.business.ts.database.SqliteRowWriter;
 import lu.itrust.business.ts.database.dao.DAOAssetType;
 import lu.itrust.business.ts.database.dao.hbm.DAOAssetTypeHBM;
 import lu.itrust.business.ts.database.service.ServiceTaskFeedback;
@@ -80,12 +82,6 @@ import lu.itrust.business.ts.model.standard.measuredescription.MeasureDescriptio
  */
 public class ExportAnalysis {
 
-	private static final int SCENARIO_COLUMN_COUNT = 59;
-
-	private static final int MEASURE_ROW_COUNT = 72;
-
-	private static final int MATURITY_MEASURE_ROW_COUNT = 28;
-
 	/***********************************************************************************************
 	 * Fields
 	 **********************************************************************************************/
@@ -93,6 +89,9 @@ public class ExportAnalysis {
 	/** SQLite Database Handler */
 	private DatabaseHandler sqlite = null;
 
+	/** Destination of the rows, one transaction per export */
+	private SqliteRowWriter writer = null;
+
 	private String idTask;
 
 	/** Analysis object */
@@ -104,6 +103,9 @@ public class ExportAnalysis {
 
 	private List<ScaleType> scaleTypes;
 
+	/** Writes the rows on a second thread while the next ones are produced */
+	private boolean pipelined = false;
+
 	/***********************************************************************************************
 	 * Methods
 	 **********************************************************************************************/
@@ -139,129 +141,46 @@ public class ExportAnalysis {
 
 		System.out.println("Exporting...");
 
-		try {
-
-			serviceTaskFeedback.send(idTask, new MessageHandler("info.export.identifier", "Export identifier", 10));
-
-			scaleTypes = analysis.getImpactParameters().stream().map(ImpactParameter::getType).distinct()
-					.collect(Collectors.toList());
-
-			for (ScaleType scaleType : analysis.getIlrImpactTypes()) {
-				if (!scaleTypes.contains(scaleType))
-					scaleTypes.add(scaleType);
-			}
-
-			// ****************************************************************
-			// * export Identifier
-			// ****************************************************************
-			exportIdentifier();
-
-			serviceTaskFeedback.send(idTask, new MessageHandler("info.export.history", "Export histories", 15));
-
-			// ****************************************************************
-			// * export History
-			// ****************************************************************
-			exportHistory();
-
-			serviceTaskFeedback.send(idTask,
-					new MessageHandler("info.export.risk_information", "Export risk information", 20));
-
-			// ****************************************************************
-			// * export risk information
-			// ****************************************************************
-			exportRiskInformation();
-
-			serviceTaskFeedback.send(idTask,
-					new MessageHandler("info.export.item_information", "Export item information", 25));
-
-			// ****************************************************************
-			// * export item information
-			// ****************************************************************
-			exportItemInformation();
-
-			serviceTaskFeedback.send(idTask, new MessageHandler("info.export.parameters", "Export Parameters", 30));
-
-			// ****************************************************************
-			// * export simple parameters
-			// ****************************************************************
-			exportParameters();
-
-			serviceTaskFeedback.send(idTask, new MessageHandler("info.export.assets", "Export assets", 35));
+		SqliteBatchWriter batchWriter = null;
 
-			// ****************************************************************
-			// * export assets
-			// ****************************************************************
-			exportAssets();
-
-			serviceTaskFeedback.send(idTask,
-					new MessageHandler("info.export.dependencies", "Export assets dependencies", 43));
-
-			// ****************************************************************
-			// * export assets dependencies
-			// ****************************************************************
-			exportDependencyGraph();
-
-			serviceTaskFeedback.send(idTask, new MessageHandler("info.export.simple_documents",
-					"Export analysis documents, DRAW json, DRAW png", 48));
-
-			// ****************************************************************
-			// * export Simple documents
-			// ****************************************************************
-			exportSimpleDocuments();
-
-			serviceTaskFeedback.send(idTask, new MessageHandler("info.export.scenarios", "Export scenarios", 52));
-
-			// ****************************************************************
-			// * export scenarios
-			// ****************************************************************
-			exportScenarios();
-
-			serviceTaskFeedback.send(idTask, new MessageHandler("info.export.assessments", "Export assessments", 60));
-
-			// ****************************************************************
-			// * export assessments
-			// ****************************************************************
-			exportAssessments();
-
-			serviceTaskFeedback.send(idTask, new MessageHandler("info.export.risk_profile", "Export risk profile", 65));
+		try {
 
-			exportRiskProfile();
+			batchWriter = new SqliteBatchWriter(sqlite);
 
-			serviceTaskFeedback.send(idTask, new MessageHandler("info.export.measures", "Export measures", 70));
+			batchWriter.begin();
 
-			// ****************************************************************
-			// * export all measures
-			// ****************************************************************
-			exportMeasuresAndMaturity();
+			writer = batchWriter;
 
-			serviceTaskFeedback.send(idTask, new MessageHandler("info.export.phases", "Export phases", 75));
+			scaleTypes = loadScaleTypes(analysis);
 
-			// ****************************************************************
-			// * export phase
-			// ****************************************************************
-			exportPhase();
+			if (pipelined) {
 
-			serviceTaskFeedback.send(idTask, new MessageHandler("info.export.action_plan", "Export action plans", 80));
+				// ****************************************************************
+				// * produce sections on this thread, write them on another one
+				// ****************************************************************
+				final ExportPipeline pipeline = new ExportPipeline();
 
-			// ****************************************************************
-			// * export action plans
-			// ****************************************************************
-			exportActionPlans();
+				for (ExportSection section : ExportSection.values())
+					pipeline.add(() -> serviceTaskFeedback.send(idTask, section.createMessage()),
+							output -> produce(section, output));
 
-			serviceTaskFeedback.send(idTask, new MessageHandler("info.export.summaries", "Export summaries", 85));
+				pipeline.run(batchWriter);
 
-			// ****************************************************************
-			// * export summary
-			// ****************************************************************
-			exportActionPlanSummaries(this.analysis.getSummaries());
+			} else {
 
-			serviceTaskFeedback.send(idTask,
-					new MessageHandler("info.export.risk_register", "Export risk registers", 90));
+				// ****************************************************************
+				// * export sections one after the other
+				// ****************************************************************
+				for (ExportSection section : ExportSection.values()) {
+					serviceTaskFeedback.send(idTask, section.createMessage());
+					section.export(this);
+				}
+			}
 
 			// ****************************************************************
-			// * export Risk Register
+			// * write pending rows and commit
 			// ****************************************************************
-			exportRiskRegister();
+			batchWriter.commit();
 
 			serviceTaskFeedback.send(idTask,
 					new MessageHandler("success.export.analysis", "Export done successfully", 95));
@@ -289,6 +208,13 @@ public class ExportAnalysis {
 			return new MessageHandler(e);
 			// set return value exception
 		} finally {
+			if (batchWriter != null) {
+				try {
+					batchWriter.close();
+				} catch (SQLException e) {
+					TrickLogManager.Persist(e);
+				}
+			}
 			if (getSqlite() != null) {
 				try {
 					getSqlite().close();
@@ -300,31 +226,37 @@ public class ExportAnalysis {
 		}
 	}
 
-	private void exportSimpleDocuments() throws SQLException {
+	/**
+	 * produce: <br>
+	 * Produces the rows of a section from the analysis of the export, into the
+	 * given output.
+	 *
+	 * @param section The section to produce
+	 * @param output  The destination of the rows
+	 * @throws Exception
+	 */
+	private void produce(ExportSection section, SqliteRowWriter output) throws Exception {
+		writer = output;
+		section.export(this);
+	}
 
-		System.out.println("Export simple documents");
+	private static List<ScaleType> loadScaleTypes(Analysis analysis) {
+		final List<ScaleType> scaleTypes = analysis.getImpactParameters().stream().map(ImpactParameter::getType)
+				.distinct().collect(Collectors.toList());
+		for (ScaleType scaleType : analysis.getIlrImpactTypes()) {
+			if (!scaleTypes.contains(scaleType))
+				scaleTypes.add(scaleType);
+		}
+		return scaleTypes;
+	}
 
-		final List<Object> params = new ArrayList<>();
+	private void exportSimpleDocuments() throws SQLException {
 
-		StringBuilder query = new StringBuilder();
-		int counter = 0;
-
-		for (SimpleDocument document : analysis.getDocuments().values()) {
-			counter = prepareQuery(params,
-					"INSERT INTO simple_document select ? as id, ? as dtCreated,? as dtData,? as dtLength, ? as dtName, ? as dtType",
-					6, query, counter);
-			params.add(document.getId());
-			params.add(document.getCreated());
-			params.add(document.getData());
-			params.add(document.getLength());
-			params.add(document.getName());
-			params.add(document.getType());
-		}
+		System.out.println("Export simple documents");
 
-		if (!params.isEmpty()) {
-			sqlite.query(query.toString(), params);
-			params.clear();
-		}
+		for (SimpleDocument document : analysis.getDocuments().values())
+			writer.insert("simple_document", document.getId(), document.getCreated(), document.getData(),
+					document.getLength(), document.getName(), document.getType());
 
 	}
 
@@ -356,6 +288,21 @@ public class ExportAnalysis {
 		this.analysis = analysis;
 	}
 
+	/**
+	 * @return true if the rows are written on a second thread
+	 */
+	public boolean isPipelined() {
+		return pipelined;
+	}
+
+	/**
+	 * @param pipelined true to write the rows on a second thread while the next
+	 *                  ones are produced
+	 */
+	public void setPipelined(boolean pipelined) {
+		this.pipelined = pipelined;
+	}
+
 	private void exportRiskProfile() throws SQLException {
 
 		if (analysis.getType() == AnalysisType.QUANTITATIVE)
@@ -366,9 +313,7 @@ public class ExportAnalysis {
 		// ****************************************************************
 		// * initialise variables
 		// ****************************************************************
-		List<Object> params = new ArrayList<>();
-		String query = "", unionQuery = " UNION Select ?,?,?,?,?,?,?,?,?",
-				baseQuery = "INSERT INTO risk_profile SELECT ? as id_threat,? as id_asset,? as actionPlan,? as treatment,? as strategy,? as exp_probability,? as exp_vulnerability,? as raw_probability,? as raw_vulnerability";
+		final List<Object> params = new ArrayList<>();
 
 		// ****************************************************************
 		// * Export the Risk Register Item by Item
@@ -378,85 +323,29 @@ public class ExportAnalysis {
 
 		// parse all Risk Register Entries
 		for (RiskProfile riskProfile : analysis.getRiskProfiles()) {
-			// add parameters for the current Risk Register Item
-			if (query.isEmpty())
-				query = baseQuery;
-			else if (params.size() + 9 > 999) {
-				sqlite.query(query, params);
-				query = baseQuery;
-				params.clear();
-			} else
-				query += unionQuery;
 			addRiskProfile(params, defaultProbability, riskProfile);
-		}
-
-		if (!params.isEmpty()) {
-			sqlite.query(query, params);
+			writer.insert("risk_profile", params);
 			params.clear();
 		}
 
-		query = "";
-		unionQuery = " UNION Select ?,?,?,?";
-		baseQuery = "INSERT INTO risk_profile_impact SELECT ? as id_threat,? as id_asset,? as name,? as value";
 		// parse all Risk Register Entries
 		for (RiskProfile riskProfile : analysis.getRiskProfiles()) {
-			// add parameters for the current Risk Register Item
-			if (query.isEmpty())
-				query = baseQuery;
-			else if (params.size() + 8 * scaleTypes.size() > 999) {
-				sqlite.query(query, params);
-				query = baseQuery;
-				params.clear();
-			} else
-				query += unionQuery;
-			int index = scaleTypes.size();
 			for (ScaleType scaleType : scaleTypes) {
-				addRiskProfileImpact(params, riskProfile, "RAW", getImpact(riskProfile.getRawProbaImpact(), scaleType));
-				query += unionQuery;
-				addRiskProfileImpact(params, riskProfile, "EXP", getImpact(riskProfile.getExpProbaImpact(), scaleType));
-				if (--index > 0)
-					query += unionQuery;
+				addRiskProfileImpact(riskProfile, "RAW", getImpact(riskProfile.getRawProbaImpact(), scaleType));
+				addRiskProfileImpact(riskProfile, "EXP", getImpact(riskProfile.getExpProbaImpact(), scaleType));
 			}
 		}
 
-		if (!params.isEmpty()) {
-			sqlite.query(query, params);
-			params.clear();
-		}
-
-		query = "";
-		unionQuery = " UNION Select ?,?,?,?,?";
-		baseQuery = "INSERT INTO risk_profile_measure SELECT ? as id_threat,? as id_asset,? as id_norme,? as version_norme, ? as ref_measure";
 		// parse all Risk Register Entries
 		for (RiskProfile riskProfile : analysis.getRiskProfiles()) {
-			// add parameters for the current Risk Register Item
-			if (riskProfile.getMeasures().isEmpty())
-				continue;
-			if (query.isEmpty())
-				query = baseQuery;
-			else if (params.size() + 5 * riskProfile.getMeasures().size() > 999) {
-				sqlite.query(query, params);
-				query = baseQuery;
-				params.clear();
-			} else
-				query += unionQuery;
-			int index = riskProfile.getMeasures().size();
 			for (Measure measure : riskProfile.getMeasures()) {
-				params.add(riskProfile.getScenario().getId());
-				params.add(riskProfile.getAsset().getId());
-				params.add(measure.getMeasureDescription().getStandard().getLabel());
-				params.add(measure.getMeasureDescription().getStandard().getVersion());
-				params.add(measure.getMeasureDescription().getReference());
-				if (--index > 0)
-					query += unionQuery;
+				writer.insert("risk_profile_measure", riskProfile.getScenario().getId(), riskProfile.getAsset().getId(),
+						measure.getMeasureDescription().getStandard().getLabel(),
+						measure.getMeasureDescription().getStandard().getVersion(),
+						measure.getMeasureDescription().getReference());
 			}
 		}
 
-		if (!params.isEmpty()) {
-			sqlite.query(query, params);
-			params.clear();
-		}
-
 	}
 
 	private String getImpact(RiskProbaImpact riskProbaImpact, ScaleType scaleType) {
@@ -468,11 +357,9 @@ public class ExportAnalysis {
 		return impactParameter == null ? scaleType.getAcronym() + 0 : impactParameter.getAcronym();
 	}
 
-	private void addRiskProfileImpact(List<Object> params, RiskProfile riskProfile, String name, String value) {
-		params.add(riskProfile.getScenario().getId());
-		params.add(riskProfile.getAsset().getId());
-		params.add(name);
-		params.add(value);
+	private void addRiskProfileImpact(RiskProfile riskProfile, String name, String value) throws SQLException {
+		writer.insert("risk_profile_impact", riskProfile.getScenario().getId(), riskProfile.getAsset().getId(), name,
+				value);
 	}
 
 	private void addRiskProfile(List<Object> params, LikelihoodParameter defaultProbability, RiskProfile riskProfile) {
@@ -513,19 +400,6 @@ public class ExportAnalysis {
 
 		System.out.println("Export risk information");
 
-		// ****************************************************************
-		// * initialise variables
-		// ****************************************************************
-		List<Object> riskparams = new ArrayList<>();
-		List<Object> threatparams = new ArrayList<>();
-		List<Object> vulparams = new ArrayList<>();
-		String riskquery = "";
-		String threatquery = "";
-		String vulquery = "";
-		int riskcounter = 0;
-		int threatcounter = 0;
-		int vulcounter = 0;
-
 		// ****************************************************************
 		// * parse all risk information to export
 		// ****************************************************************
@@ -545,65 +419,9 @@ public class ExportAnalysis {
 				// ****************************************************************
 				// * export risk information
 				// ****************************************************************
-
-				// ****************************************************************
-				// * build query
-				// ****************************************************************
-
-				// first time query is used? -> YES
-				if (riskquery.isEmpty()) {
-
-					// build first query part
-					riskquery = "INSERT INTO threat_source SELECT ? as level,? as name,? as type,? as expo,? as owner,? as custom,? as comment,? as comment2 UNION";
-
-					// set number of ? -> sqlite ? limit is 999 -> before 999 is
-					// reached, a execute
-					// needs to be done
-					riskcounter = 8;
-				} else {
-
-					// first time query is used ? -> NO
-
-					// check if limit of ? is reached with next query -> YES
-					if (riskcounter + 8 >= 999) {
-
-						// remove UNION from query
-						riskquery = riskquery.substring(0, riskquery.length() - 6);
-
-						// execute query
-						sqlite.query(riskquery, riskparams);
-
-						// clear array
-						riskparams.clear();
-
-						// rebuild first query part
-						riskquery = "INSERT INTO threat_source SELECT ? as level,? as name,";
-						riskquery += "? as type,? as expo,? as owner,? as custom,? as comment,? as comment2 UNION";
-
-						// reset number of ?
-						riskcounter = 8;
-					} else {
-
-						// check if limit of ? is reached -> NO
-
-						// add values to query ( execute 1 query with multiple
-						// rows)
-						riskquery += " SELECT ?,?,?,?,?,?,?,? UNION";
-
-						// add number of ? used
-						riskcounter += 8;
-					}
-				}
-
-				// add parameters
-				riskparams.add(information.getChapter());
-				riskparams.add(information.getLabel());
-				riskparams.add(information.getCategory().split("_")[1]);
-				riskparams.add(information.getExposed());
-				riskparams.add(information.getOwner());
-				riskparams.add(information.isCustom());
-				riskparams.add(information.getComment());
-				riskparams.add(information.getHiddenComment());
+				writer.insert("threat_source", information.getChapter(), information.getLabel(),
+						information.getCategory().split("_")[1], information.getExposed(), information.getOwner(),
+						information.isCustom(), information.getComment(), information.getHiddenComment());
 			}
 
 			// ****************************************************************
@@ -615,58 +433,9 @@ public class ExportAnalysis {
 				// ****************************************************************
 				// * export threat information
 				// ****************************************************************
-
-				// ****************************************************************
-				// * build query
-				// ****************************************************************
-
-				// first part ? -> YES
-				if (threatquery.equals(Constant.EMPTY_STRING)) {
-					threatquery = "INSERT INTO threat_typology SELECT ? as level,? as name,";
-					threatquery += "? as acro,? as expo,? as owner,? as custom,? as comment,? as comment2 UNION";
-					threatcounter = 7;
-				} else {
-
-					// first part ? -> NO
-
-					// limit of ? reached -> YES
-					if (threatcounter + 8 >= 999) {
-
-						// execute query
-						threatquery = threatquery.substring(0, threatquery.length() - 6);
-						sqlite.query(threatquery, threatparams);
-
-						// clear parameters
-						threatparams.clear();
-
-						// reset query
-						threatquery = "INSERT INTO threat_typology SELECT ? as level,? as name";
-						threatquery += ",? as acro,? as expo,? as owner, ? as custom,? as comment,? as comment2";
-						threatquery += " UNION";
-
-						// reset number of ?
-						threatcounter = 8;
-					} else {
-
-						// limit of ? reached -> NO
-
-						// add value
-						threatquery += " SELECT ?,?,?,?,?,?,?,? UNION";
-
-						// add number of ? used
-						threatcounter += 8;
-					}
-				}
-
-				// add parameters
-				threatparams.add(information.getChapter());
-				threatparams.add(information.getLabel());
-				threatparams.add(information.getAcronym());
-				threatparams.add(information.getExposed());
-				threatparams.add(information.getOwner());
-				threatparams.add(information.isCustom());
-				threatparams.add(information.getComment());
-				threatparams.add(information.getHiddenComment());
+				writer.insert("threat_typology", information.getChapter(), information.getLabel(),
+						information.getAcronym(), information.getExposed(), information.getOwner(),
+						information.isCustom(), information.getComment(), information.getHiddenComment());
 			}
 
 			// ****************************************************************
@@ -678,85 +447,11 @@ public class ExportAnalysis {
 				// ****************************************************************
 				// * export vulnerability information
 				// ****************************************************************
-
-				// ****************************************************************
-				// * build query
-				// ****************************************************************
-
-				// check if first part -> YES
-				if (vulquery.equals(Constant.EMPTY_STRING)) {
-
-					// build query
-					vulquery = "INSERT INTO vulnerabilities SELECT ? as level,? as name,";
-					vulquery += "? as expo,? as owner, ? as custom,? as comment,? as comment2 UNION";
-
-					// set number of ? used
-					vulcounter = 7;
-				} else {
-
-					// check if limit is reached -> YES
-					if (vulcounter + 7 >= 999) {
-
-						// execute query
-						vulquery = vulquery.substring(0, vulquery.length() - 6);
-						sqlite.query(vulquery, vulparams);
-
-						// clean parameters
-						vulparams.clear();
-
-						// reset query
-						vulquery = "INSERT INTO vulnerabilities SELECT ? as level,? as name, ";
-						vulquery += "? as expo,? as owner, ? as custom,? as comment,? as comment2 UNION";
-
-						// reset number of ?
-						vulcounter = 7;
-					} else {
-
-						// check if limit reached -> NO
-
-						// set values
-						vulquery += " SELECT ?,?,?,?,?,?,? UNION";
-
-						// add number of ? used
-						vulcounter += 7;
-					}
-				}
-
-				// add parameters
-				vulparams.add(information.getChapter());
-				vulparams.add(information.getLabel());
-				vulparams.add(information.getExposed());
-				vulparams.add(information.getOwner());
-				vulparams.add(information.isCustom());
-				vulparams.add(information.getComment());
-				vulparams.add(information.getHiddenComment());
+				writer.insert("vulnerabilities", information.getChapter(), information.getLabel(),
+						information.getExposed(), information.getOwner(), information.isCustom(),
+						information.getComment(), information.getHiddenComment());
 			}
 		}
-
-		// ****************************************************************
-		// * after the loop, the last entries need to be added
-		// ****************************************************************
-
-		if (!riskquery.isEmpty()) {
-			if (riskquery.endsWith("UNION"))
-				riskquery = riskquery.substring(0, riskquery.length() - 6);
-			// execute last risk, threat and vulnerability values
-			sqlite.query(riskquery, riskparams);
-		}
-
-		if (!threatquery.isEmpty()) {
-			if (threatquery.endsWith("UNION"))
-				threatquery = threatquery.substring(0, threatquery.length() - 6);
-			// execute last risk, threat and vulnerability values
-			sqlite.query(threatquery, threatparams);
-		}
-
-		if (!vulquery.isEmpty()) {
-			if (vulquery.endsWith("UNION"))
-				vulquery = vulquery.substring(0, vulquery.length() - 6);
-			// execute last risk, threat and vulnerability values
-			sqlite.query(vulquery, vulparams);
-		}
 	}
 
 	/**
@@ -804,7 +499,7 @@ public class ExportAnalysis {
 
 					// execute query
 					orgquery = orgquery.substring(0, orgquery.length() - 1);
-					sqlite.query(orgquery, orgparams);
+					writer.execute(orgquery, orgparams);
 
 					// clean parameters
 					orgparams.clear();
@@ -834,7 +529,7 @@ public class ExportAnalysis {
 
 					// execute query
 					scopequery = scopequery.substring(0, scopequery.length() - 1);
-					sqlite.query(scopequery, scopeparams);
+					writer.execute(scopequery, scopeparams);
 
 					// clean parameters
 					scopeparams.clear();
@@ -864,11 +559,11 @@ public class ExportAnalysis {
 
 		// execute scope query
 		scopequery = scopequery.substring(0, scopequery.length() - 1);
-		sqlite.query(scopequery, scopeparams);
+		writer.execute(scopequery, scopeparams);
 
 		// execute organisation query
 		orgquery = orgquery.substring(0, orgquery.length() - 1);
-		sqlite.query(orgquery, orgparams);
+		writer.execute(orgquery, orgparams);
 	}
 
 	/**
@@ -883,12 +578,6 @@ public class ExportAnalysis {
 
 		final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
 
-		// ****************************************************************
-		// * initialise variables
-		// ****************************************************************
-		List<Object> params = new ArrayList<>();
-		String query = "";
-
 		// ****************************************************************
 		// * retrieve phases to export
 		// ****************************************************************
@@ -904,17 +593,8 @@ public class ExportAnalysis {
 			if (phase.getNumber() == 0)
 				continue;
 
-			// build query
-			query = DatabaseHandler.generateInsertQuery("info_phases", 3);
-
-			// add parameters
-			params.clear();
-			params.add(phase.getNumber());
-			params.add(dateFormat.format(phase.getBeginDate()));
-			params.add(dateFormat.format(phase.getEndDate()));
-
-			// execute the query
-			sqlite.query(query, params);
+			writer.insert("info_phases", phase.getNumber(), dateFormat.format(phase.getBeginDate()),
+					dateFormat.format(phase.getEndDate()));
 		}
 	}
 
@@ -946,7 +626,7 @@ public class ExportAnalysis {
 		params.add(this.analysis.getType());
 		params.add(this.analysis.isUncertainty());
 		// execute the query
-		sqlite.query(query, params);
+		writer.execute(query, params);
 	}
 
 	/**
@@ -959,12 +639,6 @@ public class ExportAnalysis {
 
 		System.out.println("Export history");
 
-		// ****************************************************************
-		// * initialise variables
-		// ****************************************************************
-
-		String query = "";
-		List<Object> params = new ArrayList<Object>();
 		// add date of the comment
 		DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
 
@@ -977,17 +651,8 @@ public class ExportAnalysis {
 			// ****************************************************************
 			// * export current history entry
 			// ****************************************************************
-
-			// build query
-			query = DatabaseHandler.generateInsertQuery("history", 4);
-			// add parameters
-			params.add(history.getVersion());
-			params.add(dateFormat.format(history.getDate()));
-			params.add(history.getAuthor());
-			params.add(history.getComment());
-			// execute the query
-			sqlite.query(query, params);
-			params.clear();
+			writer.insert("history", history.getVersion(), dateFormat.format(history.getDate()), history.getAuthor(),
+					history.getComment());
 		}
 	}
 
@@ -1022,8 +687,6 @@ public class ExportAnalysis {
 				// ****************************************************************
 				// * export parameter
 				// ****************************************************************
-				// build query
-				query = DatabaseHandler.generateInsertQuery("maturity_max_eff", 2);
 
 				// add parameters
 				params.clear();
@@ -1031,14 +694,12 @@ public class ExportAnalysis {
 				params.add(parameter.getValue().doubleValue() / 100.);
 
 				// execute the query
-				sqlite.query(query, params);
+				writer.insert("maturity_max_eff", params);
 			} else if (parameter.getTypeName().equals(Constant.PARAMETERTYPE_TYPE_IMPLEMENTATION_RATE_NAME)) {
 
 				// ****************************************************************
 				// * export parameter
 				// ***************************************************************
-				// build query
-				query = DatabaseHandler.generateInsertQuery("maturity_IS", 2);
 
 				// add parameters
 				params.clear();
@@ -1070,7 +731,7 @@ public class ExportAnalysis {
 				params.add(parameter.getValue().doubleValue() / 100.);
 
 				// execute the query
-				sqlite.query(query, params);
+				writer.insert("maturity_IS", params);
 			} else if (parameter.getTypeName().equals(Constant.PARAMETERTYPE_TYPE_SINGLE_NAME)) {
 				// ****************************************************************
 				// * export parameter
@@ -1085,15 +746,12 @@ public class ExportAnalysis {
 				params.add(parameter.getValue().intValue());
 
 				// execute the query
-				sqlite.query(query, params);
+				writer.execute(query, params);
 			}else if(parameter.getTypeName().equals(Constant.PARAMETERTYPE_TYPE_ILR_VULNERABILITY_SCALE_NAME)){
 				// ****************************************************************
 				// * export parameter
 				// ****************************************************************
 
-				// build query
-				query = "INSERT INTO ilr_vulnerability_scale SELECT ? as level, ? as description";
-
 				// add parameters
 				params.clear();
 
@@ -1101,7 +759,7 @@ public class ExportAnalysis {
 				params.add(parameter.getDescription());
 
 				// execute the query
-				sqlite.query(query, params);
+				writer.insert("ilr_vulnerability_scale", params);
 			}
 		}
 	}
@@ -1116,12 +774,12 @@ public class ExportAnalysis {
 		// Export all extended parameters of type IMPACT, PROBABILITY and
 		// SEVERITY
 		for (IBoundedParameter boundedParameter : this.analysis.getBoundedParamters()) {
-			// Determine insert query
-			String query = null;
+			// Determine insert table
+			String table = null;
 			if (boundedParameter instanceof LikelihoodParameter)
-				query = DatabaseHandler.generateInsertQuery("potentiality", 9);
+				table = "potentiality";
 			else if (boundedParameter instanceof ImpactParameter)
-				query = DatabaseHandler.generateInsertQuery("impact", 9);
+				table = "impact";
 			// Determine insert query parameters
 			final List<Object> queryParameters = new ArrayList<>();
 			queryParameters.add(null); // id
@@ -1137,7 +795,7 @@ public class ExportAnalysis {
 			queryParameters.add(boundedParameter.getBounds().getFrom());
 			queryParameters.add(boundedParameter.getBounds().getTo());
 			// Execute query
-			sqlite.query(query, queryParameters);
+			writer.insert(table, queryParameters);
 		}
 	}
 
@@ -1150,8 +808,6 @@ public class ExportAnalysis {
 	private void exportDynamicParameters() throws Exception {
 		// Export all acronym parameters of type DYNAMIC
 		for (DynamicParameter dynamicParameter : this.analysis.getDynamicParameters()) {
-			// Determine insert query
-			String query = DatabaseHandler.generateInsertQuery("dynamic_parameter", 4);
 			// Determine insert query parameters
 			final List<Object> queryParameters = new ArrayList<>();
 			queryParameters.add(null); // id
@@ -1159,7 +815,7 @@ public class ExportAnalysis {
 			queryParameters.add(dynamicParameter.getAcronym());
 			queryParameters.add(dynamicParameter.getValue());
 			// Execute query
-			sqlite.query(query, queryParameters);
+			writer.insert("dynamic_parameter", queryParameters);
 		}
 	}
 
@@ -1175,8 +831,6 @@ public class ExportAnalysis {
 		// * initialise variables
 		// ****************************************************************
 		List<Object> params = new ArrayList<>();
-		String query = "";
-		int counter = 0;
 
 		// ****************************************************************
 		// * parse parameters and export maturtiy parameter only
@@ -1186,97 +840,44 @@ public class ExportAnalysis {
 		for (MaturityParameter maturityParameter : this.analysis.getMaturityParameters()) {
 
 			for (int i = 0; i < 6; i++) {
-				// check if first part -> YES
-				if (query.equals(Constant.EMPTY_STRING)) {
-
-					// build query
-					query = "INSERT INTO maturity_required_LIPS SELECT ? as name,? as line,? ";
-					query += "as SML,? as value UNION";
-
-					// set limit
-					counter = 4;
-				} else {
-
-					// check if first part -> NO
-
-					// check if limit is reached -> YES
-					if (counter + 4 >= 999) {
-
-						// execute query
-						query = query.substring(0, query.length() - 6);
-						sqlite.query(query, params);
-
-						// clean parameters
-						params.clear();
-
-						// reset query and ,limit
-						query = "INSERT INTO maturity_required_LIPS SELECT ? as name,? as ";
-						query += "line,?as SML,? as value UNION";
-						counter = 4;
-					} else {
-
-						// check if limit is reached -> NO
-
-						// create value
-						query += " SELECT ?,?,?,? UNION";
-
-						// increment limit
-						counter += 4;
-					}
-				}
 
 				// add parameters
 				params.add(maturityParameter.getDescription());
 				params.add(getLinefromMaturityCategory(maturityParameter.getDescription()));
 				params.add(i);
 
-				// System.out.print(maturityParameter.getDescription() +
-				// ":::SML level: " + i +
-				// "::: value: ");
-
 				switch (i) {
 					case 0: {
-						// System.out.println(maturityParameter.getSMLLevel0());
 						params.add(maturityParameter.getSMLLevel0());
 						break;
 					}
 					case 1: {
-						// System.out.println(maturityParameter.getSMLLevel1());
 						params.add(maturityParameter.getSMLLevel1());
 						break;
 					}
 					case 2: {
-						// System.out.println(maturityParameter.getSMLLevel2());
 						params.add(maturityParameter.getSMLLevel2());
 						break;
 					}
 					case 3: {
-						// System.out.println(maturityParameter.getSMLLevel3());
 						params.add(maturityParameter.getSMLLevel3());
 						break;
 					}
 					case 4: {
-						// System.out.println(maturityParameter.getSMLLevel4());
 						params.add(maturityParameter.getSMLLevel4());
 						break;
 					}
 					case 5: {
-						// System.out.println(maturityParameter.getSMLLevel5());
 						params.add(maturityParameter.getSMLLevel5());
 						break;
 					}
 				}
+
+				// execute the query
+				writer.insert("maturity_required_LIPS", params);
+				params.clear();
 			}
 		}
-		// ****************************************************************
-		// * execute last part of maturity parameters
-		// ****************************************************************
-
-		// execute the query
-		if (query.endsWith("UNION"))
-			query = query.substring(0, query.length() - 6);
-		if (!query.isEmpty())
-			sqlite.query(query, params);
 	}
 
 	/**
@@ -1324,109 +925,37 @@ public class ExportAnalysis {
 	private void exportRiskAcceptanceParameters() throws SQLException {
 		if (analysis.getType() == AnalysisType.QUANTITATIVE)
 			return;
-		final String baseQuery = "INSERT INTO risk_acceptance SELECT ? as label, ? as level, ? as color, ? as description";
-		final String unionQuery = " UNION SELECT ?,?,?,?";
-		final List<Object> params = new ArrayList<>();
-		
-		String query = "";
-
-		for (RiskAcceptanceParameter parameter : analysis.getRiskAcceptanceParameters()) {
-			if (query.isEmpty())
-				query = baseQuery;
-			else if (params.size() + 4 > 999) {
-				sqlite.query(query, params);
-				query = baseQuery;
-				params.clear();
-			} else
-				query += unionQuery;
-			params.add(parameter.getLabel());
-			params.add(parameter.getValue().intValue());
-			params.add(parameter.getColor());
-			params.add(parameter.getDescription());
-		}
-
-		if (!query.isEmpty())
-			sqlite.query(query, params);
-
+		for (RiskAcceptanceParameter parameter : analysis.getRiskAcceptanceParameters())
+			writer.insert("risk_acceptance", parameter.getLabel(), parameter.getValue().intValue(), parameter.getColor(),
+					parameter.getDescription());
 	}
 
 	private void exportIlrSoaScaleParameters() throws SQLException {
-		final String baseQuery = "INSERT INTO ilr_soa_scale SELECT ? as level, ? as color, ? as description";
-		final String unionQuery = " UNION SELECT ?,?,?";
-		final List<Object> params = new ArrayList<>();
-		
-		String query = "";
-
-		for (IlrSoaScaleParameter parameter : analysis.getIlrSoaScaleParameters()) {
-			if (query.isEmpty())
-				query = baseQuery;
-			else if (params.size() + 3 > 999) {
-				sqlite.query(query, params);
-				query = baseQuery;
-				params.clear();
-			} else
-				query += unionQuery;
-			params.add(parameter.getValue().intValue());
-			params.add(parameter.getColor());
-			params.add(parameter.getDescription());
-		}
-
-		if (!query.isEmpty())
-			sqlite.query(query, params);
-
+		for (IlrSoaScaleParameter parameter : analysis.getIlrSoaScaleParameters())
+			writer.insert("ilr_soa_scale", parameter.getValue().intValue(), parameter.getColor(),
+					parameter.getDescription());
 	}
 
 	private void exportSettings() throws SQLException {
 
 		System.out.println("Export settings");
 
-		// ****************************************************************
-		// * initialise variables
-		// ****************************************************************
-		StringBuilder query = new StringBuilder();
-		List<Object> params = new ArrayList<>();
-		int counter = 0;
-
-		for (Entry<?, ?> setting : analysis.getSettings().entrySet()) {
-			counter += prepareQuery(params, "INSERT INTO settings SELECT ? as name, ? as value",
-					2, query, counter);
-			params.add(setting.getKey());
-			params.add(setting.getValue());
-		}
-
-		if (!params.isEmpty())
-			sqlite.query(query.toString(), params);
+		for (Entry<?, ?> setting : analysis.getSettings().entrySet())
+			writer.insert("settings", setting.getKey(), setting.getValue());
 
 	}
 
 	private void exportImpactType() throws SQLException {
-		List<Object> params = new ArrayList<>();
-		String query = "", unionQuery = " UNION SELECT ?,?,?,?",
-				baseQuery = "INSERT INTO impact_type SELECT ? as name, ? as acronym,? as translation, ? as short_name";
 		for (ScaleType scaleType : scaleTypes) {
-			if (query.isEmpty())
-				query = baseQuery;
-			else if (params.size() + 4 > 999) {
-				sqlite.query(query, params);
-				query = baseQuery;
-				params.clear();
-			} else
-				query += unionQuery;
-			params.add(scaleType.getName());
-			params.add(scaleType.getAcronym());
 			Translation translate = scaleType.get(analysis.getLanguage().getAlpha2());
 			if (translate == null) {
 				translate = scaleType.get("EN");
 				if (translate == null)
 					translate = new Translation(scaleType.getDisplayName(), scaleType.getShortName());
 			}
-			params.add(translate.getName());
-			params.add(translate.getShortName());
+			writer.insert("impact_type", scaleType.getName(), scaleType.getAcronym(), translate.getName(),
+					translate.getShortName());
 		}
-
-		if (!query.isEmpty())
-			sqlite.query(query, params);
-
 	}
 
 	/**
@@ -1440,41 +969,12 @@ public class ExportAnalysis {
 		System.out.println("Export assets");
 
 		// ****************************************************************
-		// * initialise variables
-		// ****************************************************************
-		StringBuilder query = new StringBuilder();
-		List<Object> params = new ArrayList<>();
-
-		int counter = 0;
-
-		// ****************************************************************
-		// * export asset types
+		// * export asset types
 		// ****************************************************************
 
 		// parse asset types
-		for (AssetType assetType : serviceAssetType.getAll()) {
-
-			// build query
-			counter += prepareQuery(params, "INSERT INTO asset_types SELECT ? as id_type_asset, ? as name_type_asset",
-					2, query, counter);
-
-			// add parameters
-
-			params.add(assetType.getId());
-			params.add(assetType.getName());
-
-			// execute query
-
-		}
-
-		if (!params.isEmpty()) {
-			sqlite.query(query.toString(), params);
-			params.clear();
-		}
-
-		query.setLength(0);
-
-		counter = 0;
+		for (AssetType assetType : serviceAssetType.getAll())
+			writer.insert("asset_types", assetType.getId(), assetType.getName());
 
 		// ****************************************************************
 		// * export Assets
@@ -1488,30 +988,11 @@ public class ExportAnalysis {
 			// ****************************************************************
 			// * export asset
 			// ****************************************************************
-
-			counter += prepareQuery(params,
-					"INSERT INTO assets SELECT ? as id_asset, ? as name_asset, ? as id_type_asset, ? as value_asset, ? as comment_asset, ? as comment_asset_2, ? as related_name, ? as sel_asset, ? as total_ALE",
-					9, query, counter);
-
-			// add parameters
-			params.add(asset.getId());
-			params.add(asset.getName());
-			params.add(asset.getAssetType().getId());
-			params.add(asset.getValue());
-			params.add(asset.getComment());
-			params.add(asset.getHiddenComment());
-			params.add(asset.getRelatedName());
-			if (asset.isSelected()) {
-				params.add(Constant.ASSET_SELECTED);
-			} else {
-				params.add(Constant.EMPTY_STRING);
-			}
 			final List<Assessment> assessments = assessmentsAsset.get(asset);
-			params.add(assessments == null ? 0 : assessments.stream().mapToDouble(Assessment::getALE).sum());
-		}
-
-		if (!params.isEmpty()) {
-			sqlite.query(query.toString(), params);
+			writer.insert("assets", asset.getId(), asset.getName(), asset.getAssetType().getId(), asset.getValue(),
+					asset.getComment(), asset.getHiddenComment(), asset.getRelatedName(),
+					asset.isSelected() ? Constant.ASSET_SELECTED : Constant.EMPTY_STRING,
+					assessments == null ? 0 : assessments.stream().mapToDouble(Assessment::getALE).sum());
 		}
 	}
 
@@ -1534,9 +1015,6 @@ public class ExportAnalysis {
 		final String[] assetTypeNames = Constant.ASSET_TYPES.split(",");
 		final Map<String, AssetType> assetTypes = serviceAssetType.getAll().stream()
 				.collect(Collectors.toMap(AssetType::getName, Function.identity()));
-		String query = "",
-				unionQuery = " UNION SELECT ?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?",
-				baseQuery = "INSERT INTO threats SELECT ? as id_threat, ? as name_threat, ? as type_threat, ? as linked_asset_threat, ? as description_threat, ? as sel_threat, ? as threat_code, ? as vulnerability_code, ? as serv, ? as info, ? as sw, ? as hw, ? as net, ? as staff, ? as iv, ? as busi, ? as fin, ? as compl,? as sys,? as site,? as out, ? as confidentiality, ? as integrity, ? as availability, ? as exploitability, ? as reliability,? as ilr, ? as d1, ? as d2 , ? as d3, ? as d4, ? as d5, ? as d6, ? as d61, ? as d62, ? as d63, ? as d64, ? as d7, ? as i1, ? as i2, ? as i3, ? as i4, ? as i5, ? as i6, ? as i7, ? as i8, ? as i81, ? as i82, ? as i83, ? as i84, ? as i9, ? as i10, ? as preventive, ? as detective, ? as limitative, ? as corrective, ? as intentional, ? as accidental, ? as environmental, ? as internal_threat, ? as external_threat";
 
 		// ****************************************************************
 		// * export scenarios
@@ -1546,15 +1024,6 @@ public class ExportAnalysis {
 			// parse scenarios
 			for (Scenario scenario : this.analysis.getScenarios()) {
 
-				if (query.isEmpty())
-					query = baseQuery;
-				else if (params.size() + SCENARIO_COLUMN_COUNT > 999) {
-					sqlite.query(query, params);
-					query = baseQuery;
-					params.clear();
-				} else
-					query += unionQuery;
-
 				params.add(scenario.getId());
 				params.add(scenario.getName());
 				params.add(scenario.getType().name());
@@ -1597,37 +1066,16 @@ public class ExportAnalysis {
 				params.add(scenario.getEnvironmental());
 				params.add(scenario.getInternalThreat());
 				params.add(scenario.getExternalThreat());
-			}
-
-			// execute the query
-			if (!query.isEmpty())
-				sqlite.query(query, params);
 
-			query = "";
-			unionQuery = " UNION SELECT ?,?";
-			baseQuery = "INSERT INTO threat_assets SELECT ? as id_threat, ? as id_asset";
-			params.clear();
+				// execute the query
+				writer.insert("threats", params);
+				params.clear();
+			}
 
 			for (Scenario scenario : scenarios) {
-				if (query.isEmpty())
-					query = baseQuery;
-				else if (params.size() + 2 * scenario.getLinkedAssets().size() > 999) {
-					sqlite.query(query, params);
-					query = baseQuery;
-					params.clear();
-				} else
-					query += unionQuery;
-				int count = scenario.getLinkedAssets().size();
-				for (Asset asset : scenario.getLinkedAssets()) {
-					params.add(scenario.getId());
-					params.add(asset.getId());
-					if (--count > 0)
-						query += unionQuery;
-				}
+				for (Asset asset : scenario.getLinkedAssets())
+					writer.insert("threat_assets", scenario.getId(), asset.getId());
 			}
-			// execute the query
-			if (!query.isEmpty())
-				sqlite.query(query, params);
 		} catch (Exception e) {
 			System.out.println(params);
 			throw e;
@@ -1649,7 +1097,6 @@ public class ExportAnalysis {
 		// * initialise variables
 		// ****************************************************************
 
-		final List<Object> params = new ArrayList<Object>();
 		final Map<Integer, Double> totalALEs = new HashMap<Integer, Double>();
 
 		for (Assessment assessment : this.analysis.getAssessments()) {
@@ -1663,77 +1110,28 @@ public class ExportAnalysis {
 			totalALEs.put(key, totalALE);
 		}
 
-		String query = "", unionQuery = " UNION SELECT ?,?,?,?,?,?,?,?,?,?,?,?,?",
-				baseQuery = "INSERT INTO Assessment SELECT ? as id_asset, ? as id_threat,? as selected, ? as impact_hidden,? as potentiality,? as potentiality_hidden,? as vulnerability,? as comment,? as comment_2,? as cockpit, ? as owner,"
-						+ "? as total_ALE,? as uncertainty";
 		// ****************************************************************
 		// * export assessment
 		// ****************************************************************
 
 		// parse assessment
 		for (Assessment assessment : analysis.getAssessments()) {
-			if (query.isEmpty())
-				query = baseQuery;
-			else if (params.size() + 13 > 999) {
-				sqlite.query(query, params);
-				query = baseQuery;
-				params.clear();
-			} else
-				query += unionQuery;
-			Integer key = assessment.getAsset().getId();
-			// add parameters
-			params.add(assessment.getAsset().getId());
-			params.add(assessment.getScenario().getId());
-			params.add(assessment.isSelected() ? Constant.ASSESSMENT_SELECTED : Constant.EMPTY_STRING);
-			params.add(assessment.getImpactReal());
-			if (assessment.getLikelihood() == null)
-				params.add("0");
-			else
-				params.add(assessment.getLikelihood().getRaw() + "");
-			params.add(assessment.getLikelihoodReal());
-			params.add(assessment.getVulnerability());
-			params.add(assessment.getComment());
-			params.add(assessment.getHiddenComment());
-			params.add(assessment.getCockpit());
-			params.add(assessment.getOwner());
-			params.add(totalALEs.get(key));
-			params.add(assessment.getUncertainty());
+			writer.insert("assessment", assessment.getAsset().getId(), assessment.getScenario().getId(),
+					assessment.isSelected() ? Constant.ASSESSMENT_SELECTED : Constant.EMPTY_STRING,
+					assessment.getImpactReal(),
+					assessment.getLikelihood() == null ? "0" : assessment.getLikelihood().getRaw() + "",
+					assessment.getLikelihoodReal(), assessment.getVulnerability(), assessment.getComment(),
+					assessment.getHiddenComment(), assessment.getCockpit(), assessment.getOwner(),
+					totalALEs.get(assessment.getAsset().getId()), assessment.getUncertainty());
 		}
-		// execute the query
-		if (!query.isEmpty())
-			sqlite.query(query, params);
 
-		query = "";
-		unionQuery = " UNION SELECT ?,?,?,?,?";
-		baseQuery = "INSERT INTO assessment_impacts SELECT ? as id_asset, ? as id_threat,? as name,? as value, ? as raw_value";
-		params.clear();
 		for (Assessment assessment : analysis.getAssessments()) {
-			if (query.isEmpty())
-				query = baseQuery;
-			else if (params.size() + (assessment.getImpacts().size() * 5) > 999) {
-				sqlite.query(query, params);
-				query = baseQuery;
-				params.clear();
-			} else
-				query += unionQuery;
-			int count = assessment.getImpacts().size();
 			for (IValue value : assessment.getImpacts()) {
-				params.add(assessment.getAsset().getId());
-				params.add(assessment.getScenario().getId());
-				params.add(value.getName());
-				params.add(value.getReal());
-				if (value instanceof AbstractValue)
-					params.add("");
-				else
-					params.add(value.getRaw().toString());
-				if (--count > 0)
-					query += unionQuery;
+				writer.insert("assessment_impacts", assessment.getAsset().getId(), assessment.getScenario().getId(),
+						value.getName(), value.getReal(),
+						value instanceof AbstractValue ? "" : value.getRaw().toString());
 			}
-
 		}
-		// execute the query
-		if (!query.isEmpty())
-			sqlite.query(query, params);
 
 	}
 
@@ -1750,12 +1148,10 @@ public class ExportAnalysis {
 		// ****************************************************************
 		// * initialise variables
 		// ****************************************************************
-		List<Object> measureparams = new ArrayList<Object>(), specparams = new ArrayList<Object>(),
-				defaultspecparams = new ArrayList<Object>();
+		List<Object> measureparams = new ArrayList<Object>();
 		MaturityStandard maturityStandard = null;
 		MaturityMeasure maturity = null;
-		String measurequery = "", specdefaultquery = "";
-		int measurecounter = 0, specdefaultcounter = 0, measureIndex = 1;
+		int measureIndex = 1;
 		List<IAcronymParameter> expressionParameters = analysis.getExpressionParameters();
 
 		// ****************************************************************
@@ -1782,84 +1178,12 @@ public class ExportAnalysis {
 				// * parse measures of this standard
 				// ****************************************************************
 
-				// reinitialise variables
-				measureparams.clear();
-				specparams.clear();
-				defaultspecparams.clear();
-				measurequery = "";
-				specdefaultquery = "";
-
 				// parse measures
 				for (int index = 0; index < normalStandard.getMeasures().size(); index++) {
 
 					// store measure
 					NormalMeasure measure = normalStandard.getMeasure(index);
 
-					// ****************************************************************
-					// * export measure
-					// ****************************************************************
-
-					// check if first part of query -> YES
-					if (measurequery.isEmpty()) {
-
-						// build query
-						measurequery = "INSERT INTO measures SELECT ? as 'id_norme',? as 'name_norme', ? as 'version_norme', ? as 'norme_description', ? as 'norme_type',"
-								+ "? as 'norme_computable',? as 'norme_analysisOnly',? as 'ref_measure',? as 'measure_computable',? as 'domain_measure',"
-								+ "? as 'question_measure',? as 'strength_measure',? as 'strength_sectoral',? as 'confidentiality',"
-								+ "? as 'integrity',? as 'availability',? as `exploitability`, ? as `reliability`, ? as `ilr`,? as 'd1',? as 'd2',? as 'd3',? as 'd4',? as 'd5',? as 'd6',"
-								+ "? as 'd61',? as 'd62',? as 'd63',? as 'd64',? as 'd7',? as 'i1',? as 'i2',? as 'i3',? as 'i4',"
-								+ "? as 'i5',? as 'i6',? as 'i7',? as 'i8',? as 'i81',? as 'i82',? as 'i83',? as 'i84',? as 'i9',"
-								+ "? as 'i10',? as 'preventive',? as 'detective',? as 'limiting',? as 'corrective',? as 'intentional',"
-								+ "? as 'accidental',? as 'environmental',? as 'internal_threat',? as 'external_threat',? as 'internal_setup',"
-								+ "? as 'external_setup',? as 'investment',? as 'lifetime',? as 'internal_maintenance',? as 'external_maintenance',"
-								+ "? as 'recurrent_investment',? as 'implmentation_rate',? as 'status',? as 'comment',? as 'todo',? as 'revision',"
-								+ "? as 'responsible',? as 'phase',? as 'importance',? as 'soa_reference',? as 'soa_risk',? as 'soa_comment',? as 'index2' UNION";
-
-						// System.out.println(measurequery);
-
-						// set ? limit
-						measurecounter = MEASURE_ROW_COUNT;
-					} else {
-
-						// check if first part of query -> NO
-
-						// limit reached ? -> YES
-						if (measurecounter + MEASURE_ROW_COUNT >= 999) {
-
-							// execute query
-							measurequery = measurequery.substring(0, measurequery.length() - 6);
-							sqlite.query(measurequery, measureparams);
-
-							// clean parameters
-							measureparams.clear();
-
-							// reset query
-							measurequery = "INSERT INTO measures SELECT ? as 'id_norme', ? as 'name_norme',? as 'version_norme',? as 'norme_description',? as 'norme_type',"
-									+ "? as 'norme_computable',? as 'norme_analysisOnly',? as 'ref_measure',? as 'measure_computable',? as 'domain_measure',"
-									+ "? as 'question_measure',? as 'strength_measure',? as 'strength_sectoral',? as 'confidentiality',"
-									+ "? as 'integrity',? as 'availability', ? as `exploitability`, ? as `reliability`, ? as `ilr`, ? as 'd1',? as 'd2',? as 'd3',? as 'd4',? as 'd5',? as 'd6',"
-									+ "? as 'd61',? as 'd62',? as 'd63',? as 'd64',? as 'd7',? as 'i1',? as 'i2',? as 'i3',? as 'i4',"
-									+ "? as 'i5',? as 'i6',? as 'i7',? as 'i8',? as 'i81',? as 'i82',? as 'i83',? as 'i84',? as 'i9',"
-									+ "? as 'i10',? as 'preventive',? as 'detective',? as 'limiting',? as 'corrective',? as 'intentional',"
-									+ "? as 'accidental',? as 'environmental',? as 'internal_threat',? as 'external_threat',? as 'internal_setup',"
-									+ "? as 'external_setup',? as 'investment',? as 'lifetime',? as 'internal_maintenance',? as 'external_maintenance',"
-									+ "? as 'recurrent_investment',? as 'implmentation_rate',? as 'status',? as 'comment',? as 'todo',? as 'revision',"
-									+ "? as 'responsible',? as 'phase',? as 'importance',? as 'soa_reference',? as 'soa_risk',? as 'soa_comment',? as 'index2' UNION";
-
-							// reset limit counter
-							measurecounter = MEASURE_ROW_COUNT;
-						} else {
-
-							// limit reached ? -> NO
-
-							// add data to query
-							measurequery += " SELECT ?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,? UNION";
-
-							// increment limit
-							measurecounter += MEASURE_ROW_COUNT;
-						}
-					}
-
 					// ****************************************************************
 					// * add params to query
 					// ****************************************************************
@@ -1912,6 +1236,12 @@ public class ExportAnalysis {
 					measureparams.add(measure.getMeasurePropertyList().getSoaComment());
 					measureparams.add(measureIndex++);
 
+					// ****************************************************************
+					// * export measure
+					// ****************************************************************
+					writer.insert("measures", measureparams);
+					measureparams.clear();
+
 					// ****************************************************************
 					// * export asset type values
 					// ****************************************************************
@@ -1923,86 +1253,15 @@ public class ExportAnalysis {
 						AssetTypeValue assetTypeValue = measure.getAssetTypeValue(indexAssetTypeValue);
 
 						// ****************************************************************
-						// * export asset type value into
-						// spec_default_type_asset_measure sqlite
-						// table
+						// * export asset type value into spec_type_asset_measure
+						// sqlite table
 						// ****************************************************************
-
-						// build query
-
-						// check if first part -> YES
-						if (specdefaultquery.isEmpty()) {
-
-							// set query
-							specdefaultquery = "INSERT INTO spec_type_asset_measure SELECT ? as 'id_type_asset', ? as 'id_norme', ? as 'version_norme', ? as 'ref_measure', ? as 'value_spec' UNION";
-
-							// set limit
-							specdefaultcounter = 5;
-
-						} else {
-
-							// check if first part -> NO
-
-							// check if limit reached -> YES
-							if (specdefaultcounter + 5 >= 999) {
-
-								// execute query
-								specdefaultquery = specdefaultquery.substring(0, specdefaultquery.length() - 6);
-								sqlite.query(specdefaultquery, defaultspecparams);
-
-								// reset parameters
-								defaultspecparams.clear();
-
-								// reset query
-								specdefaultquery = "INSERT INTO spec_type_asset_measure SELECT ? as 'id_type_asset', ? as 'id_norme', ? as 'version_norme', ? as 'ref_measure', ? as 'value_spec' UNION";
-
-								// reset limit
-								specdefaultcounter = 5;
-							} else {
-
-								// check if limit reached -> NO
-
-								// add insert data to query
-								specdefaultquery += " SELECT ?, ?, ?, ?, ? UNION";
-
-								// incrment limit
-								specdefaultcounter += 5;
-							}
-						}
-
-						// add parameters
-						defaultspecparams.add(assetTypeValue.getAssetType().getId());
-
-						defaultspecparams.add(normalStandard.getStandard().getLabel());
-
-						defaultspecparams.add(normalStandard.getStandard().getVersion());
-
-						defaultspecparams.add(measure.getMeasureDescription().getReference());
-
-						defaultspecparams.add(assetTypeValue.getValue());
-
+						writer.insert("spec_type_asset_measure", assetTypeValue.getAssetType().getId(),
+								normalStandard.getStandard().getLabel(), normalStandard.getStandard().getVersion(),
+								measure.getMeasureDescription().getReference(), assetTypeValue.getValue());
 					}
 				}
 
-				// ****************************************************************
-				// * execute last part of inserts of measures and asset type
-				// values
-				// ****************************************************************
-
-				// remove UNION from queries
-				if (measurequery.endsWith("UNION"))
-					measurequery = measurequery.substring(0, measurequery.length() - 6);
-				if (specdefaultquery.endsWith("UNION"))
-					specdefaultquery = specdefaultquery.substring(0, specdefaultquery.length() - 6);
-
-				// execute the query
-				if (!measurequery.isEmpty())
-					sqlite.query(measurequery, measureparams);
-
-				if (!specdefaultquery.isEmpty())
-					// execute the query
-					sqlite.query(specdefaultquery, defaultspecparams);
-
 			} else if (analysisStandard instanceof AssetStandard) {
 
 				// store standard as measurestandard
@@ -2012,81 +1271,12 @@ public class ExportAnalysis {
 				// * parse measures of this standard
 				// ****************************************************************
 
-				// reinitialise variables
-				measureparams.clear();
-				defaultspecparams.clear();
-				measurequery = "";
-				specdefaultquery = "";
-
 				// parse measures
 				for (int index = 0; index < assetstandard.getMeasures().size(); index++) {
 
 					// store measure
 					AssetMeasure measure = assetstandard.getMeasure(index);
 
-					// ****************************************************************
-					// * export measure
-					// ****************************************************************
-
-					// check if first part of query -> YES
-					if (measurequery.isEmpty()) {
-
-						// build query
-						measurequery = "INSERT INTO measures SELECT ? as 'id_norme',? as 'name_norme',? as 'version_norme',? as 'norme_description',? as 'norme_type',"
-								+ "? as 'norme_computable',? as 'norme_analysisOnly',? as 'ref_measure',? as 'measure_computable',? as 'domain_measure',"
-								+ "? as 'question_measure',? as 'strength_measure',? as 'strength_sectoral',? as 'confidentiality',? as 'integrity',"
-								+ "? as 'availability' , ? as `exploitability`, ? as `reliability` , ? as `ilr` ,? as 'd1',? as 'd2',? as 'd3',? as 'd4',? as 'd5',"
-								+ "? as 'd6',? as 'd61',? as 'd62',? as 'd63',? as 'd64',? as 'd7',? as 'i1',? as 'i2',? as 'i3',"
-								+ "? as 'i4',? as 'i5',? as 'i6',? as 'i7',? as 'i8',? as 'i81',? as 'i82',? as 'i83',? as 'i84',"
-								+ "? as 'i9',? as 'i10',? as 'preventive',? as 'detective',? as 'limiting',? as 'corrective',? as 'intentional',"
-								+ "? as 'accidental',? as 'environmental',? as 'internal_threat',? as 'external_threat',? as 'internal_setup',"
-								+ "? as 'external_setup',? as 'investment',? as 'lifetime',? as 'internal_maintenance',? as 'external_maintenance',"
-								+ "? as 'recurrent_investment',? as 'implmentation_rate',? as 'status',? as 'comment',? as 'todo',? as 'revision',"
-								+ "? as 'responsible',? as 'phase',? as 'importance',? as 'soa_reference',? as 'soa_risk',? as 'soa_comment',? as 'index2' UNION";
-
-						// set ? limit
-						measurecounter = MEASURE_ROW_COUNT;
-					} else {
-
-						// check if first part of query -> NO
-
-						// limit reached ? -> YES
-						if (measurecounter + MEASURE_ROW_COUNT >= 999) {
-
-							// execute query
-							measurequery = measurequery.substring(0, measurequery.length() - 6);
-							sqlite.query(measurequery, measureparams);
-
-							// clean parameters
-							measureparams.clear();
-
-							// reset query
-							measurequery = "INSERT INTO measures SELECT ? as 'id_norme',? as 'name_norme',? as 'version_norme',? as 'norme_description',? as 'norme_type',"
-									+ "? as 'norme_computable',? as 'norme_analysisOnly',? as 'ref_measure',? as 'measure_computable',? as 'domain_measure',"
-									+ "? as 'question_measure',? as 'strength_measure',? as 'strength_sectoral',? as 'confidentiality',? as 'integrity',"
-									+ "? as 'availability', ? as `exploitability`, ? as `reliability` , ? as `ilr` ,? as 'd1',? as 'd2',? as 'd3',? as 'd4',? as 'd5',"
-									+ "? as 'd6',? as 'd61',? as 'd62',? as 'd63',? as 'd64',? as 'd7',? as 'i1',? as 'i2',? as 'i3',"
-									+ "? as 'i4',? as 'i5',? as 'i6',? as 'i7',? as 'i8',? as 'i81',? as 'i82',? as 'i83',? as 'i84',"
-									+ "? as 'i9',? as 'i10',? as 'preventive',? as 'detective',? as 'limiting',? as 'corrective',? as 'intentional',"
-									+ "? as 'accidental',? as 'environmental',? as 'internal_threat',? as 'external_threat',? as 'internal_setup',"
-									+ "? as 'external_setup',? as 'investment',? as 'lifetime',? as 'internal_maintenance',? as 'external_maintenance',"
-									+ "? as 'recurrent_investment',? as 'implmentation_rate',? as 'status',? as 'comment',? as 'todo',? as 'revision',"
-									+ "? as 'responsible',? as 'phase',? as 'importance',? as 'soa_reference',? as 'soa_risk',? as 'soa_comment',? as 'index2' UNION";
-
-							// reset limit counter
-							measurecounter = MEASURE_ROW_COUNT;
-						} else {
-
-							// limit reached ? -> NO
-
-							// add data to query
-							measurequery += " SELECT ?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,? UNION";
-
-							// increment limit
-							measurecounter += MEASURE_ROW_COUNT;
-						}
-					}
-
 					// ****************************************************************
 					// * add params to query
 					// ****************************************************************
@@ -2139,6 +1329,12 @@ public class ExportAnalysis {
 					measureparams.add(measure.getMeasurePropertyList().getSoaComment());
 					measureparams.add(measureIndex++);
 
+					// ****************************************************************
+					// * export measure
+					// ****************************************************************
+					writer.insert("measures", measureparams);
+					measureparams.clear();
+
 					// ****************************************************************
 					// * export asset values
 					// ****************************************************************
@@ -2150,89 +1346,14 @@ public class ExportAnalysis {
 						MeasureAssetValue assetValue = measure.getAssetValue(indexAssetTypeValue);
 
 						// ****************************************************************
-						// * export asset type value into
-						// spec_default_type_asset_measure sqlite
-						// table
+						// * export asset value into spec_asset_measure sqlite table
 						// ****************************************************************
-
-						// build query
-
-						// check if first part -> YES
-						if (specdefaultquery.isEmpty()) {
-
-							// set query
-							specdefaultquery = "INSERT INTO spec_asset_measure SELECT ? as 'id_asset', ? as 'id_norme', ? as 'version_norme', ? as 'ref_measure', ? as 'value_spec' UNION";
-
-							// set limit
-							specdefaultcounter = 5;
-
-						} else {
-
-							// check if first part -> NO
-
-							// check if limit reached -> YES
-							if (specdefaultcounter + 5 >= 999) {
-
-								// execute query
-								specdefaultquery = specdefaultquery.substring(0, specdefaultquery.length() - 6);
-								sqlite.query(specdefaultquery, defaultspecparams);
-
-								// reset parameters
-								defaultspecparams.clear();
-
-								// reset query
-								specdefaultquery = "INSERT INTO spec_asset_measure SELECT ? as 'id_asset', ? as 'id_norme', ? as 'version_norme', ? as 'ref_measure', ? as 'value_spec' UNION";
-
-								// reset limit
-								specdefaultcounter = 5;
-							} else {
-
-								// check if limit reached -> NO
-
-								// add insert data to query
-								specdefaultquery += " SELECT ?, ?, ?, ?, ? UNION";
-
-								// incrment limit
-								specdefaultcounter += 5;
-							}
-						}
-
-						// add parameters
-						defaultspecparams.add(assetValue.getAsset().getId());
-
-						defaultspecparams.add(assetstandard.getStandard().getLabel());
-
-						defaultspecparams.add(assetstandard.getStandard().getVersion());
-
-						defaultspecparams.add(measure.getMeasureDescription().getReference());
-
-						defaultspecparams.add(assetValue.getValue());
-
-						// check if measure is level 3 -> YES
-
+						writer.insert("spec_asset_measure", assetValue.getAsset().getId(),
+								assetstandard.getStandard().getLabel(), assetstandard.getStandard().getVersion(),
+								measure.getMeasureDescription().getReference(), assetValue.getValue());
 					}
 				}
 
-				// ****************************************************************
-				// * execute last part of inserts of measures and asset type
-				// values
-				// ****************************************************************
-
-				// remove UNION from queries
-				if (measurequery.endsWith("UNION"))
-					measurequery = measurequery.substring(0, measurequery.length() - 6);
-
-				if (specdefaultquery.endsWith("UNION"))
-					specdefaultquery = specdefaultquery.substring(0, specdefaultquery.length() - 6);
-
-				// execute the query
-				if (!measurequery.isEmpty())
-					sqlite.query(measurequery, measureparams);
-
-				if (!specdefaultquery.isEmpty())
-					// execute the query
-					sqlite.query(specdefaultquery, defaultspecparams);
-
 			} else if (analysisStandard instanceof MaturityStandard) {
 
 				// ****************************************************************
@@ -2246,68 +1367,12 @@ public class ExportAnalysis {
 				// * parse all maturity measures
 				// ****************************************************************
 
-				// reinitialise variables
-				measureparams.clear();
-				specparams.clear();
-				measurequery = "";
-				measurecounter = 0;
-
 				// parse measures
 				for (int index = 0; index < maturityStandard.getMeasures().size(); index++) {
 
 					// store maturity measure
 					maturity = (MaturityMeasure) maturityStandard.getMeasure(index);
 
-					// ****************************************************************
-					// * export measure
-					// ****************************************************************
-
-					// check if first part -> YES
-					if (measurequery.isEmpty()) {
-
-						// set query
-						measurequery = "INSERT INTO maturities SELECT ? as 'name_norme', ? as 'version_norme', ? as 'norme_description', ? as 'norm_computable',? as 'ref',? as 'measure_computable',? as";
-						measurequery += " 'domain',? as 'phase',? as 'importance',? as 'status',? as 'rate',? as 'intwl',? as 'extwl',? as 'investment',? as 'lifetime', ? as ";
-						measurequery += "'internal_maintenance',? as 'external_maintenance',? as 'recurrent_investment',? as 'comment',? as 'todo', ? as 'responsible',? as 'sml1',? as 'sml2',? as 'sml3',";
-						measurequery += "? as 'sml4',? as 'sml5',? as 'index2',? as 'reached' UNION";
-
-						// set limit
-						measurecounter = MATURITY_MEASURE_ROW_COUNT;
-
-					} else {
-
-						// check if first part -> NO
-
-						// check if limit reached -> YES
-						if (measurecounter + MATURITY_MEASURE_ROW_COUNT >= 999) {
-
-							// execute query
-							measurequery = measurequery.substring(0, measurequery.length() - 6);
-							sqlite.query(measurequery, measureparams);
-
-							// clean parameters
-							measureparams.clear();
-
-							// reset query
-							measurequery = "INSERT INTO maturities SELECT ? as 'name_norme', ? as 'version_norme', ? as 'norme_description', ? as 'norm_computable',? as 'ref',? as 'measure_computable',? as";
-							measurequery += " 'domain',? as 'phase',? as 'importance',? as 'status',? as 'rate',? as 'intwl',? as 'extwl',? as 'investment',? as 'lifetime', ";
-							measurequery += "? as 'internal_maintenance',? as 'external_maintenance',? as 'recurrent_investment',? as 'comment',? as 'todo',? as 'responsible',? as 'sml1',? as 'sml2',? as 'sml3',";
-							measurequery += "? as 'sml4',? as 'sml5',? as 'index2',? as 'reached' UNION";
-
-							// reset limit
-							measurecounter = MATURITY_MEASURE_ROW_COUNT;
-						} else {
-
-							// limit reached -> NO
-
-							// add insert data to query
-							measurequery += " SELECT ?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,? UNION";
-
-							// increment limit
-							measurecounter += MATURITY_MEASURE_ROW_COUNT;
-						}
-					}
-
 					// add parameters
 					measureparams.add(maturity.getMeasureDescription().getStandard().getName());
 					measureparams.add(maturity.getMeasureDescription().getStandard().getVersion());
@@ -2339,19 +1404,13 @@ public class ExportAnalysis {
 					measureparams.add(maturity.getSML5Cost());
 					measureparams.add(measureIndex++);
 					measureparams.add(maturity.getReachedLevel());
-				}
-
-				// ****************************************************************
-				// * execute last insert query
-				// ****************************************************************
-
-				if (measurequery.endsWith("UNION"))
-					// remove UNION from query
-					measurequery = measurequery.substring(0, measurequery.length() - 6);
 
-				if (!measurequery.isEmpty())
-					// execute the query
-					sqlite.query(measurequery, measureparams);
+					// ****************************************************************
+					// * export measure
+					// ****************************************************************
+					writer.insert("maturities", measureparams);
+					measureparams.clear();
+				}
 			}
 		}
 	}
@@ -2369,7 +1428,7 @@ public class ExportAnalysis {
 		// ****************************************************************
 		// * export action plan types
 		// ****************************************************************
-		sqlite.query("INSERT INTO action_plan_type SELECT 1 as 'idActionPlanType','APN' as 'dtLabel'"
+		writer.execute("INSERT INTO action_plan_type SELECT 1 as 'idActionPlanType','APN' as 'dtLabel'"
 				+ "UNION SELECT 2,'APO' UNION SELECT 3,'APP' UNION SELECT 4,'APPN' UNION "
 				+ "SELECT 5,'APPO' UNION SELECT 6,'APPP'", null);
 
@@ -2391,80 +1450,19 @@ public class ExportAnalysis {
 	 */
 	private void exportActionPlanAssets(ActionPlanEntry actionPlanEntry) throws Exception {
 
-		// ****************************************************************
-		// * initialise variables
-		// ****************************************************************
-		List<Object> assetparams = new ArrayList<Object>();
-		String assetquery = "";
-		int assetcounter = 0;
-
 		for (int indexAssets = 0; indexAssets < actionPlanEntry.getActionPlanAssets().size(); indexAssets++) {
 
 			// ****************************************************************
 			// * export ALE value for entry
 			// ****************************************************************
-
-			// build query
-
-			// check if first part -> YES
-			if (assetquery.equals(Constant.EMPTY_STRING)) {
-
-				// set first part of query
-				assetquery = "INSERT INTO action_plan_asset SELECT ? as idActionPlanAssetCalculation, ? as idActionPlanCalculation, ? as idActionPlanType, ? as idNorm, ? as dtNormVersion,";
-				assetquery += "? as idMeasureActionPlan, ? as idAsset,? as dtCurrentALE UNION";
-
-				// set limit
-				assetcounter = 8;
-			} else {
-
-				// check if first part -> NO
-
-				// check if limit reached -> YES
-				if (assetcounter + 8 >= 999) {
-
-					// execute query
-					assetquery = assetquery.substring(0, assetquery.length() - 6);
-					sqlite.query(assetquery, assetparams);
-
-					// reset parameters
-					assetparams.clear();
-
-					// reset first part of query
-					assetquery = "INSERT INTO action_plan_asset SELECT ? as idActionPlanAssetCalculation, ? as idActionPlanCalculation, ? as idActionPlanType, ? as idNorm, ? as dtNormVersion,";
-					assetquery += "? as idMeasureActionPlan, ? as idAsset,? as dtCurrentALE UNION";
-
-					// reset limit
-					assetcounter = 8;
-				} else {
-
-					// check if limit reached -> NO
-
-					// add insert values
-					assetquery += " SELECT ?,?,?,?,?,?,?,? UNION";
-
-					// increment counter
-					assetcounter += 8;
-				}
-			}
-
-			// add parameters
-			assetparams.add(actionPlanEntry.getActionPlanAsset(indexAssets).getId());
-			assetparams.add(actionPlanEntry.getId());
-			assetparams.add(actionPlanEntry.getActionPlanType().getId());
-			assetparams.add(actionPlanEntry.getMeasure().getMeasureDescription().getStandard().getLabel());
-			assetparams.add(actionPlanEntry.getMeasure().getMeasureDescription().getStandard().getVersion());
-			assetparams.add(actionPlanEntry.getMeasure().getMeasureDescription().getReference());
-			assetparams.add(actionPlanEntry.getActionPlanAsset(indexAssets).getAsset().getId());
-			assetparams.add(actionPlanEntry.getActionPlanAsset(indexAssets).getCurrentALE());
+			writer.insert("action_plan_asset", actionPlanEntry.getActionPlanAsset(indexAssets).getId(),
+					actionPlanEntry.getId(), actionPlanEntry.getActionPlanType().getId(),
+					actionPlanEntry.getMeasure().getMeasureDescription().getStandard().getLabel(),
+					actionPlanEntry.getMeasure().getMeasureDescription().getStandard().getVersion(),
+					actionPlanEntry.getMeasure().getMeasureDescription().getReference(),
+					actionPlanEntry.getActionPlanAsset(indexAssets).getAsset().getId(),
+					actionPlanEntry.getActionPlanAsset(indexAssets).getCurrentALE());
 		}
-
-		// action plan asset ALE values
-
-		if (assetquery.endsWith("UNION"))
-			// execute query
-			assetquery = assetquery.substring(0, assetquery.length() - 6);
-		if (!assetquery.isEmpty())
-			sqlite.query(assetquery, assetparams);
 	}
 
 	/**
@@ -2481,7 +1479,6 @@ public class ExportAnalysis {
 		// * initialise variables
 		// ****************************************************************
 		List<Object> params = new ArrayList<>();
-		String query = "";
 
 		// ****************************************************************
 		// * export entry after entry
@@ -2491,9 +1488,6 @@ public class ExportAnalysis {
 			// * export the entry
 			// ****************************************************************
 
-			// build query
-			query = DatabaseHandler.generateInsertQuery("action_plan_summary", 20);
-
 			// add parameters
 			params.clear();
 			params.add(summaryStages.get(index).getId());
@@ -2518,7 +1512,7 @@ public class ExportAnalysis {
 			params.add(summaryStages.get(index).getTotalCostofStage());
 
 			// execute query
-			sqlite.query(query, params);
+			writer.insert("action_plan_summary", params);
 		}
 	}
 
@@ -2533,97 +1527,25 @@ public class ExportAnalysis {
 	 */
 	private void exportActionPlan(List<ActionPlanEntry> actionPlanEntries) throws Exception {
 
-		// ****************************************************************
-		// * initialise variables
-		// ****************************************************************
-		List<Object> params = new ArrayList<>();
-		String query = "";
-		ActionPlanEntry actionPlanEntry = null;
-		int counter = 0;
-
 		// ****************************************************************
 		// * export entry after entry
 		// ****************************************************************
-
-		if (actionPlanEntries.isEmpty())
-			return;
-
-		for (int index = 0; index < actionPlanEntries.size(); index++) {
-
-			// store entry
-			actionPlanEntry = actionPlanEntries.get(index);
+		for (ActionPlanEntry actionPlanEntry : actionPlanEntries) {
 
 			// ****************************************************************
 			// * export the entry
 			// ****************************************************************
-
-			// build query
-
-			// check if first part -> YES
-			if (query.equals(Constant.EMPTY_STRING)) {
-
-				// set first part query
-				query = "INSERT INTO action_plan SELECT ? as 'idActionPlanCalculation',? as 'idActionPlanType', ? as 'norm',? as 'idMeasure',? as 'dtOrder',? as 'dtCost',? as 'dtROI',";
-				query += "? as 'dtTotalALE',? as 'dtDeltaALE' UNION";
-
-				// set limit
-				counter = 9;
-			} else {
-
-				// check if first part -> NO
-
-				// check if limit reached -> YES
-				if (counter + 9 >= 999) {
-
-					// execute query
-					query = query.substring(0, query.length() - 6);
-					sqlite.query(query, params);
-
-					// clean params
-					params.clear();
-
-					// reset first part query
-					query = "INSERT INTO action_plan SELECT ? as 'idActionPlanCalculation',? as 'idActionPlanType', ? as 'norm',? as 'idMeasure',? as 'dtOrder',? as 'dtCost',? as 'dtROI',";
-					query += "? as 'dtTotalALE',? as 'dtDeltaALE' UNION";
-
-					// reset limit
-					counter = 9;
-				} else {
-
-					// check if limit reached -> NO
-					query += " SELECT ?,?,?,?,?,?,?,?,? UNION";
-					counter += 9;
-				}
-			}
-
-			// add parameters
-			params.add(actionPlanEntry.getId());
-			params.add(actionPlanEntry.getActionPlanType().getId());
-			params.add(actionPlanEntry.getMeasure().getMeasureDescription().getStandard().getLabel());
-			params.add(actionPlanEntry.getMeasure().getMeasureDescription().getReference());
-			params.add(actionPlanEntry.getPosition());
-			params.add(actionPlanEntry.getMeasure().getCost());
-			params.add(actionPlanEntry.getROI());
-			params.add(actionPlanEntry.getTotalALE());
-			params.add(actionPlanEntry.getDeltaALE());
+			writer.insert("action_plan", actionPlanEntry.getId(), actionPlanEntry.getActionPlanType().getId(),
+					actionPlanEntry.getMeasure().getMeasureDescription().getStandard().getLabel(),
+					actionPlanEntry.getMeasure().getMeasureDescription().getReference(),
+					actionPlanEntry.getPosition(), actionPlanEntry.getMeasure().getCost(), actionPlanEntry.getROI(),
+					actionPlanEntry.getTotalALE(), actionPlanEntry.getDeltaALE());
 
 			// ****************************************************************
 			// * export action plan assets for this action plan entry
 			// ****************************************************************
 			exportActionPlanAssets(actionPlanEntry);
 		}
-
-		// ****************************************************************
-		// * export last insert part of action plan
-		// ****************************************************************
-
-		// action plans
-
-		// execute query
-		if (query.endsWith("UNION"))
-			query = query.substring(0, query.length() - 6);
-		if (query.isEmpty())
-			sqlite.query(query, params);
 	}
 
 	/**
@@ -2636,163 +1558,59 @@ public class ExportAnalysis {
 
 		System.out.println("Export RiskRegister");
 
-		// ****************************************************************
-		// * initialise variables
-		// ****************************************************************
-		List<Object> params = new ArrayList<>();
-
 		// ****************************************************************
 		// * Export the Risk Register Item by Item
 		// ****************************************************************
 
-		// build query
-
-		final StringBuilder query = new StringBuilder();
-		int counter = 0;
-		// String query = DatabaseHandler.generateInsertQuery("risk_register", 11);
-
 		// parse all Risk Register Entries
 		for (RiskRegisterItem registerItem : this.analysis.getRiskRegisters()) {
-
-			counter = prepareQuery(params,
-					"INSERT INTO risk_register SELECT ? as id_threat, ? as id_asset, ? as raw_evaluation_probability, ? as raw_evaluation_impact, ? as raw_evaluation_importance, ? as net_evaluation_probability, ? as net_evaluation_impact, ? as net_evaluation_importance, ? as expected_evaluation_probability, ? as expected_evaluation_impact, ? as expected_evaluation_importance",
-					11, query, counter);
-
-			// add parameters for the current Risk Register Item+
-			params.add(registerItem.getScenario().getId());
-			params.add(registerItem.getAsset().getId());
-			params.add(registerItem.getRawEvaluation().getProbability());
-			params.add(registerItem.getRawEvaluation().getImpact());
-			params.add(registerItem.getRawEvaluation().getImportance());
-			params.add(registerItem.getNetEvaluation().getProbability());
-			params.add(registerItem.getNetEvaluation().getImpact());
-			params.add(registerItem.getNetEvaluation().getImportance());
-			params.add(registerItem.getExpectedEvaluation().getProbability());
-			params.add(registerItem.getExpectedEvaluation().getImpact());
-			params.add(registerItem.getExpectedEvaluation().getImportance());
-			// execute query
-			// sqlite.query(query, params);
+			writer.insert("risk_register", registerItem.getScenario().getId(), registerItem.getAsset().getId(),
+					registerItem.getRawEvaluation().getProbability(), registerItem.getRawEvaluation().getImpact(),
+					registerItem.getRawEvaluation().getImportance(), registerItem.getNetEvaluation().getProbability(),
+					registerItem.getNetEvaluation().getImpact(), registerItem.getNetEvaluation().getImportance(),
+					registerItem.getExpectedEvaluation().getProbability(),
+					registerItem.getExpectedEvaluation().getImpact(),
+					registerItem.getExpectedEvaluation().getImportance());
 		}
-
-		if (!params.isEmpty())
-			sqlite.query(query.toString(), params);
 	}
 
 	private void exportDependencyGraph() throws Exception {
 
 		System.out.println("Export Dependency graph");
 
-		final List<Object> params = new ArrayList<>();
 		final List<AssetEdge> edges = new ArrayList<>();
 
-		StringBuilder query = new StringBuilder();
-		int counter = 0;
-
 		for (AssetNode node : analysis.getAssetNodes()) {
-			counter = prepareQuery(params,
-					"INSERT INTO asset_node SELECT ? as 'id_asset',? as 'confidentiality', ? as 'integrity',? as 'availability', ? as position_x, ? as position_y",
-					6, query, counter);
-			params.add(node.getAsset().getId());
-			params.add(node.getInheritedConfidentiality());
-			params.add(node.getInheritedIntegrity());
-			params.add(node.getInheritedAvailability());
-			if (node.getPosition() == null) {
-				params.add(null);
-				params.add(null);
-			} else {
-				params.add(node.getPosition().getX());
-				params.add(node.getPosition().getY());
-			}
+			if (node.getPosition() == null)
+				writer.insert("asset_node", node.getAsset().getId(), node.getInheritedConfidentiality(),
+						node.getInheritedIntegrity(), node.getInheritedAvailability(), null, null);
+			else
+				writer.insert("asset_node", node.getAsset().getId(), node.getInheritedConfidentiality(),
+						node.getInheritedIntegrity(), node.getInheritedAvailability(), node.getPosition().getX(),
+						node.getPosition().getY());
 			edges.addAll(node.getEdges().values());
-			// execute query
-		}
-
-		if (!params.isEmpty()) {
-			sqlite.query(query.toString(), params);
-			params.clear();
-		}
-
-		query.setLength(0);
-		counter = 0;
-
-		for (AssetEdge edge : edges) {
-			counter = prepareQuery(params,
-					"INSERT INTO asset_edge SELECT ? as 'id_parent',? as 'id_child', ? as 'weight'", 3, query,
-					counter);
-			params.add(edge.getParent().getAsset().getId());
-			params.add(edge.getChild().getAsset().getId());
-			params.add(edge.getWeight());
-
 		}
 
-		if (!params.isEmpty()) {
-			sqlite.query(query.toString(), params);
-			params.clear();
-		}
-
-		query.setLength(0);
-		counter = 0;
-
-		final String baseQuery = "INSERT INTO asset_node_impact SELECT ? as 'id_asset',? as 'impact_type', ? as 'category' , ? as 'impact_value'";
-		final int querySize = 4;
+		for (AssetEdge edge : edges)
+			writer.insert("asset_edge", edge.getParent().getAsset().getId(), edge.getChild().getAsset().getId(),
+					edge.getWeight());
 
 		for (AssetNode node : analysis.getAssetNodes()) {
-			for (ILRImpact impact : node.getImpact().getConfidentialityImpacts().values()) {
-				counter = prepareQuery(params, baseQuery, querySize, query, counter);
-				params.add(node.getAsset().getId());
-				params.add(impact.getType().getName());
-				params.add(Constant.CONFIDENTIALITY);
-				params.add(impact.getValue());
-			}
-
-			for (ILRImpact impact : node.getImpact().getIntegrityImpacts().values()) {
-				counter = prepareQuery(params, baseQuery, querySize, query, counter);
-				params.add(node.getAsset().getId());
-				params.add(impact.getType().getName());
-				params.add(Constant.INTEGRITY);
-				params.add(impact.getValue());
-			}
+			for (ILRImpact impact : node.getImpact().getConfidentialityImpacts().values())
+				writer.insert("asset_node_impact", node.getAsset().getId(), impact.getType().getName(),
+						Constant.CONFIDENTIALITY, impact.getValue());
 
-			for (ILRImpact impact : node.getImpact().getAvailabilityImpacts().values()) {
-				counter = prepareQuery(params, baseQuery, querySize, query, counter);
-				params.add(node.getAsset().getId());
-				params.add(impact.getType().getName());
-				params.add(Constant.AVAILABILITY);
-				params.add(impact.getValue());
-			}
+			for (ILRImpact impact : node.getImpact().getIntegrityImpacts().values())
+				writer.insert("asset_node_impact", node.getAsset().getId(), impact.getType().getName(),
+						Constant.INTEGRITY, impact.getValue());
 
-		}
-
-		if (!params.isEmpty()) {
-			sqlite.query(query.toString(), params);
-			params.clear();
+			for (ILRImpact impact : node.getImpact().getAvailabilityImpacts().values())
+				writer.insert("asset_node_impact", node.getAsset().getId(), impact.getType().getName(),
+						Constant.AVAILABILITY, impact.getValue());
 		}
 
 	}
 
-	private int prepareQuery(final List<Object> params, final String baseQuery, final int querySize,
-			StringBuilder query, int counter) throws SQLException {
-		if (query.length() == 0) {
-			query.append(baseQuery);
-			counter = querySize;
-		} else if (counter + querySize >= 999) {
-			// execute query
-			sqlite.query(query.toString(), params);
-			// clean params
-			params.clear();
-			query.setLength(0);
-			query.append(baseQuery);
-			counter = querySize;
-		} else {
-			query.append(" union select ");
-			for (int i = 0; i < querySize; i++)
-				query.append("?,");
-			query.deleteCharAt(query.length() - 1);
-			counter += querySize;
-		}
-		return counter;
-	}
-
 	/**
 	 * insertCategories: <br>
 	 * Adds Risk Categories to the SQL parameter List.
@@ -2860,4 +1678,77 @@ public class ExportAnalysis {
 		return first;
 	}
 
+	/**
+	 * Exporter of a section.
+	 */
+	@FunctionalInterface
+	private interface SectionExporter {
+		void export(ExportAnalysis exportAnalysis) throws Exception;
+	}
+
+	/**
+	 * Sections of the export, in writing order, with their progress message.
+	 */
+	private enum ExportSection {
+
+		IDENTIFIER("info.export.identifier", "Export identifier", 10, ExportAnalysis::exportIdentifier),
+
+		HISTORY("info.export.history", "Export histories", 15, ExportAnalysis::exportHistory),
+
+		RISK_INFORMATION("info.export.risk_information", "Export risk information", 20,
+				ExportAnalysis::exportRiskInformation),
+
+		ITEM_INFORMATION("info.export.item_information", "Export item information", 25,
+				ExportAnalysis::exportItemInformation),
+
+		PARAMETERS("info.export.parameters", "Export Parameters", 30, ExportAnalysis::exportParameters),
+
+		ASSETS("info.export.assets", "Export assets", 35, ExportAnalysis::exportAssets),
+
+		DEPENDENCIES("info.export.dependencies", "Export assets dependencies", 43,
+				ExportAnalysis::exportDependencyGraph),
+
+		SIMPLE_DOCUMENTS("info.export.simple_documents", "Export analysis documents, DRAW json, DRAW png", 48,
+				ExportAnalysis::exportSimpleDocuments),
+
+		SCENARIOS("info.export.scenarios", "Export scenarios", 52, ExportAnalysis::exportScenarios),
+
+		ASSESSMENTS("info.export.assessments", "Export assessments", 60, ExportAnalysis::exportAssessments),
+
+		RISK_PROFILE("info.export.risk_profile", "Export risk profile", 65, ExportAnalysis::exportRiskProfile),
+
+		MEASURES("info.export.measures", "Export measures", 70, ExportAnalysis::exportMeasuresAndMaturity),
+
+		PHASES("info.export.phases", "Export phases", 75, ExportAnalysis::exportPhase),
+
+		ACTION_PLANS("info.export.action_plan", "Export action plans", 80, ExportAnalysis::exportActionPlans),
+
+		SUMMARIES("info.export.summaries", "Export summaries", 85,
+				exportAnalysis -> exportAnalysis.exportActionPlanSummaries(exportAnalysis.analysis.getSummaries())),
+
+		RISK_REGISTER("info.export.risk_register", "Export risk registers", 90, ExportAnalysis::exportRiskRegister);
+
+		private final String code;
+
+		private final String message;
+
+		private final int progress;
+
+		private final SectionExporter exporter;
+
+		private ExportSection(String code, String message, int progress, SectionExporter exporter) {
+			this.code = code;
+			this.message = message;
+			this.progress = progress;
+			this.exporter = exporter;
+		}
+
+		private MessageHandler createMessage() {
+			return new MessageHandler(code, message, progress);
+		}
+
+		private void export(ExportAnalysis exportAnalysis) throws Exception {
+			exporter.export(exportAnalysis);
+		}
+	}
 }
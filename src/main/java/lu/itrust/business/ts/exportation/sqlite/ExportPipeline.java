@@ -0,0 +1,206 @@
+package lu.itrust.business.ts.exportation.sqlite;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import lu.itrust.business.ts.database.SqliteRowWriter;
+
+/**
+ * ExportPipeline: <br>
+ * Producer/consumer pipeline of the SQLite export.<br>
+ * The calling thread produces the sections one after the other, each one into
+ * its own bounded queue of row chunks, so they are all read from the same
+ * Hibernate session and analysis. A single writer thread writes them in the
+ * order they were added while the next rows are produced.
+ */
+class ExportPipeline {
+
+	/** Number of statements sent to the writer at once */
+	private static final int CHUNK_SIZE = 500;
+
+	/** Number of chunks waiting to be written by section */
+	private static final int QUEUE_CAPACITY = 8;
+
+	/** End of a section */
+	private static final List<Statement> END = Collections.emptyList();
+
+	private final List<Section> sections = new ArrayList<>();
+
+	private volatile boolean canceled;
+
+	/** First error of the writer */
+	private volatile Exception error;
+
+	/**
+	 * Producer of the statements of a section.
+	 */
+	@FunctionalInterface
+	interface Producer {
+		void produce(SqliteRowWriter writer) throws Exception;
+	}
+
+	/**
+	 * add: <br>
+	 * Adds a section.
+	 * 
+	 * @param started  Called by the writing thread before the section is
+	 *                 written, e.g. to report progress
+	 * @param producer The producer of the section
+	 */
+	void add(Runnable started, Producer producer) {
+		sections.add(new Section(started, producer));
+	}
+
+	/**
+	 * run: <br>
+	 * Produces all sections on the calling thread and writes them with the
+	 * given writer on a second thread.
+	 * 
+	 * @param writer The destination
+	 * @throws Exception the first error of a producer or of the writer
+	 */
+	void run(SqliteRowWriter writer) throws Exception {
+		if (sections.isEmpty())
+			return;
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			final Future<Void> consumer = executor.submit(() -> write(writer));
+			try {
+				for (Section section : sections)
+					section.produce();
+			} catch (Exception e) {
+				canceled = true;
+				// The producer has been canceled by the writer
+				if (error != null)
+					throw error;
+				throw e;
+			}
+			try {
+				consumer.get();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof Exception)
+					throw (Exception) e.getCause();
+				throw e;
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private Void write(SqliteRowWriter writer) throws Exception {
+		try {
+			for (Section section : sections) {
+				section.started.run();
+				section.write(writer);
+			}
+			return null;
+		} catch (Exception e) {
+			error = e;
+			canceled = true;
+			throw e;
+		}
+	}
+
+	/**
+	 * Statement produced by a section: a row insert when the table is set,
+	 * otherwise a query.
+	 */
+	private static class Statement {
+
+		private final String table;
+
+		private final String query;
+
+		private final Object[] values;
+
+		private Statement(String table, String query, Object[] values) {
+			this.table = table;
+			this.query = query;
+			this.values = values;
+		}
+
+		private void write(SqliteRowWriter writer) throws SQLException {
+			if (table == null)
+				writer.execute(query, values == null ? null : Arrays.asList(values));
+			else
+				writer.insert(table, values);
+		}
+	}
+
+	private class Section implements SqliteRowWriter {
+
+		private final Runnable started;
+
+		private final Producer producer;
+
+		private final BlockingQueue<List<Statement>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+		private List<Statement> chunk = new ArrayList<>(CHUNK_SIZE);
+
+		private Section(Runnable started, Producer producer) {
+			this.started = started;
+			this.producer = producer;
+		}
+
+		@Override
+		public void insert(String table, Object... values) throws SQLException {
+			add(new Statement(table, null, values));
+		}
+
+		@Override
+		public void insert(String table, List<Object> values) throws SQLException {
+			add(new Statement(table, null, values.toArray()));
+		}
+
+		@Override
+		public void execute(String query, List<Object> params) throws SQLException {
+			add(new Statement(null, query, params == null ? null : params.toArray()));
+		}
+
+		private void produce() throws Exception {
+			producer.produce(this);
+			if (!chunk.isEmpty())
+				put(chunk);
+			chunk = null;
+			// On error, the writer waiting for this section is interrupted
+			put(END);
+		}
+
+		private void write(SqliteRowWriter writer) throws Exception {
+			for (List<Statement> statements = queue.take(); statements != END; statements = queue.take()) {
+				for (Statement statement : statements)
+					statement.write(writer);
+			}
+		}
+
+		private void add(Statement statement) throws SQLException {
+			chunk.add(statement);
+			if (chunk.size() < CHUNK_SIZE)
+				return;
+			try {
+				put(chunk);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SQLException("Export canceled", e);
+			}
+			chunk = new ArrayList<>(CHUNK_SIZE);
+		}
+
+		private void put(List<Statement> statements) throws InterruptedException {
+			while (!queue.offer(statements, 100, TimeUnit.MILLISECONDS)) {
+				if (canceled)
+					throw new InterruptedException("Export canceled");
+			}
+		}
+	}
+}
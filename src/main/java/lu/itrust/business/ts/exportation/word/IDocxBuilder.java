@@ -12,4 +12,14 @@ public interface IDocxBuilder {
 	IDocxBuilder getNext();
 	
 	boolean build(IBuildData data);
+
+	/**
+	 * prepare: <br>
+	 * Starts computing the content of the anchor, without modifying the
+	 * document, before {@link #build(IBuildData)} is called.
+	 * 
+	 * @param data
+	 * @return true if a builder supports the anchor
+	 */
+	boolean prepare(IBuildData data);
 }
@@ -95,10 +95,12 @@ import lu.itrust.business.ts.constants.Constant;
 import lu.itrust.business.ts.database.service.ServiceTaskFeedback;
 import lu.itrust.business.ts.exception.TrickException;
 import lu.itrust.business.ts.exportation.word.Docx4jReport;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.Docx4jTemplateCache.ParsedTemplate;
 import lu.itrust.business.ts.exportation.word.impl.docx4j.builder.Docx4jData;
 import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.BookmarkClean;
 import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.CTChartSer;
 import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ColorSet;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ContentIndex;
 import lu.itrust.business.ts.helper.Distribution;
 import lu.itrust.business.ts.helper.InstanceManager;
 import lu.itrust.business.ts.helper.NaturalOrderComparator;
@@ -131,6 +133,9 @@ public class Docx4jReportImpl implements Docx4jReport {
 
 	private static final String CURRENT_COMPLIANCE = "CURRENT_COMPLIANCE";
 
+	/** Report templates kept parsed for the next exports */
+	private static final Docx4jTemplateCache TEMPLATE_CACHE = new Docx4jTemplateCache(8);
+
 	private File file;
 
 	private Locale locale;
@@ -145,6 +150,9 @@ public class Docx4jReportImpl implements Docx4jReport {
 
 	private AtomicLong pictureIndex;
 
+	/** Position of the body elements */
+	private final ContentIndex contentIndex = new ContentIndex();
+
 	private String defaultTableStyle;
 
 	private ValueFactory valueFactory;
@@ -385,6 +393,7 @@ public class Docx4jReportImpl implements Docx4jReport {
 
 	@Override
 	public void close() {
+		contentIndex.clear();
 	}
 
 	public List<String> getStandardNames() {
@@ -582,11 +591,11 @@ public class Docx4jReportImpl implements Docx4jReport {
 	}
 
 	public String findChartId(P p) {
-		return p.getContent().parallelStream().filter(R.class::isInstance)
-				.flatMap(r -> ((R) r).getContent().parallelStream()).filter(JAXBElement.class::isInstance)
+		return p.getContent().stream().filter(R.class::isInstance)
+				.flatMap(r -> ((R) r).getContent().stream()).filter(JAXBElement.class::isInstance)
 				.map(d -> ((JAXBElement<?>) d).getValue()).filter(Drawing.class::isInstance)
-				.flatMap(d -> ((Drawing) d).getAnchorOrInline().parallelStream()).filter(Inline.class::isInstance)
-				.flatMap(i -> ((Inline) i).getGraphic().getGraphicData().getAny().parallelStream())
+				.flatMap(d -> ((Drawing) d).getAnchorOrInline().stream()).filter(Inline.class::isInstance)
+				.flatMap(i -> ((Inline) i).getGraphic().getGraphicData().getAny().stream())
 				.map(v -> ((CTRelId) ((JAXBElement<?>) v).getValue()).getId()).findAny().orElse(null);
 	}
 
@@ -611,17 +620,9 @@ public class Docx4jReportImpl implements Docx4jReport {
 	}
 
 	public int findIndex(Object reference) {
-		int index = -1;
-		if (reference != null) {
-			index = getDocument().getContent().indexOf(reference);
-			if (index == -1 && !(reference instanceof P)) {
-				for (int i = 0; i < getDocument().getContent().size(); i++) {
-					if (XmlUtils.unwrap(reference).equals(XmlUtils.unwrap(getDocument().getContent().get(i))))
-						return i;
-				}
-			}
-		}
-		return index;
+		if (reference == null)
+			return -1;
+		return contentIndex.indexOf(getDocument().getContent(), reference, !(reference instanceof P));
 	}
 
 	public int findIndexLoop(Object reference) {
@@ -715,17 +716,21 @@ public class Docx4jReportImpl implements Docx4jReport {
 	}
 
 	public P findTableAnchor(String name) throws XPathBinderAssociationIsPartialException, JAXBException {
-		return (P) getDocument().getContent().parallelStream().filter(p -> (p instanceof P) && ((P) p).getContent()
-				.parallelStream()
+		return (P) getDocument().getContent().stream().filter(p -> (p instanceof P) && ((P) p).getContent()
+				.stream()
 				.anyMatch(b -> (b instanceof JAXBElement) && ((JAXBElement<?>) b).getValue() instanceof CTBookmark
 						&& ((CTBookmark) ((JAXBElement<?>) b).getValue()).getName().equalsIgnoreCase(name)))
 				.findAny().orElse(null);
 	}
 
 	public String formatLikelihood(Object likelihood) {
+		return formatLikelihood(getKiloNumberFormat(), likelihood);
+	}
+
+	public static String formatLikelihood(DecimalFormat format, Object likelihood) {
 		try {
-			return likelihood instanceof Double ? getKiloNumberFormat().format((double) likelihood)
-					: getKiloNumberFormat().format(Double.parseDouble(likelihood.toString()));
+			return likelihood instanceof Double ? format.format((double) likelihood)
+					: format.format(Double.parseDouble(likelihood.toString()));
 		} catch (Exception e) {
 			return likelihood.toString();
 		}
@@ -903,6 +908,7 @@ public class Docx4jReportImpl implements Docx4jReport {
 				putCustomerContentMarker((P) reference, next);
 		}
 		getDocument().getContent().add(index + 1, element);
+		contentIndex.added(index + 1, 1);
 		return true;
 	}
 
@@ -920,6 +926,7 @@ public class Docx4jReportImpl implements Docx4jReport {
 		}
 
 		getDocument().getContent().addAll(index + 1, elements);
+		contentIndex.added(index + 1, elements.size());
 		return true;
 	}
 
@@ -933,6 +940,7 @@ public class Docx4jReportImpl implements Docx4jReport {
 				putCustomerContentMarker(previous, (P) reference);
 		}
 		getDocument().getContent().addAll(index, elements);
+		contentIndex.added(index, elements.size());
 		return true;
 	}
 
@@ -946,6 +954,7 @@ public class Docx4jReportImpl implements Docx4jReport {
 				putCustomerContentMarker(previous, (P) reference);
 		}
 		getDocument().getContent().add(index, element);
+		contentIndex.added(index, 1);
 		return true;
 	}
 
@@ -967,6 +976,7 @@ public class Docx4jReportImpl implements Docx4jReport {
 		if (index == -1)
 			return false;
 		getDocument().getContent().set(index, element);
+		contentIndex.replaced(index);
 		return true;
 	}
 
@@ -1250,13 +1260,14 @@ public class Docx4jReportImpl implements Docx4jReport {
 	}
 
 	protected boolean initialise() throws Docx4JException {
+		final ParsedTemplate parsedTemplate;
 		if (getTemplate() != null) {
 			setFile(InstanceManager.getServiceStorage().createTmpFile());
-			InstanceManager.getServiceStorage().store(getTemplate().getData(), getFile().getName());
-		}
-
-		if (!getFile().exists())
+			parsedTemplate = TEMPLATE_CACHE.take(getTemplate());
+		} else if (!getFile().exists())
 			throw new TrickException("error.export.report.no.template", "No template file");
+		else
+			parsedTemplate = null;
 
 		setFactory(Context.getWmlObjectFactory());
 
@@ -1264,7 +1275,7 @@ public class Docx4jReportImpl implements Docx4jReport {
 
 		setChartFactory(new org.docx4j.dml.chart.ObjectFactory());
 
-		setWordMLPackage(WordprocessingMLPackage.load(getFile()));
+		setWordMLPackage(parsedTemplate == null ? WordprocessingMLPackage.load(getFile()) : parsedTemplate.getWordMLPackage());
 
 		setValueFactory(new ValueFactory(getAnalysis().getParameters()));
 
@@ -1272,16 +1283,27 @@ public class Docx4jReportImpl implements Docx4jReport {
 
 		setDrawingFactory(new org.docx4j.dml.wordprocessingDrawing.ObjectFactory());
 
-		if (getWordMLPackage().getDocPropsCustomPart() == null)
-			getWordMLPackage().addDocPropsCustomPart();
+		final List<CTBookmark> starts;
 
-		final RangeFinder finder = new RangeFinder();
+		if (parsedTemplate == null) {
+			if (getWordMLPackage().getDocPropsCustomPart() == null)
+				getWordMLPackage().addDocPropsCustomPart();
 
-		new TraversalUtil(getWordMLPackage().getMainDocumentPart().getContent(), finder);
+			final RangeFinder finder = new RangeFinder();
+
+			new TraversalUtil(getWordMLPackage().getMainDocumentPart().getContent(), finder);
 
-		if (getTemplate() == null)
 			cleanup(finder);
 
+			starts = finder.getStarts();
+
+			setStyles(getWordMLPackage().getMainDocumentPart().getStyleDefinitionsPart().getContents().getStyle()
+					.parallelStream().collect(Collectors.toMap(Style::getStyleId, Function.identity())));
+		} else {
+			starts = parsedTemplate.getBookmarks();
+			setStyles(parsedTemplate.getStyles());
+		}
+
 		setDefaultTableStyle("TableTS");
 
 		final AnalysisType type = getType();
@@ -1296,12 +1318,9 @@ public class Docx4jReportImpl implements Docx4jReport {
 				: Locale.ENGLISH);
 
 		setBookmarkMaxId(new AtomicInteger(
-				finder.getStarts().parallelStream().mapToInt(p -> p.getId().intValue()).max().orElse(1)));
-
-		setStyles(getWordMLPackage().getMainDocumentPart().getStyleDefinitionsPart().getContents().getStyle()
-				.parallelStream().collect(Collectors.toMap(Style::getStyleId, Function.identity())));
+				starts.parallelStream().mapToInt(p -> p.getId().intValue()).max().orElse(1)));
 
-		setBookmarks(finder.getStarts().stream().filter(c -> internalName(c.getName(), type).startsWith("ts_"))
+		setBookmarks(starts.stream().filter(c -> internalName(c.getName(), type).startsWith("ts_"))
 				.collect(Collectors.toMap(c -> internalName(c.getName(), type), Function.identity(), (c1, c2) -> c1,
 						LinkedHashMap::new)));
 		setColors(new ColorSet(getAnalysis().findSetting(ReportSetting.DARK_COLOR),
@@ -1321,11 +1340,14 @@ public class Docx4jReportImpl implements Docx4jReport {
 			setAnalysis(analysis);
 			setTemplate(template);
 			initialise();
-			final int[] progressing = { 0, getBookmarks().size() };
-			getBookmarks().forEach((key, value) -> {
-				serviceTaskFeedback.send(task.getId(), new MessageHandler("info.printing.report." + extractName(key),
+			final List<Docx4jData> sections = getBookmarks().entrySet().stream()
+					.map(entry -> new Docx4jData(entry.getKey(), entry.getValue(), this)).collect(Collectors.toList());
+			sections.forEach(DocxChainFactory::prepare);
+			final int[] progressing = { 0, sections.size() };
+			sections.forEach(section -> {
+				serviceTaskFeedback.send(task.getId(), new MessageHandler("info.printing.report." + extractName(section.getAnchor()),
 						null, task.update(progressing[0]++, progressing[1])));
-				DocxChainFactory.build(new Docx4jData(key, value, this));
+				DocxChainFactory.build(section);
 			});
 			updateProperties();
 			getWordMLPackage().save(getFile());
@@ -0,0 +1,191 @@
+package lu.itrust.business.ts.exportation.word.impl.docx4j;
+
+import java.io.ByteArrayInputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.docx4j.TraversalUtil;
+import org.docx4j.finders.RangeFinder;
+import org.docx4j.openpackaging.exceptions.Docx4JException;
+import org.docx4j.openpackaging.packages.WordprocessingMLPackage;
+import org.docx4j.wml.CTBookmark;
+import org.docx4j.wml.Style;
+
+import lu.itrust.business.ts.component.TrickLogManager;
+import lu.itrust.business.ts.model.general.document.impl.TrickTemplate;
+
+/**
+ * Docx4jTemplateCache: <br>
+ * Report templates by id, version, size and date, kept in memory with a
+ * parsed copy ready for the next export.<br>
+ * A parsed package is modified by the export using it, so each copy is given
+ * to a single export. The first export of a template parses it itself from
+ * memory, the next ones take the copy parsed in the background since the
+ * previous export: at most one copy by template is being parsed, by a single
+ * thread of the cache.<br>
+ * The least recently used templates are dropped when the cache is full.
+ */
+public class Docx4jTemplateCache {
+
+	private final Map<String, Entry> entries;
+
+	/** Parses the next copies, one at a time */
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * @param maxSize the max number of templates kept
+	 */
+	public Docx4jTemplateCache(int maxSize) {
+		this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				return size() > maxSize;
+			}
+		};
+		this.executor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(Math.max(1, maxSize)), runnable -> {
+			final Thread thread = new Thread(runnable, "docx4j-template-cache");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * take: <br>
+	 * Returns a parsed copy of the template, for the exclusive use of the
+	 * caller.
+	 * 
+	 * @param template the report template
+	 * @return a parsed copy of the template
+	 * @throws Docx4JException
+	 */
+	public ParsedTemplate take(TrickTemplate template) throws Docx4JException {
+		final Entry entry;
+		synchronized (entries) {
+			entry = entries.computeIfAbsent(
+					String.join("|", String.valueOf(template.getId()), template.getVersion(), String.valueOf(template.getLength()),
+							String.valueOf(template.getCreated())),
+					k -> new Entry(template.getData()));
+		}
+		final CompletableFuture<ParsedTemplate> ready = entry.next.getAndSet(null);
+		// The template is used again: parse the copy of the next export
+		if (entry.used.getAndSet(true))
+			prefetch(entry);
+		if (ready != null) {
+			final ParsedTemplate parsed = ready.exceptionally(e -> null).join();
+			if (parsed != null)
+				return parsed;
+		}
+		return entry.parse();
+	}
+
+	/**
+	 * prefetch: <br>
+	 * Parses the next copy of the template in the background, unless a copy is
+	 * already parsed or being parsed.
+	 */
+	private void prefetch(Entry entry) {
+		final CompletableFuture<ParsedTemplate> next = new CompletableFuture<>();
+		if (!entry.next.compareAndSet(null, next))
+			return;
+		try {
+			executor.execute(() -> next.complete(entry.prepare()));
+		} catch (RejectedExecutionException e) {
+			entry.next.compareAndSet(next, null);
+			next.complete(null);
+		}
+	}
+
+	/**
+	 * clear: <br>
+	 * Drops all templates.
+	 */
+	public void clear() {
+		synchronized (entries) {
+			entries.clear();
+		}
+	}
+
+	private static final class Entry {
+
+		private final byte[] data;
+
+		private final AtomicReference<CompletableFuture<ParsedTemplate>> next = new AtomicReference<>();
+
+		/** Whether the template has been taken once */
+		private final AtomicBoolean used = new AtomicBoolean();
+
+		private Entry(byte[] data) {
+			this.data = data;
+		}
+
+		private ParsedTemplate prepare() {
+			try {
+				return parse();
+			} catch (Exception e) {
+				TrickLogManager.Persist(e);
+				return null;
+			}
+		}
+
+		private ParsedTemplate parse() throws Docx4JException {
+			final WordprocessingMLPackage wordMLPackage = WordprocessingMLPackage.load(new ByteArrayInputStream(data));
+			if (wordMLPackage.getDocPropsCustomPart() == null)
+				wordMLPackage.addDocPropsCustomPart();
+			final RangeFinder finder = new RangeFinder();
+			new TraversalUtil(wordMLPackage.getMainDocumentPart().getContent(), finder);
+			return new ParsedTemplate(wordMLPackage, finder.getStarts(), wordMLPackage.getMainDocumentPart().getStyleDefinitionsPart().getContents()
+					.getStyle().stream().collect(Collectors.toMap(Style::getStyleId, Function.identity())));
+		}
+	}
+
+	/**
+	 * ParsedTemplate: <br>
+	 * A parsed template with its bookmarks and styles.
+	 */
+	public static final class ParsedTemplate {
+
+		private final WordprocessingMLPackage wordMLPackage;
+
+		private final List<CTBookmark> bookmarks;
+
+		private final Map<String, Style> styles;
+
+		private ParsedTemplate(WordprocessingMLPackage wordMLPackage, List<CTBookmark> bookmarks, Map<String, Style> styles) {
+			this.wordMLPackage = wordMLPackage;
+			this.bookmarks = bookmarks;
+			this.styles = styles;
+		}
+
+		public WordprocessingMLPackage getWordMLPackage() {
+			return wordMLPackage;
+		}
+
+		/**
+		 * @return the bookmark starts of the main document, in document order
+		 */
+		public List<CTBookmark> getBookmarks() {
+			return bookmarks;
+		}
+
+		/**
+		 * @return the styles by id
+		 */
+		public Map<String, Style> getStyles() {
+			return styles;
+		}
+	}
+}
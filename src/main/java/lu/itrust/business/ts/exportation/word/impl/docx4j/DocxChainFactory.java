@@ -1,8 +1,14 @@
 package lu.itrust.business.ts.exportation.word.impl.docx4j;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import org.docx4j.wml.Tbl;
+
 import lu.itrust.business.ts.exportation.word.DocxFormatter;
 import lu.itrust.business.ts.exportation.word.IBuildData;
 import lu.itrust.business.ts.exportation.word.IDocxBuilder;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.builder.Docx4jBuilder;
 import lu.itrust.business.ts.exportation.word.impl.docx4j.builder.chain.Docx4jALEChartBuilder;
 import lu.itrust.business.ts.exportation.word.impl.docx4j.builder.chain.Docx4jActionPlanBuilder;
 import lu.itrust.business.ts.exportation.word.impl.docx4j.builder.chain.Docx4jAssessmentBuilder;
@@ -39,6 +45,12 @@ public class DocxChainFactory {
 
 	private DocxFormatter formatterChain;
 
+	/** First builder of the chain supporting the anchor */
+	private Map<String, IDocxBuilder> builders = new HashMap<>();
+
+	/** First formatter of the chain supporting the table style */
+	private Map<String, DocxFormatter> formatters = new HashMap<>();
+
 	private volatile static DocxChainFactory instance;
 
 	private DocxChainFactory() {
@@ -94,11 +106,49 @@ public class DocxChainFactory {
 	}
 
 	public static boolean build(IBuildData data) {
-		return getInstance().getBuilderChain().build(data);
+		final IDocxBuilder builder = getInstance().findBuilder(data.getAnchor());
+		return builder != null && builder.build(data);
+	}
+
+	public static boolean prepare(IBuildData data) {
+		final IDocxBuilder builder = getInstance().findBuilder(data.getAnchor());
+		return builder != null && builder.prepare(data);
 	}
 
 	public static boolean format(Object table, Object style, AnalysisType type,ColorSet colors) {
-		return getInstance().getFormatterChain().format(table, style, type, colors);
+		final DocxFormatter formatter = getInstance().findFormatter(table);
+		return formatter != null && formatter.format(table, style, type, colors);
+	}
+
+	/**
+	 * findBuilder: <br>
+	 * The builder is called in place of the chain head: the builders before it
+	 * in the chain do not support the anchor.
+	 * 
+	 * @param anchor
+	 * @return the first builder of the chain supporting the anchor, or null
+	 */
+	public IDocxBuilder findBuilder(String anchor) {
+		return anchor == null ? null : builders.get(anchor);
+	}
+
+	/**
+	 * findFormatter: <br>
+	 * The formatter is called in place of the chain head: the formatters before
+	 * it in the chain do not support the table style.
+	 * 
+	 * @param table
+	 * @return the first formatter of the chain supporting the table style, or
+	 *         null
+	 */
+	public DocxFormatter findFormatter(Object table) {
+		if (!(table instanceof Tbl))
+			return null;
+		final Tbl tbl = (Tbl) table;
+		if (tbl.getTblPr() == null || tbl.getTblPr().getTblStyle() == null
+				|| tbl.getTblPr().getTblStyle().getVal() == null)
+			return null;
+		return formatters.get(tbl.getTblPr().getTblStyle().getVal());
 	}
 
 	public DocxFormatter getFormatterChain() {
@@ -113,6 +163,14 @@ public class DocxChainFactory {
 	 * @param builderChain the builderChain to set
 	 */
 	protected void setBuilderChain(IDocxBuilder builderChain) {
+		final Map<String, IDocxBuilder> builders = new HashMap<>();
+		for (IDocxBuilder builder = builderChain; builder != null; builder = builder.getNext()) {
+			if (builder instanceof Docx4jBuilder) {
+				for (String anchor : ((Docx4jBuilder) builder).getAnchors())
+					builders.putIfAbsent(anchor, builder);
+			}
+		}
+		this.builders = builders;
 		this.builderChain = builderChain;
 	}
 
@@ -120,6 +178,14 @@ public class DocxChainFactory {
 	 * @param formatterChain the formatterChain to set
 	 */
 	protected void setFormatterChain(DocxFormatter formatterChain) {
+		final Map<String, DocxFormatter> formatters = new HashMap<>();
+		for (DocxFormatter formatter = formatterChain; formatter != null; formatter = formatter.getNext()) {
+			if (formatter instanceof Docx4jFormatter) {
+				for (String style : ((Docx4jFormatter) formatter).getStyles())
+					formatters.putIfAbsent(style, formatter);
+			}
+		}
+		this.formatters = formatters;
 		this.formatterChain = formatterChain;
 	}
 
@@ -3,8 +3,15 @@
  */
 package lu.itrust.business.ts.exportation.word.impl.docx4j.builder;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import lu.itrust.business.ts.exportation.word.IBuildData;
 import lu.itrust.business.ts.exportation.word.IDocxBuilder;
@@ -15,6 +22,12 @@ import lu.itrust.business.ts.exportation.word.IDocxBuilder;
  */
 public abstract class Docx4jBuilder implements IDocxBuilder {
 
+	/**
+	 * Runs the computations returned by {@link #internalPrepare(Docx4jData)}.
+	 * When the queue is full, the exporting thread computes the content itself.
+	 */
+	private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
 	private IDocxBuilder next;
 
 	private Set<String> supported;
@@ -44,6 +57,13 @@ public abstract class Docx4jBuilder implements IDocxBuilder {
 		return next;
 	}
 
+	/**
+	 * @return the supported anchors, never null
+	 */
+	public Set<String> getAnchors() {
+		return supported == null ? Collections.emptySet() : Collections.unmodifiableSet(supported);
+	}
+
 	protected Set<String> getSupported() {
 		return supported;
 	}
@@ -63,6 +83,20 @@ public abstract class Docx4jBuilder implements IDocxBuilder {
 		return false;
 	}
 
+	@Override
+	public boolean prepare(IBuildData data) {
+		if (data instanceof Docx4jData) {
+			if (isSupported(data.getAnchor())) {
+				final Supplier<?> supplier = internalPrepare((Docx4jData) data);
+				if (supplier != null)
+					((Docx4jData) data).setContent(CompletableFuture.supplyAsync(supplier, EXECUTOR));
+				return true;
+			} else if (getNext() != null)
+				return getNext().prepare(data);
+		}
+		return false;
+	}
+
 	protected boolean tryToBuild(Docx4jData data) {
 		if (isSupported(data.getAnchor()))
 			return internalBuild(data);
@@ -75,4 +109,58 @@ public abstract class Docx4jBuilder implements IDocxBuilder {
 
 	protected abstract boolean internalBuild(Docx4jData data);
 
+	private static ThreadPoolExecutor createExecutor() {
+		final int size = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(size * 16), runnable -> {
+					final Thread thread = new Thread(runnable, "docx4j-builder-prepare");
+					thread.setDaemon(true);
+					return thread;
+				}, new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * internalPrepare: <br>
+	 * Called on the exporting thread, in document order, before any anchor is
+	 * built. The returned computation runs outside of the hibernate session:
+	 * everything it reads must be copied here, or at least fully loaded, lazy
+	 * associations of the entities included. It runs in parallel with the
+	 * other anchors and must neither touch the document nor the exporter
+	 * state, its number formats and value factory included: the lookups of a
+	 * {@link lu.itrust.business.ts.model.parameter.helper.ValueFactory} are
+	 * not thread-safe, each computation has to use its own.
+	 * 
+	 * @param data
+	 * @return the computation of the content, null if the builder computes
+	 *         everything while building
+	 */
+	protected Supplier<?> internalPrepare(Docx4jData data) {
+		return null;
+	}
+
+	/**
+	 * getContent: <br>
+	 * Waits for the content computed by {@link #internalPrepare(Docx4jData)},
+	 * computes it on the spot if the anchor was not prepared.
+	 * 
+	 * @param data
+	 * @return the content, null if the builder does not prepare the anchor
+	 */
+	@SuppressWarnings("unchecked")
+	protected <T> T getContent(Docx4jData data) {
+		if (data.getContent() == null) {
+			final Supplier<?> supplier = internalPrepare(data);
+			return supplier == null ? null : (T) supplier.get();
+		}
+		try {
+			return (T) data.getContent().join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw e;
+		}
+	}
+
 }
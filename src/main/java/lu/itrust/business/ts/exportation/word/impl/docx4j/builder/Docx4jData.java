@@ -3,6 +3,8 @@
  */
 package lu.itrust.business.ts.exportation.word.impl.docx4j.builder;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.docx4j.wml.CTBookmark;
 
 import lu.itrust.business.ts.exportation.word.Docx4jReport;
@@ -20,6 +22,8 @@ public class Docx4jData implements IBuildData {
 	
 	private Docx4jReport exportor;
 
+	private CompletableFuture<?> content;
+
 	/**
 	 * 
 	 */
@@ -59,4 +63,15 @@ public class Docx4jData implements IBuildData {
 		this.exportor = exportor;
 	}
 
+	/**
+	 * @return the content computed by the builder before building, may be null
+	 */
+	public CompletableFuture<?> getContent() {
+		return content;
+	}
+
+	public void setContent(CompletableFuture<?> content) {
+		this.content = content;
+	}
+
 }
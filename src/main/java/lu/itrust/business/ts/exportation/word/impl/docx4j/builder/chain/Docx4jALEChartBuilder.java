@@ -8,9 +8,10 @@ import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHel
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.setValue;
 
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.docx4j.dml.CTRegularTextRun;
@@ -80,79 +81,81 @@ public class Docx4jALEChartBuilder extends Docx4jBuilder {
 
 	}
 
+	@Override
+	protected Supplier<?> internalPrepare(Docx4jData data) {
+		final List<Assessment> assessments = data.getExportor().getAnalysis().findSelectedAssessments();
+		switch (data.getAnchor()) {
+		case TS_CHARTALEBYASSET:
+			return prepare(assessments, assessment -> assessment.getAsset().getId(), assessment -> assessment.getAsset().getName());
+		case TS_CHARTALEBYASSETTYPE:
+			return prepare(assessments, assessment -> assessment.getAsset().getAssetType().getId(),
+					assessment -> assessment.getAsset().getAssetType().getName());
+		case TS_CHARTALEBYSCENARIO:
+			return prepare(assessments, assessment -> assessment.getScenario().getId(), assessment -> assessment.getScenario().getName());
+		case TS_CHARTALEBYSCENARIOTYPE:
+			return prepare(assessments, assessment -> assessment.getScenario().getType().getValue(),
+					assessment -> assessment.getScenario().getType().getName());
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * prepare: <br>
+	 * Copies the ALE of the assessments with their group, the computation sums
+	 * them by group.
+	 * 
+	 * @param assessments
+	 * @param key
+	 * @param name
+	 * @return the computation of the positive ALE by group, sorted
+	 */
+	private Supplier<List<ALE>> prepare(List<Assessment> assessments, Function<Assessment, Integer> key, Function<Assessment, String> name) {
+		final List<Object[]> values = assessments.stream().map(assessment -> new Object[] { key.apply(assessment), name.apply(assessment), assessment.getALE() })
+				.collect(Collectors.toList());
+		return () -> {
+			final Map<Integer, ALE> ales = new LinkedHashMap<>();
+			for (Object[] value : values) {
+				final ALE ale = ales.computeIfAbsent((Integer) value[0], id -> new ALE((String) value[1], 0));
+				ale.setValue((Double) value[2] * 0.001 + ale.getValue());
+			}
+			return ales.values().stream().filter(ale -> ale.getValue() > 0).sorted(new AssetComparatorByALE()).collect(Collectors.toList());
+		};
+	}
+
 	private boolean buildAleByAssetChart(Docx4jData data) throws Exception {
 		final Docx4jReportImpl exporter = (Docx4jReportImpl) data.getExportor();
 		final P paragraph = exporter.findP(data.getSource());
-		if (paragraph != null) {
-			final List<Assessment> assessments = data.getExportor().getAnalysis().findSelectedAssessments();
-			final Map<Integer, ALE> ales = new LinkedHashMap<Integer, ALE>();
-			for (Assessment assessment : assessments) {
-				ALE ale = ales.get(assessment.getAsset().getId());
-				if (ale == null)
-					ales.put(assessment.getAsset().getId(), ale = new ALE(assessment.getAsset().getName(), 0));
-				ale.setValue(assessment.getALE() * 0.001 + ale.getValue());
-			}
-			buildALEChart(exporter, paragraph, ales, data.getExportor().getMessage("report.chart.ale.title.asset", null, "ALE By Asset"),
+		if (paragraph != null)
+			buildALEChart(exporter, paragraph, getContent(data), data.getExportor().getMessage("report.chart.ale.title.asset", null, "ALE By Asset"),
 					data.getExportor().getMessage("report.chart.asset", null, "Asset"), "AleByAsset", "report.chart.ale.title.asset.index");
-		}
 		return true;
 	}
 
 	private boolean buildAleByAssetTypeChart(Docx4jData data) throws Exception {
 		final Docx4jReportImpl exporter = (Docx4jReportImpl) data.getExportor();
 		final P paragraph = exporter.findP(data.getSource());
-		if (paragraph != null) {
-			final List<Assessment> assessments = data.getExportor().getAnalysis().findSelectedAssessments();
-			final Map<Integer, ALE> ales = new LinkedHashMap<>();
-			for (Assessment assessment : assessments) {
-				ALE ale = ales.get(assessment.getAsset().getAssetType().getId());
-				if (ale == null)
-					ales.put(assessment.getAsset().getAssetType().getId(), ale = new ALE(assessment.getAsset().getAssetType().getName(), 0));
-				ale.setValue(assessment.getALE() * 0.001 + ale.getValue());
-			}
-
-			buildALEChart(exporter, paragraph, ales, data.getExportor().getMessage("report.chart.ale.title.asset.type", null, "Asset type"),
+		if (paragraph != null)
+			buildALEChart(exporter, paragraph, getContent(data), data.getExportor().getMessage("report.chart.ale.title.asset.type", null, "Asset type"),
 					data.getExportor().getMessage("report.chart.asset.type", null, "Asset type"), "AleByAssetType", "report.chart.ale.title.asset.type.index");
-		}
 		return true;
 	}
 
 	private boolean buildAleByScenarioChart(Docx4jData data) throws Exception {
 		final Docx4jReportImpl exporter = (Docx4jReportImpl) data.getExportor();
 		final P paragraph = exporter.findP(data.getSource());
-		if (paragraph != null) {
-			final List<Assessment> assessments = data.getExportor().getAnalysis().findSelectedAssessments();
-			final Map<Integer, ALE> ales = new LinkedHashMap<>();
-			for (Assessment assessment : assessments) {
-				ALE ale = ales.get(assessment.getScenario().getId());
-				if (ale == null)
-					ales.put(assessment.getScenario().getId(), ale = new ALE(assessment.getScenario().getName(), 0));
-				ale.setValue(assessment.getALE() * 0.001 + ale.getValue());
-			}
-			buildALEChart(exporter, paragraph, ales, data.getExportor().getMessage("report.chart.ale.title.scenario", null, "Scenario"),
+		if (paragraph != null)
+			buildALEChart(exporter, paragraph, getContent(data), data.getExportor().getMessage("report.chart.ale.title.scenario", null, "Scenario"),
 					data.getExportor().getMessage("report.chart.scenario", null, "Scenario"), "AleBySceanrio", "report.chart.ale.title.scenario.index");
-		}
 		return true;
 	}
 
 	private boolean buildAleByScenarioTypeChart(Docx4jData data) throws Exception {
 		final Docx4jReportImpl exporter = (Docx4jReportImpl) data.getExportor();
 		final P paragraph = exporter.findP(data.getSource());
-		if (paragraph != null) {
-			final List<Assessment> assessments = data.getExportor().getAnalysis().findSelectedAssessments();
-			final Map<Integer, ALE> ales = new LinkedHashMap<>();
-			final List<ALE> ales2 = new LinkedList<>();
-			for (Assessment assessment : assessments) {
-				ALE ale = ales.get(assessment.getScenario().getType().getValue());
-				if (ale == null) {
-					ales.put(assessment.getScenario().getType().getValue(), ale = new ALE(assessment.getScenario().getType().getName(), 0));
-					ales2.add(ale);
-				}
-				ale.setValue(assessment.getALE() * 0.001 + ale.getValue());
-			}
-			buildALEChart(exporter, paragraph, ales, data.getExportor().getMessage("report.chart.ale.title.scenario.type", null, "Scenario type"),
+		if (paragraph != null)
+			buildALEChart(exporter, paragraph, getContent(data), data.getExportor().getMessage("report.chart.ale.title.scenario.type", null, "Scenario type"),
 					data.getExportor().getMessage("report.chart.scenario.type", null, "Scenario type"), "AleBySceanrioType", "report.chart.ale.title.scenario.type.index");
-		}
 		return true;
 	}
 
@@ -237,9 +240,8 @@ public class Docx4jALEChartBuilder extends Docx4jBuilder {
 
 	}
 
-	private void buildALEChart(final Docx4jReportImpl exporter, P paragraph, Map<Integer, ALE> ales, String title, String column, String name, String multiTitleCode)
+	private void buildALEChart(final Docx4jReportImpl exporter, P paragraph, List<ALE> ales2, String title, String column, String name, String multiTitleCode)
 			throws Exception {
-		final List<ALE> ales2 = ales.values().parallelStream().filter(ale -> ale.getValue() > 0).sorted(new AssetComparatorByALE()).collect(Collectors.toList());
 		if (ales2.size() <= Constant.CHAR_SINGLE_CONTENT_MAX_SIZE)
 			buildALEChart(exporter, ales2, (Chart) exporter.findChart(paragraph), title, column, null);
 		else {
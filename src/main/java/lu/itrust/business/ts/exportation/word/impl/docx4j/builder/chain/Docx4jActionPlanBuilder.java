@@ -5,8 +5,11 @@ package lu.itrust.business.ts.exportation.word.impl.docx4j.builder.chain;
 
 import static lu.itrust.business.ts.exportation.word.ExportReport.TS_TAB_TEXT_2;
 
+import java.text.DecimalFormat;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.docx4j.wml.P;
 import org.docx4j.wml.PPrBase.TextAlignment;
@@ -23,6 +26,7 @@ import lu.itrust.business.ts.exportation.word.impl.docx4j.builder.Docx4jData;
 import lu.itrust.business.ts.model.actionplan.ActionPlanEntry;
 import lu.itrust.business.ts.model.actionplan.ActionPlanMode;
 import lu.itrust.business.ts.model.analysis.AnalysisType;
+import lu.itrust.business.ts.model.standard.measure.Measure;
 import lu.itrust.business.ts.model.standard.measuredescription.MeasureDescriptionText;
 
 /**
@@ -54,14 +58,37 @@ public class Docx4jActionPlanBuilder extends Docx4jBuilder {
 		}
 	}
 
+	@Override
+	protected Supplier<?> internalPrepare(Docx4jData data) {
+		switch (data.getAnchor()) {
+			case TS_QL_ACTIONPLAN:
+				return prepare((Docx4jReportImpl) data.getExportor(), ActionPlanMode.APQ);
+			case TS_QT_ACTIONPLAN:
+				return prepare((Docx4jReportImpl) data.getExportor(), ActionPlanMode.APPN);
+			default:
+				return null;
+		}
+	}
+
+	private Supplier<List<ActionPlanRow>> prepare(Docx4jReportImpl exporter, ActionPlanMode mode) {
+		final DecimalFormat numberFormat = (DecimalFormat) exporter.getNumberFormat().clone();
+		final DecimalFormat workloadFormat = (DecimalFormat) exporter.getNumberFormat().clone();
+		final List<ActionPlanRow> rows = exporter.getAnalysis().findActionPlan(mode).stream()
+				.map(entry -> new ActionPlanRow(entry, exporter)).collect(Collectors.toList());
+		return () -> {
+			numberFormat.setMaximumFractionDigits(0);
+			workloadFormat.setMaximumFractionDigits(1);
+			rows.forEach(row -> row.format(mode, numberFormat, workloadFormat));
+			return rows;
+		};
+	}
+
 	private boolean buildQualitative(Docx4jData data) {
 		final Docx4jReportImpl exporter = (Docx4jReportImpl) data.getExportor();
 		final P paragraph = exporter.findP(data.getSource());
 		if (paragraph != null) {
-			final List<ActionPlanEntry> actionplan = exporter.getAnalysis().findActionPlan(ActionPlanMode.APQ);
+			final List<ActionPlanRow> actionplan = getContent(data);
 			final Tbl table = exporter.createTable("TableTSActionPlan", actionplan.size() + 1, 11);
-			final TextAlignment alignment = exporter.createAlignment("left");
-			final TextAlignment alignmentCenter = exporter.createAlignment("center");
 			final Tr header = (Tr) table.getContent().get(0);
 			exporter.setCurrentParagraphId(TS_TAB_TEXT_2);
 			exporter.setCellText((Tc) header.getContent().get(0),
@@ -87,47 +114,7 @@ public class Docx4jActionPlanBuilder extends Docx4jBuilder {
 			exporter.setCellText((Tc) header.getContent().get(10),
 					exporter.getMessage("report.measure.responsable", null, "Resp."));
 			exporter.setRepeatHeader(header);
-
-			int nr = 1;
-			// set data
-			for (ActionPlanEntry entry : actionplan) {
-				final Tr row = (Tr) table.getContent().get(nr);
-				exporter.setCellText((Tc) row.getContent().get(0), "" + (nr++), alignmentCenter);
-				exporter.setCellText((Tc) row.getContent().get(1),
-						entry.getMeasure().getMeasureDescription().getStandard().getName() + "-"
-								+ entry.getMeasure().getMeasureDescription().getReference());
-				MeasureDescriptionText descriptionText = entry.getMeasure().getMeasureDescription()
-						.findByLanguage(exporter.getAnalysis().getLanguage());
-				exporter.addCellParagraph((Tc) row.getContent().get(2),
-						descriptionText == null ? ""
-								: descriptionText.getDomain()
-										+ (exporter.getLocale().equals(Locale.FRENCH) ? "\u00A0:" : ":"));
-				((Tc) row.getContent().get(2)).getContent().parallelStream()
-						.flatMap(p -> ((P) p).getContent().parallelStream()).map(r -> (R) r).forEach(r -> {
-							if (r.getRPr() == null)
-								r.setRPr(exporter.getFactory().createRPr());
-							r.getRPr().setB(exporter.getFactory().createBooleanDefaultTrue());
-						});
-				exporter.addCellParagraph((Tc) row.getContent().get(2), entry.getMeasure().getToDo(), true);
-				exporter.setAlignment((Tc) row.getContent().get(2), alignment);
-				exporter.addCellNumber((Tc) row.getContent().get(3),
-						exporter.getNumberFormat().format(entry.getRiskCount()));
-				exporter.addCellNumber((Tc) row.getContent().get(4),
-						exporter.getNumberFormat().format(entry.getMeasure().getCost() * 0.001));
-				exporter.getNumberFormat().setMaximumFractionDigits(1);
-				exporter.addCellNumber((Tc) row.getContent().get(5),
-						exporter.getNumberFormat().format(entry.getMeasure().getInternalWL()));
-				exporter.addCellNumber((Tc) row.getContent().get(6),
-						exporter.getNumberFormat().format(entry.getMeasure().getExternalWL()));
-				exporter.getNumberFormat().setMaximumFractionDigits(0);
-				exporter.addCellNumber((Tc) row.getContent().get(7),
-						exporter.getNumberFormat().format(entry.getMeasure().getInvestment() * 0.001));
-				exporter.addCellNumber((Tc) row.getContent().get(8), entry.getMeasure().getPhase().getNumber() + "");
-				exporter.addCellNumber((Tc) row.getContent().get(9),
-						exporter.getMessage("report.measure.importance.value",
-								new Object[] { entry.getMeasure().getImportance() }, null));
-				exporter.addCellNumber((Tc) row.getContent().get(10), entry.getMeasure().getResponsible());
-			}
+			setRows(exporter, table, actionplan);
 			if (exporter.insertBefore(paragraph, table))
 				DocxChainFactory.format(table, exporter.getDefaultTableStyle(), AnalysisType.QUALITATIVE,
 						exporter.getColors());
@@ -139,9 +126,7 @@ public class Docx4jActionPlanBuilder extends Docx4jBuilder {
 		final Docx4jReportImpl exporter = (Docx4jReportImpl) data.getExportor();
 		final P paragraph = exporter.findP(data.getSource());
 		if (paragraph != null) {
-			final List<ActionPlanEntry> actionplan = exporter.getAnalysis().findActionPlan(ActionPlanMode.APPN);
-			final TextAlignment alignment = exporter.createAlignment("left");
-			final TextAlignment alignmentCenter = exporter.createAlignment("center");
+			final List<ActionPlanRow> actionplan = getContent(data);
 			final Tbl table = exporter.createTable("TableTSActionPlan", actionplan.size() + 1, 13);
 			final Tr header = (Tr) table.getContent().get(0);
 
@@ -173,53 +158,7 @@ public class Docx4jActionPlanBuilder extends Docx4jBuilder {
 			exporter.setCellText((Tc) header.getContent().get(12),
 					exporter.getMessage("report.measure.responsable", null, "Resp."));
 			exporter.setRepeatHeader(header);
-
-			int nr = 1;
-			// set data
-			for (ActionPlanEntry entry : actionplan) {
-				final Tr row = (Tr) table.getContent().get(nr);
-				exporter.setCellText((Tc) row.getContent().get(0), "" + (nr++), alignmentCenter);
-				exporter.setCellText((Tc) row.getContent().get(1),
-						entry.getMeasure().getMeasureDescription().getStandard().getName() + "-"
-								+ entry.getMeasure().getMeasureDescription().getReference());
-				// exporter.setCellText((Tc) row.getContent().get(2),
-				// entry.getMeasure().getMeasureDescription().getReference());
-				final MeasureDescriptionText descriptionText = entry.getMeasure().getMeasureDescription()
-						.findByLanguage(exporter.getAnalysis().getLanguage());
-				exporter.addCellParagraph((Tc) row.getContent().get(2),
-						descriptionText == null ? ""
-								: descriptionText.getDomain()
-										+ (exporter.getLocale().equals(Locale.FRENCH) ? "\u00A0:" : ":"));
-				((Tc) row.getContent().get(2)).getContent().parallelStream()
-						.flatMap(p -> ((P) p).getContent().parallelStream()).map(r -> (R) r).forEach(r -> {
-							if (r.getRPr() == null)
-								r.setRPr(exporter.getFactory().createRPr());
-							r.getRPr().setB(exporter.getFactory().createBooleanDefaultTrue());
-						});
-				exporter.addCellParagraph((Tc) row.getContent().get(2), entry.getMeasure().getToDo(), true);
-				exporter.setAlignment((Tc) row.getContent().get(2), alignment);
-				exporter.addCellNumber((Tc) row.getContent().get(3),
-						exporter.getNumberFormat().format(entry.getTotalALE() * 0.001));
-				exporter.addCellNumber((Tc) row.getContent().get(4),
-						exporter.getNumberFormat().format(entry.getDeltaALE() * 0.001));
-				exporter.addCellNumber((Tc) row.getContent().get(5),
-						exporter.getNumberFormat().format(entry.getMeasure().getCost() * 0.001));
-				exporter.addCellNumber((Tc) row.getContent().get(6),
-						exporter.getNumberFormat().format(entry.getROI() * 0.001));
-				exporter.getNumberFormat().setMaximumFractionDigits(1);
-				exporter.addCellNumber((Tc) row.getContent().get(7),
-						exporter.getNumberFormat().format(entry.getMeasure().getInternalWL()));
-				exporter.addCellNumber((Tc) row.getContent().get(8),
-						exporter.getNumberFormat().format(entry.getMeasure().getExternalWL()));
-				exporter.getNumberFormat().setMaximumFractionDigits(0);
-				exporter.addCellNumber((Tc) row.getContent().get(9),
-						exporter.getNumberFormat().format(entry.getMeasure().getInvestment() * 0.001));
-				exporter.addCellNumber((Tc) row.getContent().get(10), entry.getMeasure().getPhase().getNumber() + "");
-				exporter.addCellNumber((Tc) row.getContent().get(11),
-						exporter.getMessage("report.measure.importance.value",
-								new Object[] { entry.getMeasure().getImportance() }, null));
-				exporter.addCellNumber((Tc) row.getContent().get(12), entry.getMeasure().getResponsible());
-			}
+			setRows(exporter, table, actionplan);
 			if (exporter.insertBefore(paragraph, table))
 				DocxChainFactory.format(table, exporter.getDefaultTableStyle(), AnalysisType.QUANTITATIVE,
 						exporter.getColors());
@@ -227,4 +166,106 @@ public class Docx4jActionPlanBuilder extends Docx4jBuilder {
 		return true;
 	}
 
+	private void setRows(Docx4jReportImpl exporter, Tbl table, List<ActionPlanRow> actionplan) {
+		final TextAlignment alignment = exporter.createAlignment("left");
+		final TextAlignment alignmentCenter = exporter.createAlignment("center");
+		int nr = 1;
+		// set data
+		for (ActionPlanRow entry : actionplan) {
+			final Tr row = (Tr) table.getContent().get(nr);
+			exporter.setCellText((Tc) row.getContent().get(0), "" + (nr++), alignmentCenter);
+			exporter.setCellText((Tc) row.getContent().get(1), entry.reference);
+			exporter.addCellParagraph((Tc) row.getContent().get(2), entry.domain);
+			((Tc) row.getContent().get(2)).getContent().parallelStream()
+					.flatMap(p -> ((P) p).getContent().parallelStream()).map(r -> (R) r).forEach(r -> {
+						if (r.getRPr() == null)
+							r.setRPr(exporter.getFactory().createRPr());
+						r.getRPr().setB(exporter.getFactory().createBooleanDefaultTrue());
+					});
+			exporter.addCellParagraph((Tc) row.getContent().get(2), entry.toDo, true);
+			exporter.setAlignment((Tc) row.getContent().get(2), alignment);
+			for (int i = 0; i < entry.numbers.length; i++)
+				exporter.addCellNumber((Tc) row.getContent().get(i + 3), entry.numbers[i]);
+		}
+		// the next sections format their numbers as the action plan left them
+		if (!actionplan.isEmpty())
+			exporter.getNumberFormat().setMaximumFractionDigits(0);
+	}
+
+	/**
+	 * Values of an action plan entry read by the report, copied on the
+	 * exporting thread.
+	 */
+	private static class ActionPlanRow {
+
+		private final String reference;
+
+		private final String domain;
+
+		private final String toDo;
+
+		private final int riskCount;
+
+		private final double totalALE;
+
+		private final double deltaALE;
+
+		private final double cost;
+
+		private final double roi;
+
+		private final double internalWL;
+
+		private final double externalWL;
+
+		private final double investment;
+
+		private final int phase;
+
+		private final String importance;
+
+		private final String responsible;
+
+		/**
+		 * Texts of the cells following the description, set by
+		 * {@link #format(ActionPlanMode, DecimalFormat, DecimalFormat)}
+		 */
+		private String[] numbers;
+
+		private ActionPlanRow(ActionPlanEntry entry, Docx4jReportImpl exporter) {
+			final Measure measure = entry.getMeasure();
+			final MeasureDescriptionText descriptionText = measure.getMeasureDescription()
+					.findByLanguage(exporter.getAnalysis().getLanguage());
+			this.reference = measure.getMeasureDescription().getStandard().getName() + "-"
+					+ measure.getMeasureDescription().getReference();
+			this.domain = descriptionText == null ? ""
+					: descriptionText.getDomain() + (exporter.getLocale().equals(Locale.FRENCH) ? "\u00A0:" : ":");
+			this.toDo = measure.getToDo();
+			this.riskCount = entry.getRiskCount();
+			this.totalALE = entry.getTotalALE();
+			this.deltaALE = entry.getDeltaALE();
+			this.cost = measure.getCost();
+			this.roi = entry.getROI();
+			this.internalWL = measure.getInternalWL();
+			this.externalWL = measure.getExternalWL();
+			this.investment = measure.getInvestment();
+			this.phase = measure.getPhase().getNumber();
+			this.importance = exporter.getMessage("report.measure.importance.value",
+					new Object[] { measure.getImportance() }, null);
+			this.responsible = measure.getResponsible();
+		}
+
+		private void format(ActionPlanMode mode, DecimalFormat numberFormat, DecimalFormat workloadFormat) {
+			if (mode == ActionPlanMode.APQ)
+				numbers = new String[] { numberFormat.format(riskCount), numberFormat.format(cost * 0.001),
+						workloadFormat.format(internalWL), workloadFormat.format(externalWL),
+						numberFormat.format(investment * 0.001), phase + "", importance, responsible };
+			else
+				numbers = new String[] { numberFormat.format(totalALE * 0.001), numberFormat.format(deltaALE * 0.001),
+						numberFormat.format(cost * 0.001), numberFormat.format(roi * 0.001),
+						workloadFormat.format(internalWL), workloadFormat.format(externalWL),
+						numberFormat.format(investment * 0.001), phase + "", importance, responsible };
+		}
+	}
+
 }
@@ -11,6 +11,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.docx4j.wml.P;
@@ -19,7 +20,6 @@ import org.docx4j.wml.Tbl;
 import org.docx4j.wml.Tc;
 import org.docx4j.wml.Tr;
 
-import lu.itrust.business.ts.component.AssessmentAndRiskProfileManager;
 import lu.itrust.business.ts.constants.Constant;
 import lu.itrust.business.ts.exportation.word.IDocxBuilder;
 import lu.itrust.business.ts.exportation.word.impl.docx4j.Docx4jReportImpl;
@@ -33,7 +33,6 @@ import lu.itrust.business.ts.model.analysis.AnalysisType;
 import lu.itrust.business.ts.model.assessment.Assessment;
 import lu.itrust.business.ts.model.assessment.helper.ALE;
 import lu.itrust.business.ts.model.assessment.helper.AssetComparatorByALE;
-import lu.itrust.business.ts.model.asset.Asset;
 import lu.itrust.business.ts.model.parameter.impl.ImpactParameter;
 import lu.itrust.business.ts.model.parameter.value.IValue;
 import lu.itrust.business.ts.model.parameter.value.impl.FormulaValue;
@@ -69,28 +68,106 @@ public class Docx4jAssessmentBuilder extends Docx4jBuilder {
 
 	}
 
+	@Override
+	protected Supplier<?> internalPrepare(Docx4jData data) {
+		final Docx4jReportImpl exporter = (Docx4jReportImpl) data.getExportor();
+		switch (data.getAnchor()) {
+			case TS_QL_ASSESSMENT:
+				return prepareQualitative(exporter);
+			case TS_QT_ASSESSMENT:
+				return prepareQuantitative(exporter);
+			default:
+				return null;
+		}
+	}
+
+	private Supplier<List<AssessmentTable>> prepareQualitative(Docx4jReportImpl exporter) {
+		final String na = exporter.getMessage("label.status.na", null, "na");
+		final List<AssessmentValue> assessments = copy(exporter.getAnalysis().findSelectedAssessments(),
+				findQualitativeScaleTypes(exporter.getAnalysis(), exporter.getLocale().getLanguage()));
+		return () -> {
+			final Map<Integer, AssessmentTable> tables = new LinkedHashMap<>();
+			assessments.sort((a1, a2) -> NaturalOrderComparator.compareTo(a1.assetName, a2.assetName));
+			for (AssessmentValue assessment : assessments) {
+				final String[] cells = new String[assessment.levels.length + 4];
+				int colIndex = 0;
+				cells[colIndex++] = assessment.scenarioName;
+				for (int level : assessment.levels)
+					cells[colIndex++] = level == 0 ? na : level + "";
+				cells[colIndex++] = assessment.likelihoodLevel == 0 ? na : assessment.likelihoodLevel + "";
+				cells[colIndex++] = assessment.owner;
+				cells[colIndex++] = assessment.comment;
+				tables.computeIfAbsent(assessment.assetId, id -> new AssessmentTable(assessment.assetName, 0)).rows
+						.add(cells);
+			}
+			return new LinkedList<>(tables.values());
+		};
+	}
+
+	private Supplier<List<AssessmentTable>> prepareQuantitative(Docx4jReportImpl exporter) {
+		final String na = exporter.getMessage("label.status.na", null, "na");
+		final DecimalFormat kiloFormat = (DecimalFormat) exporter.getKiloNumberFormat().clone();
+		final List<AssessmentValue> assessments = copy(exporter.getAnalysis().findSelectedAssessments(),
+				findQuantitativeScaleTypes(exporter.getAnalysis()));
+		return () -> {
+			final Map<String, ALE> ales = new LinkedHashMap<>();
+			final Map<String, List<AssessmentValue>> assessmentsByAsset = new LinkedHashMap<>();
+			final DecimalFormat assessmentFormat = (DecimalFormat) DecimalFormat.getInstance(Locale.FRANCE);
+			assessmentFormat.setMinimumFractionDigits(1);
+			assessmentFormat.setMaximumFractionDigits(1);
+			assessments.sort((a1, a2) -> {
+				int result = NaturalOrderComparator.compareTo(a1.assetName, a2.assetName);
+				if (result == 0)
+					result = NaturalOrderComparator.compareTo(a1.scenarioName, a2.scenarioName);
+				return result;
+			});
+			for (AssessmentValue assessment : assessments) {
+				assessmentsByAsset.computeIfAbsent(assessment.assetName, name -> new LinkedList<>()).add(assessment);
+				final ALE ale = ales.computeIfAbsent(assessment.assetName, name -> new ALE(name, 0));
+				ale.setValue(ale.getValue() + assessment.ale);
+			}
+			return ales.values().stream().sorted(new AssetComparatorByALE()).map(ale -> {
+				final AssessmentTable table = new AssessmentTable(ale.getAssetName(), ale.getValue());
+				for (AssessmentValue assessment : assessmentsByAsset.get(ale.getAssetName())) {
+					final String[] cells = new String[assessment.levels.length + 6];
+					int colIndex = 0;
+					cells[colIndex++] = assessment.scenarioName;
+					cells[colIndex++] = kiloFormat.format(assessment.impact * 0.001);
+					for (int level : assessment.levels)
+						cells[colIndex++] = level == 0 ? na : level + "";
+					cells[colIndex++] = Docx4jReportImpl.formatLikelihood(kiloFormat,
+							assessment.likelihood == null ? na
+									: assessment.formula
+											? String.format("%s (p%d)", kiloFormat.format(assessment.likelihood),
+													assessment.likelihoodLevel)
+											: assessment.likelihood);
+					cells[colIndex++] = assessment.ale == 0 ? kiloFormat.format(assessment.ale * 0.001)
+							: assessmentFormat.format(assessment.ale * 0.001);
+					cells[colIndex++] = assessment.owner;
+					cells[colIndex++] = assessment.comment;
+					table.rows.add(cells);
+				}
+				return table;
+			}).collect(Collectors.toList());
+		};
+	}
+
 	private boolean buildQualitative(Docx4jData data) {
 		final Docx4jReportImpl exporter = (Docx4jReportImpl) data.getExportor();
 		final P paragraphOrigin = exporter.findP(data.getSource());
 
 		if (paragraphOrigin != null) {
-			final Analysis analysis = exporter.getAnalysis();
 			final List<Object> contents = new LinkedList<>();
 			final String language = exporter.getLocale().getLanguage();
 			final TextAlignment alignmentLeft = exporter.createAlignment("left");
 			final TextAlignment alignmentCenter = exporter.createAlignment("center");
-			final Map<Asset, List<Assessment>> assessementsByAsset = analysis.findSelectedAssessmentByAsset();
-			final List<ScaleType> scaleTypes = analysis.getImpactParameters().stream().map(p -> p.getType()).distinct()
-					.filter(p -> !p.getName().equals(Constant.DEFAULT_IMPACT_NAME))
-					.sorted((s1, s2) -> NaturalOrderComparator.compareTo(s1.getShortName(language),
-							s2.getShortName(language)))
-					.collect(Collectors.toList());
+			final List<AssessmentTable> assessmentTables = getContent(data);
+			final List<ScaleType> scaleTypes = findQualitativeScaleTypes(exporter.getAnalysis(), language);
 
 			final int colLength = 4 + scaleTypes.size();
 
-			assessementsByAsset.keySet().forEach(asset -> {
-				final List<Assessment> assessments = assessementsByAsset.get(asset);
-				final Tbl table = exporter.createTable("TableTSAssessment", assessments.size() + 1, colLength);
+			assessmentTables.forEach(assessmentTable -> {
+				final Tbl table = exporter.createTable("TableTSAssessment", assessmentTable.rows.size() + 1, colLength);
 				int hColIndex = 0, rawLength = 0;
 				final Tr header = (Tr) table.getContent().get(hColIndex);
 				exporter.setRepeatHeader(header);
@@ -107,40 +184,26 @@ public class Docx4jAssessmentBuilder extends Docx4jBuilder {
 				exporter.setCellText((Tc) header.getContent().get(hColIndex++),
 						exporter.getMessage("report.assessment.comment", null, "Comment"));
 
-				for (Assessment assessment : assessments) {
+				for (String[] cells : assessmentTable.rows) {
 					final Tr row = (Tr) table.getContent().get(++rawLength);
-					int colIndex = 0;
-					exporter.setCellText((Tc) row.getContent().get(colIndex++), assessment.getScenario().getName(),
-							alignmentLeft);
-					for (ScaleType scaleType : scaleTypes) {
-						final IValue impact = assessment.getImpact(scaleType.getName());
-						exporter.setCellText((Tc) row.getContent().get(colIndex++),
-								impact == null || impact.getLevel() == 0
-										? exporter.getMessage("label.status.na", null, "na")
-										: impact.getLevel() + "",
-								alignmentCenter);
-					}
-					final int probaLevel = assessment.getLikelihood() == null ? 0
-							: assessment.getLikelihood().getLevel();
-					exporter.setCellText((Tc) row.getContent().get(colIndex++),
-							probaLevel == 0 ? exporter.getMessage("label.status.na", null, "na") : probaLevel + "",
-							alignmentCenter);
-					exporter.addCellParagraph((Tc) row.getContent().get(colIndex++), assessment.getOwner());
-					exporter.addCellParagraph((Tc) row.getContent().get(colIndex++), assessment.getComment());
+					exporter.setCellText((Tc) row.getContent().get(0), cells[0], alignmentLeft);
+					for (int colIndex = 1; colIndex < colLength - 2; colIndex++)
+						exporter.setCellText((Tc) row.getContent().get(colIndex), cells[colIndex], alignmentCenter);
+					exporter.addCellParagraph((Tc) row.getContent().get(colLength - 2), cells[colLength - 2]);
+					exporter.addCellParagraph((Tc) row.getContent().get(colLength - 1), cells[colLength - 1]);
 				}
 				final P paragraph = exporter.getFactory().createP();
-				exporter.setText(paragraph, asset.getName());
+				exporter.setText(paragraph, assessmentTable.assetName);
 				exporter.setStyle(paragraph, "TSEstimationTitle");
 				contents.add(paragraph);
 				contents.add(table);
 				contents.add(exporter.addTableCaption(
-						exporter.getMessage("report.assessment.table.caption", new Object[] { asset.getName() },
-								String.format("Risk estimation for the asset %s", asset.getName()))));
+						exporter.getMessage("report.assessment.table.caption", new Object[] { assessmentTable.assetName },
+								String.format("Risk estimation for the asset %s", assessmentTable.assetName))));
 			});
 			if (exporter.insertAllAfter(paragraphOrigin, contents))
 				contents.parallelStream().filter(t -> (t instanceof Tbl)).forEach(t -> DocxChainFactory.format(t,
 						exporter.getDefaultTableStyle(), AnalysisType.QUALITATIVE, exporter.getColors()));
-			assessementsByAsset.clear();
 		}
 		return true;
 	}
@@ -150,19 +213,12 @@ public class Docx4jAssessmentBuilder extends Docx4jBuilder {
 		final P paragraphOrigin = exporter.findP(data.getSource());
 		if (paragraphOrigin != null) {
 			final List<Object> contents = new LinkedList<>();
-			final Analysis analysis = exporter.getAnalysis();
-			final Map<String, ALE> alesmap = new LinkedHashMap<String, ALE>();
 			final TextAlignment alignmentLeft = exporter.createAlignment("left");
 			final TextAlignment alignmentCenter = exporter.createAlignment("center");
-			final List<Assessment> assessments = analysis.findSelectedAssessments();
-			final double totalale = assessments.stream().mapToDouble(Assessment::getALE).sum();
-			final DecimalFormat assessmentFormat = (DecimalFormat) DecimalFormat.getInstance(Locale.FRANCE);
-			final Map<String, List<Assessment>> assessementsmap = new LinkedHashMap<String, List<Assessment>>();
-			final boolean mixted = analysis.isQualitative()
-					&& (boolean) analysis.findSetting(AnalysisSetting.ALLOW_QUALITATIVE_IN_QUANTITATIVE_REPORT);
-			final List<ScaleType> scaleTypes = analysis.getImpactParameters().stream()
-					.filter(p -> mixted && !p.getTypeName().equals(Constant.DEFAULT_IMPACT_NAME))
-					.map(ImpactParameter::getType).distinct().collect(Collectors.toList());
+			final List<AssessmentTable> assessmentTables = getContent(data);
+			final double totalale = assessmentTables.stream().mapToDouble(table -> table.ale).sum();
+			final List<ScaleType> scaleTypes = findQuantitativeScaleTypes(exporter.getAnalysis());
+			final int colLength = 6 + scaleTypes.size();
 			final P paraph = exporter.setStyle(exporter.getFactory().createP(), "TSAssessmentTotalALE");
 			exporter.setCurrentParagraphId(TS_TAB_TEXT_2);
 			exporter.setText(paraph,
@@ -170,31 +226,19 @@ public class Docx4jAssessmentBuilder extends Docx4jBuilder {
 			exporter.addTab(paraph);
 			exporter.addText(paraph, String.format("%s k€", exporter.getKiloNumberFormat().format(totalale * 0.001)));
 			contents.add(paraph);
-			assessmentFormat.setMinimumFractionDigits(1);
-			assessmentFormat.setMaximumFractionDigits(1);
-
-			assessments.sort((a1, a2) -> {
-				int result = NaturalOrderComparator.compareTo(a1.getAsset().getName(), a2.getAsset().getName());
-				if (result == 0)
-					result = NaturalOrderComparator.compareTo(a1.getScenario().getName(), a2.getScenario().getName());
-				return result;
-			});
 
-			AssessmentAndRiskProfileManager.SplitAssessment(assessments, alesmap, assessementsmap);
-			alesmap.values().stream().sorted(new AssetComparatorByALE()).forEach(ale -> {
-				final List<Assessment> assessmentsofasset = assessementsmap.get(ale.getAssetName());
-				final Tbl table = exporter.createTable("TableTSAssessment", assessmentsofasset.size() + 1,
-						6 + scaleTypes.size());
+			assessmentTables.forEach(assessmentTable -> {
+				final Tbl table = exporter.createTable("TableTSAssessment", assessmentTable.rows.size() + 1, colLength);
 				P paragraph = exporter.getFactory().createP();
-				exporter.setText(paragraph, ale.getAssetName());
+				exporter.setText(paragraph, assessmentTable.assetName);
 				exporter.setStyle(paragraph, "TSEstimationTitle");
 				contents.add(paragraph);
 				paragraph = exporter.getFactory().createP();
 				exporter.setText(paragraph,
 						exporter.getMessage("report.assessment.total.ale.for.asset", null, "Total ALE of asset"));
 				exporter.addTab(paragraph);
-				exporter.setText(paragraph,
-						String.format("%s k€", exporter.getKiloNumberFormat().format(ale.getValue() * 0.001)), true);
+				exporter.setText(paragraph, String.format("%s k€",
+						exporter.getKiloNumberFormat().format(assessmentTable.ale * 0.001)), true);
 				exporter.setStyle(paragraph, "TSAssessmentTotalALE");
 				contents.add(paragraph);
 				int rowIndex = 0, colIndex = 0;
@@ -215,53 +259,119 @@ public class Docx4jAssessmentBuilder extends Docx4jBuilder {
 				exporter.setCellText((Tc) row.getContent().get(colIndex++),
 						exporter.getMessage("report.assessment.comment", null, "Comment"));
 
-				for (Assessment assessment : assessmentsofasset) {
-					colIndex = 0;
+				for (String[] cells : assessmentTable.rows) {
 					row = (Tr) table.getContent().get(rowIndex++);
-					exporter.setCellText((Tc) row.getContent().get(colIndex++), assessment.getScenario().getName(),
-							alignmentLeft);
-					exporter.addCellNumber((Tc) row.getContent().get(colIndex++), exporter.getKiloNumberFormat()
-							.format(assessment.getImpactValue(Constant.DEFAULT_IMPACT_NAME) * 0.001));
-					for (ScaleType type : scaleTypes) {
-						final IValue value = assessment.getImpact(type.getName());
-						exporter.setCellText((Tc) row.getContent().get(colIndex++),
-								value == null || value.getLevel() == 0
-										? exporter.getMessage("label.status.na", null, "na")
-										: value.getLevel().toString(),
-								alignmentCenter);
-					}
-
-					final Object likelihood = assessment.getLikelihood() == null ? null
-							: assessment.getLikelihood() instanceof FormulaValue
-									? String.format("%s (p%d)",
-											exporter.getKiloNumberFormat().format(assessment.getLikelihood().getReal()),
-											assessment.getLikelihood().getLevel())
-									: assessment.getLikelihood().getRaw();
-
-					exporter.setCellText((Tc) row.getContent().get(colIndex++),
-							exporter.formatLikelihood(assessment.getLikelihood() == null
-									? exporter.getMessage("label.status.na", null, "na")
-									: likelihood),
-							alignmentCenter);
-					exporter.addCellNumber((Tc) row.getContent().get(colIndex++),
-							assessment.getALE() == 0
-									? exporter.getKiloNumberFormat().format(assessment.getALE() * 0.001)
-									: assessmentFormat.format(assessment.getALE() * 0.001));
-					exporter.addCellParagraph((Tc) row.getContent().get(colIndex++), assessment.getOwner());
-					exporter.addCellParagraph((Tc) row.getContent().get(colIndex++), assessment.getComment());
+					exporter.setCellText((Tc) row.getContent().get(0), cells[0], alignmentLeft);
+					exporter.addCellNumber((Tc) row.getContent().get(1), cells[1]);
+					for (colIndex = 2; colIndex < colLength - 3; colIndex++)
+						exporter.setCellText((Tc) row.getContent().get(colIndex), cells[colIndex], alignmentCenter);
+					exporter.addCellNumber((Tc) row.getContent().get(colLength - 3), cells[colLength - 3]);
+					exporter.addCellParagraph((Tc) row.getContent().get(colLength - 2), cells[colLength - 2]);
+					exporter.addCellParagraph((Tc) row.getContent().get(colLength - 1), cells[colLength - 1]);
 				}
 				contents.add(table);
 				contents.add(exporter.addTableCaption(
-						exporter.getMessage("report.assessment.table.caption", new Object[] { ale.getAssetName() },
-								String.format("Risk estimation for the asset %s", ale.getAssetName()))));
+						exporter.getMessage("report.assessment.table.caption", new Object[] { assessmentTable.assetName },
+								String.format("Risk estimation for the asset %s", assessmentTable.assetName))));
 			});
 			if (exporter.insertAllAfter(paragraphOrigin, contents))
 				contents.parallelStream().filter(t -> (t instanceof Tbl)).forEach(t -> DocxChainFactory.format(t,
 						exporter.getDefaultTableStyle(), AnalysisType.QUANTITATIVE, exporter.getColors()));
-			assessementsmap.clear();
 			contents.clear();
 		}
 		return true;
 	}
 
+	private static List<ScaleType> findQualitativeScaleTypes(Analysis analysis, String language) {
+		return analysis.getImpactParameters().stream().map(p -> p.getType()).distinct()
+				.filter(p -> !p.getName().equals(Constant.DEFAULT_IMPACT_NAME))
+				.sorted((s1, s2) -> NaturalOrderComparator.compareTo(s1.getShortName(language),
+						s2.getShortName(language)))
+				.collect(Collectors.toList());
+	}
+
+	private static List<ScaleType> findQuantitativeScaleTypes(Analysis analysis) {
+		final boolean mixted = analysis.isQualitative()
+				&& (boolean) analysis.findSetting(AnalysisSetting.ALLOW_QUALITATIVE_IN_QUANTITATIVE_REPORT);
+		return analysis.getImpactParameters().stream()
+				.filter(p -> mixted && !p.getTypeName().equals(Constant.DEFAULT_IMPACT_NAME))
+				.map(ImpactParameter::getType).distinct().collect(Collectors.toList());
+	}
+
+	private static List<AssessmentValue> copy(List<Assessment> assessments, List<ScaleType> scaleTypes) {
+		return assessments.stream().map(assessment -> new AssessmentValue(assessment, scaleTypes))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * Values of an assessment read by the report, copied on the exporting
+	 * thread.
+	 */
+	private static class AssessmentValue {
+
+		private final int assetId;
+
+		private final String assetName;
+
+		private final String scenarioName;
+
+		/**
+		 * Impact levels by scale type, 0 if not estimated
+		 */
+		private final int[] levels;
+
+		private final int likelihoodLevel;
+
+		/**
+		 * The real value for a formula, the raw value otherwise
+		 */
+		private final Object likelihood;
+
+		private final boolean formula;
+
+		private final double impact;
+
+		private final double ale;
+
+		private final String owner;
+
+		private final String comment;
+
+		private AssessmentValue(Assessment assessment, List<ScaleType> scaleTypes) {
+			final IValue value = assessment.getLikelihood();
+			this.assetId = assessment.getAsset().getId();
+			this.assetName = assessment.getAsset().getName();
+			this.scenarioName = assessment.getScenario().getName();
+			this.levels = new int[scaleTypes.size()];
+			for (int i = 0; i < levels.length; i++) {
+				final IValue impact = assessment.getImpact(scaleTypes.get(i).getName());
+				levels[i] = impact == null ? 0 : impact.getLevel();
+			}
+			this.likelihoodLevel = value == null ? 0 : value.getLevel();
+			this.formula = value instanceof FormulaValue;
+			this.likelihood = value == null ? null : formula ? value.getReal() : value.getRaw();
+			this.impact = assessment.getImpactValue(Constant.DEFAULT_IMPACT_NAME);
+			this.ale = assessment.getALE();
+			this.owner = assessment.getOwner();
+			this.comment = assessment.getComment();
+		}
+	}
+
+	/**
+	 * Cell texts of the assessment table of an asset.
+	 */
+	private static class AssessmentTable {
+
+		private final String assetName;
+
+		private final double ale;
+
+		private final List<String[]> rows = new LinkedList<>();
+
+		private AssessmentTable(String assetName, double ale) {
+			this.assetName = assetName;
+			this.ale = ale;
+		}
+	}
+
 }
@@ -7,9 +7,11 @@ import static lu.itrust.business.ts.exportation.word.ExportReport.NUMBER_FORMAT;
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getOrCreateRow;
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.setValue;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 import org.docx4j.dml.chart.CTBarChart;
 import org.docx4j.dml.chart.CTBarSer;
@@ -24,6 +26,7 @@ import org.docx4j.openpackaging.parts.PartName;
 import org.docx4j.openpackaging.parts.DrawingML.Chart;
 import org.docx4j.openpackaging.parts.WordprocessingML.EmbeddedPackagePart;
 import org.docx4j.relationships.Relationship;
+import org.hibernate.Hibernate;
 import org.xlsx4j.sml.Row;
 import org.xlsx4j.sml.SheetData;
 
@@ -63,7 +66,7 @@ public class Docx4jRentabilityChartBuilder extends Docx4jBuilder {
 			if (chart != null) {
 				final List<Phase> phases = exporter.getAnalysis().getPhases();
 				final List<SummaryStage> summaryStages = exporter.getAnalysis().findSummary(ActionPlanMode.APPN);
-				final Map<String, List<Object>> summaries = ActionPlanSummaryManager.buildChartData(summaryStages, phases);
+				final Map<String, List<Object>> summaries = getContent(data);
 				final String path = chart.getRelationshipsPart().getRelationships().getRelationship().parallelStream().filter(r -> r.getTarget().endsWith(".xlsx"))
 						.map(Relationship::getTarget).findAny().orElse(null);
 				if (path != null) {
@@ -186,4 +189,15 @@ public class Docx4jRentabilityChartBuilder extends Docx4jBuilder {
 
 	}
 
+	@Override
+	protected Supplier<Map<String, List<Object>>> internalPrepare(Docx4jData data) {
+		final List<Phase> phases = new ArrayList<>(data.getExportor().getAnalysis().getPhases());
+		final List<SummaryStage> summaryStages = data.getExportor().getAnalysis().findSummary(ActionPlanMode.APPN);
+		summaryStages.forEach(summaryStage -> summaryStage.getConformances().forEach(conformance -> {
+			Hibernate.initialize(conformance.getAnalysisStandard());
+			Hibernate.initialize(conformance.getAnalysisStandard().getStandard());
+		}));
+		return () -> ActionPlanSummaryManager.buildChartData(summaryStages, phases);
+	}
+
 }
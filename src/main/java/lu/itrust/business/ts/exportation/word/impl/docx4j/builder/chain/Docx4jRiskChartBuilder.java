@@ -7,10 +7,13 @@ import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHel
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.setValue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.docx4j.dml.CTRegularTextRun;
@@ -39,6 +42,7 @@ import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.CTBarSerProxy;
 import lu.itrust.business.ts.helper.NaturalOrderComparator;
 import lu.itrust.business.ts.helper.chartJS.item.ColorBound;
 import lu.itrust.business.ts.model.assessment.Assessment;
+import lu.itrust.business.ts.model.parameter.helper.ValueFactory;
 import lu.itrust.business.ts.model.parameter.impl.RiskAcceptanceParameter;
 
 /**
@@ -98,65 +102,96 @@ public class Docx4jRiskChartBuilder extends Docx4jBuilder {
 
 	}
 
+	@Override
+	protected Supplier<?> internalPrepare(Docx4jData data) {
+		final Docx4jReportImpl exporter = (Docx4jReportImpl) data.getExportor();
+		switch (data.getAnchor()) {
+		case TS_CHARTRISKBYASSET:
+			return prepare(exporter, assessment -> assessment.getAsset().getName());
+		case TS_CHARTRISKBYASSETTYPE:
+			return prepare(exporter, assessment -> exporter.getDisplayName(assessment.getAsset().getAssetType()));
+		case TS_CHARTRISKBYSCENARIO:
+			return prepare(exporter, assessment -> assessment.getScenario().getName());
+		case TS_CHARTRISKBYSCENARIOTYPE:
+			return prepare(exporter, assessment -> exporter.getDisplayName(assessment.getScenario().getType()));
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * prepare: <br>
+	 * Copies the importance of the selected assessments with their group, the
+	 * computation counts them by group and risk acceptance level.
+	 * 
+	 * @param exporter
+	 * @param name
+	 * @return the computation of the counts by group, null without risk
+	 *         acceptance
+	 */
+	private Supplier<List<Entry<String, int[]>>> prepare(Docx4jReportImpl exporter, Function<Assessment, String> name) {
+		if (exporter.getAnalysis().getRiskAcceptanceParameters().isEmpty())
+			return null;
+		final List<ColorBound> colorBounds = buildColorBounds(exporter);
+		final List<Object[]> values = exporter.getAnalysis().getAssessments().stream().filter(Assessment::isSelected)
+				.map(assessment -> new Object[] { name.apply(assessment), ValueFactory.findImportance(assessment) }).collect(Collectors.toList());
+		return () -> {
+			final Map<String, int[]> counts = new LinkedHashMap<>();
+			final List<Entry<String, int[]>> results = new ArrayList<>();
+			values.sort((v1, v2) -> NaturalOrderComparator.compareTo((String) v1[0], (String) v2[0]));
+			for (Object[] value : values) {
+				final int[] count = counts.computeIfAbsent((String) value[0], key -> new int[colorBounds.size()]);
+				for (int i = 0; i < colorBounds.size(); i++) {
+					if (colorBounds.get(i).isAccepted((Integer) value[1])) {
+						count[i]++;
+						break;
+					}
+				}
+			}
+			// the leading groups without any rated risk are left out
+			for (Entry<String, int[]> entry : counts.entrySet()) {
+				if (!results.isEmpty() || Arrays.stream(entry.getValue()).anyMatch(count -> count > 0))
+					results.add(entry);
+			}
+			return results;
+		};
+	}
+
 	private boolean buildRiskByAsset(Docx4jData data) throws Exception {
 		final Docx4jReportImpl exporter = (Docx4jReportImpl) data.getExportor();
 		final P paragraph = (P) exporter.findP(data.getSource());
-		if (paragraph != null) {
-			final Map<String, List<Assessment>> assessmentByAsset = exporter.getAnalysis().getAssessments().parallelStream().filter(Assessment::isSelected).sorted((a1, a2) -> {
-				return NaturalOrderComparator.compareTo(a1.getAsset().getName(), a2.getAsset().getName());
-			}).collect(Collectors.groupingBy(assessment -> assessment.getAsset().getName(), LinkedHashMap::new, Collectors.toList()));
-			buildRiskChart(exporter, paragraph, assessmentByAsset, "report.chart.risk.title.asset", "Risk par asset", "report.chart.risk.title.asset.index");
-		}
+		if (paragraph != null)
+			buildRiskChart(exporter, paragraph, data, "report.chart.risk.title.asset", "Risk par asset", "report.chart.risk.title.asset.index");
 		return true;
 	}
 
 	private boolean buildRiskByAssetType(Docx4jData data) throws Exception {
 		final Docx4jReportImpl exporter = (Docx4jReportImpl) data.getExportor();
 		final P paragraph = (P) exporter.findP(data.getSource());
-		if (paragraph != null) {
-			final Map<String, List<Assessment>> assessments = exporter.getAnalysis().getAssessments().parallelStream().filter(Assessment::isSelected).sorted((a1, a2) -> {
-				return NaturalOrderComparator.compareTo(exporter.getDisplayName(a1.getAsset().getAssetType()), exporter.getDisplayName(a2.getAsset().getAssetType()));
-			}).collect(Collectors.groupingBy(assessment -> exporter.getDisplayName(assessment.getAsset().getAssetType()), LinkedHashMap::new, Collectors.toList()));
-			buildRiskChart(exporter, paragraph, assessments, "report.chart.risk.title.asset.type", "Risk par asset type", "report.chart.risk.title.asset.type.index");
-		}
+		if (paragraph != null)
+			buildRiskChart(exporter, paragraph, data, "report.chart.risk.title.asset.type", "Risk par asset type", "report.chart.risk.title.asset.type.index");
 		return true;
 	}
 
 	private boolean buildRiskByScenario(Docx4jData data) throws Exception {
 		final Docx4jReportImpl exporter = (Docx4jReportImpl) data.getExportor();
 		final P paragraph = (P) exporter.findP(data.getSource());
-		if (paragraph != null) {
-			final Map<String, List<Assessment>> assessments = exporter.getAnalysis().getAssessments().parallelStream().filter(Assessment::isSelected).sorted((a1, a2) -> {
-				return NaturalOrderComparator.compareTo(a1.getScenario().getName(), a2.getScenario().getName());
-			}).collect(Collectors.groupingBy(assessment -> assessment.getScenario().getName(), LinkedHashMap::new, Collectors.toList()));
-			buildRiskChart(exporter, paragraph, assessments, "report.chart.risk.title.scenario", "Risk par scenario", "report.chart.risk.title.scenario.index");
-		}
+		if (paragraph != null)
+			buildRiskChart(exporter, paragraph, data, "report.chart.risk.title.scenario", "Risk par scenario", "report.chart.risk.title.scenario.index");
 		return true;
 	}
 
 	private boolean buildRiskByScenarioType(Docx4jData data) throws Exception {
 		final Docx4jReportImpl exporter = (Docx4jReportImpl) data.getExportor();
 		final P paragraph = (P) exporter.findP(data.getSource());
-		if (paragraph != null) {
-			Map<String, List<Assessment>> assessments = exporter.getAnalysis().getAssessments().parallelStream().filter(Assessment::isSelected).sorted((a1, a2) -> {
-				return NaturalOrderComparator.compareTo(exporter.getDisplayName(a1.getScenario().getType()), exporter.getDisplayName(a2.getScenario().getType()));
-			}).collect(Collectors.groupingBy(assessment -> exporter.getDisplayName(assessment.getScenario().getType()), LinkedHashMap::new, Collectors.toList()));
-			buildRiskChart(exporter, paragraph, assessments, "report.chart.risk.title.scenario.type", "Risk par scenario type", "report.chart.risk.title.scenario.type.index");
-		}
+		if (paragraph != null)
+			buildRiskChart(exporter, paragraph, data, "report.chart.risk.title.scenario.type", "Risk par scenario type", "report.chart.risk.title.scenario.type.index");
 		return true;
 	}
 
-	private void buildRiskChart(final Docx4jReportImpl exporter, P anchor, final Map<String, List<Assessment>> assessmentMapper, String title, String name, String multiTitleCode)
-			throws Exception {
+	private void buildRiskChart(final Docx4jReportImpl exporter, P anchor, Docx4jData data, String title, String name, String multiTitleCode) throws Exception {
 		final List<ColorBound> colorBounds = buildColorBounds(exporter);
-		final List<Entry<String, List<Assessment>>> assessments = assessmentMapper.entrySet().stream().filter(entry -> {
-			entry.getValue().forEach(assessment -> {
-				final int importance = exporter.getValueFactory().findImportance(assessment);
-				colorBounds.parallelStream().filter(colorBound -> colorBound.isAccepted(importance)).findAny()
-						.ifPresent(colorBound -> colorBound.setCount(colorBound.getCount() + 1));
-			});
-			return colorBounds.parallelStream().anyMatch(colorBound -> colorBound.getCount() > 0);
-		}).collect(Collectors.toList());
+		final List<Entry<String, int[]>> assessments = getContent(data);
 		if (assessments.size() <= Constant.CHAR_SINGLE_CONTENT_MAX_SIZE)
 			buildRiskGraphic(exporter, colorBounds, exporter.findChart(anchor), exporter.getMessage(title, null, null), assessments);
 		else {
@@ -169,7 +204,7 @@ public class Docx4jRiskChartBuilder extends Docx4jBuilder {
 		}
 	}
 
-	private void buildRiskGraphic(final Docx4jReportImpl exporter, List<ColorBound> colorBounds, Part part, String title, List<Entry<String, List<Assessment>>> assessmentEntries)
+	private void buildRiskGraphic(final Docx4jReportImpl exporter, List<ColorBound> colorBounds, Part part, String title, List<Entry<String, int[]>> assessmentEntries)
 			throws Exception {
 		if (part == null || colorBounds.isEmpty() || assessmentEntries.isEmpty())
 			return;
@@ -215,7 +250,7 @@ public class Docx4jRiskChartBuilder extends Docx4jBuilder {
 		}
 
 		final CTBarSer barSer = barChart.getSer().get(0);
-		for (Entry<String, List<Assessment>> entry : assessmentEntries) {
+		for (Entry<String, int[]> entry : assessmentEntries) {
 			final CTStrVal catName = new CTStrVal();
 			catName.setV(entry.getKey());
 			catName.setIdx(barSer.getCat().getStrRef().getStrCache().getPt().size());
@@ -230,13 +265,8 @@ public class Docx4jRiskChartBuilder extends Docx4jBuilder {
 
 		int rowIndex = 1;
 
-		for (Entry<String, List<Assessment>> entry : assessmentEntries) {
-			colorBounds.parallelStream().forEach(color -> color.setCount(0));
-			entry.getValue().forEach(assessment -> {
-				final int importance = exporter.getValueFactory().findImportance(assessment);
-				colorBounds.parallelStream().filter(colorBound -> colorBound.isAccepted(importance)).findAny()
-						.ifPresent(colorBound -> colorBound.setCount(colorBound.getCount() + 1));
-			});
+		for (Entry<String, int[]> entry : assessmentEntries) {
+			final int[] counts = entry.getValue();
 			setValue(row = sheet.getRow().get(rowIndex++), 0, entry.getKey());
 
 			for (int i = 0; i < colorBounds.size(); i++) {
@@ -244,9 +274,9 @@ public class Docx4jRiskChartBuilder extends Docx4jBuilder {
 				final CTNumVal numVal = new CTNumVal();
 
 				numVal.setIdx(rowIndex - 2);
-				if (colorBounds.get(i).getCount() > 0) {
-					setValue(row, i + 1, colorBounds.get(i).getCount());
-					numVal.setV(colorBounds.get(i).getCount() + "");
+				if (counts[i] > 0) {
+					setValue(row, i + 1, counts[i]);
+					numVal.setV(counts[i] + "");
 				}
 				ser.getVal().getNumRef().getNumCache().getPt().add(numVal);
 			}
@@ -12,11 +12,14 @@ import static lu.itrust.business.ts.exportation.word.impl.docx4j.Docx4jReportImp
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.setValue;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.docx4j.dml.CTRegularTextRun;
@@ -38,6 +41,7 @@ import org.docx4j.wml.Tbl;
 import org.docx4j.wml.Tc;
 import org.docx4j.wml.Tr;
 import org.xlsx4j.sml.Row;
+import org.hibernate.Hibernate;
 import org.xlsx4j.sml.SheetData;
 
 import com.atlassian.util.concurrent.atomic.AtomicInteger;
@@ -57,10 +61,13 @@ import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.CTRadarSerProxy
 import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper;
 import lu.itrust.business.ts.helper.NaturalOrderComparator;
 import lu.itrust.business.ts.model.actionplan.ActionPlanMode;
+import lu.itrust.business.ts.model.analysis.Analysis;
 import lu.itrust.business.ts.model.analysis.AnalysisType;
 import lu.itrust.business.ts.model.general.Phase;
+import lu.itrust.business.ts.model.parameter.helper.ValueFactory;
 import lu.itrust.business.ts.model.standard.AnalysisStandard;
 import lu.itrust.business.ts.model.standard.measure.Measure;
+import lu.itrust.business.ts.model.standard.measure.impl.MaturityMeasure;
 import lu.itrust.business.ts.model.standard.measure.helper.MeasureComparator;
 import lu.itrust.business.ts.model.standard.measuredescription.MeasureDescriptionText;
 
@@ -102,13 +109,13 @@ public class Docx4jStandardBuilder extends Docx4jBuilder {
 				case TS_HY_ADDITIONALCOLLECTION:
 					return buildAdditionalCollection(data, ActionPlanMode.APPN, ActionPlanMode.APQ);
 				case TS_QT_CHARTCOMPLIANCE27001:
-					return buildCompliance(data, STANDARD_27001, ActionPlanMode.APPN);
+					return buildCompliance(data, STANDARD_27001);
 				case TS_QL_CHARTCOMPLIANCE27001:
-					return buildCompliance(data, STANDARD_27001, ActionPlanMode.APQ);
+					return buildCompliance(data, STANDARD_27001);
 				case TS_QT_CHARTCOMPLIANCE27002:
-					return buildCompliance(data, STANDARD_27002, ActionPlanMode.APPN);
+					return buildCompliance(data, STANDARD_27002);
 				case TS_QL_CHARTCOMPLIANCE27002:
-					return buildCompliance(data, STANDARD_27002, ActionPlanMode.APQ);
+					return buildCompliance(data, STANDARD_27002);
 				case TS_LISTCOLLECTION:
 					return buildCollectionList(data);
 				case TS_MEASURESCOLLECTION:
@@ -125,6 +132,73 @@ public class Docx4jStandardBuilder extends Docx4jBuilder {
 		}
 	}
 
+	@Override
+	protected Supplier<?> internalPrepare(Docx4jData data) {
+		final Docx4jReportImpl exporter = (Docx4jReportImpl) data.getExportor();
+		switch (data.getAnchor()) {
+			case TS_QT_ADDITIONALCOLLECTION:
+				return prepareAdditionalCollection(exporter, ActionPlanMode.APPN);
+			case TS_QL_ADDITIONALCOLLECTION:
+				return prepareAdditionalCollection(exporter, ActionPlanMode.APQ);
+			case TS_HY_ADDITIONALCOLLECTION:
+				return prepareAdditionalCollection(exporter, ActionPlanMode.APPN, ActionPlanMode.APQ);
+			case TS_QT_CHARTCOMPLIANCE27001:
+				return prepareCompliance(exporter, STANDARD_27001, ActionPlanMode.APPN);
+			case TS_QL_CHARTCOMPLIANCE27001:
+				return prepareCompliance(exporter, STANDARD_27001, ActionPlanMode.APQ);
+			case TS_QT_CHARTCOMPLIANCE27002:
+				return prepareCompliance(exporter, STANDARD_27002, ActionPlanMode.APPN);
+			case TS_QL_CHARTCOMPLIANCE27002:
+				return prepareCompliance(exporter, STANDARD_27002, ActionPlanMode.APQ);
+			case TS_CURRENTSECURITYLEVEL:
+				return prepareCurrentSecurityLevel(exporter);
+			default:
+				return null;
+		}
+	}
+
+	private Supplier<Map<String, List<Map<String, Double>>>> prepareAdditionalCollection(Docx4jReportImpl exporter,
+			ActionPlanMode... planModes) {
+		final Analysis analysis = exporter.getAnalysis();
+		final List<Phase> phases = findUsablePhases(analysis);
+		final ValueFactory factory = new ValueFactory(analysis.getParameters());
+		final Map<String, List<Measure>> measuresByStandard = new LinkedHashMap<>();
+		analysis.getAnalysisStandards().values().stream()
+				.filter(analysisStandard -> !(analysisStandard.getStandard().is(STANDARD_27001)
+						|| analysisStandard.getStandard().is(STANDARD_27002)))
+				.forEach(analysisStandard -> measuresByStandard.put(analysisStandard.getStandard().getName(),
+						loadMeasures(analysisStandard.getMeasures())));
+		final Map<ActionPlanMode, Map<Integer, Boolean>> actionPlanMeasures = new LinkedHashMap<>(planModes.length);
+		for (ActionPlanMode planMode : planModes)
+			actionPlanMeasures.put(planMode, analysis.findIdMeasuresImplementedByActionPlanType(planMode));
+		return () -> {
+			final Map<String, List<Map<String, Double>>> compliances = new LinkedHashMap<>();
+			measuresByStandard.forEach((standard, measures) -> actionPlanMeasures
+					.forEach((planMode, implementeds) -> compliances.put(complianceKey(standard, planMode),
+							computeCompliances(measures, phases, implementeds, factory))));
+			return compliances;
+		};
+	}
+
+	private Supplier<List<Map<String, Double>>> prepareCompliance(Docx4jReportImpl exporter, String standard,
+			ActionPlanMode planMode) {
+		final List<Measure> measures = loadMeasures(findMeasures(exporter.getAnalysis(), standard));
+		final List<Phase> phases = findUsablePhases(exporter.getAnalysis());
+		final Map<Integer, Boolean> actionPlanMeasures = exporter.getAnalysis()
+				.findIdMeasuresImplementedByActionPlanType(planMode);
+		final ValueFactory factory = new ValueFactory(exporter.getAnalysis().getParameters());
+		return () -> computeCompliances(measures, phases, actionPlanMeasures, factory);
+	}
+
+	private Supplier<Map<Integer, Double>> prepareCurrentSecurityLevel(Docx4jReportImpl exporter) {
+		final Map<Integer, List<Measure>> measuresByStandard = exporter.getAnalysis().getAnalysisStandards().values()
+				.stream().collect(Collectors.toMap(AnalysisStandard::getId,
+						analysisStandard -> loadMeasures(analysisStandard.getMeasures()), (m1, m2) -> m1));
+		final ValueFactory factory = new ValueFactory(exporter.getAnalysis().getParameters());
+		return () -> measuresByStandard.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey,
+				entry -> ChartGenerator.ComputeCompliance(entry.getValue(), factory)));
+	}
+
 	private boolean buildAdditionalCollection(Docx4jData data, ActionPlanMode... planModes) throws Exception {
 		final Docx4jReportImpl exporter = (Docx4jReportImpl) data.getExportor();
 		final P paragraph =  exporter.findP(data.getSource());
@@ -141,6 +215,7 @@ public class Docx4jStandardBuilder extends Docx4jBuilder {
 					final List<Object> contents = new LinkedList<>();
 					final List<Object[]> charts = new LinkedList<>();
 					final List<Phase> phases = exporter.getAnalysis().findUsablePhase();
+					final Map<String, List<Map<String, Double>>> compliances = getContent(data);
 
 					for (AnalysisStandard analysisStandard : analysisStandards) {
 
@@ -178,8 +253,8 @@ public class Docx4jStandardBuilder extends Docx4jBuilder {
 					exporter.insertAllBefore(paragraph, contents);
 
 					for (Object[] objects : charts)
-						buildComplianceChart((Chart) objects[0], (ActionPlanMode) objects[1], (String) objects[2],
-								exporter, phases);
+						buildComplianceChart((Chart) objects[0], (String) objects[2], exporter, phases,
+								compliances.get(complianceKey((String) objects[2], (ActionPlanMode) objects[1])));
 				}
 			}
 		}
@@ -203,16 +278,16 @@ public class Docx4jStandardBuilder extends Docx4jBuilder {
 		return true;
 	}
 
-	private boolean buildCompliance(Docx4jData data, String standard, ActionPlanMode planMode) throws Exception {
+	private boolean buildCompliance(Docx4jData data, String standard) throws Exception {
 		final Docx4jReportImpl exporter = (Docx4jReportImpl) data.getExportor();
 		final Part part = exporter.findChart(data.getSource());
 		if (part != null)
-			buildComplianceChart(part, planMode, standard, exporter, exporter.getAnalysis().findUsablePhase());
+			buildComplianceChart(part, standard, exporter, exporter.getAnalysis().findUsablePhase(), getContent(data));
 		return true;
 	}
 
-	private void buildComplianceChart(Part part, ActionPlanMode mode, String standard, Docx4jReportImpl exporter,
-			final List<Phase> phases) throws Exception {
+	private void buildComplianceChart(Part part, String standard, Docx4jReportImpl exporter,
+			final List<Phase> phases, List<Map<String, Double>> compliances) throws Exception {
 		final String path = part.getRelationshipsPart().getRelationships().getRelationship().parallelStream()
 				.filter(r -> r.getTarget().endsWith(".xlsx"))
 				.map(Relationship::getTarget).findAny().orElse(null);
@@ -251,14 +326,9 @@ public class Docx4jStandardBuilder extends Docx4jBuilder {
 					valAx.getNumFmt().setFormatCode("0%");
 				});
 
-		final List<Measure> measures = exporter.getAnalysis().getAnalysisStandards().values().stream()
-				.filter(analysisStandard -> analysisStandard.getStandard().is(standard))
-				.map(AnalysisStandard::getMeasures).findAny().orElse(Collections.emptyList());
-
 		final SheetData sheet = reportExcelSheet.getWorkbook().getWorksheet(0).getContents().getSheetData();
 
-		final Map<Integer, Boolean> actionPlanMeasures = exporter.getAnalysis()
-				.findIdMeasuresImplementedByActionPlanType(mode);
+		final Map<String, Double> currentCompliances = compliances.get(0);
 
 		String phaseLabel = exporter.getMessage("label.chart.series.current_level", null, "Current Level");
 
@@ -266,22 +336,19 @@ public class Docx4jStandardBuilder extends Docx4jBuilder {
 				.createChart(String.format("%s!$B$1", reportExcelSheet.getName()), 0, phaseLabel, new CTRadarSerProxy())
 				.getProxy();
 
-		Map<String, Object[]> compliances = ChartGenerator.ComputeComplianceBefore(measures,
-				exporter.getValueFactory());
-
 		int rowCount = 0;
 
-		Row row = ExcelHelper.getOrCreateRow(sheet, rowCount++, compliances.size() + 1);
+		Row row = ExcelHelper.getOrCreateRow(sheet, rowCount++, currentCompliances.size() + 1);
 		setValue(row, 0, exporter.getMessage("report.compliance.chapter", null, "Chapter"));
 		setValue(row, 1, phaseLabel);
 
 		ser.getVal().getNumRef().getNumCache().setFormatCode("0%");
 
-		for (String key : compliances.keySet()) {
+		for (Map.Entry<String, Double> entry : currentCompliances.entrySet()) {
 			final CTNumVal numVal = new CTNumVal();
 			final CTStrVal catName = new CTStrVal();
-			final Object[] compliance = compliances.get(key);
-			double value = (((Double) compliance[1]).doubleValue() / ((Integer) compliance[0]).doubleValue()) * 0.01;
+			final String key = entry.getKey();
+			final double value = entry.getValue();
 
 			catName.setV(key);
 			catName.setIdx(ser.getCat().getStrRef().getStrCache().getPt().size());
@@ -290,11 +357,9 @@ public class Docx4jStandardBuilder extends Docx4jBuilder {
 			numVal.setIdx(ser.getVal().getNumRef().getNumCache().getPt().size());
 			ser.getVal().getNumRef().getNumCache().getPt().add(numVal);
 
-			if (Double.isNaN(value))
-				value = 0;
 			numVal.setV(value + "");
 
-			row = ExcelHelper.getOrCreateRow(sheet, rowCount++, compliances.size() + 1);
+			row = ExcelHelper.getOrCreateRow(sheet, rowCount++, currentCompliances.size() + 1);
 			setValue(row, 0, key);
 			setValue(row, 1, value);
 		}
@@ -306,7 +371,7 @@ public class Docx4jStandardBuilder extends Docx4jBuilder {
 
 		radarChart.getSer().add(ser);
 
-		if (!actionPlanMeasures.isEmpty()) {
+		if (compliances.size() > 1) {
 
 			int columnIndex = 2;
 			for (Phase phase : phases) {
@@ -315,9 +380,6 @@ public class Docx4jStandardBuilder extends Docx4jBuilder {
 				phaseLabel = exporter.getMessage("label.chart.phase", new Object[] { phase.getNumber() },
 						"Phase " + phase.getNumber());
 
-				compliances = ChartGenerator.ComputeCompliance(measures, phase, actionPlanMeasures, compliances,
-						exporter.getValueFactory());
-
 				ser = exporter.createChart(ser.getCat(), String.format("%s!$%s$1", reportExcelSheet.getName(), col),
 						columnIndex - 1L, phaseLabel, new CTRadarSerProxy()).getProxy();
 						
@@ -325,15 +387,10 @@ public class Docx4jStandardBuilder extends Docx4jBuilder {
 
 				setValue(sheet.getRow().get(rowCount = 0), columnIndex, phaseLabel);
 
-				for (String key : compliances.keySet()) {
+				for (double value : compliances.get(columnIndex - 1).values()) {
 					final CTNumVal numVal = new CTNumVal();
-					final Object[] compliance = compliances.get(key);
-					double value = (((Double) compliance[1]).doubleValue() / ((Integer) compliance[0]).doubleValue())
-							* 0.01;
 					numVal.setIdx(ser.getVal().getNumRef().getNumCache().getPt().size());
 					ser.getVal().getNumRef().getNumCache().getPt().add(numVal);
-					if (Double.isNaN(value))
-						value = 0;
 					numVal.setV(value + "");
 					setValue(sheet.getRow().get(++rowCount), columnIndex, value);
 				}
@@ -351,6 +408,75 @@ public class Docx4jStandardBuilder extends Docx4jBuilder {
 
 	}
 
+	/**
+	 * computeCompliances: <br>
+	 * Computes the compliance rate by chapter before the action plan, then
+	 * after each phase when measures are implemented by the action plan.
+	 * 
+	 * @param measures
+	 * @param phases
+	 * @param actionPlanMeasures
+	 * @param factory
+	 * @return rates by chapter, the current level first then one for each phase
+	 */
+	private static List<Map<String, Double>> computeCompliances(List<Measure> measures, List<Phase> phases,
+			Map<Integer, Boolean> actionPlanMeasures, ValueFactory factory) {
+		final List<Map<String, Double>> results = new ArrayList<>(phases.size() + 1);
+		Map<String, Object[]> compliances = ChartGenerator.ComputeComplianceBefore(measures, factory);
+		results.add(toComplianceRates(compliances));
+		if (!actionPlanMeasures.isEmpty()) {
+			for (Phase phase : phases)
+				results.add(toComplianceRates(compliances = ChartGenerator.ComputeCompliance(measures, phase,
+						actionPlanMeasures, compliances, factory)));
+		}
+		return results;
+	}
+
+	private static Map<String, Double> toComplianceRates(Map<String, Object[]> compliances) {
+		final Map<String, Double> rates = new LinkedHashMap<>(compliances.size());
+		compliances.forEach((key, compliance) -> {
+			final double value = (((Double) compliance[1]).doubleValue() / ((Integer) compliance[0]).doubleValue())
+					* 0.01;
+			rates.put(key, Double.isNaN(value) ? 0 : value);
+		});
+		return rates;
+	}
+
+	/**
+	 * loadMeasures: <br>
+	 * Copies the measures, the export sorts the ones of the analysis while the
+	 * compliances are computed, and loads what the computation reads.
+	 * 
+	 * @param measures
+	 * @return the loaded copy
+	 */
+	private static List<Measure> loadMeasures(List<Measure> measures) {
+		final List<Measure> results = new ArrayList<>(measures);
+		for (Measure measure : results) {
+			Hibernate.initialize(measure.getMeasureDescription());
+			Hibernate.initialize(measure.getPhase());
+			if (measure instanceof MaturityMeasure)
+				Hibernate.initialize(((MaturityMeasure) measure).getImplementationRate());
+		}
+		return results;
+	}
+
+	private static List<Phase> findUsablePhases(Analysis analysis) {
+		final List<Phase> phases = analysis.findUsablePhase();
+		phases.forEach(Hibernate::initialize);
+		return phases;
+	}
+
+	private static List<Measure> findMeasures(Analysis analysis, String standard) {
+		return analysis.getAnalysisStandards().values().stream()
+				.filter(analysisStandard -> analysisStandard.getStandard().is(standard))
+				.map(AnalysisStandard::getMeasures).findAny().orElse(Collections.emptyList());
+	}
+
+	private static String complianceKey(String standard, ActionPlanMode planMode) {
+		return standard + "|" + planMode;
+	}
+
 	private boolean buildCurrentSecurityLevel(Docx4jData data) {
 		final Docx4jReportImpl exporter = (Docx4jReportImpl) data.getExportor();
 		final P paragraphOriginal = exporter.findP(data.getSource());
@@ -358,10 +484,10 @@ public class Docx4jStandardBuilder extends Docx4jBuilder {
 			final List<Object> contents = new LinkedList<>();
 			final AtomicInteger index = new AtomicInteger(0);
 			final int count = exporter.getAnalysis().getAnalysisStandards().size();
+			final Map<Integer, Double> compliances = getContent(data);
 			exporter.getAnalysis().getAnalysisStandards().values().stream().sorted(standardComparator())
 					.forEach(analysisStandard -> {
-						final double complaince = ChartGenerator.ComputeCompliance(analysisStandard,
-								exporter.getValueFactory());
+						final double complaince = compliances.get(analysisStandard.getId());
 						final String name = analysisStandard.getStandard().is(Constant.STANDARD_27001)
 								? Constant.STANDARD_27001
 								: analysisStandard.getStandard().is(Constant.STANDARD_27002) ? Constant.STANDARD_27002
@@ -4,7 +4,9 @@
 package lu.itrust.business.ts.exportation.word.impl.docx4j.formatting;
 
 import java.math.BigInteger;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.docx4j.XmlUtils;
@@ -101,6 +103,17 @@ public abstract class Docx4jFormatter implements DocxFormatter {
 		this.support = support;
 	}
 
+	/**
+	 * @return the supported table styles, never null
+	 */
+	public List<String> getStyles() {
+		if (support instanceof String)
+			return Collections.singletonList((String) support);
+		if (support instanceof List)
+			return ((List<?>) support).stream().map(String::valueOf).collect(Collectors.toList());
+		return Collections.emptyList();
+	}
+
 	protected boolean isSupported(Tbl table) {
 		if (support == null)
 			return false;
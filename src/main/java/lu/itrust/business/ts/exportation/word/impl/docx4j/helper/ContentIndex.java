@@ -0,0 +1,106 @@
+package lu.itrust.business.ts.exportation.word.impl.docx4j.helper;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.docx4j.XmlUtils;
+
+/**
+ * ContentIndex: <br>
+ * Position of the elements of a content list, by identity, and of the values
+ * they wrap.<br>
+ * Positions are indexed from the start of the list while looking up an
+ * element; an insertion only drops the positions after the insertion point.
+ * Changes that are not notified are detected on the size of the list or when a
+ * position does not match, the index is then rebuilt.
+ */
+public class ContentIndex {
+
+	private final Map<Object, Integer> positions = new IdentityHashMap<>();
+
+	private List<Object> content;
+
+	/** Expected size of the content */
+	private int size;
+
+	/** Number of leading elements with an up to date position */
+	private int indexed;
+
+	/**
+	 * indexOf: <br>
+	 * 
+	 * @param content the content list
+	 * @param reference the element, or the value it wraps if unwrap is true
+	 * @param unwrap matches the values wrapped in a JAXBElement
+	 * @return the position of the reference or -1
+	 */
+	public int indexOf(List<Object> content, Object reference, boolean unwrap) {
+		if (this.content != content || size != content.size())
+			reset(content);
+		int index = find(reference, false);
+		if (index == -1 && unwrap)
+			index = find(reference, true);
+		if (index != -1)
+			return index;
+		final Object value = unwrap ? XmlUtils.unwrap(reference) : reference;
+		while (indexed < content.size()) {
+			final Object element = content.get(indexed);
+			final Object elementValue = XmlUtils.unwrap(element);
+			positions.put(element, indexed);
+			if (elementValue != element)
+				positions.put(elementValue, indexed);
+			if (element == reference || unwrap && elementValue == value)
+				return indexed++;
+			indexed++;
+		}
+		return -1;
+	}
+
+	/**
+	 * added: <br>
+	 * To be called when elements are inserted in the content.
+	 * 
+	 * @param index the position of the first element inserted
+	 * @param count the number of elements inserted
+	 */
+	public void added(int index, int count) {
+		indexed = Math.min(indexed, index);
+		size += count;
+	}
+
+	/**
+	 * replaced: <br>
+	 * To be called when an element of the content is replaced.
+	 * 
+	 * @param index the position of the element
+	 */
+	public void replaced(int index) {
+		indexed = Math.min(indexed, index);
+	}
+
+	public void clear() {
+		reset(null);
+	}
+
+	private int find(Object reference, boolean unwrap) {
+		final Object key = unwrap ? XmlUtils.unwrap(reference) : reference;
+		final Integer index = positions.get(key);
+		if (index == null || index >= indexed)
+			return -1;
+		final Object element = content.get(index);
+		if (element == key)
+			return index;
+		if (XmlUtils.unwrap(element) == key)
+			return unwrap ? index : -1;
+		reset(content);
+		return -1;
+	}
+
+	private void reset(List<Object> content) {
+		this.content = content;
+		this.size = content == null ? 0 : content.size();
+		this.indexed = 0;
+		this.positions.clear();
+	}
+}
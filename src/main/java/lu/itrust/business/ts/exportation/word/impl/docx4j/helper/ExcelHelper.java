@@ -305,6 +305,20 @@ public final class ExcelHelper {
 		return createRow(sheetData, sheetData.getRow().size(), cellSize);
 	}
 
+	/**
+	 * newRow: <br>
+	 * Creates a row which is not added to a sheet, see
+	 * {@link ExcelStreamWriter.Sheet#write(Row)}.
+	 * 
+	 * @param cellSize the number of cells
+	 * @return the row
+	 */
+	public static Row newRow(int cellSize) {
+		final Row row = Context.getsmlObjectFactory().createRow();
+		initialiseCells(row, cellSize);
+		return row;
+	}
+
 	public static WorksheetPart getWorksheetPart(Worksheet worksheet) {
 		return (WorksheetPart) worksheet.getParent();
 	}
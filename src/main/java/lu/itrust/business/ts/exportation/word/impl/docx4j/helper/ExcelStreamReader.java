@@ -0,0 +1,738 @@
+package lu.itrust.business.ts.exportation.word.impl.docx4j.helper;
+
+import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.colToIndex;
+import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.isEmpty;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xlsx4j.org.apache.poi.ss.usermodel.DataFormatter;
+
+/**
+ * ExcelStreamReader: <br>
+ * Reads a workbook row by row without loading it, only the current row is kept
+ * in memory. Shared strings are read on demand, up to the highest index
+ * requested so far.<br>
+ * Cell values are the ones returned by
+ * {@link ExcelHelper#getString(org.xlsx4j.sml.Cell, DataFormatter)}: numbers
+ * are formatted with the number format of the cell style and missing cells are
+ * empty.
+ */
+public class ExcelStreamReader implements Closeable {
+
+	private static final String NS_R = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+	private static final String REL_OFFICE_DOCUMENT = NS_R + "/officeDocument";
+
+	private static final String REL_WORKSHEET = NS_R + "/worksheet";
+
+	private static final String REL_TABLE = NS_R + "/table";
+
+	private static final String REL_STYLES = NS_R + "/styles";
+
+	private static final String REL_SHARED_STRINGS = NS_R + "/sharedStrings";
+
+	private static final String PACKAGE_RELATIONSHIPS = "_rels/.rels";
+
+	/** Built-in number formats, by id */
+	private static final String[] BUILTIN_FORMATS = { "General", "0", "0.00", "#,##0", "#,##0.00",
+			"\"$\"#,##0_);(\"$\"#,##0)", "\"$\"#,##0_);[Red](\"$\"#,##0)", "\"$\"#,##0.00_);(\"$\"#,##0.00)",
+			"\"$\"#,##0.00_);[Red](\"$\"#,##0.00)", "0%", "0.00%", "0.00E+00", "# ?/?", "# ??/??", "m/d/yy",
+			"d-mmm-yy", "d-mmm", "mmm-yy", "h:mm AM/PM", "h:mm:ss AM/PM", "h:mm", "h:mm:ss", "m/d/yy h:mm", null,
+			null, null, null, null, null, null, null, null, null, null, null, null, null, "#,##0_);(#,##0)",
+			"#,##0_);[Red](#,##0)", "#,##0.00_);(#,##0.00)", "#,##0.00_);[Red](#,##0.00)",
+			"_(* #,##0_);_(* (#,##0);_(* \"-\"_);_(@_)", "_(\"$\"* #,##0_);_(\"$\"* (#,##0);_(\"$\"* \"-\"_);_(@_)",
+			"_(* #,##0.00_);_(* (#,##0.00);_(* \"-\"??_);_(@_)",
+			"_(\"$\"* #,##0.00_);_(\"$\"* (#,##0.00);_(\"$\"* \"-\"??_);_(@_)", "mm:ss", "[h]:mm:ss", "mm:ss.0",
+			"##0.0E+0", "@" };
+
+	private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+
+	static {
+		INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+	}
+
+	private final ZipFile zip;
+
+	/** Temporary copy of the workbook when read from a stream */
+	private final Path temporary;
+
+	private final DataFormatter formatter = new DataFormatter();
+
+	/** Sheet parts by name */
+	private final Map<String, String> sheets = new LinkedHashMap<>();
+
+	/** Hidden sheet names */
+	private final List<String> hiddenSheets = new ArrayList<>();
+
+	/** Number format id by cell style, null: workbook without styles */
+	private int[] cellStyles;
+
+	/** Custom number formats by id */
+	private final Map<Integer, String> numberFormats = new HashMap<>();
+
+	private SharedStrings sharedStrings;
+
+	/**
+	 * @param file the workbook
+	 * @throws IOException
+	 */
+	public ExcelStreamReader(File file) throws IOException {
+		this(file, null);
+	}
+
+	/**
+	 * The stream is copied to a temporary file, deleted on close.
+	 * 
+	 * @param input the workbook, not closed by the reader
+	 * @throws IOException
+	 */
+	public ExcelStreamReader(InputStream input) throws IOException {
+		this(copy(input));
+	}
+
+	private ExcelStreamReader(Path temporary) throws IOException {
+		this(temporary.toFile(), temporary);
+	}
+
+	private ExcelStreamReader(File file, Path temporary) throws IOException {
+		this.temporary = temporary;
+		try {
+			this.zip = new ZipFile(file);
+		} catch (IOException e) {
+			deleteTemporary();
+			throw e;
+		}
+		try {
+			loadWorkbook();
+		} catch (IOException e) {
+			close();
+			throw e;
+		} catch (Exception e) {
+			close();
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * @param name the sheet name
+	 * @return true if the workbook has a sheet with this name
+	 */
+	public boolean hasSheet(String name) {
+		return sheets.containsKey(name);
+	}
+
+	/**
+	 * @param name the sheet name
+	 * @return true if the sheet exists and is not hidden
+	 */
+	public boolean isVisible(String name) {
+		return hasSheet(name) && !hiddenSheets.contains(name);
+	}
+
+	/**
+	 * findTable: <br>
+	 * see {@link ExcelHelper#findTable(org.xlsx4j.sml.SheetData, String)}
+	 * 
+	 * @param sheet the sheet name
+	 * @param name  the table name or display name
+	 * @return the table or null
+	 * @throws IOException
+	 */
+	public Table findTable(String sheet, String name) throws IOException {
+		return findTable(sheet, table -> table.getName().equals(name) || table.getDisplayName().equals(name));
+	}
+
+	/**
+	 * findTableNameStartWith: <br>
+	 * see
+	 * {@link ExcelHelper#findTableNameStartWith(org.docx4j.openpackaging.parts.SpreadsheetML.WorksheetPart, String)}
+	 * 
+	 * @param sheet the sheet name
+	 * @param name  the beginning of the table name or display name
+	 * @return the table or null
+	 * @throws IOException
+	 */
+	public Table findTableNameStartWith(String sheet, String name) throws IOException {
+		return findTable(sheet,
+				table -> table.getName().startsWith(name) || table.getDisplayName().startsWith(name));
+	}
+
+	/**
+	 * read: <br>
+	 * Opens the rows of a sheet, they are read while iterating. Rows must be
+	 * closed.
+	 * 
+	 * @param sheet the sheet name
+	 * @return the rows or null if the sheet cannot be found
+	 * @throws IOException
+	 */
+	public Rows read(String sheet) throws IOException {
+		final String path = sheets.get(sheet);
+		if (path == null || zip.getEntry(path) == null)
+			return null;
+		return new Rows(path);
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			if (sharedStrings != null)
+				sharedStrings.close();
+			if (zip != null)
+				zip.close();
+		} finally {
+			deleteTemporary();
+		}
+	}
+
+	private void loadWorkbook() throws Exception {
+		String workbook = null;
+		for (Element relationship : elements(parse(PACKAGE_RELATIONSHIPS).getDocumentElement(), "Relationship")) {
+			if (relationship.getAttribute("Type").equals(REL_OFFICE_DOCUMENT)) {
+				workbook = resolve("", relationship.getAttribute("Target"));
+				break;
+			}
+		}
+		if (workbook == null)
+			throw new IOException("Workbook cannot be found");
+		final String folder = folder(workbook);
+		final Map<String, String> parts = new HashMap<>();
+		String styles = null, strings = null;
+		for (Element relationship : elements(parse(relationships(workbook)).getDocumentElement(), "Relationship")) {
+			final String type = relationship.getAttribute("Type"),
+					target = resolve(folder, relationship.getAttribute("Target"));
+			if (type.equals(REL_WORKSHEET))
+				parts.put(relationship.getAttribute("Id"), target);
+			else if (type.equals(REL_STYLES))
+				styles = target;
+			else if (type.equals(REL_SHARED_STRINGS))
+				strings = target;
+		}
+		for (Element element : elements(parse(workbook).getDocumentElement(), "sheet")) {
+			final String path = parts.get(element.getAttributeNS(NS_R, "id"));
+			if (path == null)
+				continue;
+			sheets.put(element.getAttribute("name"), path);
+			if (!(isEmpty(element.getAttribute("state")) || element.getAttribute("state").equals("visible")))
+				hiddenSheets.add(element.getAttribute("name"));
+		}
+		if (styles != null && zip.getEntry(styles) != null)
+			loadStyles(styles);
+		if (strings != null && zip.getEntry(strings) != null)
+			sharedStrings = new SharedStrings(strings);
+	}
+
+	private void loadStyles(String path) throws Exception {
+		final Element styleSheet = parse(path).getDocumentElement();
+		for (Element numFmt : elements(styleSheet, "numFmt"))
+			numberFormats.put(Integer.parseInt(numFmt.getAttribute("numFmtId")), numFmt.getAttribute("formatCode"));
+		final List<Element> cellXfs = elements(styleSheet, "cellXfs");
+		final List<Element> xfs = cellXfs.isEmpty() ? Collections.emptyList() : elements(cellXfs.get(0), "xf");
+		cellStyles = new int[xfs.size()];
+		for (int i = 0; i < cellStyles.length; i++) {
+			final String numFmtId = xfs.get(i).getAttribute("numFmtId");
+			cellStyles[i] = isEmpty(numFmtId) ? 0 : Integer.parseInt(numFmtId);
+		}
+	}
+
+	private Table findTable(String sheet, Predicate<Table> filter) throws IOException {
+		final String path = sheets.get(sheet), relationships = path == null ? null : relationships(path);
+		if (relationships == null || zip.getEntry(relationships) == null)
+			return null;
+		try {
+			for (Element relationship : elements(parse(relationships).getDocumentElement(), "Relationship")) {
+				if (!relationship.getAttribute("Type").equals(REL_TABLE))
+					continue;
+				final Element element = parse(resolve(folder(path), relationship.getAttribute("Target")))
+						.getDocumentElement();
+				final List<String> columns = new ArrayList<>();
+				for (Element column : elements(element, "tableColumn"))
+					columns.add(column.getAttribute("name"));
+				final Table table = new Table(element.getAttribute("name"), element.getAttribute("displayName"),
+						element.getAttribute("ref"), columns);
+				if (filter.test(table))
+					return table;
+			}
+			return null;
+		} catch (IOException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * formatNumber: <br>
+	 * Formats a number as {@link DataFormatter#formatCellValue(org.xlsx4j.sml.Cell)}
+	 * does, raw value is returned for workbooks without styles.
+	 */
+	private String formatNumber(String value, String style) {
+		if (cellStyles == null || value == null)
+			return value;
+		final int index = isEmpty(style) ? 0 : Integer.parseInt(style),
+				id = index < cellStyles.length ? cellStyles[index] : 0;
+		String format = numberFormats.get(id);
+		if (format == null)
+			format = id < BUILTIN_FORMATS.length && BUILTIN_FORMATS[id] != null ? BUILTIN_FORMATS[id] : "General";
+		try {
+			return formatter.formatRawCellContents(Double.parseDouble(value), id, format);
+		} catch (NumberFormatException e) {
+			return value;
+		}
+	}
+
+	private String getSharedString(String value) throws XMLStreamException {
+		if (value == null)
+			return null;
+		if (sharedStrings == null)
+			return value;
+		try {
+			return sharedStrings.get(Integer.parseInt(value));
+		} catch (NumberFormatException e) {
+			return value;
+		}
+	}
+
+	private XMLStreamReader open(InputStream inputStream) throws IOException {
+		try {
+			return INPUT_FACTORY.createXMLStreamReader(inputStream);
+		} catch (XMLStreamException e) {
+			inputStream.close();
+			throw new IOException(e);
+		}
+	}
+
+	private Document parse(String path) throws Exception {
+		final ZipEntry entry = zip.getEntry(path);
+		if (entry == null)
+			throw new IOException("Part not found: " + path);
+		final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setNamespaceAware(true);
+		factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+		try (InputStream inputStream = zip.getInputStream(entry)) {
+			return factory.newDocumentBuilder().parse(inputStream);
+		}
+	}
+
+	private void deleteTemporary() throws IOException {
+		if (temporary != null)
+			Files.deleteIfExists(temporary);
+	}
+
+	private static Path copy(InputStream input) throws IOException {
+		final Path path = Files.createTempFile("import-", ".xlsx");
+		try {
+			Files.copy(input, path, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			Files.deleteIfExists(path);
+			throw e;
+		}
+		return path;
+	}
+
+	/**
+	 * readText: <br>
+	 * Reads the text of a string item, rich text runs are joined and phonetic
+	 * runs are only used when there is no other text, as
+	 * {@link ExcelHelper#getSharedStrings(org.docx4j.openpackaging.parts.SpreadsheetML.WorkbookPart)}
+	 * does.
+	 */
+	private static String readText(XMLStreamReader reader) throws XMLStreamException {
+		final String name = reader.getLocalName();
+		final StringBuilder text = new StringBuilder(), phonetic = new StringBuilder();
+		boolean hasText = false, inPhonetic = false;
+		while (reader.hasNext()) {
+			final int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				if (reader.getLocalName().equals("rPh"))
+					inPhonetic = true;
+				else if (reader.getLocalName().equals("t")) {
+					if (inPhonetic)
+						phonetic.append(reader.getElementText());
+					else {
+						text.append(reader.getElementText());
+						hasText = true;
+					}
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				if (reader.getLocalName().equals("rPh"))
+					inPhonetic = false;
+				else if (reader.getLocalName().equals(name))
+					break;
+			}
+		}
+		return hasText ? text.toString() : phonetic.toString();
+	}
+
+	private static List<Element> elements(Element parent, String localName) {
+		final NodeList nodes = parent.getElementsByTagNameNS("*", localName);
+		final List<Element> elements = new ArrayList<>(nodes.getLength());
+		for (int i = 0; i < nodes.getLength(); i++)
+			elements.add((Element) nodes.item(i));
+		return elements;
+	}
+
+	private static String folder(String path) {
+		return path.substring(0, path.lastIndexOf('/') + 1);
+	}
+
+	private static String relationships(String path) {
+		final String folder = folder(path);
+		return folder + "_rels/" + path.substring(folder.length()) + ".rels";
+	}
+
+	private static String resolve(String folder, String target) {
+		if (target.startsWith("/"))
+			return target.substring(1);
+		return URI.create("/" + folder).resolve(target).getPath().substring(1);
+	}
+
+	/**
+	 * Table: <br>
+	 * Name, address and column names of a table.
+	 */
+	public static class Table {
+
+		private final String name;
+
+		private final String displayName;
+
+		private final String ref;
+
+		private final List<String> columns;
+
+		private Table(String name, String displayName, String ref, List<String> columns) {
+			this.name = name;
+			this.displayName = displayName;
+			this.ref = ref;
+			this.columns = Collections.unmodifiableList(columns);
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public String getDisplayName() {
+			return displayName;
+		}
+
+		public String getRef() {
+			return ref;
+		}
+
+		/**
+		 * @return the table address
+		 */
+		public AddressRef getAddress() {
+			return AddressRef.parse(ref);
+		}
+
+		/**
+		 * @return column names, in order
+		 */
+		public List<String> getColumns() {
+			return columns;
+		}
+	}
+
+	/**
+	 * Rows: <br>
+	 * Rows of a sheet, read while iterating. Can be iterated once.
+	 */
+	public class Rows implements Iterable<Row>, Iterator<Row>, Closeable {
+
+		private final InputStream inputStream;
+
+		private final XMLStreamReader reader;
+
+		private Row next;
+
+		private int index = -1;
+
+		private boolean ended;
+
+		private Rows(String path) throws IOException {
+			this.inputStream = zip.getInputStream(zip.getEntry(path));
+			this.reader = open(inputStream);
+		}
+
+		@Override
+		public Iterator<Row> iterator() {
+			return this;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next == null && !ended) {
+				try {
+					next = readRow();
+				} catch (XMLStreamException e) {
+					throw new UncheckedIOException(new IOException(e));
+				}
+				ended = next == null;
+			}
+			return next != null;
+		}
+
+		@Override
+		public Row next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			final Row row = next;
+			next = null;
+			return row;
+		}
+
+		@Override
+		public void close() throws IOException {
+			ended = true;
+			try {
+				reader.close();
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			} finally {
+				inputStream.close();
+			}
+		}
+
+		private Row readRow() throws XMLStreamException {
+			while (reader.hasNext()) {
+				final int event = reader.next();
+				if (event == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("row")) {
+					final String r = reader.getAttributeValue(null, "r");
+					index = isEmpty(r) ? index + 1 : Integer.parseInt(r) - 1;
+					return readCells(index);
+				} else if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals("sheetData"))
+					break;
+			}
+			return null;
+		}
+
+		private Row readCells(int index) throws XMLStreamException {
+			final List<Object[]> cells = new ArrayList<>();
+			int column = -1, length = 0;
+			while (reader.hasNext()) {
+				final int event = reader.next();
+				if (event == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("c")) {
+					column = colToIndex(reader.getAttributeValue(null, "r"), column + 1);
+					length = Math.max(length, column + 1);
+					cells.add(new Object[] { column, readCell() });
+				} else if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals("row"))
+					break;
+			}
+			final String[] values = new String[length];
+			Arrays.fill(values, "");
+			for (Object[] cell : cells)
+				values[(int) cell[0]] = (String) cell[1];
+			return new Row(index, cells.size(), values);
+		}
+
+		/**
+		 * readCell: <br>
+		 * see {@link ExcelHelper#getString(org.xlsx4j.sml.Cell, DataFormatter)}
+		 */
+		private String readCell() throws XMLStreamException {
+			final String type = reader.getAttributeValue(null, "t"), style = reader.getAttributeValue(null, "s");
+			String value = null, text = null;
+			while (reader.hasNext()) {
+				final int event = reader.next();
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					if (reader.getLocalName().equals("v"))
+						value = reader.getElementText();
+					else if (reader.getLocalName().equals("is"))
+						text = readText(reader);
+				} else if (event == XMLStreamConstants.END_ELEMENT && reader.getLocalName().equals("c"))
+					break;
+			}
+			switch (type == null ? "n" : type) {
+				case "inlineStr":
+					return text == null ? "" : text;
+				case "s":
+					return getSharedString(value);
+				case "str":
+				case "b":
+					return value;
+				case "e":
+					return "";
+				default:
+					if (value == null)
+						return cellStyles == null ? null : "";
+					return formatNumber(value, style);
+			}
+		}
+	}
+
+	/**
+	 * Row: <br>
+	 * Cell values of a row, by column index.
+	 */
+	public static class Row {
+
+		private final int index;
+
+		private final int size;
+
+		private final String[] values;
+
+		private Row(int index, int size, String[] values) {
+			this.index = index;
+			this.size = size;
+			this.values = values;
+		}
+
+		/**
+		 * @return zero based row index
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * @return the number of cells
+		 */
+		public int size() {
+			return size;
+		}
+
+		/**
+		 * @param index zero based column index
+		 * @return the cell value, empty if there is no cell
+		 */
+		public String getString(int index) {
+			return index < 0 || index >= values.length ? "" : values[index];
+		}
+
+		public String getString(int index, String defaultValue) {
+			final String value = getString(index);
+			return value == null ? defaultValue : value;
+		}
+
+		public double getDouble(int index) {
+			return getDouble(index, 0d);
+		}
+
+		public double getDouble(int index, double defaultValue) {
+			try {
+				final String value = getString(index);
+				if (isEmpty(value))
+					return defaultValue;
+				return Double.parseDouble(value);
+			} catch (NumberFormatException e) {
+				return defaultValue;
+			}
+		}
+
+		public int getInt(int index) {
+			return getInt(index, 0);
+		}
+
+		public int getInt(int index, int defaultValue) {
+			try {
+				final String value = getString(index);
+				if (isEmpty(value))
+					return defaultValue;
+				return Integer.parseInt(value);
+			} catch (NumberFormatException e) {
+				return defaultValue;
+			}
+		}
+
+		public boolean getBoolean(int index) {
+			final String value = getString(index);
+			try {
+				return !(isEmpty(value) || Integer.parseInt(value) == 0);
+			} catch (NumberFormatException e) {
+				return Boolean.valueOf(value);
+			}
+		}
+	}
+
+	/**
+	 * SharedStrings: <br>
+	 * Shared string table, read up to the requested index.
+	 */
+	private class SharedStrings implements Closeable {
+
+		private final String path;
+
+		private final List<String> values = new ArrayList<>();
+
+		private InputStream inputStream;
+
+		private XMLStreamReader reader;
+
+		private boolean ended;
+
+		private SharedStrings(String path) {
+			this.path = path;
+		}
+
+		private String get(int index) throws XMLStreamException {
+			while (values.size() <= index && !ended)
+				readNext();
+			return index < 0 || index >= values.size() ? null : values.get(index);
+		}
+
+		private void readNext() throws XMLStreamException {
+			if (reader == null) {
+				try {
+					inputStream = zip.getInputStream(zip.getEntry(path));
+					reader = open(inputStream);
+				} catch (IOException e) {
+					throw new XMLStreamException(e);
+				}
+			}
+			while (reader.hasNext()) {
+				if (reader.next() == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("si")) {
+					values.add(readText(reader));
+					return;
+				}
+			}
+			ended = true;
+		}
+
+		@Override
+		public void close() throws IOException {
+			ended = true;
+			if (reader == null)
+				return;
+			try {
+				reader.close();
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			} finally {
+				inputStream.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,687 @@
+package lu.itrust.business.ts.exportation.word.impl.docx4j.helper;
+
+import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.colToIndex;
+import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getAddress;
+import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.numToColString;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.docx4j.openpackaging.contenttype.ContentTypes;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.xlsx4j.sml.CTRElt;
+import org.xlsx4j.sml.CTRst;
+import org.xlsx4j.sml.Cell;
+import org.xlsx4j.sml.Row;
+import org.xlsx4j.sml.STCellType;
+
+/**
+ * ExcelStreamWriter: <br>
+ * Writes a workbook sheet by sheet and row by row to the output stream, only
+ * the current row is kept in memory.<br>
+ * The styles, theme and document properties of the template are kept, its
+ * sheets are dropped. The header and footer of the template sheet named
+ * headerFooterSheetName are applied to all sheets. Strings are written inline,
+ * as {@link ExcelHelper#setValue(Cell, String)} does.<br>
+ * Nothing is written before the first sheet is created, so response headers can
+ * still be set after the writer is opened.<br>
+ * The workbook is only finished by {@link #close()} once {@link #complete()}
+ * has been called: a failed export leaves an unreadable archive instead of a
+ * valid but truncated workbook.
+ */
+public class ExcelStreamWriter implements Closeable {
+
+	private static final String NS_MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+	private static final String NS_R = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+	private static final String NS_PACKAGE_RELATIONSHIPS = "http://schemas.openxmlformats.org/package/2006/relationships";
+
+	private static final String NS_CONTENT_TYPES = "http://schemas.openxmlformats.org/package/2006/content-types";
+
+	private static final String REL_OFFICE_DOCUMENT = NS_R + "/officeDocument";
+
+	private static final String REL_WORKSHEET = NS_R + "/worksheet";
+
+	private static final String REL_TABLE = NS_R + "/table";
+
+	private static final String REL_STYLES = NS_R + "/styles";
+
+	private static final String REL_THEME = NS_R + "/theme";
+
+	private static final String REL_VML_DRAWING = NS_R + "/vmlDrawing";
+
+	private static final String CONTENT_TYPE_WORKSHEET = "application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml";
+
+	private static final String CONTENT_TYPE_TABLE = "application/vnd.openxmlformats-officedocument.spreadsheetml.table+xml";
+
+	private static final String CONTENT_TYPES = "[Content_Types].xml";
+
+	private static final String PACKAGE_RELATIONSHIPS = "_rels/.rels";
+
+	private static final String WORKBOOK = "xl/workbook.xml";
+
+	private static final String WORKBOOK_RELATIONSHIPS = "xl/_rels/workbook.xml.rels";
+
+	/** Characters not allowed in XML 1.0 */
+	private static final Pattern INVALID_XML_CHARACTERS = Pattern.compile("[\\x00-\\x08\\x0B\\x0C\\x0E-\\x1F\\uFFFE\\uFFFF]");
+
+	private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+	private final ZipFile template;
+
+	private final OutputStream output;
+
+	private ZipOutputStream zip;
+
+	/** Template content types by extension */
+	private final Map<String, String> defaults = new LinkedHashMap<>();
+
+	/** Template content types by part name */
+	private final Map<String, String> overrides = new LinkedHashMap<>();
+
+	/** Template parts kept: document properties, styles, theme and header drawing */
+	private final Set<String> parts = new LinkedHashSet<>();
+
+	/** Workbook relationships kept, target by type */
+	private final Map<String, String> workbookRelationships = new LinkedHashMap<>();
+
+	/** Content types of the written parts */
+	private final Map<String, String> contentTypes = new LinkedHashMap<>();
+
+	private final List<String> sheetNames = new ArrayList<>();
+
+	private Element headerFooter;
+
+	/** Header drawing, target from the worksheets folder */
+	private String headerFooterDrawing;
+
+	private Sheet sheet;
+
+	private int tableCount;
+
+	private boolean completed;
+
+	/**
+	 * @param template              the excel template
+	 * @param headerFooterSheetName the template sheet providing header and
+	 *                              footer, may be null
+	 * @param output                the output stream, not closed by the writer
+	 * @throws IOException
+	 */
+	public ExcelStreamWriter(File template, String headerFooterSheetName, OutputStream output) throws IOException {
+		this.template = new ZipFile(template);
+		this.output = output;
+		try {
+			loadTemplate(headerFooterSheetName);
+		} catch (IOException e) {
+			this.template.close();
+			throw e;
+		} catch (Exception e) {
+			this.template.close();
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * getExtension: <br>
+	 * see {@link ExcelHelper#getExtension(org.docx4j.openpackaging.packages.SpreadsheetMLPackage)}
+	 * 
+	 * @return the file extension of the template
+	 */
+	public String getExtension() {
+		final String contentType = overrides.get("/" + WORKBOOK);
+		if (contentType == null)
+			return "xlsx";
+		switch (contentType) {
+			case ContentTypes.SPREADSHEETML_WORKBOOK_MACROENABLED:
+				return "xlsm";
+			case ContentTypes.SPREADSHEETML_TEMPLATE_MACROENABLED:
+				return "xltm";
+			case ContentTypes.SPREADSHEETML_TEMPLATE:
+				return "xltx";
+			default:
+				return "xlsx";
+		}
+	}
+
+	/**
+	 * createSheet: <br>
+	 * Ends the current sheet and starts a new one.
+	 * 
+	 * @param name the sheet name
+	 * @return the sheet
+	 * @throws IOException
+	 */
+	public Sheet createSheet(String name) throws IOException {
+		if (sheet != null)
+			sheet.close();
+		if (zip == null)
+			zip = new ZipOutputStream(new FilterOutputStream(output) {
+				@Override
+				public void write(byte[] b, int off, int len) throws IOException {
+					out.write(b, off, len);
+				}
+
+				@Override
+				public void close() throws IOException {
+					flush();
+				}
+			});
+		sheetNames.add(name);
+		return sheet = new Sheet(sheetNames.size());
+	}
+
+	/**
+	 * complete: <br>
+	 * Marks the export as successful, {@link #close()} then writes the workbook,
+	 * its relationships and the content types.
+	 */
+	public void complete() {
+		completed = true;
+	}
+
+	/**
+	 * close: <br>
+	 * Finishes the workbook if {@link #complete()} has been called, otherwise
+	 * aborts: the current sheet is left open and the archive is not finished,
+	 * so the output cannot be read as a workbook. The output stream is never
+	 * closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			if (!completed)
+				return;
+			if (zip == null)
+				createSheet("Sheet1");
+			sheet.close();
+			for (String part : parts)
+				copy(part);
+			writeWorkbook();
+			writeContentTypes();
+			zip.close();
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		} finally {
+			template.close();
+		}
+	}
+
+	/**
+	 * Sheet: <br>
+	 * A sheet being written, rows are written in order.
+	 */
+	public class Sheet {
+
+		private final int number;
+
+		private final XMLStreamWriter writer;
+
+		/** Tables: name, style, columns and header row */
+		private final List<Object[]> tables = new ArrayList<>();
+
+		/** References of the merged cells */
+		private final List<String> mergeCells = new ArrayList<>();
+
+		private int rowCount;
+
+		private int columnCount;
+
+		private boolean closed;
+
+		private Sheet(int number) throws IOException {
+			this.number = number;
+			try {
+				zip.putNextEntry(new ZipEntry(getPath()));
+				writer = OUTPUT_FACTORY.createXMLStreamWriter(zip, "UTF-8");
+				writer.writeStartDocument("UTF-8", "1.0");
+				writer.setDefaultNamespace(NS_MAIN);
+				writer.writeStartElement(NS_MAIN, "worksheet");
+				writer.writeDefaultNamespace(NS_MAIN);
+				writer.writeNamespace("r", NS_R);
+				writer.writeStartElement(NS_MAIN, "sheetData");
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+
+		/**
+		 * createHeader: <br>
+		 * Writes the header row of a table, the table ends with the last row of
+		 * the sheet.<br>
+		 * see {@link ExcelHelper#createHeader(org.docx4j.openpackaging.parts.SpreadsheetML.WorksheetPart, String, String, String[], int)}
+		 * 
+		 * @param name    the table name
+		 * @param style   the table style, may be null
+		 * @param columns the column names
+		 * @throws IOException
+		 */
+		public void createHeader(String name, String style, String[] columns) throws IOException {
+			tables.add(new Object[] { name, style, columns, rowCount });
+			final Row row = new Row();
+			for (int i = 0; i < columns.length; i++)
+				ExcelHelper.setValue(ExcelHelper.getOrCreateCell(row, i), columns[i]);
+			write(row);
+		}
+
+		/**
+		 * write: <br>
+		 * Writes the row after the previous one, the row index is ignored.
+		 * 
+		 * @param row
+		 * @throws IOException
+		 */
+		public void write(Row row) throws IOException {
+			try {
+				final int index = ++rowCount;
+				writer.writeStartElement(NS_MAIN, "row");
+				writer.writeAttribute("r", String.valueOf(index));
+				for (int i = 0; i < row.getC().size(); i++) {
+					final Cell cell = row.getC().get(i);
+					final int column = colToIndex(cell.getR(), i);
+					columnCount = Math.max(columnCount, column + 1);
+					writeCell(cell, numToColString(column) + index);
+				}
+				writer.writeEndElement();
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+
+		/**
+		 * mergeCells: <br>
+		 * Merges a range of cells, see {@link ExcelHelper#getAddress(int, int, int, int)}.
+		 * The range may refer to rows not written yet.
+		 * 
+		 * @param reference the range reference
+		 */
+		public void mergeCells(String reference) {
+			mergeCells.add(reference);
+		}
+
+		/**
+		 * @return the number of rows written
+		 */
+		public int getRowCount() {
+			return rowCount;
+		}
+
+		private void writeCell(Cell cell, String reference) throws XMLStreamException {
+			writer.writeStartElement(NS_MAIN, "c");
+			writer.writeAttribute("r", reference);
+			if (cell.getS() != null && cell.getS() != 0)
+				writer.writeAttribute("s", String.valueOf(cell.getS()));
+			if (cell.getT() != null && cell.getT() != STCellType.N)
+				writer.writeAttribute("t", cell.getT().value());
+			if (cell.getF() != null && cell.getF().getValue() != null)
+				writeText("f", cell.getF().getValue(), false);
+			if (cell.getV() != null)
+				writeText("v", cell.getV(), false);
+			if (cell.getIs() != null) {
+				writer.writeStartElement(NS_MAIN, "is");
+				writeText("t", getText(cell.getIs()), true);
+				writer.writeEndElement();
+			}
+			writer.writeEndElement();
+		}
+
+		private void writeText(String name, String value, boolean preserve) throws XMLStreamException {
+			writer.writeStartElement(NS_MAIN, name);
+			if (preserve)
+				writer.writeAttribute(XMLConstants.XML_NS_PREFIX, XMLConstants.XML_NS_URI, "space", "preserve");
+			writer.writeCharacters(INVALID_XML_CHARACTERS.matcher(value).replaceAll(""));
+			writer.writeEndElement();
+		}
+
+		private void close() throws IOException {
+			if (closed)
+				return;
+			closed = true;
+			try {
+				writer.writeEndElement();
+				if (!mergeCells.isEmpty()) {
+					writer.writeStartElement(NS_MAIN, "mergeCells");
+					writer.writeAttribute("count", String.valueOf(mergeCells.size()));
+					for (String reference : mergeCells) {
+						writer.writeStartElement(NS_MAIN, "mergeCell");
+						writer.writeAttribute("ref", reference);
+						writer.writeEndElement();
+					}
+					writer.writeEndElement();
+				}
+				if (headerFooter != null)
+					writeElement(writer, headerFooter);
+				if (headerFooterDrawing != null) {
+					writer.writeStartElement(NS_MAIN, "legacyDrawingHF");
+					writer.writeAttribute("r", NS_R, "id", "rIdHF");
+					writer.writeEndElement();
+				}
+				if (!tables.isEmpty()) {
+					writer.writeStartElement(NS_MAIN, "tableParts");
+					writer.writeAttribute("count", String.valueOf(tables.size()));
+					for (int i = 0; i < tables.size(); i++) {
+						writer.writeStartElement(NS_MAIN, "tablePart");
+						writer.writeAttribute("r", NS_R, "id", "rIdTable" + (i + 1));
+						writer.writeEndElement();
+					}
+					writer.writeEndElement();
+				}
+				writer.writeEndElement();
+				writer.writeEndDocument();
+				writer.close();
+				zip.closeEntry();
+				contentTypes.put("/" + getPath(), CONTENT_TYPE_WORKSHEET);
+
+				final Map<String, String[]> relationships = new LinkedHashMap<>();
+				if (headerFooterDrawing != null)
+					relationships.put("rIdHF", new String[] { REL_VML_DRAWING, headerFooterDrawing });
+				for (int i = 0; i < tables.size(); i++) {
+					final int id = ++tableCount;
+					final String path = String.format("xl/tables/table%d.xml", id);
+					writeTable(path, id, tables.get(i));
+					relationships.put("rIdTable" + (i + 1), new String[] { REL_TABLE, "../tables/" + path.substring(10) });
+				}
+				if (!relationships.isEmpty())
+					writeRelationships(String.format("xl/worksheets/_rels/sheet%d.xml.rels", number), relationships);
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+
+		private void writeTable(String path, int id, Object[] table) throws IOException, XMLStreamException {
+			final String name = (String) table[0], style = (String) table[1];
+			final String[] columns = (String[]) table[2];
+			final int headerRow = (Integer) table[3];
+			final String reference = getAddress(headerRow, 0, Math.max(rowCount - 1, headerRow + 1), columns.length - 1);
+			final XMLStreamWriter writer = startPart(path, CONTENT_TYPE_TABLE);
+			writer.writeStartElement(NS_MAIN, "table");
+			writer.writeDefaultNamespace(NS_MAIN);
+			writer.writeAttribute("id", String.valueOf(id));
+			writer.writeAttribute("name", "Table" + id);
+			writer.writeAttribute("displayName", ExcelHelper.isEmpty(name) ? "Table" + id : name);
+			writer.writeAttribute("ref", reference);
+			writer.writeAttribute("totalsRowShown", "1");
+			writer.writeStartElement(NS_MAIN, "autoFilter");
+			writer.writeAttribute("ref", reference);
+			writer.writeEndElement();
+			writer.writeStartElement(NS_MAIN, "tableColumns");
+			writer.writeAttribute("count", String.valueOf(columns.length));
+			for (int i = 0; i < columns.length; i++) {
+				writer.writeStartElement(NS_MAIN, "tableColumn");
+				writer.writeAttribute("id", String.valueOf(i + 1));
+				writer.writeAttribute("name", columns[i] == null ? "" : columns[i]);
+				writer.writeEndElement();
+			}
+			writer.writeEndElement();
+			writer.writeStartElement(NS_MAIN, "tableStyleInfo");
+			writer.writeAttribute("name", style == null ? "TableStyleMedium2" : style);
+			writer.writeAttribute("showRowStripes", "1");
+			writer.writeEndElement();
+			writer.writeEndElement();
+			endPart(writer);
+		}
+
+		private String getPath() {
+			return String.format("xl/worksheets/sheet%d.xml", number);
+		}
+	}
+
+	private void loadTemplate(String headerFooterSheetName) throws Exception {
+		final Document contentTypes = parse(CONTENT_TYPES);
+		for (Element element : elements(contentTypes.getDocumentElement(), "Default"))
+			defaults.put(element.getAttribute("Extension"), element.getAttribute("ContentType"));
+		for (Element element : elements(contentTypes.getDocumentElement(), "Override"))
+			overrides.put(element.getAttribute("PartName"), element.getAttribute("ContentType"));
+
+		parts.add(PACKAGE_RELATIONSHIPS);
+		for (Element relationship : elements(parse(PACKAGE_RELATIONSHIPS).getDocumentElement(), "Relationship")) {
+			final String target = resolve("", relationship.getAttribute("Target"));
+			if (relationship.getAttribute("Type").equals(REL_OFFICE_DOCUMENT)) {
+				if (!target.equals(WORKBOOK))
+					throw new IOException("Unsupported workbook location: " + target);
+			} else
+				parts.add(target);
+		}
+
+		final Map<String, String> sheets = new LinkedHashMap<>();
+		for (Element relationship : elements(parse(WORKBOOK_RELATIONSHIPS).getDocumentElement(), "Relationship")) {
+			final String type = relationship.getAttribute("Type"), target = relationship.getAttribute("Target");
+			if (type.equals(REL_STYLES) || type.equals(REL_THEME)) {
+				workbookRelationships.put(type, target);
+				parts.add(resolve("xl/", target));
+			} else if (type.equals(REL_WORKSHEET))
+				sheets.put(relationship.getAttribute("Id"), resolve("xl/", target));
+		}
+
+		if (headerFooterSheetName == null)
+			return;
+		for (Element element : elements(parse(WORKBOOK).getDocumentElement(), "sheet")) {
+			if (headerFooterSheetName.equals(element.getAttribute("name"))) {
+				final String path = sheets.get(element.getAttributeNS(NS_R, "id"));
+				if (path != null)
+					loadHeaderFooter(path);
+				break;
+			}
+		}
+	}
+
+	private void loadHeaderFooter(String path) throws Exception {
+		final Element worksheet = parse(path).getDocumentElement();
+		headerFooter = elements(worksheet, "headerFooter").stream().findAny().orElse(null);
+		final Element drawing = elements(worksheet, "legacyDrawingHF").stream().findAny().orElse(null);
+		final String folder = path.substring(0, path.lastIndexOf('/') + 1);
+		final String relationshipsPath = folder + "_rels/" + path.substring(folder.length()) + ".rels";
+		if (headerFooter == null || drawing == null || template.getEntry(relationshipsPath) == null)
+			return;
+		for (Element relationship : elements(parse(relationshipsPath).getDocumentElement(), "Relationship")) {
+			if (relationship.getAttribute("Id").equals(drawing.getAttributeNS(NS_R, "id"))) {
+				final String target = resolve(folder, relationship.getAttribute("Target"));
+				final String drawingFolder = target.substring(0, target.lastIndexOf('/') + 1);
+				final String drawingRelationships = drawingFolder + "_rels/" + target.substring(drawingFolder.length())
+						+ ".rels";
+				parts.add(target);
+				if (template.getEntry(drawingRelationships) != null) {
+					parts.add(drawingRelationships);
+					for (Element image : elements(parse(drawingRelationships).getDocumentElement(), "Relationship"))
+						parts.add(resolve(drawingFolder, image.getAttribute("Target")));
+				}
+				headerFooterDrawing = target.startsWith("xl/") ? "../" + target.substring(3) : "/" + target;
+				break;
+			}
+		}
+	}
+
+	private void writeWorkbook() throws IOException, XMLStreamException {
+		final XMLStreamWriter writer = startPart(WORKBOOK, overrides.getOrDefault("/" + WORKBOOK,
+				ContentTypes.SPREADSHEETML_WORKBOOK));
+		writer.writeStartElement(NS_MAIN, "workbook");
+		writer.writeDefaultNamespace(NS_MAIN);
+		writer.writeNamespace("r", NS_R);
+		writer.writeStartElement(NS_MAIN, "bookViews");
+		writer.writeStartElement(NS_MAIN, "workbookView");
+		writer.writeEndElement();
+		writer.writeEndElement();
+		writer.writeStartElement(NS_MAIN, "sheets");
+		final Map<String, String[]> relationships = new LinkedHashMap<>();
+		for (int i = 0; i < sheetNames.size(); i++) {
+			final String id = "rId" + (i + 1);
+			writer.writeStartElement(NS_MAIN, "sheet");
+			writer.writeAttribute("name", sheetNames.get(i));
+			writer.writeAttribute("sheetId", String.valueOf(i + 1));
+			writer.writeAttribute("r", NS_R, "id", id);
+			writer.writeEndElement();
+			relationships.put(id, new String[] { REL_WORKSHEET, String.format("worksheets/sheet%d.xml", i + 1) });
+		}
+		writer.writeEndElement();
+		writer.writeEndElement();
+		endPart(writer);
+		workbookRelationships.forEach((type, target) -> relationships
+				.put("rId" + (relationships.size() + 1), new String[] { type, target }));
+		writeRelationships(WORKBOOK_RELATIONSHIPS, relationships);
+	}
+
+	private void writeContentTypes() throws IOException, XMLStreamException {
+		for (String part : parts) {
+			final String contentType = overrides.get("/" + part);
+			if (contentType != null)
+				contentTypes.putIfAbsent("/" + part, contentType);
+		}
+		zip.putNextEntry(new ZipEntry(CONTENT_TYPES));
+		final XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(zip, "UTF-8");
+		writer.writeStartDocument("UTF-8", "1.0");
+		writer.setDefaultNamespace(NS_CONTENT_TYPES);
+		writer.writeStartElement(NS_CONTENT_TYPES, "Types");
+		writer.writeDefaultNamespace(NS_CONTENT_TYPES);
+		defaults.putIfAbsent("rels", ContentTypes.RELATIONSHIPS_PART);
+		defaults.putIfAbsent("xml", "application/xml");
+		for (Map.Entry<String, String> entry : defaults.entrySet()) {
+			writer.writeStartElement(NS_CONTENT_TYPES, "Default");
+			writer.writeAttribute("Extension", entry.getKey());
+			writer.writeAttribute("ContentType", entry.getValue());
+			writer.writeEndElement();
+		}
+		for (Map.Entry<String, String> entry : contentTypes.entrySet()) {
+			writer.writeStartElement(NS_CONTENT_TYPES, "Override");
+			writer.writeAttribute("PartName", entry.getKey());
+			writer.writeAttribute("ContentType", entry.getValue());
+			writer.writeEndElement();
+		}
+		writer.writeEndElement();
+		writer.writeEndDocument();
+		writer.close();
+		zip.closeEntry();
+	}
+
+	private void writeRelationships(String path, Map<String, String[]> relationships)
+			throws IOException, XMLStreamException {
+		zip.putNextEntry(new ZipEntry(path));
+		final XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(zip, "UTF-8");
+		writer.writeStartDocument("UTF-8", "1.0");
+		writer.setDefaultNamespace(NS_PACKAGE_RELATIONSHIPS);
+		writer.writeStartElement(NS_PACKAGE_RELATIONSHIPS, "Relationships");
+		writer.writeDefaultNamespace(NS_PACKAGE_RELATIONSHIPS);
+		for (Map.Entry<String, String[]> entry : relationships.entrySet()) {
+			writer.writeStartElement(NS_PACKAGE_RELATIONSHIPS, "Relationship");
+			writer.writeAttribute("Id", entry.getKey());
+			writer.writeAttribute("Type", entry.getValue()[0]);
+			writer.writeAttribute("Target", entry.getValue()[1]);
+			writer.writeEndElement();
+		}
+		writer.writeEndElement();
+		writer.writeEndDocument();
+		writer.close();
+		zip.closeEntry();
+	}
+
+	private XMLStreamWriter startPart(String path, String contentType) throws IOException, XMLStreamException {
+		zip.putNextEntry(new ZipEntry(path));
+		contentTypes.put("/" + path, contentType);
+		final XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(zip, "UTF-8");
+		writer.writeStartDocument("UTF-8", "1.0");
+		writer.setDefaultNamespace(NS_MAIN);
+		writer.setPrefix("r", NS_R);
+		return writer;
+	}
+
+	private void endPart(XMLStreamWriter writer) throws IOException, XMLStreamException {
+		writer.writeEndDocument();
+		writer.close();
+		zip.closeEntry();
+	}
+
+	private void copy(String path) throws IOException {
+		final ZipEntry entry = template.getEntry(path);
+		if (entry == null)
+			return;
+		zip.putNextEntry(new ZipEntry(path));
+		try (InputStream inputStream = template.getInputStream(entry)) {
+			inputStream.transferTo(zip);
+		}
+		zip.closeEntry();
+	}
+
+	private Document parse(String path) throws Exception {
+		final ZipEntry entry = template.getEntry(path);
+		if (entry == null)
+			throw new IOException("Part not found: " + path);
+		final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+		factory.setNamespaceAware(true);
+		factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+		try (InputStream inputStream = template.getInputStream(entry)) {
+			return factory.newDocumentBuilder().parse(inputStream);
+		}
+	}
+
+	private static List<Element> elements(Element parent, String localName) {
+		final NodeList nodes = parent.getElementsByTagNameNS("*", localName);
+		final List<Element> elements = new ArrayList<>(nodes.getLength());
+		for (int i = 0; i < nodes.getLength(); i++)
+			elements.add((Element) nodes.item(i));
+		return elements;
+	}
+
+	private static String resolve(String folder, String target) {
+		if (target.startsWith("/"))
+			return target.substring(1);
+		return URI.create("/" + folder).resolve(target).getPath().substring(1);
+	}
+
+	private static String getText(CTRst rst) {
+		if (rst.getT() != null)
+			return rst.getT().getValue() == null ? "" : rst.getT().getValue();
+		final StringBuilder builder = new StringBuilder();
+		for (CTRElt r : rst.getR()) {
+			if (r.getT() != null && r.getT().getValue() != null)
+				builder.append(r.getT().getValue());
+		}
+		return builder.toString();
+	}
+
+	private static void writeElement(XMLStreamWriter writer, Element element) throws XMLStreamException {
+		writer.writeStartElement(NS_MAIN, element.getLocalName());
+		final NamedNodeMap attributes = element.getAttributes();
+		for (int i = 0; i < attributes.getLength(); i++) {
+			final Node attribute = attributes.item(i);
+			if (XMLConstants.XMLNS_ATTRIBUTE_NS_URI.equals(attribute.getNamespaceURI()))
+				continue;
+			if (attribute.getNamespaceURI() == null)
+				writer.writeAttribute(attribute.getLocalName(), attribute.getNodeValue());
+			else
+				writer.writeAttribute(attribute.getPrefix(), attribute.getNamespaceURI(), attribute.getLocalName(),
+						attribute.getNodeValue());
+		}
+		for (Node node = element.getFirstChild(); node != null; node = node.getNextSibling()) {
+			if (node instanceof Element)
+				writeElement(writer, (Element) node);
+			else if (node.getNodeType() == Node.TEXT_NODE || node.getNodeType() == Node.CDATA_SECTION_NODE)
+				writer.writeCharacters(node.getNodeValue());
+		}
+		writer.writeEndElement();
+	}
+}
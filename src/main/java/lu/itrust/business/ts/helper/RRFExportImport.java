@@ -1,14 +1,9 @@
 package lu.itrust.business.ts.helper;
 
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.createRow;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.createWorkSheetPart;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.findSheet;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getDouble;
-import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.getString;
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.isEmpty;
 import static lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper.setValue;
 
-import java.io.File;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -17,28 +12,23 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
-import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import org.docx4j.openpackaging.packages.SpreadsheetMLPackage;
-import org.docx4j.openpackaging.parts.SpreadsheetML.WorkbookPart;
-import org.docx4j.openpackaging.parts.SpreadsheetML.WorksheetPart;
 import org.springframework.context.MessageSource;
 import org.springframework.web.multipart.MultipartFile;
 import org.xlsx4j.jaxb.Context;
-import org.xlsx4j.org.apache.poi.ss.usermodel.DataFormatter;
 import org.xlsx4j.sml.ObjectFactory;
 import org.xlsx4j.sml.Row;
-import org.xlsx4j.sml.SheetData;
 
-import lu.itrust.business.ts.asynchronousWorkers.WorkerExportRiskSheet;
 import lu.itrust.business.ts.component.TrickLogManager;
 import lu.itrust.business.ts.database.service.ServiceAnalysis;
 import lu.itrust.business.ts.database.service.ServiceAssetType;
 import lu.itrust.business.ts.database.service.ServiceAssetTypeValue;
 import lu.itrust.business.ts.exception.TrickException;
-import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader.Rows;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamWriter;
 import lu.itrust.business.ts.model.analysis.Analysis;
 import lu.itrust.business.ts.model.asset.Asset;
 import lu.itrust.business.ts.model.asset.AssetType;
@@ -121,24 +111,21 @@ public class RRFExportImport {
 		this.messageSource = messageSource;
 	}
 
-	public void exportRawRRF(Analysis analysis, File file, Consumer<SpreadsheetMLPackage> callback)
-			throws Exception {
-		final SpreadsheetMLPackage mlPackage = SpreadsheetMLPackage.load(file);
+	public void exportRawRRF(Analysis analysis, ExcelStreamWriter writer) throws Exception {
 		final List<AssetType> assetTypes = serviceAssetType.getAll();
-		writeScenario(analysis.getScenarios(), mlPackage);
+		writeScenario(analysis.getScenarios(), writer);
 		for (AnalysisStandard analysisStandard : analysis.getAnalysisStandards().values())
-			writeMeasure(analysis.isQualitative(), analysisStandard, assetTypes, mlPackage);
-		callback.accept(mlPackage);
+			writeMeasure(analysis.isQualitative(), analysisStandard, assetTypes, writer);
 	}
 
 	public Object importRawRRF(final int idAnalysis, final MultipartFile file, final String username,
 			final Locale locale) throws Exception {
-		try {
-			final DataFormatter formatter = new DataFormatter();
+		try (InputStream inputStream = file.getInputStream();
+				ExcelStreamReader reader = new ExcelStreamReader(inputStream)) {
 			final Analysis analysis = serviceAnalysis.get(idAnalysis);
-			final SpreadsheetMLPackage mlPackage = SpreadsheetMLPackage.load(file.getInputStream());
-			loadScenarios(analysis.getScenarios(), analysis.getAssets(), mlPackage.getWorkbookPart(), formatter);
-			loadStandards(analysis.getAnalysisStandards().values(), mlPackage.getWorkbookPart(), formatter);
+			loadScenarios(analysis.getScenarios(), analysis.getAssets(), reader);
+			loadStandards(analysis.getAnalysisStandards().values(), reader);
+			analysis.invalidateRRF();
 			serviceAnalysis.saveOrUpdate(analysis); // Log
 			TrickLogManager.Persist(LogLevel.INFO, LogType.ANALYSIS, "log.analysis.import.raw.rrf",
 					String.format("Analysis: %s, version: %s, type: Raw RRF", analysis.getIdentifier(),
@@ -173,17 +160,17 @@ public class RRFExportImport {
 		return colIndex;
 	}
 
-	private void loadMeasureData(AssetMeasure measure, Row row, Integer index, Map<Integer, String> columnMapper,
-			DataFormatter formatter) {
+	private void loadMeasureData(AssetMeasure measure, ExcelStreamReader.Row row, Integer index,
+			Map<Integer, String> columnMapper) {
 		Map<String, MeasureAssetValue> measureAssetValues = measure.getMeasureAssetValues().stream()
 				.collect(Collectors.toMap(assetValue -> assetValue.getAsset().getName(), Function.identity()));
 		MeasureProperties properties = measure.getMeasurePropertyList();
-		for (int i = 0; i < row.getC().size(); i++) {
+		for (int i = 0; i < row.size(); i++) {
 			if (i == index)
 				continue;
 			String nameField = columnMapper.get(i);
 			if (nameField != null) {
-				double value = getDouble(row, i, formatter);
+				double value = row.getDouble(i);
 				if (measureAssetValues.containsKey(nameField))
 					measureAssetValues.get(nameField).setValue((int) value);
 				else
@@ -193,17 +180,17 @@ public class RRFExportImport {
 		measure.setMeasurePropertyList(properties);
 	}
 
-	private void loadMeasureData(NormalMeasure measure, Row row, Integer index, Map<Integer, String> columnMapper,
-			DataFormatter formatter) {
+	private void loadMeasureData(NormalMeasure measure, ExcelStreamReader.Row row, Integer index,
+			Map<Integer, String> columnMapper) {
 		Map<String, AssetTypeValue> assetValues = measure.getAssetTypeValues().stream()
 				.collect(Collectors.toMap(assetValue -> assetValue.getAssetType().getName(), Function.identity()));
 		MeasureProperties properties = measure.getMeasurePropertyList();
-		for (int i = 0; i < row.getC().size(); i++) {
+		for (int i = 0; i < row.size(); i++) {
 			if (i == index)
 				continue;
 			String nameField = columnMapper.get(i);
 			if (nameField != null) {
-				double value = getDouble(row, i, formatter);
+				double value = row.getDouble(i);
 				if (assetValues.containsKey(nameField))
 					assetValues.get(nameField).setValue((int) value);
 				else
@@ -213,18 +200,18 @@ public class RRFExportImport {
 		measure.setMeasurePropertyList(properties);
 	}
 
-	private void loadScenarioData(Scenario scenario, Row row, Integer nameIndex, Map<Integer, String> columnMapper,
-			Map<String, Asset> assetMappings, Map<String, AssetType> assetTypeMappings,
-			List<AssetTypeValue> toDeletedsTypeValues, DataFormatter formatter) {
+	private void loadScenarioData(Scenario scenario, ExcelStreamReader.Row row, Integer nameIndex,
+			Map<Integer, String> columnMapper, Map<String, Asset> assetMappings,
+			Map<String, AssetType> assetTypeMappings, List<AssetTypeValue> toDeletedsTypeValues) {
 
-		for (int i = 0; i < row.getC().size(); i++) {
+		for (int i = 0; i < row.size(); i++) {
 			final String nameField = columnMapper.get(i);
 			if (i == nameIndex || nameField == null)
 				continue;
 			if (nameField.equalsIgnoreCase(RAW_ASSETS)) {
 				if (scenario.isAssetLinked()) {
 					final List<String> assetNames = Arrays
-							.stream(getString(row, i, formatter, "").trim().toLowerCase().split(";"))
+							.stream(row.getString(i, "").trim().toLowerCase().split(";"))
 							.map(String::trim).distinct().collect(Collectors.toList());
 					scenario.getLinkedAssets().removeIf(e -> !assetNames.contains(e.getName().toLowerCase()));
 					assetNames.stream().map(assetMappings::get).filter(Objects::nonNull)
@@ -234,7 +221,7 @@ public class RRFExportImport {
 				if (!scenario.isAssetLinked()) {
 
 					final List<String> assetTypeNames = Arrays
-							.stream(getString(row, i, formatter, "").trim().toLowerCase().split(";"))
+							.stream(row.getString(i, "").trim().toLowerCase().split(";"))
 							.map(String::trim).distinct().collect(Collectors.toList());
 
 					scenario.getAssetTypeValues()
@@ -245,7 +232,7 @@ public class RRFExportImport {
 				}
 
 			} else {
-				double value = getDouble(row, i, formatter);
+				double value = row.getDouble(i);
 				switch (nameField) {
 					case RAW_EXTERNAL_THREAT:
 						scenario.setExternalThreat((int) value);
@@ -281,18 +268,23 @@ public class RRFExportImport {
 		}
 	}
 
-	private void loadScenarios(List<Scenario> scenarios, List<Asset> assets, WorkbookPart workbookPart,
-			DataFormatter formatter)
+	private void loadScenarios(List<Scenario> scenarios, List<Asset> assets, ExcelStreamReader reader)
 			throws Exception {
-		SheetData sheet = findSheet(workbookPart, RAW_SCENARIOS);
-		if (sheet == null || scenarios.isEmpty())
+		if (scenarios.isEmpty())
 			return;
-		if (sheet.getRow().isEmpty())
+		try (Rows rows = reader.read(RAW_SCENARIOS)) {
+			if (rows != null)
+				loadScenarios(scenarios, assets, rows);
+		}
+	}
+
+	private void loadScenarios(List<Scenario> scenarios, List<Asset> assets, Rows rows) {
+		if (!rows.hasNext())
 			throw new TrickException("error.import.raw.rrf.scenario", "Scenario cannot be loaded");
-		Row header = sheet.getRow().get(0);
+		ExcelStreamReader.Row header = rows.next();
 		Map<Integer, String> columnMapper = new LinkedHashMap<>();
 
-		Integer nameIndex = mappingColumns(header, RAW_SCENARIO, columnMapper, formatter);
+		Integer nameIndex = mappingColumns(header, RAW_SCENARIO, columnMapper);
 		if (nameIndex == null)
 			throw new TrickException("error.import.raw.rrf.scenario.name", "Scenario name column cannot be found");
 
@@ -307,91 +299,87 @@ public class RRFExportImport {
 		Map<String, AssetType> assetTypeMappings = serviceAssetType.getAll().stream()
 				.collect(Collectors.toMap(e -> e.getName().toLowerCase(), Function.identity()));
 
-		for (Row row : sheet.getRow()) {
-			if (!row.equals(header)) {
-
-				String key = getString(row, nameIndex, formatter);
-				if (isEmpty(key))
-					continue;
-				Scenario scenario = scenarioMappings.get(key);
-				if (scenario == null)
-					scenario = scenarioMappings.get(key.trim());
-				if (scenario != null)
-					loadScenarioData(scenario, row, nameIndex, columnMapper, assetMappings, assetTypeMappings,
-							toDeletedsTypeValues, formatter);
-			}
+		for (ExcelStreamReader.Row row : rows) {
+			String key = row.getString(nameIndex);
+			if (isEmpty(key))
+				continue;
+			Scenario scenario = scenarioMappings.get(key);
+			if (scenario == null)
+				scenario = scenarioMappings.get(key.trim());
+			if (scenario != null)
+				loadScenarioData(scenario, row, nameIndex, columnMapper, assetMappings, assetTypeMappings,
+						toDeletedsTypeValues);
 		}
 
 		toDeletedsTypeValues.stream().filter(e -> e.getId() > 0).forEach(e -> serviceAssetTypeValue.delete(e));
 	}
 
-	private void loadStandard(AssetStandard analysisStandard, SheetData sheet, DataFormatter formatter) {
+	private void loadStandard(AssetStandard analysisStandard, Rows rows) {
 
-		if (sheet.getRow().isEmpty())
+		if (!rows.hasNext())
 			throw new TrickException("error.import.raw.rrf.standard", "Standard cannot be loaded");
 		Map<Integer, String> columnMapper = new LinkedHashMap<>();
-		Row header = sheet.getRow().get(0);
-		Integer index = mappingColumns(header, REFERENCE, columnMapper, formatter);
+		ExcelStreamReader.Row header = rows.next();
+		Integer index = mappingColumns(header, REFERENCE, columnMapper);
 		if (index == null)
 			throw new TrickException("error.import.raw.rrf.standard.reference",
 					"Standard reference column cannot be found");
 		Map<String, AssetMeasure> mappingMeasures = analysisStandard.getMeasures().stream()
 				.collect(Collectors.toMap(measure -> measure.getMeasureDescription().getReference(),
 						AssetMeasure.class::cast));
-		for (int i = 0; i < sheet.getRow().size(); i++) {
-			Row row = sheet.getRow().get(i);
-			String value = getString(row, index, formatter);
+		for (ExcelStreamReader.Row row : rows) {
+			String value = row.getString(index);
 			if (isEmpty(value))
 				continue;
 			AssetMeasure measure = mappingMeasures.get(value);
 			if (measure != null)
-				loadMeasureData(measure, row, index, columnMapper, formatter);
+				loadMeasureData(measure, row, index, columnMapper);
 		}
 	}
 
-	private void loadStandard(NormalStandard analysisStandard, SheetData sheet, DataFormatter formatter) {
-		if (sheet.getRow().isEmpty())
+	private void loadStandard(NormalStandard analysisStandard, Rows rows) {
+		if (!rows.hasNext())
 			throw new TrickException("error.import.raw.rrf.standard", "Standard cannot be loaded");
 		final Map<Integer, String> columnMapper = new LinkedHashMap<>();
-		final Row header = sheet.getRow().get(0);
-		final Integer index = mappingColumns(header, REFERENCE, columnMapper, formatter);
+		final ExcelStreamReader.Row header = rows.next();
+		final Integer index = mappingColumns(header, REFERENCE, columnMapper);
 		if (index == null)
 			throw new TrickException("error.import.raw.rrf.standard.reference",
 					"Standard reference column cannot be found");
 		final Map<String, NormalMeasure> mappingMeasures = analysisStandard.getMeasures().stream()
 				.collect(Collectors.toMap(measure -> measure.getMeasureDescription().getReference(),
 						NormalMeasure.class::cast));
-		for (int i = 0; i < sheet.getRow().size(); i++) {
-			final Row row = sheet.getRow().get(i);
-			final String value = getString(row, index, formatter);
+		for (ExcelStreamReader.Row row : rows) {
+			final String value = row.getString(index);
 			if (isEmpty(value))
 				continue;
 			final NormalMeasure measure = mappingMeasures.get(value);
 			if (measure != null)
-				loadMeasureData(measure, row, index, columnMapper, formatter);
+				loadMeasureData(measure, row, index, columnMapper);
 		}
 	}
 
-	private void loadStandards(Collection<AnalysisStandard> analysisStandards, WorkbookPart workbookPart,
-			DataFormatter formatter) throws Exception {
+	private void loadStandards(Collection<AnalysisStandard> analysisStandards, ExcelStreamReader reader)
+			throws Exception {
 		for (AnalysisStandard analysisStandard : analysisStandards) {
 			if (analysisStandard instanceof MaturityStandard)
 				continue;
-			final SheetData sheet = findSheet(workbookPart, analysisStandard.getStandard().getName());
-			if (sheet != null) {
-				if (analysisStandard instanceof AssetStandard)
-					loadStandard((AssetStandard) analysisStandard, sheet, formatter);
-				else if (analysisStandard instanceof NormalStandard)
-					loadStandard((NormalStandard) analysisStandard, sheet, formatter);
+			try (Rows rows = reader.read(analysisStandard.getStandard().getName())) {
+				if (rows != null) {
+					if (analysisStandard instanceof AssetStandard)
+						loadStandard((AssetStandard) analysisStandard, rows);
+					else if (analysisStandard instanceof NormalStandard)
+						loadStandard((NormalStandard) analysisStandard, rows);
+				}
 			}
 		}
 	}
 
-	private Integer mappingColumns(Row row, String identifier, Map<Integer, String> cellIndexToFieldName,
-			DataFormatter formatter) {
+	private Integer mappingColumns(ExcelStreamReader.Row row, String identifier,
+			Map<Integer, String> cellIndexToFieldName) {
 		Integer identifierIndex = null;
-		for (int i = 0; i < row.getC().size(); i++) {
-			String value = getString(row, i, formatter);
+		for (int i = 0; i < row.size(); i++) {
+			String value = row.getString(i);
 			if (identifier.equalsIgnoreCase(value))
 				identifierIndex = i;
 			else
@@ -446,10 +434,10 @@ public class RRFExportImport {
 	}
 
 	@SuppressWarnings("unchecked")
-	private void writeAssetMeasure(boolean cssf, AnalysisStandard analysisStandard, SpreadsheetMLPackage mlPackage)
+	private void writeAssetMeasure(boolean cssf, AnalysisStandard analysisStandard, ExcelStreamWriter writer)
 			throws Exception {
-		final WorksheetPart worksheetPart = createWorkSheetPart(mlPackage, analysisStandard.getStandard().getName());
-		final SheetData sheetData = worksheetPart.getContents().getSheetData();
+		final ObjectFactory factory = Context.getsmlObjectFactory();
+		final ExcelStreamWriter.Sheet sheet = writer.createSheet(analysisStandard.getStandard().getName());
 		final List<AssetMeasure> measures = (List<AssetMeasure>) analysisStandard.getExendedMeasures();
 		final List<Asset> assets = measures.stream().map(AssetMeasure::getMeasureAssetValues)
 				.flatMap(Collection::stream)
@@ -459,32 +447,34 @@ public class RRFExportImport {
 		final Map<String, Integer> mappedValue = new LinkedHashMap<>();
 		final String[] categories = cssf ? CategoryConverter.JAVAKEYS : CategoryConverter.TYPE_CIA_KEYS;
 		final int totalCol = MEASURE_RRF_DEFAULT_FIELD_COUNT + assets.size() + categories.length;
-		Row row = createRow(sheetData);
+		Row row = factory.createRow();
 		int colIndex = generateMeasureHeader(row, categories, totalCol);
 		measures.sort(new MeasureComparator());
 		for (Asset asset : assets)
 			setValue(row, ++colIndex, asset.getName());
+		sheet.write(row);
 		measures.stream().forEach(
 				measure -> measure.getMeasureAssetValues().forEach(assetValue -> mappedValue
 						.put(measure.getId() + "_" + assetValue.getAsset().getId(), assetValue.getValue())));
 		for (AssetMeasure measure : measures) {
-			row = createRow(sheetData);
+			row = factory.createRow();
 			colIndex = writingMeasureData(row, totalCol, categories,
 					measure.getMeasureDescription().getReference(), measure.getMeasurePropertyList());
 			for (Asset asset : assets)
 				setValue(row, ++colIndex,
 						mappedValue.getOrDefault(measure.getId() + "_" + asset.getId(), 0));
+			sheet.write(row);
 		}
 	}
 
 	private void writeMeasure(boolean isCSSF, AnalysisStandard analysisStandard, List<AssetType> assetTypes,
-			SpreadsheetMLPackage mlPackage) throws Exception {
+			ExcelStreamWriter writer) throws Exception {
 		switch (analysisStandard.getStandard().getType()) {
 			case ASSET:
-				writeAssetMeasure(isCSSF, analysisStandard, mlPackage);
+				writeAssetMeasure(isCSSF, analysisStandard, writer);
 				break;
 			case NORMAL:
-				writeNormalMeasure(isCSSF, analysisStandard, assetTypes, mlPackage);
+				writeNormalMeasure(isCSSF, analysisStandard, assetTypes, writer);
 				break;
 			default:
 				break;
@@ -493,9 +483,9 @@ public class RRFExportImport {
 
 	@SuppressWarnings("unchecked")
 	private void writeNormalMeasure(boolean cssf, AnalysisStandard analysisStandard, List<AssetType> assetTypes,
-			SpreadsheetMLPackage mlPackage) throws Exception {
-		final WorksheetPart worksheetPart = createWorkSheetPart(mlPackage, analysisStandard.getStandard().getName());
-		final SheetData sheetData = worksheetPart.getContents().getSheetData();
+			ExcelStreamWriter writer) throws Exception {
+		final ObjectFactory factory = Context.getsmlObjectFactory();
+		final ExcelStreamWriter.Sheet sheet = writer.createSheet(analysisStandard.getStandard().getName());
 		final List<NormalMeasure> measures = (List<NormalMeasure>) analysisStandard.getExendedMeasures();
 		final Map<String, Integer> mappedValue = new LinkedHashMap<>();
 		final String[] categories = cssf ? CategoryConverter.JAVAKEYS : CategoryConverter.TYPE_CIA_KEYS;
@@ -503,39 +493,35 @@ public class RRFExportImport {
 
 		measures.sort(new MeasureComparator());
 
-		Row row = createRow(sheetData);
+		Row row = factory.createRow();
 		int colIndex = generateMeasureHeader(row, categories, totalCol);
 		for (AssetType assetType : assetTypes)
 			setValue(row, ++colIndex, assetType.getName());
+		sheet.write(row);
 		measures.stream().forEach(measure -> measure.getAssetTypeValues()
 				.forEach(assetypeValue -> mappedValue.put(
 						measure.getId() + "_" + assetypeValue.getAssetType().getName(), assetypeValue.getValue())));
 		for (NormalMeasure measure : measures) {
-			row = createRow(sheetData);
+			row = factory.createRow();
 			colIndex = writingMeasureData(row, totalCol, categories,
 					measure.getMeasureDescription().getReference(), measure.getMeasurePropertyList());
 			for (AssetType assetType : assetTypes)
 				setValue(row, ++colIndex,
 						mappedValue.getOrDefault(measure.getId() + "_" + assetType.getName(), 0));
-
+			sheet.write(row);
 		}
-
-		ExcelHelper.applyHeaderAndFooter(WorkerExportRiskSheet.EXCEL_HEADER_FOOTER_SHEET_NAME,
-				analysisStandard.getStandard().getName(), mlPackage);
 	}
 
-	private void writeScenario(List<Scenario> scenarios, SpreadsheetMLPackage mlPackage)
+	private void writeScenario(List<Scenario> scenarios, ExcelStreamWriter writer)
 			throws Exception {
 		if (scenarios.isEmpty())
 			return;
 		final ObjectFactory factory = Context.getsmlObjectFactory();
-		final WorksheetPart worksheetPart = createWorkSheetPart(mlPackage, RAW_SCENARIOS);
-		final SheetData scenarioSheet = worksheetPart.getContents().getSheetData();
+		final ExcelStreamWriter.Sheet scenarioSheet = writer.createSheet(RAW_SCENARIOS);
 		int colIndex = 0;
 		Row row = factory.createRow();
 		for (int i = 0; i < SCENARIO_RRF_DEFAULT_FIELD_COUNT; i++)
 			row.getC().add(factory.createCell());
-		scenarioSheet.getRow().add(row);
 		setValue(row, colIndex, RAW_SCENARIO);
 		setValue(row, ++colIndex, RAW_PREVENTIVE);
 		setValue(row, ++colIndex, RAW_DETECTIVE);
@@ -548,13 +534,13 @@ public class RRFExportImport {
 		setValue(row, ++colIndex, RAW_EXTERNAL_THREAT);
 		setValue(row, ++colIndex, RAW_ASSETS);
 		setValue(row, ++colIndex, RAW_ASSET_TYPES);
+		scenarioSheet.write(row);
 
 		for (Scenario scenario : scenarios) {
 			row = factory.createRow();
 			for (int i = 0; i < SCENARIO_RRF_DEFAULT_FIELD_COUNT; i++)
 				row.getC().add(factory.createCell());
 			colIndex = 0;
-			scenarioSheet.getRow().add(row);
 			setValue(row, colIndex, scenario.getName());
 			setValue(row, ++colIndex, scenario.getPreventive());
 			setValue(row, ++colIndex, scenario.getDetective());
@@ -577,9 +563,8 @@ public class RRFExportImport {
 								.map(a -> a.getAssetType().getName()).distinct().sorted()
 								.collect(Collectors.joining(";")));
 			}
+			scenarioSheet.write(row);
 		}
-		ExcelHelper.applyHeaderAndFooter(WorkerExportRiskSheet.EXCEL_HEADER_FOOTER_SHEET_NAME, RAW_SCENARIOS,
-				mlPackage);
 	}
 
 	private int writingMeasureData(Row row, int totalCol, String[] categories,
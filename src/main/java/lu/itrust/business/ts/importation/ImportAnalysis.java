@@ -208,6 +208,18 @@ public class ImportAnalysis {
 
 	private int globalProgress = 0;
 
+	/**
+	 * Versions being imported by analysis identifier, shared by concurrent
+	 * imports, null: the versions are created in the import transaction
+	 */
+	private Map<String, Set<String>> importingVersions = null;
+
+	/** Version reserved in importingVersions by this import */
+	private Set<String> reservedVersions = null;
+
+	/** Id of the analysis without data committed by this import, 0: none */
+	private int reservedAnalysisId = 0;
+
 	/***********************************************************************************************
 	 * Constructor
 	 **********************************************************************************************/
@@ -472,6 +484,8 @@ public class ImportAnalysis {
 					session.getTransaction().rollback();
 			} catch (Exception e1) {
 				e1.printStackTrace();
+			} finally {
+				releaseVersion();
 			}
 			throw e;
 		} finally {
@@ -839,7 +853,77 @@ public class ImportAnalysis {
 		// ****************************************************************
 		// * Imports the Analysis and Versions into the Database
 		// ****************************************************************
-		importAnalysisAndVersions();
+		if (importingVersions == null)
+			importAnalysisAndVersions();
+		else
+			reserveAnalysisAndVersions();
+	}
+
+	/**
+	 * reserveAnalysisAndVersions: <br>
+	 * Imports the analysis and its versions for concurrent imports: this is the
+	 * only step serialised by analysis identifier. The versions and the
+	 * analysis, without data until the end of the import, are committed so that
+	 * the other files of the identifier can use them, the data is imported in a
+	 * new transaction. If the import fails, the analysis is deleted when it has
+	 * been created by this import (see {@link #releaseVersion()}).
+	 * 
+	 * @throws Exception
+	 */
+	private void reserveAnalysisAndVersions() throws Exception {
+		final Set<String> versions = importingVersions.computeIfAbsent(this.analysis.getIdentifier(), identifier -> new HashSet<>());
+		synchronized (versions) {
+			importAnalysisAndVersions();
+			final boolean created = this.analysis.getId() < 1;
+			if (!versions.add(this.analysis.getVersion()))
+				throw new TrickException("error.import.analysis.version.exist",
+						String.format(
+								"Your file has already been imported, whether it is a new version( %s ), do not forget to increase version",
+								this.analysis.getVersion()),
+						this.analysis.getVersion());
+			reservedVersions = versions;
+			this.analysis.setData(false);
+			daoAnalysis.saveOrUpdate(this.analysis);
+			session.getTransaction().commit();
+			if (created)
+				reservedAnalysisId = this.analysis.getId();
+			session.beginTransaction();
+			this.analysis.setData(true);
+		}
+	}
+
+	/**
+	 * releaseVersion: <br>
+	 * Releases the version reserved by a failed import and deletes the analysis
+	 * without data it has committed, the transaction must have been rolled back.
+	 * The analysis is kept, without data, when it cannot be deleted, e.g. when
+	 * another version is based on it.
+	 */
+	private void releaseVersion() {
+		if (reservedVersions == null)
+			return;
+		synchronized (reservedVersions) {
+			try {
+				if (reservedAnalysisId > 0 && session != null && session.isOpen()) {
+					session.clear();
+					session.beginTransaction();
+					daoAnalysis.delete(reservedAnalysisId);
+					session.getTransaction().commit();
+				}
+			} catch (Exception e) {
+				e.printStackTrace();
+				try {
+					if (session.getTransaction().getStatus().canRollback())
+						session.getTransaction().rollback();
+				} catch (Exception e1) {
+					e1.printStackTrace();
+				}
+			} finally {
+				reservedVersions.remove(this.analysis.getVersion());
+			}
+		}
+		reservedVersions = null;
+		reservedAnalysisId = 0;
 	}
 
 	/**
@@ -3673,6 +3757,23 @@ public class ImportAnalysis {
 		this.globalProgress = globalProgress;
 	}
 
+	/**
+	 * @return the versions being imported by analysis identifier
+	 */
+	public Map<String, Set<String>> getImportingVersions() {
+		return importingVersions;
+	}
+
+	/**
+	 * @param importingVersions the versions being imported by analysis
+	 *                          identifier, shared by concurrent imports, null:
+	 *                          the analysis and its versions are created in
+	 *                          the import transaction
+	 */
+	public void setImportingVersions(Map<String, Set<String>> importingVersions) {
+		this.importingVersions = importingVersions;
+	}
+
 	public int increase(int value) {
 		if (!(value < 0 || value > 100)) {
 			progress += value;
@@ -2,14 +2,22 @@ package lu.itrust.business.ts.model.actionplan.helper;
 
 import java.text.NumberFormat;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -40,7 +48,6 @@ import lu.itrust.business.ts.model.general.Phase;
 import lu.itrust.business.ts.model.parameter.IParameter;
 import lu.itrust.business.ts.model.parameter.helper.ValueFactory;
 import lu.itrust.business.ts.model.parameter.impl.MaturityParameter;
-import lu.itrust.business.ts.model.rrf.RRF;
 import lu.itrust.business.ts.model.standard.AnalysisStandard;
 import lu.itrust.business.ts.model.standard.AssetStandard;
 import lu.itrust.business.ts.model.standard.MaturityStandard;
@@ -102,6 +109,25 @@ public class ActionPlanComputation {
 
 	private ValueFactory factory;
 
+	/**
+	 * indexed computation flag: when true, the greedy action plan computation
+	 * uses a TMA index and only recomputes entries affected by the selected
+	 * measure, otherwise the temporary action plan is regenerated at each step
+	 */
+	private boolean indexedComputation = true;
+
+	/**
+	 * maximum number of action plan modes computed at the same time, 1: modes are
+	 * computed one after the other by the calling thread
+	 */
+	private int maxThreadSize = 1;
+
+	/**
+	 * shared executor of the modes, null: modes are computed one after the other
+	 * by the calling thread
+	 */
+	private Executor executor;
+
 	/***********************************************************************************************
 	 * Constructor
 	 **********************************************************************************************/
@@ -375,16 +401,39 @@ public class ActionPlanComputation {
 		serviceTaskFeedback.send(idTask, new MessageHandler("info.info.action_plan.phase.normal_mode",
 				"Compute Action Plan - normal mode - Phase", progress));
 
+		final List<ActionPlanMode> modes = new ArrayList<>(6);
+
 		if (normalcomputation) {
-			computeActionPlan(ActionPlanMode.APN);
+			modes.add(ActionPlanMode.APN);
 			if (uncertainty) {
-				computeActionPlan(ActionPlanMode.APP);
-				computeActionPlan(ActionPlanMode.APO);
+				modes.add(ActionPlanMode.APP);
+				modes.add(ActionPlanMode.APO);
 			}
 		}
 
-		// compute
-		computePhaseActionPlan(ActionPlanMode.APPN);
+		modes.add(ActionPlanMode.APPN);
+
+		if (uncertainty) {
+			modes.add(ActionPlanMode.APPO);
+			modes.add(ActionPlanMode.APPP);
+		}
+
+		final boolean parallel = maxThreadSize > 1 && modes.size() > 1;
+
+		if (parallel)
+			computeActionPlans(modes);
+		else {
+			if (normalcomputation) {
+				computeActionPlan(ActionPlanMode.APN);
+				if (uncertainty) {
+					computeActionPlan(ActionPlanMode.APP);
+					computeActionPlan(ActionPlanMode.APO);
+				}
+			}
+
+			// compute
+			computePhaseActionPlan(ActionPlanMode.APPN);
+		}
 
 		// ****************************************************************
 		// * compute Action Plan - optimistic mode - Phase
@@ -393,7 +442,7 @@ public class ActionPlanComputation {
 		// check if uncertainty to adopt the progress factor and computation
 		// (if not, optimisitc
 		// and pessimistic will not be computed)
-		if (uncertainty) {
+		if (uncertainty && !parallel) {
 			progress = 30;
 
 			System.out.println("compute Action Plan - optimistic mode - Phase");
@@ -733,17 +782,166 @@ public class ActionPlanComputation {
 		}
 	}
 
+	/**
+	 * computeActionPlans: <br>
+	 * Computes the given modes on the executor (at most "maxThreadSize" at the
+	 * same time), or one after the other when there is no executor. Each mode
+	 * works on its own action plan, SOA risks and value factory, results are
+	 * merged into the analysis in the order of the given modes once all modes
+	 * are computed, so the result is the same as a sequential computation.
+	 * 
+	 * @param modes The Modes to Compute
+	 * @throws Exception
+	 */
+	private void computeActionPlans(List<ActionPlanMode> modes) throws Exception {
+
+		final List<ActionPlanModeState> states = new ArrayList<>(modes.size());
+
+		// action plan types are loaded or saved by the calling thread
+		for (ActionPlanMode mode : modes)
+			states.add(createActionPlanModeState(mode));
+
+		// ****************************************************************
+		// * hibernate session is not thread-safe: lazy data used by the
+		// computation are loaded by the calling thread
+		// ****************************************************************
+		generateTMAs(this.analysis, factory, new ArrayList<>(), ActionPlanMode.APPN, 0, false,
+				this.maturitycomputation, this.standards);
+
+		createSelectedAssetsList();
+
+		this.analysis.getAnalysisStandards().values().stream().filter(this.standards::contains)
+				.flatMap(analysisStandard -> analysisStandard.getMeasures().stream()).map(Measure::getPhase)
+				.filter(Objects::nonNull).forEach(Phase::getNumber);
+
+		final int lanes = executor == null ? 1 : Math.min(maxThreadSize, states.size());
+
+		if (lanes < 2) {
+			for (ActionPlanModeState state : states)
+				computeActionPlanModeState(state);
+		} else {
+			// each lane computes its modes one after the other
+			final List<CompletableFuture<Void>> futures = new ArrayList<>(lanes);
+			for (int lane = 0; lane < lanes; lane++) {
+				final int first = lane;
+				futures.add(CompletableFuture.runAsync(() -> {
+					for (int i = first; i < states.size(); i += lanes) {
+						try {
+							computeActionPlanModeState(states.get(i));
+						} catch (TrickException e) {
+							throw new CompletionException(e);
+						}
+					}
+				}, executor));
+			}
+			try {
+				CompletableFuture.allOf(futures.toArray(new CompletableFuture[lanes])).join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof Exception)
+					throw (Exception) e.getCause();
+				throw e;
+			}
+		}
+
+		for (ActionPlanModeState state : states)
+			mergeActionPlanModeState(state);
+	}
+
+	/**
+	 * computeActionPlanModeState: <br>
+	 * Computes the action plan of the state, phase by phase for phase modes.
+	 * 
+	 * @param state The state of the mode
+	 * @throws TrickException
+	 */
+	private void computeActionPlanModeState(ActionPlanModeState state) throws TrickException {
+		switch (state.getMode()) {
+			case APN:
+			case APO:
+			case APP:
+				computeActionPlan(state);
+				break;
+			default:
+				computePhaseActionPlan(state);
+				break;
+		}
+	}
+
+	/**
+	 * computeActionPlan: <br>
+	 * Computes the action plan of the given mode without saving nor adding it to
+	 * the analysis, the standards and the phases must be set.
+	 * 
+	 * @param mode           The Mode to Compute
+	 * @param actionPlanType The type of the computed entries
+	 * @return The entries of the action plan
+	 * @throws TrickException
+	 */
+	public List<ActionPlanEntry> computeActionPlan(ActionPlanMode mode, ActionPlanType actionPlanType)
+			throws TrickException {
+		final ActionPlanModeState state = new ActionPlanModeState(mode, actionPlanType,
+				(NumberFormat) numberFormat.clone(), new ValueFactory(this.analysis.getExpressionParameters()));
+		computeActionPlanModeState(state);
+		return state.getActionPlan();
+	}
+
+	/**
+	 * createActionPlanModeState: <br>
+	 * Creates the state of a mode computation, the action plan type is created
+	 * if it does not exist.
+	 * 
+	 * @param mode The Mode to Compute
+	 * @return The state of the mode
+	 */
+	private ActionPlanModeState createActionPlanModeState(ActionPlanMode mode) {
+		ActionPlanType actionPlanType = serviceActionPlanType.get(mode.getValue());
+		// check if the actionplantype exists and add it to database if not
+		if (actionPlanType == null)
+			serviceActionPlanType.saveOrUpdate(actionPlanType = new ActionPlanType(mode));
+		return new ActionPlanModeState(mode, actionPlanType, (NumberFormat) numberFormat.clone(),
+				new ValueFactory(this.analysis.getExpressionParameters()));
+	}
+
+	/**
+	 * mergeActionPlanModeState: <br>
+	 * Adds the computed entries to the action plans of the analysis and updates
+	 * the SOA risks of the measures.
+	 * 
+	 * @param state The state of the mode
+	 */
+	private void mergeActionPlanModeState(ActionPlanModeState state) {
+		this.analysis.getActionPlans().addAll(state.getActionPlan());
+		state.getSoaRisks().forEach((measureProperties, soarisk) -> {
+			measureProperties.setSoaRisk(soarisk);
+			if (!StringUtils.hasText(measureProperties.getSoaComment()))
+				measureProperties.setSoaComment(soarisk);
+		});
+	}
+
+	/**
+	 * computeActionPlan: <br>
+	 * Computes the action plan of the given mode and adds it to the analysis.
+	 * 
+	 * @param mode The Mode to Compute the Action Plan : Normal, Optimistic or
+	 *             Pessimistic
+	 * @throws TrickException
+	 */
+	private void computeActionPlan(ActionPlanMode mode) throws TrickException {
+		final ActionPlanModeState state = createActionPlanModeState(mode);
+		computeActionPlan(state);
+		mergeActionPlanModeState(state);
+	}
+
 	/**
 	 * computeActionPlan: <br>
 	 * Generates a List of TMA (Threat Measure Asset) and Generates a Temporary
 	 * Action Plan for each Measure used Inside TMA.
 	 * 
-	 * @param mode       The Mode to Compute the Action Plan : Normal, Optimistic or
-	 *                   Pessimistic
-	 * @param actionPlan The Action Plan where the Final Values are Stored
-	 * @throws Exception
+	 * @param state The state of the mode to compute: Normal, Optimistic or
+	 *              Pessimistic, the Final Values are Stored in its action plan
+	 * @throws TrickException
 	 */
-	private void computeActionPlan(ActionPlanMode mode) throws TrickException {
+	private void computeActionPlan(ActionPlanModeState state) throws TrickException {
 
 		// ****************************************************************
 		// * variables initialisation
@@ -752,22 +950,24 @@ public class ActionPlanComputation {
 		MaturityMeasure maturityMeasure = null;
 		AbstractNormalMeasure normalMeasure = null;
 		List<Measure> usedMeasures = new ArrayList<>();
-		List<ActionPlanEntry> actionPlan = this.analysis.getActionPlans();
-		ActionPlanType actionPlanType = serviceActionPlanType.get(mode.getValue());
+		List<ActionPlanEntry> actionPlan = state.getActionPlan();
+		ActionPlanType actionPlanType = state.getActionPlanType();
 
 		int index = 1;
 
-		// check if actionplantype exists, when not add to database
-		if (actionPlanType == null) {
-			actionPlanType = new ActionPlanType(mode);
-			serviceActionPlanType.save(actionPlanType);
-		}
-
 		// ****************************************************************
 		// * generate TMA list for normal computation
 		// ****************************************************************
-		List<TMA> tmas = generateTMAs(this.analysis, factory, usedMeasures, mode, 0, false, this.maturitycomputation,
-				this.standards);
+		List<TMA> tmas = generateTMAs(this.analysis, state.getFactory(), usedMeasures, state.getMode(), 0, false,
+				this.maturitycomputation, this.standards);
+
+		// ****************************************************************
+		// * indexed computation consumes usedMeasures, the loop below is
+		// only used when the indexed computation is disabled
+		// ****************************************************************
+		if (indexedComputation)
+			index = computeIndexedActionPlan(usedMeasures, tmas,
+					(e1, e2) -> Double.compare(e1.getROI(), e2.getROI()), false, state, index);
 
 		// ****************************************************************
 		// * parse all measures (to create complete action plan) until no more
@@ -817,7 +1017,7 @@ public class ActionPlanComputation {
 					// ****************************************************************
 					// * update values for next run
 					// ****************************************************************
-					adaptValuesForMaturityMeasure(tmas, maturityMeasure);
+					adaptValuesForMaturityMeasure(tmas, maturityMeasure, state.getFactory());
 				} else {
 
 					// check if it is a maturity measure -> NO
@@ -828,7 +1028,7 @@ public class ActionPlanComputation {
 					// ****************************************************************
 					// * update values for next run
 					// ****************************************************************
-					adaptValuesForNormalMeasure(tmas, normalMeasure);
+					adaptValuesForNormalMeasure(tmas, normalMeasure, state.getFactory());
 
 				}
 
@@ -872,15 +1072,27 @@ public class ActionPlanComputation {
 
 	/**
 	 * computePhaseActionPlan: <br>
-	 * Computes the Action Plan Phase By Phase.
+	 * Computes the phase action plan of the given mode and adds it to the
+	 * analysis.
 	 * 
 	 * @param mode The Mode to Compute: Normal, Optimistic or Pessimistic
-	 * @throws CloneNotSupportedException
 	 * @throws TrickException
-	 * @throws InvalidAttributesException
-	 * @throws Exception
 	 */
-	private void computePhaseActionPlan(ActionPlanMode mode)
+	private void computePhaseActionPlan(ActionPlanMode mode) throws TrickException {
+		final ActionPlanModeState state = createActionPlanModeState(mode);
+		computePhaseActionPlan(state);
+		mergeActionPlanModeState(state);
+	}
+
+	/**
+	 * computePhaseActionPlan: <br>
+	 * Computes the Action Plan Phase By Phase.
+	 * 
+	 * @param state The state of the mode to compute: Normal, Optimistic or
+	 *              Pessimistic
+	 * @throws TrickException
+	 */
+	private void computePhaseActionPlan(ActionPlanModeState state)
 			throws TrickException {
 
 		// ****************************************************************
@@ -893,15 +1105,13 @@ public class ActionPlanComputation {
 
 		int index = 1;
 
-		// get actionplans of anaylsis
-		List<ActionPlanEntry> phaseActionPlan = this.analysis.getActionPlans();
+		final ActionPlanMode mode = state.getMode();
 
-		// get actionplantype by given mode
-		ActionPlanType actionPlanType = serviceActionPlanType.get(mode.getValue());
+		// get actionplan of the mode
+		List<ActionPlanEntry> phaseActionPlan = state.getActionPlan();
 
-		// check if the actionplantype exists and add it to database if not
-		if (actionPlanType == null)
-			serviceActionPlanType.saveOrUpdate(actionPlanType = new ActionPlanType(mode));
+		// get actionplantype of the mode
+		ActionPlanType actionPlanType = state.getActionPlanType();
 
 		// ****************************************************************
 		// * parse all phases where measures are in
@@ -916,7 +1126,7 @@ public class ActionPlanComputation {
 			// do nothing
 			// ****************************************************************
 			if (tmas.isEmpty())
-				tmas = generateTMAs(this.analysis, factory, usedMeasures, mode, phase.getNumber(), false,
+				tmas = generateTMAs(this.analysis, state.getFactory(), usedMeasures, mode, phase.getNumber(), false,
 						maturitycomputation, standards);
 			else {
 				// ****************************************************************
@@ -937,7 +1147,7 @@ public class ActionPlanComputation {
 				// ****************************************************************
 				// * generate the TMAList
 				// ****************************************************************
-				tmas = generateTMAs(this.analysis, factory, usedMeasures, mode, phase.getNumber(), false,
+				tmas = generateTMAs(this.analysis, state.getFactory(), usedMeasures, mode, phase.getNumber(), false,
 						this.maturitycomputation, this.standards);
 
 				// ****************************************************************
@@ -967,7 +1177,7 @@ public class ActionPlanComputation {
 									// ****************************************************************
 									// * recalculate the delta ALE
 									// ****************************************************************
-									tma.calculateDeltaALE(factory);
+									tma.calculateDeltaALE(state.getFactory());
 
 									// ****************************************************************
 									// * if 27002 standard, recalculate deltaALE
@@ -980,7 +1190,7 @@ public class ActionPlanComputation {
 										// ****************************************************************
 										// * recalculate delta ALE Maturity
 										// ****************************************************************
-										tma.calculateDeltaALEMaturity(factory);
+										tma.calculateDeltaALEMaturity(state.getFactory());
 									}
 
 								}));
@@ -990,6 +1200,14 @@ public class ActionPlanComputation {
 			// * generate action plan for this phase
 			// ****************************************************************
 
+			// ****************************************************************
+			// * indexed computation consumes usedMeasures, the loop below is
+			// only used when the indexed computation is disabled
+			// ****************************************************************
+			if (indexedComputation)
+				index = computeIndexedActionPlan(usedMeasures, tmas, selectActionPlanComparator(), true, state,
+						index);
+
 			// parse all measures
 
 			while (!usedMeasures.isEmpty()) {
@@ -1023,7 +1241,7 @@ public class ActionPlanComputation {
 					// * at this time actionPlanEntry has the biggest ROSI
 					// ****************************************************************
 
-					setSOARisk(actionPlanEntry, tmas);
+					setSOARisk(actionPlanEntry, tmas, state);
 
 					// set index of entry
 
@@ -1044,13 +1262,13 @@ public class ActionPlanComputation {
 						// ****************************************************************
 						// * change values for the next run
 						// ****************************************************************
-						adaptValuesForMaturityMeasure(tmas, (MaturityMeasure) measure);
+						adaptValuesForMaturityMeasure(tmas, (MaturityMeasure) measure, state.getFactory());
 					} else {
 
 						// ****************************************************************
 						// * change values for the next run
 						// ****************************************************************
-						adaptValuesForNormalMeasure(tmas, measure);
+						adaptValuesForNormalMeasure(tmas, measure, state.getFactory());
 
 					}
 
@@ -1089,11 +1307,14 @@ public class ActionPlanComputation {
 	/**
 	 * Sets the SOA (State of the Art) risk for the given ActionPlanEntry and list of TMAs (Threat Model Assessments).
 	 * 
+	 * The SOA risk is stored in the state and applied to the measure when the state is merged.
+	 * 
 	 * @param entry The ActionPlanEntry for which to set the SOA risk.
 	 * @param tmas The list of TMAs to search for the highest delta ALE (Annual Loss Expectancy).
+	 * @param state The state of the mode being computed.
 	 * @throws TrickException If an error occurs during the computation.
 	 */
-	private void setSOARisk(ActionPlanEntry entry, List<TMA> tmas) throws TrickException {
+	private void setSOARisk(ActionPlanEntry entry, List<TMA> tmas, ActionPlanModeState state) throws TrickException {
 		
 		if (!analysis.getAnalysisStandards().get(entry.getMeasure().getMeasureDescription().getStandard().getName())
 				.isSoaEnabled() || entry.getMeasure() instanceof MaturityMeasure)
@@ -1108,16 +1329,13 @@ public class ActionPlanComputation {
 					+ messageSource.getMessage("label.soa.scenario", null, "Scenario:", locale) + " "
 					+ tma.getAssessment().getScenario().getName() + "\n"
 					+ messageSource.getMessage("label.delta.ale", null, "Delta ALE:", locale) + " "
-					+ numberFormat.format(tma.getDeltaALE() * .001) + " k€";
+					+ state.getNumberFormat().format(tma.getDeltaALE() * .001) + " k€";
 
 			final MeasureProperties measureProperties = entry.getMeasure() instanceof AbstractNormalMeasure
 					? ((AbstractNormalMeasure) entry.getMeasure()).getMeasurePropertyList()
 					: null;
-			if (measureProperties != null) {
-				measureProperties.setSoaRisk(soarisk);
-				if (!StringUtils.hasText(measureProperties.getSoaComment()))
-					measureProperties.setSoaComment(soarisk);
-			}
+			if (measureProperties != null)
+				state.getSoaRisks().put(measureProperties, soarisk);
 		}
 
 	}
@@ -1528,7 +1746,7 @@ public class ActionPlanComputation {
 					ale = ale / numberMeasures;
 
 					// calculate minus deltaALEMat
-					ale = ale - tmpDeltaALEMat.get(asc);
+					ale = ale - tmpDeltaALEMat.get(tmpAssets.get(asc).getAsset().getId());
 
 					// rewrite this asset ALE value
 					tmpAssets.get(asc).setCurrentALE(ale);
@@ -1613,6 +1831,386 @@ public class ActionPlanComputation {
 	 * Temporary Action Plan - END
 	 **********************************************************************************************/
 
+	/***********************************************************************************************
+	 * Indexed Action Plan - BEGIN
+	 **********************************************************************************************/
+
+	/**
+	 * computeIndexedActionPlan: <br>
+	 * Greedy action plan computation based on a TMA index. Each measure of
+	 * usedMeasures is a candidate kept in a queue ordered by the given
+	 * comparator (the biggest first), ties are resolved by the position of the
+	 * measure in usedMeasures as done by the temporary action plan. After a
+	 * measure is taken, only the assessments it updates are visited and only the
+	 * candidates having a TMA entry on those assessments are recomputed. Values
+	 * are always recomputed from the TMA buckets in list order, so the ranking is
+	 * identical to the one of the temporary action plan.<br>
+	 * usedMeasures is empty after the computation.
+	 * 
+	 * @param usedMeasures Measures to add to the Action Plan
+	 * @param tmas         The list of TMA
+	 * @param comparator   Comparator used to select the next entry
+	 * @param soa          Flag to update the SOA risk of the selected entries
+	 * @param state        The state of the mode, selected entries are added to
+	 *                     its action plan
+	 * @param index        Position of the next entry
+	 * @return Position of the next entry
+	 * @throws TrickException
+	 */
+	private int computeIndexedActionPlan(List<Measure> usedMeasures, List<TMA> tmas,
+			Comparator<? super ActionPlanEntry> comparator, boolean soa, ActionPlanModeState state, int index)
+			throws TrickException {
+
+		final ActionPlanType actionPlanType = state.getActionPlanType();
+
+		final List<ActionPlanEntry> actionPlan = state.getActionPlan();
+
+		final TMAIndex tmaIndex = new TMAIndex(tmas);
+
+		final Map<Measure, ActionPlanCandidate> candidates = new HashMap<>(usedMeasures.size());
+
+		final List<ActionPlanCandidate> maturityCandidates = new ArrayList<>();
+
+		final TreeSet<ActionPlanCandidate> queue = new TreeSet<>((c1, c2) -> {
+			final int result = comparator.compare(c2.getEntry(), c1.getEntry());
+			return result == 0 ? Integer.compare(c1.getOrder(), c2.getOrder()) : result;
+		});
+
+		// ****************************************************************
+		// * initialise candidates
+		// ****************************************************************
+		for (int i = 0; i < usedMeasures.size(); i++) {
+			final Measure measure = usedMeasures.get(i);
+			final ActionPlanCandidate candidate = new ActionPlanCandidate(measure, i);
+			candidates.put(measure, candidate);
+			if (measure instanceof MaturityMeasure)
+				maturityCandidates.add(candidate);
+			else {
+				candidate.setEntry(generateIndexedActionPlanEntry(measure, actionPlanType, tmaIndex));
+				queue.add(candidate);
+			}
+		}
+
+		usedMeasures.clear();
+
+		while (!(queue.isEmpty() && maturityCandidates.isEmpty())) {
+
+			// ****************************************************************
+			// * maturity chapters depend on all 27002 entries, they are
+			// recomputed at each step
+			// ****************************************************************
+			if (!maturityCandidates.isEmpty())
+				updateIndexedMaturityCandidates(maturityCandidates, actionPlanType, tmas, queue);
+
+			// ****************************************************************
+			// * take the biggest entry
+			// ****************************************************************
+			final ActionPlanCandidate selected = queue.pollFirst();
+
+			final Measure measure = selected.getMeasure();
+
+			final ActionPlanEntry actionPlanEntry = selected.getEntry();
+
+			candidates.remove(measure);
+
+			final Collection<Assessment> assessments;
+
+			if (measure instanceof MaturityMeasure) {
+				maturityCandidates.remove(selected);
+				if (soa)
+					setSOARisk(actionPlanEntry, tmaIndex.findByMeasure(measure), state);
+				actionPlanEntry.setPosition(index++);
+				assessments = adaptIndexedValuesForMaturityMeasure(tmaIndex, (MaturityMeasure) measure,
+						state.getFactory());
+			} else {
+				actionPlanEntry.setActionPlanAssets(generateIndexedActionPlanAssets(measure, tmaIndex));
+				if (soa)
+					setSOARisk(actionPlanEntry, tmaIndex.findByMeasure(measure), state);
+				actionPlanEntry.setPosition(index++);
+				assessments = adaptIndexedValuesForNormalMeasure(tmaIndex, measure, state.getFactory());
+			}
+
+			actionPlan.add(actionPlanEntry);
+
+			// ****************************************************************
+			// * recompute candidates sharing an updated assessment
+			// ****************************************************************
+			final Set<Measure> updatedMeasures = new LinkedHashSet<>();
+			for (Assessment assessment : assessments) {
+				for (TMA tma : tmaIndex.findByAssessment(assessment))
+					updatedMeasures.add(tma.getMeasure());
+			}
+
+			for (Measure updatedMeasure : updatedMeasures) {
+				final ActionPlanCandidate candidate = candidates.get(updatedMeasure);
+				if (candidate == null || updatedMeasure instanceof MaturityMeasure)
+					continue;
+				// remove before update: the queue order depends on the entry
+				queue.remove(candidate);
+				candidate.setEntry(generateIndexedActionPlanEntry(updatedMeasure, actionPlanType, tmaIndex));
+				queue.add(candidate);
+			}
+		}
+
+		return index;
+	}
+
+	/**
+	 * generateIndexedActionPlanEntry: <br>
+	 * Same as the entry generated by "generateNormalActionPlanEntries" for a non
+	 * maturity measure, action plan assets are only computed for the selected
+	 * entry (see "generateIndexedActionPlanAssets").
+	 * 
+	 * @param measure        The measure
+	 * @param actionPlanType The Action Plan type
+	 * @param tmaIndex       The TMA index
+	 * @return The Action Plan Entry
+	 * @throws TrickException
+	 */
+	private ActionPlanEntry generateIndexedActionPlanEntry(Measure measure, ActionPlanType actionPlanType,
+			TMAIndex tmaIndex) throws TrickException {
+		final boolean computable = measure.getMeasureDescription().getStandard().isComputable();
+		double deltaALE = 0;
+		double totalALE = 0;
+		for (TMA tma : tmaIndex.findByMeasure(measure)) {
+			totalALE += tma.getALE();
+			if (computable)
+				deltaALE += tma.getDeltaALE();
+		}
+		return new ActionPlanEntry(measure, actionPlanType, new ArrayList<>(0), totalALE, deltaALE);
+	}
+
+	/**
+	 * generateIndexedActionPlanAssets: <br>
+	 * Computes the ALE by selected asset of a non maturity measure.
+	 * 
+	 * @param measure  The measure
+	 * @param tmaIndex The TMA index
+	 * @return The list of Action Plan Assets
+	 * @throws TrickException
+	 */
+	private List<ActionPlanAsset> generateIndexedActionPlanAssets(Measure measure, TMAIndex tmaIndex)
+			throws TrickException {
+		final List<ActionPlanAsset> tmpAssets = createSelectedAssetsList();
+		final Map<Integer, ActionPlanAsset> actionPlanAssetMapper = tmpAssets.stream()
+				.collect(Collectors.toMap(actionAsset -> actionAsset.getAsset().getId(), Function.identity()));
+		for (TMA tma : tmaIndex.findByMeasure(measure)) {
+			final ActionPlanAsset actionPlanAsset = actionPlanAssetMapper
+					.get(tma.getAssessment().getAsset().getId());
+			if (actionPlanAsset != null) {
+				double ALE = actionPlanAsset.getCurrentALE();
+				ALE += tma.getALE();
+				ALE -= tma.getDeltaALE();
+				actionPlanAsset.setCurrentALE(ALE);
+			}
+		}
+		return tmpAssets;
+	}
+
+	/**
+	 * updateIndexedMaturityCandidates: <br>
+	 * Recomputes the entries of the maturity chapters using
+	 * "generateMaturtiyChapterActionPlanEntries".
+	 * 
+	 * @param maturityCandidates The maturity candidates
+	 * @param actionPlanType     The Action Plan type
+	 * @param tmas               The list of TMA
+	 * @param queue              The candidate queue
+	 * @throws TrickException
+	 */
+	private void updateIndexedMaturityCandidates(List<ActionPlanCandidate> maturityCandidates,
+			ActionPlanType actionPlanType, List<TMA> tmas, TreeSet<ActionPlanCandidate> queue)
+			throws TrickException {
+		final List<ActionPlanEntry> entries = new ArrayList<>(maturityCandidates.size());
+		for (ActionPlanCandidate candidate : maturityCandidates) {
+			if (candidate.getEntry() != null)
+				queue.remove(candidate);
+			candidate.setEntry(new ActionPlanEntry(candidate.getMeasure(), actionPlanType, 0));
+			entries.add(candidate.getEntry());
+		}
+		generateMaturtiyChapterActionPlanEntries(entries, tmas);
+		queue.addAll(maturityCandidates);
+	}
+
+	/**
+	 * adaptIndexedValuesForNormalMeasure: <br>
+	 * Same as "adaptValuesForNormalMeasure" using the TMA index.
+	 * 
+	 * @param tmaIndex The TMA index
+	 * @param measure  The taken measure
+	 * @param factory  The value factory of the mode
+	 * @return Updated assessments
+	 * @throws TrickException
+	 */
+	private Collection<Assessment> adaptIndexedValuesForNormalMeasure(TMAIndex tmaIndex, Measure measure,
+			ValueFactory factory) throws TrickException {
+
+		if (!measure.getMeasureDescription().getStandard().isComputable())
+			return Collections.emptyList();
+
+		final Set<Assessment> assessments = new LinkedHashSet<>();
+
+		for (TMA tma : tmaIndex.findByMeasure(measure)) {
+			final double deltaALE = tma.getDeltaALE();
+			for (TMA other : tmaIndex.findByAssessment(tma.getAssessment())) {
+				other.setALE(other.getALE() - deltaALE);
+				other.calculateDeltaALE(factory);
+				if (other.getStandard().is(Constant.STANDARD_27002))
+					other.calculateDeltaALEMaturity(factory);
+			}
+			assessments.add(tma.getAssessment());
+		}
+
+		return assessments;
+	}
+
+	/**
+	 * adaptIndexedValuesForMaturityMeasure: <br>
+	 * Same as "adaptValuesForMaturityMeasure" using the TMA index.
+	 * 
+	 * @param tmaIndex        The TMA index
+	 * @param maturityMeasure The taken maturity measure
+	 * @param factory         The value factory of the mode
+	 * @return Updated assessments
+	 * @throws TrickException
+	 */
+	private Collection<Assessment> adaptIndexedValuesForMaturityMeasure(TMAIndex tmaIndex,
+			MaturityMeasure maturityMeasure, ValueFactory factory) throws TrickException {
+
+		final String chapter = maturityMeasure.getMeasureDescription().getReference().substring(2);
+
+		final List<Assessment> assessments = new ArrayList<>();
+
+		for (Assessment assessment : this.analysis.getAssessments()) {
+
+			if (!(assessment.isSelected() && assessment.getALE() > 0))
+				continue;
+
+			final List<TMA> tmas = tmaIndex.findByAssessment(assessment);
+
+			if (tmas.isEmpty())
+				continue;
+
+			double deltaALE = 0;
+
+			for (TMA tma : tmas) {
+				if (tma.getMeasure().getMeasureDescription().getReference().startsWith(chapter)
+						&& tma.getStandard().is(Constant.STANDARD_27002))
+					deltaALE += tma.getDeltaALEMat();
+			}
+
+			for (TMA tma : tmas) {
+				tma.setALE(tma.getALE() - deltaALE);
+				tma.calculateDeltaALE(factory);
+				if (tma.getStandard().is(Constant.STANDARD_27002) && maturitycomputation)
+					tma.calculateDeltaALEMaturity(factory);
+			}
+
+			assessments.add(assessment);
+		}
+
+		return assessments;
+	}
+
+	/**
+	 * ActionPlanCandidate: <br>
+	 * A measure waiting to be added to the action plan with its current entry.
+	 */
+	private static class ActionPlanCandidate {
+
+		/** The measure */
+		private final Measure measure;
+
+		/** Position of the measure in the list of used measures */
+		private final int order;
+
+		/** Current entry of the measure */
+		private ActionPlanEntry entry;
+
+		private ActionPlanCandidate(Measure measure, int order) {
+			this.measure = measure;
+			this.order = order;
+		}
+
+		private Measure getMeasure() {
+			return measure;
+		}
+
+		private int getOrder() {
+			return order;
+		}
+
+		private ActionPlanEntry getEntry() {
+			return entry;
+		}
+
+		private void setEntry(ActionPlanEntry entry) {
+			this.entry = entry;
+		}
+	}
+
+	/***********************************************************************************************
+	 * Indexed Action Plan - END
+	 **********************************************************************************************/
+
+	/**
+	 * ActionPlanModeState: <br>
+	 * Mutable state of a mode computation: the computed entries, the SOA risks to
+	 * apply and the number format used to build them.
+	 */
+	private static class ActionPlanModeState {
+
+		/** The computed mode */
+		private final ActionPlanMode mode;
+
+		/** The Action Plan type of the mode */
+		private final ActionPlanType actionPlanType;
+
+		/** The computed entries */
+		private final List<ActionPlanEntry> actionPlan = new ArrayList<>();
+
+		/** SOA risks by measure, in computation order */
+		private final Map<MeasureProperties, String> soaRisks = new LinkedHashMap<>();
+
+		/** NumberFormat is not thread-safe */
+		private final NumberFormat numberFormat;
+
+		/** ValueFactory fills its mappers lazily, it is not thread-safe */
+		private final ValueFactory factory;
+
+		private ActionPlanModeState(ActionPlanMode mode, ActionPlanType actionPlanType, NumberFormat numberFormat,
+				ValueFactory factory) {
+			this.mode = mode;
+			this.actionPlanType = actionPlanType;
+			this.numberFormat = numberFormat;
+			this.factory = factory;
+		}
+
+		private ActionPlanMode getMode() {
+			return mode;
+		}
+
+		private ActionPlanType getActionPlanType() {
+			return actionPlanType;
+		}
+
+		private List<ActionPlanEntry> getActionPlan() {
+			return actionPlan;
+		}
+
+		private Map<MeasureProperties, String> getSoaRisks() {
+			return soaRisks;
+		}
+
+		private NumberFormat getNumberFormat() {
+			return numberFormat;
+		}
+
+		private ValueFactory getFactory() {
+			return factory;
+		}
+	}
+
 	/***********************************************************************************************
 	 * change values between 2 Action Plan Entries (ALE) - BEGIN
 	 **********************************************************************************************/
@@ -1625,9 +2223,10 @@ public class ActionPlanComputation {
 	 * @param actionPlanEntry The Action Plan Entry(used to store ALE values of the
 	 *                        Assets)
 	 * @param normalMeasure   The taken AnalysisStandard Measure
+	 * @param factory         The value factory of the mode
 	 * @throws TrickException
 	 */
-	private void adaptValuesForNormalMeasure(List<TMA> tmas, Measure measure)
+	private void adaptValuesForNormalMeasure(List<TMA> tmas, Measure measure, ValueFactory factory)
 			throws TrickException {
 
 		// ****************************************************************
@@ -1696,10 +2295,11 @@ public class ActionPlanComputation {
 	 * @param tmas
 	 * @param actionPlanEntry
 	 * @param maturityMeasure
+	 * @param factory
 	 * @throws TrickException
 	 */
 	private void adaptValuesForMaturityMeasure(List<TMA> tmas,
-			MaturityMeasure maturityMeasure) throws TrickException {
+			MaturityMeasure maturityMeasure, ValueFactory factory) throws TrickException {
 
 		// ****************************************************************
 		// * variable initialisation
@@ -2061,7 +2661,7 @@ public class ActionPlanComputation {
 					// ****************************************************************
 					// * calculate RRF
 					// ****************************************************************
-					rrf = RRF.calculateRRF(tmpAssessment, parameterMaxRRF, measure);
+					rrf = analysis.getRRFMatrix().getRRF(tmpAssessment, parameterMaxRRF, measure);
 
 					// ****************************************************************
 					// * create TMA object and initialise with assessment and
@@ -2520,6 +3120,66 @@ public class ActionPlanComputation {
 		this.phases = phases;
 	}
 
+	/**
+	 * @return true if measures are ranked with the indexed computation
+	 */
+	public boolean isIndexedComputation() {
+		return indexedComputation;
+	}
+
+	/**
+	 * @param indexedComputation true to rank measures with the indexed
+	 *                           computation, false for the legacy loop
+	 */
+	public void setIndexedComputation(boolean indexedComputation) {
+		this.indexedComputation = indexedComputation;
+	}
+
+	/**
+	 * @return true if maturity chapters are added to the action plan
+	 */
+	public boolean isMaturityComputation() {
+		return maturitycomputation;
+	}
+
+	/**
+	 * @param maturitycomputation true to add maturity chapters to the action
+	 *                            plan
+	 */
+	public void setMaturityComputation(boolean maturitycomputation) {
+		this.maturitycomputation = maturitycomputation;
+	}
+
+	/**
+	 * @return the maximum number of action plan modes computed at the same time
+	 */
+	public int getMaxThreadSize() {
+		return maxThreadSize;
+	}
+
+	/**
+	 * @param maxThreadSize the maximum number of action plan modes computed at
+	 *                      the same time
+	 */
+	public void setMaxThreadSize(int maxThreadSize) {
+		this.maxThreadSize = maxThreadSize;
+	}
+
+	/**
+	 * @return the shared executor of the modes
+	 */
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * @param executor the shared executor of the modes, null to compute them on
+	 *                 the calling thread
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
 	/***********************************************************************************************
 	 * Action Plan Summary - END
 	 **********************************************************************************************/
@@ -0,0 +1,75 @@
+package lu.itrust.business.ts.model.actionplan.helper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lu.itrust.business.ts.model.assessment.Assessment;
+import lu.itrust.business.ts.model.standard.measure.Measure;
+
+/**
+ * TMAIndex: <br>
+ * Buckets a list of TMA entries by measure and by assessment. This is used by
+ * the action plan computation to update only the entries affected by the
+ * selected measure instead of scanning the whole TMA list at each step.<br>
+ * Each bucket keeps the order of the original list, so that sums computed on a
+ * bucket are identical to the ones computed while scanning the whole list.
+ */
+public class TMAIndex {
+
+	/** TMA entries by measure */
+	private final Map<Measure, List<TMA>> measures = new LinkedHashMap<>();
+
+	/** TMA entries by assessment */
+	private final Map<Assessment, List<TMA>> assessments = new LinkedHashMap<>();
+
+	/**
+	 * Constructor: <br>
+	 * Builds the index of the given TMA list.
+	 *
+	 * @param tmas The list of TMA
+	 */
+	public TMAIndex(List<TMA> tmas) {
+		for (TMA tma : tmas) {
+			measures.computeIfAbsent(tma.getMeasure(), k -> new ArrayList<>()).add(tma);
+			assessments.computeIfAbsent(tma.getAssessment(), k -> new ArrayList<>()).add(tma);
+		}
+	}
+
+	/**
+	 * Returns the TMA entries of the given measure.
+	 *
+	 * @param measure The measure
+	 * @return TMA entries, never null
+	 */
+	public List<TMA> findByMeasure(Measure measure) {
+		return measures.getOrDefault(measure, Collections.emptyList());
+	}
+
+	/**
+	 * Returns the TMA entries of the given assessment.
+	 *
+	 * @param assessment The assessment
+	 * @return TMA entries, never null
+	 */
+	public List<TMA> findByAssessment(Assessment assessment) {
+		return assessments.getOrDefault(assessment, Collections.emptyList());
+	}
+
+	/**
+	 * @return Indexed measures
+	 */
+	public Set<Measure> getMeasures() {
+		return measures.keySet();
+	}
+
+	/**
+	 * @return Indexed assessments
+	 */
+	public Set<Assessment> getAssessments() {
+		return assessments.keySet();
+	}
+}
@@ -48,6 +48,7 @@ import lu.itrust.business.ts.helper.NaturalOrderComparator;
 import lu.itrust.business.ts.model.actionplan.ActionPlanEntry;
 import lu.itrust.business.ts.model.actionplan.ActionPlanMode;
 import lu.itrust.business.ts.model.actionplan.summary.SummaryStage;
+import lu.itrust.business.ts.model.analysis.helper.AnalysisIndex;
 import lu.itrust.business.ts.model.analysis.rights.AnalysisRight;
 import lu.itrust.business.ts.model.analysis.rights.UserAnalysisRight;
 import lu.itrust.business.ts.model.assessment.Assessment;
@@ -74,6 +75,7 @@ import lu.itrust.business.ts.model.parameter.impl.MaturityParameter;
 import lu.itrust.business.ts.model.parameter.impl.RiskAcceptanceParameter;
 import lu.itrust.business.ts.model.parameter.impl.SimpleParameter;
 import lu.itrust.business.ts.model.riskinformation.RiskInformation;
+import lu.itrust.business.ts.model.rrf.RRFMatrix;
 import lu.itrust.business.ts.model.scale.ScaleType;
 import lu.itrust.business.ts.model.scenario.Scenario;
 import lu.itrust.business.ts.model.standard.AnalysisStandard;
@@ -258,6 +260,14 @@ public class Analysis implements Cloneable {
 	@Transient
 	private Map<String, List<? extends IParameter>> parameters = new LinkedHashMap<>();
 
+	/** RRF of scenarios and measures, computed on demand */
+	@Transient
+	private RRFMatrix rrfMatrix;
+
+	/** Lookup index of the finders, built on demand */
+	@Transient
+	private AnalysisIndex index;
+
 	/** List of Phases that is used for Action Plan Computation */
 	@OneToMany(mappedBy = "analysis")
 	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
@@ -405,6 +415,7 @@ public class Analysis implements Cloneable {
 	 */
 	public void add(AnalysisStandard analysisStandard) {
 		this.analysisStandards.put(analysisStandard.getStandard().getName(), analysisStandard);
+		invalidateIndex();
 	}
 
 	/**
@@ -417,6 +428,7 @@ public class Analysis implements Cloneable {
 		if (this.assessments.contains(assessment))
 			throw new IllegalArgumentException("error.assessment.duplicate");
 		this.assessments.add(assessment);
+		invalidateIndex();
 	}
 
 	/**
@@ -431,6 +443,7 @@ public class Analysis implements Cloneable {
 			throw new TrickException("error.asset.duplicate",
 					String.format("Asset (%s) is duplicated", asset.getName()), asset.getName());
 		this.assets.add(asset);
+		invalidateIndex();
 	}
 
 	/**
@@ -441,6 +454,7 @@ public class Analysis implements Cloneable {
 	 */
 	@SuppressWarnings("unchecked")
 	public boolean add(IParameter param) {
+		invalidateIndex();
 		return ((List<IParameter>) this.parameters.computeIfAbsent(param.getGroup(), k -> new ArrayList<>()))
 				.add(param);
 	}
@@ -474,6 +488,7 @@ public class Analysis implements Cloneable {
 		if (!phases.contains(phase)) {
 			phases.add(phase);
 			phase.setAnalysis(this);
+			invalidateIndex();
 		} else
 			throw new TrickException("error.phase.duplicated",
 					String.format("An other phase with the same number `%d` already exists", phase.getNumber()),
@@ -500,6 +515,7 @@ public class Analysis implements Cloneable {
 			throw new IllegalArgumentException("error.scenario.duplicate");
 		}
 		this.scenarios.add(scenario);
+		invalidateIndex();
 	}
 
 	/**
@@ -531,6 +547,7 @@ public class Analysis implements Cloneable {
 	 * @param riskItem The RiskRegisterItem Object to Add
 	 */
 	public void addARiskRegisterItem(RiskRegisterItem riskItem) {
+		invalidateIndex();
 		this.riskRegisters.add(riskItem);
 	}
 
@@ -585,7 +602,9 @@ public class Analysis implements Cloneable {
 	 */
 	@Override
 	public Analysis clone() throws CloneNotSupportedException {
-		return (Analysis) super.clone();
+		final Analysis analysis = (Analysis) super.clone();
+		analysis.index = null;
+		return analysis;
 	}
 
 
@@ -617,6 +636,77 @@ public class Analysis implements Cloneable {
 				implementationRate, isFullRelatedCost);
 	}
 
+	/**
+	 * getRRFMatrix: <br>
+	 * Returns the RRF matrix of the analysis, scenarios and measures values are
+	 * computed on first use.
+	 * 
+	 * @return The RRF matrix
+	 */
+	@Transient
+	public synchronized RRFMatrix getRRFMatrix() {
+		if (rrfMatrix == null)
+			rrfMatrix = new RRFMatrix();
+		return rrfMatrix;
+	}
+
+	/**
+	 * invalidateRRF: <br>
+	 * Drops the RRF matrix, to be called when scenarios, measure properties or
+	 * the MAX_RRF parameter are updated.
+	 */
+	@Transient
+	public synchronized void invalidateRRF() {
+		rrfMatrix = null;
+	}
+
+	/**
+	 * invalidateRRF: <br>
+	 * Drops the RRF values of the scenario, to be called when the scenario is
+	 * updated or removed.
+	 * 
+	 * @param scenario The scenario
+	 */
+	@Transient
+	public synchronized void invalidateRRF(Scenario scenario) {
+		if (rrfMatrix != null)
+			rrfMatrix.invalidate(scenario);
+	}
+
+	/**
+	 * invalidateRRF: <br>
+	 * Drops the RRF values of the measure, to be called when the measure
+	 * properties are updated or the measure is removed.
+	 * 
+	 * @param measure The measure
+	 */
+	@Transient
+	public synchronized void invalidateRRF(Measure measure) {
+		if (rrfMatrix != null)
+			rrfMatrix.invalidate(measure);
+	}
+
+	/**
+	 * getIndex: <br>
+	 * Returns the lookup index of the finders, built on first use.
+	 * 
+	 * @return The index
+	 */
+	@Transient
+	public synchronized AnalysisIndex getIndex() {
+		if (index == null)
+			index = new AnalysisIndex(this);
+		return index;
+	}
+
+	/**
+	 * invalidateIndex: <br>
+	 * Drops the lookup index, called by add and remove methods.
+	 */
+	public synchronized void invalidateIndex() {
+		index = null;
+	}
+
 	public List<AssetType> distinctAssetType() {
 		return this.assets.stream().map(asset -> asset.getAssetType()).distinct().collect(Collectors.toList());
 	}
@@ -635,14 +725,17 @@ public class Analysis implements Cloneable {
 		analysis.settings = new LinkedHashMap<>(this.settings);
 		analysis.excludeAcronyms = new HashSet<>(this.excludeAcronyms);
 		analysis.ilrImpactTypes = new ArrayList<>();
+		analysis.rrfMatrix = null;
+		analysis.index = null;
 		analysis.id = 0;
 		return analysis;
 	}
 	
 	public Analysis duplicateTo(Analysis copy) throws CloneNotSupportedException {
-		if (copy == null)
+		if (copy == null) {
 			copy = (Analysis) super.clone();
-		else {
+			copy.index = null;
+		} else {
 			copy.data = data;
 			copy.creationDate = creationDate;
 			copy.customer = customer;
@@ -758,7 +851,7 @@ public class Analysis implements Cloneable {
 	 * Finds assessments grouped by asset and scenario
 	 */
 	public Assessment findAssessmentByAssetAndScenario(int idAsset, int idScenario) {
-		return assessments.stream().filter(assessment -> assessment.is(idAsset, idScenario)).findAny().orElse(null);
+		return getIndex().findAssessment(idAsset, idScenario);
 	}
 
 	/**
@@ -771,9 +864,8 @@ public class Analysis implements Cloneable {
 		final Map<Integer, Assessment> assessmentMap = new LinkedHashMap<>();
 		if (assessments == null || assessments.isEmpty())
 			return assessmentMap;
-		for (Assessment assessment : assessments)
-			if (assessment.getAsset().getId() == id)
-				assessmentMap.put(assessment.getScenario().getId(), assessment);
+		for (Assessment assessment : getIndex().findAssessmentsByAsset(id))
+			assessmentMap.put(assessment.getScenario().getId(), assessment);
 		return assessmentMap;
 	}
 
@@ -787,9 +879,8 @@ public class Analysis implements Cloneable {
 		final Map<Integer, Assessment> assessmentMap = new LinkedHashMap<>();
 		if (assessments == null || assessments.isEmpty())
 			return assessmentMap;
-		for (Assessment assessment : assessments)
-			if (assessment.getScenario().getId() == id)
-				assessmentMap.put(assessment.getAsset().getId(), assessment);
+		for (Assessment assessment : getIndex().findAssessmentsByScenario(id))
+			assessmentMap.put(assessment.getAsset().getId(), assessment);
 		return assessmentMap;
 	}
 
@@ -815,7 +906,7 @@ public class Analysis implements Cloneable {
 	 * Represents an asset.
 	 */
 	public Asset findAsset(int idAsset) {
-		return assets.stream().filter(asset -> asset.getId() == idAsset).findAny().orElse(null);
+		return getIndex().findAsset(idAsset);
 	}
 
 	/**
@@ -866,8 +957,7 @@ public class Analysis implements Cloneable {
 	 * Represents a measure in the analysis.
 	 */
 	public Measure findMeasureById(int idMeasure) {
-		return analysisStandards.values().stream().flatMap(measures -> measures.getMeasures().stream())
-				.filter(measure -> measure.getId() == idMeasure).findAny().orElse(null);
+		return getIndex().findMeasure(idMeasure);
 	}
 
 	/**
@@ -917,8 +1007,7 @@ public class Analysis implements Cloneable {
 	 * Represents a parameter in the analysis.
 	 */
 	public IParameter findParameter(String type, String baseKey) {
-		return this.parameters.values().stream().flatMap(paramters -> paramters.stream())
-				.filter(parameter -> parameter.isMatch(type, baseKey)).findAny().orElse(null);
+		return getIndex().findParameter(type, baseKey);
 	}
 
 	/**
@@ -960,7 +1049,7 @@ public class Analysis implements Cloneable {
 	 * Represents a phase in the analysis.
 	 */
 	public Phase findPhaseByNumber(int number) {
-		return phases.stream().filter(phase -> phase.getNumber() == number).findAny().orElse(null);
+		return getIndex().findPhase(number);
 	}
 
 	/**
@@ -982,7 +1071,7 @@ public class Analysis implements Cloneable {
 	 * @return the risk profile matching the asset and scenario, or null if not found
 	 */
 	public RiskProfile findRiskProfileByAssetAndScenario(int idAsset, int idScenario) {
-		return riskProfiles.stream().filter(riskProfile -> riskProfile.is(idAsset, idScenario)).findAny().orElse(null);
+		return getIndex().findRiskProfile(idAsset, idScenario);
 	}
 
 	/**
@@ -1011,15 +1100,14 @@ public class Analysis implements Cloneable {
 	 * Represents a risk register item.
 	 */
 	public RiskRegisterItem findRiskRegisterByAssetAndScenario(int idAsset, int idScenario) {
-		return riskRegisters.stream().filter(riskRegister -> riskRegister.is(idAsset, idScenario)).findAny()
-				.orElse(null);
+		return getIndex().findRiskRegister(idAsset, idScenario);
 	}
 
 	/**
 	 * Represents a scenario in the analysis.
 	 */
 	public Scenario findScenario(int idScenario) {
-		return scenarios.stream().filter(scenario -> scenario.getId() == idScenario).findAny().orElse(null);
+		return getIndex().findScenario(idScenario);
 	}
 
 	/**
@@ -1056,8 +1144,7 @@ public class Analysis implements Cloneable {
 	 * @return a list of selected assessments for the given asset ID
 	 */
 	public List<Assessment> findSelectedAssessmentByAsset(int idAsset) {
-		return assessments.stream()
-				.filter(assessment -> assessment.isSelected() && assessment.getAsset().getId() == idAsset)
+		return getIndex().findAssessmentsByAsset(idAsset).stream().filter(Assessment::isSelected)
 				.collect(Collectors.toList());
 	}
 
@@ -1068,8 +1155,7 @@ public class Analysis implements Cloneable {
 	 * @return A list of selected assessments that belong to the specified scenario.
 	 */
 	public List<Assessment> findSelectedAssessmentByScenario(int idScenario) {
-		return assessments.stream()
-				.filter(assessment -> assessment.isSelected() && assessment.getScenario().getId() == idScenario)
+		return getIndex().findAssessmentsByScenario(idScenario).stream().filter(Assessment::isSelected)
 				.collect(Collectors.toList());
 	}
 
@@ -2113,6 +2199,7 @@ public class Analysis implements Cloneable {
 	 */
 	public void removeAnalysisStandard(AnalysisStandard analysisStandard) {
 		this.analysisStandards.remove(analysisStandard.getStandard().getName());
+		invalidateIndex();
 	}
 
 	/**
@@ -2124,6 +2211,7 @@ public class Analysis implements Cloneable {
 	public List<Assessment> removeAssessment(Asset asset) {
 		final List<Assessment> assmts = new LinkedList<>();
 		this.assessments.removeIf(assessment -> assessment.getAsset().equals(asset) && assmts.add(assessment));
+		invalidateIndex();
 		return assmts;
 	}
 
@@ -2137,6 +2225,7 @@ public class Analysis implements Cloneable {
 		final List<Assessment> assmts = new LinkedList<>();
 		this.assessments
 				.removeIf(assessment -> assessment.getScenario().equals(scenario) && assmts.add(assessment));
+		invalidateIndex();
 		return assmts;
 	}
 
@@ -2168,6 +2257,7 @@ public class Analysis implements Cloneable {
 	public List<RiskProfile> removeRiskProfile(Asset asset) {
 		final List<RiskProfile> profiles = new LinkedList<>();
 		riskProfiles.removeIf(riskProfile -> riskProfile.getAsset().equals(asset) && profiles.add(riskProfile));
+		invalidateIndex();
 		return profiles;
 	}
 
@@ -2180,6 +2270,7 @@ public class Analysis implements Cloneable {
 	public List<RiskProfile> removeRiskProfile(Scenario scenario) {
 		final List<RiskProfile> profiles = new LinkedList<>();
 		riskProfiles.removeIf(riskProfile -> riskProfile.getScenario().equals(scenario) && profiles.add(riskProfile));
+		invalidateIndex();
 		return profiles;
 	}
 
@@ -0,0 +1,275 @@
+package lu.itrust.business.ts.model.analysis.helper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import lu.itrust.business.ts.model.analysis.Analysis;
+import lu.itrust.business.ts.model.assessment.Assessment;
+import lu.itrust.business.ts.model.asset.Asset;
+import lu.itrust.business.ts.model.cssf.RiskProfile;
+import lu.itrust.business.ts.model.cssf.RiskRegisterItem;
+import lu.itrust.business.ts.model.general.Phase;
+import lu.itrust.business.ts.model.parameter.IParameter;
+import lu.itrust.business.ts.model.scenario.Scenario;
+import lu.itrust.business.ts.model.standard.AnalysisStandard;
+import lu.itrust.business.ts.model.standard.measure.Measure;
+
+/**
+ * AnalysisIndex: <br>
+ * Lookup tables of an analysis by id and by (asset, scenario), built on first
+ * use.<br>
+ * A table is rebuilt when a list it was built from is replaced or its size
+ * changes, and every hit is checked against the list and the finder criteria:
+ * the element must still be at its position and match. A miss or a stale hit
+ * falls back to a scan of the list, so results are always the ones of a linear
+ * search. Groups of assessments are checked the same way. {@link Analysis}
+ * drops the index in its add and remove methods.
+ */
+public class AnalysisIndex {
+
+	private final Analysis analysis;
+
+	private final Lookup<Integer, Asset> assets = new Lookup<>();
+
+	private final Lookup<Integer, Scenario> scenarios = new Lookup<>();
+
+	private final Lookup<Integer, Measure> measures = new Lookup<>();
+
+	private final Lookup<Integer, Phase> phases = new Lookup<>();
+
+	private final Lookup<String, IParameter> parameters = new Lookup<>();
+
+	private final Lookup<Long, Assessment> assessments = new Lookup<>();
+
+	private final Lookup<Long, RiskProfile> riskProfiles = new Lookup<>();
+
+	private final Lookup<Long, RiskRegisterItem> riskRegisters = new Lookup<>();
+
+	private final Group<Integer, Assessment> assessmentsByAsset = new Group<>();
+
+	private final Group<Integer, Assessment> assessmentsByScenario = new Group<>();
+
+	/**
+	 * Constructor: <br>
+	 *
+	 * @param analysis The indexed analysis
+	 */
+	public AnalysisIndex(Analysis analysis) {
+		this.analysis = analysis;
+	}
+
+	public synchronized Asset findAsset(int idAsset) {
+		final List<Asset> values = analysis.getAssets();
+		return assets.find(Collections.singletonList(values), Asset::getId, idAsset, asset -> asset.getId() == idAsset);
+	}
+
+	public synchronized Scenario findScenario(int idScenario) {
+		final List<Scenario> values = analysis.getScenarios();
+		return scenarios.find(Collections.singletonList(values), Scenario::getId, idScenario, scenario -> scenario.getId() == idScenario);
+	}
+
+	public synchronized Measure findMeasure(int idMeasure) {
+		final List<List<Measure>> values = analysis.getAnalysisStandards().values().stream().map(AnalysisStandard::getMeasures).collect(Collectors.toList());
+		return measures.find(values, Measure::getId, idMeasure, measure -> measure.getId() == idMeasure);
+	}
+
+	public synchronized Phase findPhase(int number) {
+		final List<Phase> values = analysis.getPhases();
+		return phases.find(Collections.singletonList(values), Phase::getNumber, number, phase -> phase.getNumber() == number);
+	}
+
+	public synchronized IParameter findParameter(String type, String baseKey) {
+		final List<List<? extends IParameter>> values = new ArrayList<>(analysis.getParameters().values());
+		return parameters.find(values, parameter -> parameterKey(parameter.getTypeName(), parameter.getBaseKey()), parameterKey(type, baseKey), parameter -> parameter.isMatch(type, baseKey));
+	}
+
+	public synchronized Assessment findAssessment(int idAsset, int idScenario) {
+		final List<Assessment> values = analysis.getAssessments();
+		return assessments.find(Collections.singletonList(values), assessment -> key(assessment.getAsset().getId(), assessment.getScenario().getId()),
+				key(idAsset, idScenario), assessment -> assessment.is(idAsset, idScenario));
+	}
+
+	public synchronized RiskProfile findRiskProfile(int idAsset, int idScenario) {
+		final List<RiskProfile> values = analysis.getRiskProfiles();
+		return riskProfiles.find(Collections.singletonList(values), riskProfile -> key(riskProfile.getAsset().getId(), riskProfile.getScenario().getId()),
+				key(idAsset, idScenario), riskProfile -> riskProfile.is(idAsset, idScenario));
+	}
+
+	public synchronized RiskRegisterItem findRiskRegister(int idAsset, int idScenario) {
+		final List<RiskRegisterItem> values = analysis.getRiskRegisters();
+		return riskRegisters.find(Collections.singletonList(values), riskRegister -> key(riskRegister.getAsset().getId(), riskRegister.getScenario().getId()),
+				key(idAsset, idScenario), riskRegister -> riskRegister.is(idAsset, idScenario));
+	}
+
+	/**
+	 * @param idAsset The asset id
+	 * @return Assessments of the asset in the order of the analysis, never null
+	 */
+	public synchronized List<Assessment> findAssessmentsByAsset(int idAsset) {
+		final List<Assessment> values = analysis.getAssessments();
+		return assessmentsByAsset.find(values, assessment -> assessment.getAsset().getId(), idAsset);
+	}
+
+	/**
+	 * @param idScenario The scenario id
+	 * @return Assessments of the scenario in the order of the analysis, never
+	 *         null
+	 */
+	public synchronized List<Assessment> findAssessmentsByScenario(int idScenario) {
+		final List<Assessment> values = analysis.getAssessments();
+		return assessmentsByScenario.find(values, assessment -> assessment.getScenario().getId(), idScenario);
+	}
+
+	private static long key(int idAsset, int idScenario) {
+		return ((long) idAsset << 32) | (idScenario & 0xFFFFFFFFL);
+	}
+
+	private static String parameterKey(String type, String baseKey) {
+		return (type == null ? "\u0000" : type.toLowerCase(Locale.ROOT)) + "\u0001" + (baseKey == null ? "\u0000" : baseKey.toLowerCase(Locale.ROOT));
+	}
+
+	/**
+	 * First element by key, as returned by a linear search of the lists in
+	 * order.<br>
+	 * A hit must still be at its position in its list and match the finder
+	 * criteria, a miss or a stale hit is checked by a scan of the lists; the
+	 * table is rebuilt when the scan finds an element.
+	 */
+	private static class Lookup<K, T> {
+
+		private List<? extends List<? extends T>> sources;
+
+		private int[] sizes;
+
+		private Map<K, Entry<T>> values;
+
+		private T find(List<? extends List<? extends T>> sources, Function<T, K> keyMapper, K key, Predicate<T> matcher) {
+			if (values == null || !isSame(sources))
+				build(sources, keyMapper);
+			final Entry<T> entry = values.get(key);
+			if (entry != null) {
+				final List<? extends T> source = sources.get(entry.source);
+				// Elements removed and added without changing the size
+				if (entry.position < source.size() && source.get(entry.position) == entry.value && matcher.test(entry.value))
+					return entry.value;
+			}
+			for (List<? extends T> source : sources) {
+				for (T item : source) {
+					if (matcher.test(item)) {
+						// Keys or lists have been updated since the last build
+						values = null;
+						return item;
+					}
+				}
+			}
+			return null;
+		}
+
+		private boolean isSame(List<? extends List<? extends T>> sources) {
+			if (this.sources.size() != sources.size())
+				return false;
+			for (int i = 0; i < sizes.length; i++) {
+				final List<? extends T> source = sources.get(i);
+				if (this.sources.get(i) != source || sizes[i] != source.size())
+					return false;
+			}
+			return true;
+		}
+
+		private void build(List<? extends List<? extends T>> sources, Function<T, K> keyMapper) {
+			int size = 0;
+			sizes = new int[sources.size()];
+			for (int i = 0; i < sizes.length; i++)
+				size += sizes[i] = sources.get(i).size();
+			values = new HashMap<>(Math.max(16, size * 2));
+			for (int i = 0; i < sizes.length; i++) {
+				final List<? extends T> source = sources.get(i);
+				for (int j = 0; j < source.size(); j++) {
+					final T item = source.get(j);
+					values.putIfAbsent(keyMapper.apply(item), new Entry<>(item, i, j));
+				}
+			}
+			this.sources = new ArrayList<>(sources);
+		}
+	}
+
+	/**
+	 * Indexed element and its position: list and index in the list.
+	 */
+	private static class Entry<T> {
+
+		private final T value;
+
+		private final int source;
+
+		private final int position;
+
+		private Entry(T value, int source, int position) {
+			this.value = value;
+			this.source = source;
+			this.position = position;
+		}
+	}
+
+	/**
+	 * Elements by key, in the order of the list.<br>
+	 * A hit is checked as in {@link Lookup}: every element must still be at its
+	 * position in the list and have the requested key, a miss is checked by a
+	 * scan of the list; the table is rebuilt when the check fails.
+	 */
+	private static class Group<K, T> {
+
+		private List<T> source;
+
+		private int size = -1;
+
+		private Map<K, List<T>> values;
+
+		/** Positions in the list of the grouped elements */
+		private Map<K, int[]> positions;
+
+		private List<T> find(List<T> source, Function<T, K> keyMapper, K key) {
+			if (values == null || this.source != source || this.size != source.size() || !isValid(source, keyMapper, key))
+				build(source, keyMapper);
+			return values.getOrDefault(key, Collections.emptyList());
+		}
+
+		private boolean isValid(List<T> source, Function<T, K> keyMapper, K key) {
+			final List<T> group = values.get(key);
+			if (group == null)
+				return source.stream().noneMatch(item -> Objects.equals(keyMapper.apply(item), key));
+			final int[] indexes = positions.get(key);
+			for (int i = 0; i < indexes.length; i++) {
+				final T item = group.get(i);
+				// Keys have been updated or the list has been changed since the
+				// last build
+				if (source.get(indexes[i]) != item || !Objects.equals(keyMapper.apply(item), key))
+					return false;
+			}
+			return true;
+		}
+
+		private void build(List<T> source, Function<T, K> keyMapper) {
+			final Map<K, List<Integer>> indexes = new HashMap<>();
+			values = new HashMap<>();
+			for (int i = 0; i < source.size(); i++) {
+				final T item = source.get(i);
+				final K key = keyMapper.apply(item);
+				values.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
+				indexes.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+			}
+			positions = new HashMap<>(indexes.size() * 2);
+			indexes.forEach((key, group) -> positions.put(key, group.stream().mapToInt(Integer::intValue).toArray()));
+			this.source = source;
+			this.size = source.size();
+		}
+	}
+}
@@ -0,0 +1,328 @@
+package lu.itrust.business.ts.model.externalnotification.helper;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import lu.itrust.business.ts.model.externalnotification.ExternalNotification;
+
+/**
+ * In-memory time-series index of external notifications.<br>
+ * Notifications are grouped by source user name and by dynamic parameter (see
+ * {@link ExternalNotificationHelper#createParameterName(String, String)}), and
+ * kept sorted by timestamp. For each series, the integral of the probability
+ * over the segment between a notification and the next one is precomputed as
+ * a prefix sum, so that an interval query only integrates the partial
+ * segments at both ends of the interval.<br>
+ * Results are the same as the ones of
+ * {@link lu.itrust.business.ts.database.dao.DAOExternalNotification}, without
+ * touching the database.
+ */
+public class ExternalNotificationIndex {
+
+	/**
+	 * Notifications older than seven times their half-life are ignored, their
+	 * influence is (1/2)^7 < 1%.
+	 */
+	private static final int HALF_LIFE_LIMIT = 7;
+
+	private static final double LOG_HALF = Math.log(0.5);
+
+	/** Series by source user name and parameter name */
+	private final Map<String, Map<String, Series>> sources = new HashMap<>();
+
+	/** Indexed notifications */
+	private final Set<Integer> ids = new HashSet<>();
+
+	/**
+	 * Oldest time from which queries can be answered, notifications which are
+	 * no longer applicable at this time are pruned
+	 */
+	private long horizon = Long.MIN_VALUE;
+
+	private volatile boolean loaded = false;
+
+	/**
+	 * Adds the given notification to the index, notifications which are
+	 * already indexed are ignored.
+	 * 
+	 * @param notification The notification to add.
+	 */
+	public synchronized void add(ExternalNotification notification) {
+		if (notification.getId() != null && !ids.add(notification.getId()))
+			return;
+		final String parameterName = ExternalNotificationHelper.createParameterName(notification.getSourceUserName(), notification.getCategory());
+		sources.computeIfAbsent(notification.getSourceUserName(), k -> new HashMap<>()).computeIfAbsent(parameterName, k -> new Series()).add(notification);
+	}
+
+	/**
+	 * Adds all given notifications to the index.
+	 * 
+	 * @param notifications The notifications to add.
+	 */
+	public synchronized void addAll(Collection<ExternalNotification> notifications) {
+		notifications.forEach(this::add);
+	}
+
+	/**
+	 * Removes the given notification from the index.
+	 * 
+	 * @param notification The notification to remove.
+	 */
+	public synchronized void remove(ExternalNotification notification) {
+		if (notification.getId() == null || !ids.remove(notification.getId()))
+			return;
+		final Map<String, Series> series = sources.get(notification.getSourceUserName());
+		if (series == null)
+			return;
+		final String parameterName = ExternalNotificationHelper.createParameterName(notification.getSourceUserName(), notification.getCategory());
+		final Series serie = series.get(parameterName);
+		if (serie != null && serie.remove(notification.getId()) && serie.size == 0)
+			series.remove(parameterName);
+	}
+
+	/**
+	 * Adds the given notifications, read from the database, to the index and
+	 * marks it as loaded. Notifications which have been indexed in the meantime
+	 * are kept, the ones read again are ignored.
+	 * 
+	 * @param notifications The notifications which are applicable at the given
+	 *                      time, and the latest notification of each dynamic
+	 *                      parameter.
+	 * @param horizon       Oldest time from which queries can be answered.
+	 */
+	public synchronized void load(Collection<ExternalNotification> notifications, long horizon) {
+		addAll(notifications);
+		prune(horizon);
+		loaded = true;
+	}
+
+	/**
+	 * Removes the notifications which are no longer applicable at the given
+	 * time, except the latest notification of each dynamic parameter.
+	 * 
+	 * @param horizon Oldest time from which queries can be answered.
+	 */
+	public synchronized void prune(long horizon) {
+		this.horizon = Math.max(this.horizon, horizon);
+		sources.values().forEach(series -> series.values().forEach(serie -> serie.prune(this.horizon, ids)));
+	}
+
+	/**
+	 * @return true if the index has been loaded and can answer queries.
+	 */
+	public boolean isLoaded() {
+		return loaded;
+	}
+
+	/**
+	 * @param timestamp The beginning of a query.
+	 * @return true if the index has been loaded and can answer queries from the
+	 *         given time.
+	 */
+	public synchronized boolean covers(long timestamp) {
+		return loaded && timestamp >= horizon;
+	}
+
+	/**
+	 * Computes the probability of each dynamic parameter of the given source
+	 * at the given time, from the latest notification of each parameter.
+	 * 
+	 * @see lu.itrust.business.ts.database.dao.DAOExternalNotification#computeProbabilitiesAtTime(long,
+	 *      String, double)
+	 */
+	public synchronized Map<String, Double> computeProbabilitiesAtTime(long timestamp, String sourceUserName) {
+		final Map<String, Double> probabilities = new HashMap<>();
+		sources.getOrDefault(sourceUserName, Collections.emptyMap()).forEach((parameterName, series) -> {
+			final int index = series.upperBound(timestamp) - 1;
+			if (index >= 0)
+				probabilities.put(parameterName, series.severities[index] * Math.pow(0.5, (double) (timestamp - series.timestamps[index]) / series.halfLives[index]));
+		});
+		return probabilities;
+	}
+
+	/**
+	 * Computes the average probability of each dynamic parameter of the given
+	 * source over the given interval.
+	 * 
+	 * @see lu.itrust.business.ts.database.dao.DAOExternalNotification#computeProbabilitiesInInterval(long,
+	 *      long, String, double)
+	 */
+	public synchronized Map<String, Double> computeProbabilitiesInInterval(long timestampBegin, long timestampEnd, String sourceUserName) {
+		final long totalInterval = timestampEnd - timestampBegin;
+		final Map<String, Double> probabilities = new HashMap<>();
+		sources.getOrDefault(sourceUserName, Collections.emptyMap()).forEach((parameterName, series) -> {
+			// Notifications issued in ]begin, end]
+			final int first = series.upperBound(timestampBegin), last = series.upperBound(timestampEnd) - 1;
+			// Latest notification issued before the interval and still applicable
+			final int previous = series.findApplicable(first - 1, timestampBegin);
+			if (first > last && previous < 0)
+				return;
+			double integratedProbability = 0;
+			if (first <= last) {
+				integratedProbability = series.integrals[last] - series.integrals[first] + series.integrate(last, series.timestamps[last], timestampEnd);
+				if (previous >= 0)
+					integratedProbability += series.integrate(previous, timestampBegin, series.timestamps[first]);
+			} else
+				integratedProbability = series.integrate(previous, timestampBegin, timestampEnd);
+			probabilities.put(parameterName, integratedProbability / totalInterval);
+		});
+		return probabilities;
+	}
+
+	/**
+	 * Notifications of a single dynamic parameter, sorted by timestamp.
+	 */
+	private static class Series {
+
+		private int size;
+
+		private int[] ids = new int[8];
+
+		private long[] timestamps = new long[8];
+
+		private long[] halfLives = new long[8];
+
+		private double[] severities = new double[8];
+
+		/**
+		 * Integral of the probability from the first notification to the
+		 * notification at the given index
+		 */
+		private double[] integrals = new double[8];
+
+		/**
+		 * Latest time until which a notification up to the given index is
+		 * applicable
+		 */
+		private long[] reaches = new long[8];
+
+		private void add(ExternalNotification notification) {
+			if (size == timestamps.length) {
+				final int length = size * 2;
+				ids = Arrays.copyOf(ids, length);
+				timestamps = Arrays.copyOf(timestamps, length);
+				halfLives = Arrays.copyOf(halfLives, length);
+				severities = Arrays.copyOf(severities, length);
+				integrals = Arrays.copyOf(integrals, length);
+				reaches = Arrays.copyOf(reaches, length);
+			}
+			final int index = upperBound(notification.getTimestamp());
+			if (index < size) {
+				final int length = size - index;
+				System.arraycopy(ids, index, ids, index + 1, length);
+				System.arraycopy(timestamps, index, timestamps, index + 1, length);
+				System.arraycopy(halfLives, index, halfLives, index + 1, length);
+				System.arraycopy(severities, index, severities, index + 1, length);
+			}
+			ids[index] = notification.getId() == null ? 0 : notification.getId();
+			timestamps[index] = notification.getTimestamp();
+			halfLives[index] = notification.getHalfLife();
+			severities[index] = notification.getSeverity();
+			size++;
+			update(index);
+		}
+
+		private boolean remove(int id) {
+			for (int index = 0; index < size; index++) {
+				if (ids[index] != id)
+					continue;
+				final int length = size - index - 1;
+				System.arraycopy(ids, index + 1, ids, index, length);
+				System.arraycopy(timestamps, index + 1, timestamps, index, length);
+				System.arraycopy(halfLives, index + 1, halfLives, index, length);
+				System.arraycopy(severities, index + 1, severities, index, length);
+				size--;
+				update(index);
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Removes the notifications which are no longer applicable at the given
+		 * time, except the latest one.
+		 */
+		private void prune(long horizon, Set<Integer> indexed) {
+			int count = 0;
+			for (int index = 0; index < size; index++) {
+				if (index < size - 1 && timestamps[index] + halfLives[index] * HALF_LIFE_LIMIT < horizon) {
+					indexed.remove(ids[index]);
+					continue;
+				}
+				ids[count] = ids[index];
+				timestamps[count] = timestamps[index];
+				halfLives[count] = halfLives[index];
+				severities[count] = severities[index];
+				count++;
+			}
+			if (count == size)
+				return;
+			size = count;
+			update(0);
+		}
+
+		/**
+		 * Recomputes prefix values from the given index, the segment of the
+		 * previous notification ends now at this index.
+		 */
+		private void update(int from) {
+			for (int index = Math.max(from, 0); index < size; index++) {
+				final long reach = timestamps[index] + halfLives[index] * HALF_LIFE_LIMIT;
+				if (index == 0) {
+					integrals[index] = 0;
+					reaches[index] = reach;
+				} else {
+					integrals[index] = integrals[index - 1] + integrate(index - 1, timestamps[index - 1], timestamps[index]);
+					reaches[index] = Math.max(reaches[index - 1], reach);
+				}
+			}
+		}
+
+		/**
+		 * Integrates the probability of the notification at the given index
+		 * from begin to end.<br>
+		 * The probability level at any time t is given by severity*(1/2)^(t-t0)/T
+		 * where t0 is the time of reporting. The integral of this expression is
+		 * severity*T/log(1/2)*(1/2)^(t-t0)/T.
+		 */
+		private double integrate(int index, long begin, long end) {
+			final double halfLife = halfLives[index];
+			final double deltaTimeBegin = begin - timestamps[index];
+			final double deltaTimeEnd = end - timestamps[index];
+			return severities[index] * halfLife / LOG_HALF * (Math.pow(0.5, deltaTimeEnd / halfLife) - Math.pow(0.5, deltaTimeBegin / halfLife));
+		}
+
+		/**
+		 * @return The index of the first notification issued after the given
+		 *         time.
+		 */
+		private int upperBound(long timestamp) {
+			int low = 0, high = size;
+			while (low < high) {
+				final int middle = (low + high) >>> 1;
+				if (timestamps[middle] <= timestamp)
+					low = middle + 1;
+				else
+					high = middle;
+			}
+			return low;
+		}
+
+		/**
+		 * @return The index of the latest notification up to the given index
+		 *         which is still applicable at the given time, -1 if none.
+		 */
+		private int findApplicable(int index, long timestamp) {
+			for (; index >= 0 && reaches[index] >= timestamp; index--) {
+				if (timestamps[index] + halfLives[index] * HALF_LIFE_LIMIT >= timestamp)
+					return index;
+			}
+			return -1;
+		}
+	}
+}
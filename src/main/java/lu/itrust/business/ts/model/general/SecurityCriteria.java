@@ -1,5 +1,6 @@
 package lu.itrust.business.ts.model.general;
 
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.regex.Pattern;
@@ -38,6 +39,14 @@ public abstract class SecurityCriteria implements Cloneable {
 
 	protected static Pattern CATEGOTY_PATTERN = Pattern.compile(Constant.REGEXP_VALID_SCENARIO_CATEGORY);
 
+	/** Index of each Category in {@link #getCategoryKeys()} */
+	private static final Map<String, Integer> CATEGORY_INDEXES = new HashMap<>(CategoryConverter.JAVAKEYS.length * 2);
+
+	static {
+		for (int i = 0; i < CategoryConverter.JAVAKEYS.length; i++)
+			CATEGORY_INDEXES.put(CategoryConverter.JAVAKEYS[i], i);
+	}
+
 	/** The Scenario Identifier */
 	private int id = 0;
 
@@ -71,6 +80,12 @@ public abstract class SecurityCriteria implements Cloneable {
 	/** The Map of Scenario Categories */
 	private Map<String, Integer> categories = new LinkedHashMap<>(25);
 
+	/**
+	 * Values of the Categories in the order of {@link #getCategoryKeys()}, kept
+	 * in sync with the Map of Categories
+	 */
+	private int[] categoryValues = new int[CategoryConverter.JAVAKEYS.length];
+
 	/***********************************************************************************************
 	 * Constructor
 	 **********************************************************************************************/
@@ -1280,8 +1295,57 @@ public abstract class SecurityCriteria implements Cloneable {
 		// ***********************************************************************
 		// * Add valid value to the valid Category
 		// ***********************************************************************
-		categories.put(category, valueFixer(category, value));
+		final int fixedValue = valueFixer(category, value);
+		categories.put(category, fixedValue);
+		updateCategoryValue(category, fixedValue);
+
+	}
+
+	/**
+	 * updateCategoryValue: <br>
+	 * Updates the value of the Category in the packed values.
+	 * 
+	 * @param category
+	 *            The Key that represents the Category
+	 * @param value
+	 *            The value of the Category
+	 */
+	private void updateCategoryValue(String category, Integer value) {
+		final Integer index = CATEGORY_INDEXES.get(category);
+		if (index != null)
+			categoryValues[index] = value == null ? 0 : value;
+	}
+
+	/**
+	 * categoryDotProduct: <br>
+	 * Returns SUM(Rthis*Rother) over all Categories (see
+	 * {@link #getCategoryKeys()}), e.g. between MeasureProperties and a
+	 * Scenario.
+	 * 
+	 * @param criteria
+	 *            The other SecurityCriteria
+	 * @return The sum of the products of the Category values
+	 */
+	public int categoryDotProduct(SecurityCriteria criteria) {
+		final int[] values = categoryValues, others = criteria.categoryValues;
+		int result = 0;
+		for (int i = 0; i < values.length; i++)
+			result += values[i] * others[i];
+		return result;
+	}
 
+	/**
+	 * getCategorySum: <br>
+	 * Returns SUM(R) over all Categories (see {@link #getCategoryKeys()}).
+	 * 
+	 * @return The sum of the Category values
+	 */
+	@Transient
+	public int getCategorySum() {
+		int result = 0;
+		for (int value : categoryValues)
+			result += value;
+		return result;
 	}
 
 	/**
@@ -1386,6 +1450,7 @@ public abstract class SecurityCriteria implements Cloneable {
 		securityCriteria.categories = new LinkedHashMap<>();
 		for (String key : categories.keySet())
 			securityCriteria.categories.put(key, categories.get(key));
+		securityCriteria.categoryValues = categoryValues.clone();
 		return securityCriteria;
 	}
 
@@ -1401,6 +1466,7 @@ public abstract class SecurityCriteria implements Cloneable {
 		securityCriteria.categories = new LinkedHashMap<>();
 		for (String key : categories.keySet())
 			securityCriteria.categories.put(key, categories.get(key));
+		securityCriteria.categoryValues = categoryValues.clone();
 		securityCriteria.id = 0;
 		return securityCriteria;
 	}
@@ -1432,8 +1498,10 @@ public abstract class SecurityCriteria implements Cloneable {
 		securityCriteria.internalThreat = internalThreat;
 		/** The External Threat value */
 		securityCriteria.externalThreat = externalThreat;
-		for (String category : getCategoryKeys())
+		for (String category : getCategoryKeys()) {
 			securityCriteria.categories.put(category, categories.get(category));
+			securityCriteria.updateCategoryValue(category, categories.get(category));
+		}
 
 	}
 
@@ -21,13 +21,23 @@ import lu.itrust.business.ts.usermanagement.User;
 @Cacheable
 @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @AttributeOverride(name = "id", column = @Column(name = "idUserSQLite"))
-@AttributeOverride(name = "data", column = @Column(name = "dtSQLite", nullable = false, length = 16777216))
+@AttributeOverride(name = "data", column = @Column(name = "dtSQLite", length = 16777216))
 @AttributeOverride(name = "created", column = @Column(name = "dtExportTime", nullable = false))
 public class UserSQLite extends UserDocument {
 
 	@Column(name = "dtDeleteTime", nullable = false)
 	private Timestamp deleteTime = null;
 
+	/**
+	 * Key of the file in the document store, null when the file is kept in
+	 * dtSQLite
+	 */
+	@Column(name = "dtStorage")
+	private String storage = null;
+
+	@Column(name = "dtSha256", length = 64)
+	private String sha256 = null;
+
 	/**
 	 * Constructor: <br>
 	 */
@@ -63,4 +73,32 @@ public class UserSQLite extends UserDocument {
 		this.deleteTime = deleteTime;
 	}
 
+	/**
+	 * @return the storage
+	 */
+	public String getStorage() {
+		return storage;
+	}
+
+	/**
+	 * @param storage the storage to set
+	 */
+	public void setStorage(String storage) {
+		this.storage = storage;
+	}
+
+	/**
+	 * @return the sha256
+	 */
+	public String getSha256() {
+		return sha256;
+	}
+
+	/**
+	 * @param sha256 the sha256 to set
+	 */
+	public void setSha256(String sha256) {
+		this.sha256 = sha256;
+	}
+
 }
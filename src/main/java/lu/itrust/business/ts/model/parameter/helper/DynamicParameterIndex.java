@@ -0,0 +1,65 @@
+package lu.itrust.business.ts.model.parameter.helper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import lu.itrust.business.expressions.StringExpressionParser;
+import lu.itrust.business.ts.component.TrickLogManager;
+import lu.itrust.business.ts.constants.Constant;
+import lu.itrust.business.ts.model.analysis.Analysis;
+import lu.itrust.business.ts.model.assessment.Assessment;
+import lu.itrust.business.ts.model.parameter.value.IValue;
+import lu.itrust.business.ts.model.parameter.value.impl.FormulaValue;
+
+/**
+ * DynamicParameterIndex: <br>
+ * Index of the assessments of an analysis by the acronyms of the variables
+ * involved in their impact formula.<br>
+ * This is used to update only the assessments which depend on the dynamic
+ * parameters which have changed.
+ */
+public class DynamicParameterIndex {
+
+	/** Assessments by the variables of their impact formula */
+	private final Map<String, List<Assessment>> assessments = new HashMap<>();
+
+	/**
+	 * Constructor: <br>
+	 * Builds the index of the given analysis.
+	 *
+	 * @param analysis The analysis
+	 */
+	public DynamicParameterIndex(Analysis analysis) {
+		for (Assessment assessment : analysis.getAssessments()) {
+			final IValue value = assessment.getImpact(Constant.PARAMETER_TYPE_IMPACT_NAME);
+			if (!(value instanceof FormulaValue) || value.getVariable() == null)
+				continue;
+			try {
+				for (String variable : new StringExpressionParser(value.getVariable(), StringExpressionParser.IMPACT).getInvolvedVariables())
+					assessments.computeIfAbsent(variable, k -> new ArrayList<>()).add(assessment);
+			} catch (Exception e) {
+				TrickLogManager.Persist(e);
+			}
+		}
+	}
+
+	/**
+	 * Returns the assessments whose impact formula involves one of the given
+	 * acronyms.
+	 *
+	 * @param acronyms The acronyms
+	 * @return Assessments, never null
+	 */
+	public Set<Assessment> findAssessments(Collection<String> acronyms) {
+		final Set<Assessment> results = new LinkedHashSet<>();
+		for (String acronym : acronyms)
+			results.addAll(assessments.getOrDefault(acronym, Collections.emptyList()));
+		return results;
+	}
+}
@@ -1,8 +1,7 @@
 package lu.itrust.business.ts.model.rrf;
 
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
-import java.text.ParseException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.List;
 
 import lu.itrust.business.ts.constants.Constant;
@@ -10,10 +9,10 @@ import lu.itrust.business.ts.exception.TrickException;
 import lu.itrust.business.ts.model.assessment.Assessment;
 import lu.itrust.business.ts.model.asset.Asset;
 import lu.itrust.business.ts.model.asset.AssetType;
-import lu.itrust.business.ts.model.general.SecurityCriteria;
 import lu.itrust.business.ts.model.parameter.IParameter;
 import lu.itrust.business.ts.model.parameter.impl.SimpleParameter;
 import lu.itrust.business.ts.model.scenario.Scenario;
+import lu.itrust.business.ts.model.standard.measure.AbstractNormalMeasure;
 import lu.itrust.business.ts.model.standard.measure.Measure;
 import lu.itrust.business.ts.model.standard.measure.impl.AssetMeasure;
 import lu.itrust.business.ts.model.standard.measure.impl.MeasureProperties;
@@ -25,6 +24,7 @@ import lu.itrust.business.ts.model.standard.measure.impl.NormalMeasure;
  *
  *  */
 public class RRF {
+
 	/***********************************************************************************************
 	 * RRF - BEGIN
 	 **********************************************************************************************/
@@ -84,117 +84,96 @@ public class RRF {
 	 */
 	public static double calculateNormalMeasureRRF(Scenario scenario, AssetType assetType, IParameter tuningParameter, NormalMeasure measure) throws TrickException {
 
-		// ****************************************************************
-		// * initialise variables
-		// ****************************************************************
-		double strength;
-		double category;
-		double type;
-		double source;
-		final MeasureProperties measureProperties = measure.getMeasurePropertyList();
-
-		// ****************************************************************
-		// * retrieve tuning value
-		// ****************************************************************
-
 		// ****************************************************************
 		// * retrieve asset type value for this asset type
 		// * (inside assessment)
 		// ****************************************************************
+		final int assetValue = measure.getAssetTypeValues().stream().filter(assetTypeValue -> assetTypeValue.getAssetType().equals(assetType))
+				.mapToInt(assetTypeValue -> assetTypeValue.getValue()).findAny().orElse(0);
 
-		// parse assettype value list from given measure
+		final double strength = calculateRRFStrength(measure);
 
-		int assetValue = measure.getAssetTypeValues().stream().filter(assetTypeValue -> assetTypeValue.getAssetType().equals(assetType))
-				.mapToInt(assetTypeValue -> assetTypeValue.getValue()).findAny().orElse(0);
+		final double category = calculateRRFCategory(measure.getMeasurePropertyList(), scenario);
 
-		// ****************************************************************
-		// * Strength calculation
-		// ****************************************************************
-		strength = measure.getMeasurePropertyList().getFMeasure();
-		strength = strength * measure.getMeasurePropertyList().getFSectoral();
-		strength = strength / 40.;
+		final double type = calculateRRFType(measure, scenario);
 
-		// Strength calculation
-		strength = measureProperties.getFMeasure() * measureProperties.getFSectoral() / 40.;
-		if (Double.isNaN(strength))
-			throw new TrickException("error.analysis.rrf.measure.strength.nan",
-					String.format("RRF computation: please check strength of measure (%s)", measure.getMeasureDescription().getReference()));
+		final double source = calculateRRFSource(measure.getMeasurePropertyList(), scenario);
 
-		// ****************************************************************
-		// * Category calculation
-		// ****************************************************************
-		category = calculateRRFCategory(measure.getMeasurePropertyList(), scenario);
+		return calculateRRF(assetValue, strength, category, type, source, tuningParameter);
+	}
 
-		// Category calculation
-		category = calculateRRFCategory(measureProperties, scenario);
-		if (Double.isNaN(category))
-			throw new TrickException("error.analysis.rrf.scenario.category.nan", String.format("RRF computation: please check categories for scenario (%s)", scenario.getName()), scenario.getName());
+	public static double calculateAssetMeasureRRF(Scenario scenario, Asset asset, IParameter tuningParameter, AssetMeasure measure) throws TrickException {
 
-		// Type calculation
-		type =
-			measureProperties.getLimitative() * scenario.getLimitative() +
-			measureProperties.getPreventive() * scenario.getPreventive() +
-			measureProperties.getDetective() * scenario.getDetective() +
-			measureProperties.getCorrective() * scenario.getCorrective();
-		type /= 4.;
-		if (Double.isNaN(type))
-			throw new TrickException("error.analysis.rrf.type.nan",
-					String.format("RRF computation: please check scenario(%s) and measure (%s for %s), type is not number", scenario.getName(),
-							measure.getMeasureDescription().getReference(), measure.getMeasureDescription().getStandard().getName()),
-					scenario.getName(), measure.getMeasureDescription().getReference(), measure.getMeasureDescription().getStandard().getName());
+		final int assetValue = measure.getMeasureAssetValues().stream().filter(measureAssetValue -> measureAssetValue.getAsset().equals(asset))
+				.mapToInt(measureAssetValue -> measureAssetValue.getValue()).findAny().orElse(0);
 
-		NumberFormat nf = new DecimalFormat();
-		nf.setMaximumFractionDigits(2);
-		try {
-			type = nf.parse(nf.format(type)).doubleValue();
-		} catch (ParseException e) {
-			throw new TrickException("error.number.format", e.getMessage());
-		}
+		final double strength = calculateRRFStrength(measure);
 
-		// Source calculation
-		source =
-			measureProperties.getIntentional() * scenario.getIntentional() +
-			measureProperties.getAccidental() * scenario.getAccidental() +
-			measureProperties.getEnvironmental() * scenario.getEnvironmental() +
-			measureProperties.getInternalThreat() * scenario.getInternalThreat() +
-			measureProperties.getExternalThreat() * scenario.getExternalThreat();
-		source /= 4. * (scenario.getIntentional() + scenario.getAccidental() + scenario.getEnvironmental() + scenario.getInternalThreat() + scenario.getExternalThreat());
-		if (Double.isNaN(source))
-			throw new TrickException("error.analysis.rrf.scenario.source.nan", String.format("RRF computation: please check menace source for scenario (%s)", scenario.getName()), scenario.getName());
+		final double category = calculateRRFCategory(measure.getMeasurePropertyList(), scenario);
+
+		final double type = calculateRRFType(measure, scenario);
 
-		// RRF completion:
-		// (((Asset_Measure/100)*Strength*CID*Type*Source) / 500) * tuning
+		final double source = calculateRRFSource(measure.getMeasurePropertyList(), scenario);
+
+		return calculateRRF(assetValue, strength, category, type, source, tuningParameter);
+	}
+
+	/**
+	 * calculateRRF: <br>
+	 * RRF completion: (((Asset_Measure/100)*Strength*CID*Type*Source) / 500) *
+	 * tuning
+	 * 
+	 * @param assetValue
+	 *            The asset type value or the asset value of the measure
+	 * @param strength
+	 *            see {@link #calculateRRFStrength(AbstractNormalMeasure)}
+	 * @param category
+	 *            see {@link #calculateRRFCategory(MeasureProperties, Scenario)}
+	 * @param type
+	 *            see {@link #calculateRRFType(AbstractNormalMeasure, Scenario)}
+	 * @param source
+	 *            see {@link #calculateRRFSource(MeasureProperties, Scenario)}
+	 * @param tuningParameter
+	 *            The tuning parameter
+	 * @return The Calculated RRF
+	 */
+	static double calculateRRF(int assetValue, double strength, double category, double type, double source, IParameter tuningParameter) {
 		return assetValue / 100. * strength * category * type * source * tuningParameter.getValue().doubleValue() / 100.;
 	}
 
-	public static double calculateAssetMeasureRRF(Scenario scenario, Asset asset, IParameter tuningParameter, AssetMeasure measure) throws TrickException {
-		double strength;
-		double category;
-		double type;
-		double source;
+	/**
+	 * calculateRRFStrength: <br>
+	 * Returns FMeasure * FSectoral / 40
+	 * 
+	 * @param measure
+	 *            The Measure
+	 * @return The Calculated RRF Strength value
+	 * @throws TrickException
+	 */
+	public static double calculateRRFStrength(AbstractNormalMeasure measure) throws TrickException {
 		final MeasureProperties measureProperties = measure.getMeasurePropertyList();
-
-		int assetValue = measure.getMeasureAssetValues().stream().filter(measureAssetValue -> measureAssetValue.getAsset().equals(asset))
-				.mapToInt(measureAssetValue -> measureAssetValue.getValue()).findAny().orElse(0);
-
-		// Strength calculation
-		strength = measureProperties.getFMeasure() * measureProperties.getFSectoral() / 40.;
+		final double strength = measureProperties.getFMeasure() * measureProperties.getFSectoral() / 40.;
 		if (Double.isNaN(strength))
 			throw new TrickException("error.analysis.rrf.measure.strength.nan",
 					String.format("RRF computation: please check strength of measure (%s)", measure.getMeasureDescription().getReference()));
+		return strength;
+	}
 
-		// ****************************************************************
-		// * Category calculation
-		// ****************************************************************
-		category = calculateRRFCategory(measure.getMeasurePropertyList(), scenario);
-
-		// Category calculation
-		category = calculateRRFCategory(measureProperties, scenario);
-		if (Double.isNaN(category))
-			throw new TrickException("error.analysis.rrf.scenario.category.nan", String.format("RRF computation: please check categories for scenario (%s)", scenario.getName()), scenario.getName());
-
-		// Type calculation
-		type =
+	/**
+	 * calculateRRFType: <br>
+	 * Returns SUM(Tm*Ts)/4 rounded to 2 decimals: T =
+	 * (LIMITATIVE,PREVENTIVE,DETECTIVE,CORRECTIVE)
+	 * 
+	 * @param measure
+	 *            The Measure
+	 * @param scenario
+	 *            The Scenario
+	 * @return The Calculated RRF Type value
+	 * @throws TrickException
+	 */
+	public static double calculateRRFType(AbstractNormalMeasure measure, Scenario scenario) throws TrickException {
+		final MeasureProperties measureProperties = measure.getMeasurePropertyList();
+		double type =
 			measureProperties.getLimitative() * scenario.getLimitative() +
 			measureProperties.getPreventive() * scenario.getPreventive() +
 			measureProperties.getDetective() * scenario.getDetective() +
@@ -205,30 +184,49 @@ public class RRF {
 					String.format("RRF computation: please check scenario(%s) and measure (%s for %s), type is not number", scenario.getName(),
 							measure.getMeasureDescription().getReference(), measure.getMeasureDescription().getStandard().getName()),
 					scenario.getName(), measure.getMeasureDescription().getReference(), measure.getMeasureDescription().getStandard().getName());
+		return round(type);
+	}
 
-		NumberFormat nf = new DecimalFormat();
-		nf.setMaximumFractionDigits(2);
-		try {
-			type = nf.parse(nf.format(type)).doubleValue();
-		} catch (ParseException e) {
-			throw new TrickException("error.number.format", e.getMessage());
-		}
+	/**
+	 * round: <br>
+	 * Rounds to 2 decimals, half-even on the exact value of the double, as the
+	 * DecimalFormat used before did. Only values close to a tie need the exact
+	 * value.
+	 * 
+	 * @param value
+	 *            a positive value
+	 * @return the rounded value
+	 */
+	public static double round(double value) {
+		final double scaled = value * 100;
+		if (Math.abs(scaled - Math.floor(scaled) - .5) > 1e-9)
+			return Math.round(scaled) / 100.;
+		return new BigDecimal(value).setScale(2, RoundingMode.HALF_EVEN).doubleValue();
+	}
 
-		// Source calculation
-		source =
+	/**
+	 * calculateRRFSource: <br>
+	 * Returns SUM(Sm*Ss)/4*SUM(Ss): S =
+	 * (INTENTIONAL,ACCIDENTAL,ENVIRONMENTAL,INTERNAL,EXTERNAL)
+	 * 
+	 * @param measureProperties
+	 *            MeasureProperties
+	 * @param scenario
+	 *            Scenario
+	 * @return The Calculated RRF Source value
+	 * @throws TrickException
+	 */
+	public static double calculateRRFSource(MeasureProperties measureProperties, Scenario scenario) throws TrickException {
+		double source =
 			measureProperties.getIntentional() * scenario.getIntentional() +
 			measureProperties.getAccidental() * scenario.getAccidental() +
 			measureProperties.getEnvironmental() * scenario.getEnvironmental() +
 			measureProperties.getInternalThreat() * scenario.getInternalThreat() +
 			measureProperties.getExternalThreat() * scenario.getExternalThreat();
 		source /= 4. * (scenario.getIntentional() + scenario.getAccidental() + scenario.getEnvironmental() + scenario.getInternalThreat() + scenario.getExternalThreat());
-
 		if (Double.isNaN(source))
 			throw new TrickException("error.analysis.rrf.scenario.source.nan", String.format("RRF computation: please check menace source for scenario (%s)", scenario.getName()), scenario.getName());
-
-		// RRF completion:
-		// (((Asset_Measure/100)*Strength*CID*Type*Source) / 500) * tuning
-		return assetValue / 100. * strength * category * type * source * tuningParameter.getValue().doubleValue() / 100.;
+		return source;
 	}
 
 	/**
@@ -257,23 +255,13 @@ public class RRF {
 		// **************************************************************
 		// * intialise variables
 		// **************************************************************
-		double categoryNumerator = 0;
-		double categoryDenominator = 0;
 		final double MULTIPLICATOR = 4;
-		String[] keys = SecurityCriteria.getCategoryKeys();
 
 		// **************************************************************
 		// * calculate numerator and denominator of Category Formula
 		// **************************************************************
-
-		// parse Category Keys
-		for (String risk : keys) {
-			double measureValue = properties.getCategoryValue(risk);
-			double scenarioValue = scenario.getCategoryValue(risk);
-			
-			categoryNumerator += measureValue * scenarioValue;
-			categoryDenominator += scenarioValue;
-		}
+		final double categoryNumerator = properties.categoryDotProduct(scenario);
+		final double categoryDenominator = scenario.getCategorySum();
 
 		// check if not Division by 0
 		if (categoryDenominator == 0) {
@@ -284,7 +272,10 @@ public class RRF {
 		// **************************************************************
 		// * return numerator / MULTIPLICATOR * denominator
 		// **************************************************************
-		return categoryNumerator / (MULTIPLICATOR * categoryDenominator);
+		final double category = categoryNumerator / (MULTIPLICATOR * categoryDenominator);
+		if (Double.isNaN(category))
+			throw new TrickException("error.analysis.rrf.scenario.category.nan", String.format("RRF computation: please check categories for scenario (%s)", scenario.getName()), scenario.getName());
+		return category;
 	}
 
 	/***********************************************************************************************
@@ -0,0 +1,288 @@
+package lu.itrust.business.ts.model.rrf;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import lu.itrust.business.ts.exception.TrickException;
+import lu.itrust.business.ts.model.assessment.Assessment;
+import lu.itrust.business.ts.model.asset.Asset;
+import lu.itrust.business.ts.model.asset.AssetType;
+import lu.itrust.business.ts.model.general.AssetTypeValue;
+import lu.itrust.business.ts.model.parameter.IParameter;
+import lu.itrust.business.ts.model.scenario.Scenario;
+import lu.itrust.business.ts.model.standard.measure.AbstractNormalMeasure;
+import lu.itrust.business.ts.model.standard.measure.Measure;
+import lu.itrust.business.ts.model.standard.measure.impl.AssetMeasure;
+import lu.itrust.business.ts.model.standard.measure.impl.MeasureAssetValue;
+import lu.itrust.business.ts.model.standard.measure.impl.NormalMeasure;
+
+/**
+ * RRFMatrix: <br>
+ * Scenario x measure x asset type (or asset for asset measures) matrix of RRF,
+ * computed on demand with the formulas of {@link RRF} and kept in primitive
+ * arrays.<br>
+ * Strength is computed once per measure, category, type and source once per
+ * scenario and measure, and the RRF once per scenario, measure and asset type
+ * (or asset).<br>
+ * Values of a scenario or a measure must be invalidated when the scenario or
+ * the measure properties change, RRF values are dropped when the value of the
+ * MAX_RRF tuning parameter changes.
+ */
+public class RRFMatrix {
+
+	private static final int CATEGORY = 0;
+
+	private static final int TYPE = 1;
+
+	private static final int SOURCE = 2;
+
+	private static final int FACTOR_SIZE = 3;
+
+	private static final int NO_ASSET_VALUE = Integer.MIN_VALUE;
+
+	/** Scenario index */
+	private final Map<Scenario, Integer> scenarios = new IdentityHashMap<>();
+
+	/** Measure index */
+	private final Map<Measure, Integer> measures = new IdentityHashMap<>();
+
+	/** Asset type (normal measures) and asset (asset measures) index */
+	private final Map<Object, Integer> targets = new HashMap<>();
+
+	/** Strength by measure, NaN: not computed */
+	private double[] strengths = new double[0];
+
+	/** Asset type or asset value by measure and target */
+	private int[][] assetValues = new int[0][];
+
+	/** Category, type and source by scenario and measure, NaN: not computed */
+	private double[][] factors = new double[0][];
+
+	/** RRF by scenario, measure and target, NaN: not computed */
+	private double[][][] rrfs = new double[0][][];
+
+	/** Tuning value of computed RRF */
+	private double tuning = Double.NaN;
+
+	/**
+	 * getRRF: <br>
+	 * see {@link RRF#calculateRRF(Assessment, IParameter, Measure)}
+	 *
+	 * @param assessment
+	 *            The Assessment to take Values to calculate
+	 * @param tuningParameter
+	 *            The tuning parameter
+	 * @param measure
+	 *            The Measure to take Values to calculate
+	 * @return The Calculated RRF
+	 * @throws TrickException
+	 */
+	public double getRRF(Assessment assessment, IParameter tuningParameter, Measure measure) throws TrickException {
+		if (tuningParameter == null)
+			return 0;
+		if (measure instanceof NormalMeasure)
+			return getNormalMeasureRRF(assessment.getScenario(), assessment.getAsset().getAssetType(), tuningParameter, (NormalMeasure) measure);
+		else if (measure instanceof AssetMeasure)
+			return getAssetMeasureRRF(assessment.getScenario(), assessment.getAsset(), tuningParameter, (AssetMeasure) measure);
+		else
+			return 0;
+	}
+
+	/**
+	 * getNormalMeasureRRF: <br>
+	 * see
+	 * {@link RRF#calculateNormalMeasureRRF(Scenario, AssetType, IParameter, NormalMeasure)}
+	 *
+	 * @param scenario
+	 *            The scenario to take Values to calculate
+	 * @param assetType
+	 *            The assetType to take Values to calculate
+	 * @param tuningParameter
+	 *            The tuning parameter
+	 * @param measure
+	 *            The Measure to take Values to calculate
+	 * @return The Calculated RRF
+	 * @throws TrickException
+	 */
+	public double getNormalMeasureRRF(Scenario scenario, AssetType assetType, IParameter tuningParameter, NormalMeasure measure) throws TrickException {
+		return getRRF(scenario, assetType, tuningParameter, measure);
+	}
+
+	/**
+	 * getAssetMeasureRRF: <br>
+	 * see
+	 * {@link RRF#calculateAssetMeasureRRF(Scenario, Asset, IParameter, AssetMeasure)}
+	 *
+	 * @param scenario
+	 *            The scenario to take Values to calculate
+	 * @param asset
+	 *            The asset to take Values to calculate
+	 * @param tuningParameter
+	 *            The tuning parameter
+	 * @param measure
+	 *            The Measure to take Values to calculate
+	 * @return The Calculated RRF
+	 * @throws TrickException
+	 */
+	public double getAssetMeasureRRF(Scenario scenario, Asset asset, IParameter tuningParameter, AssetMeasure measure) throws TrickException {
+		return getRRF(scenario, asset, tuningParameter, measure);
+	}
+
+	/**
+	 * invalidate: <br>
+	 * Drops the values of the given scenario.
+	 *
+	 * @param scenario
+	 *            The scenario
+	 */
+	public synchronized void invalidate(Scenario scenario) {
+		final Integer index = scenarios.get(scenario);
+		if (index == null)
+			return;
+		factors[index] = null;
+		rrfs[index] = null;
+	}
+
+	/**
+	 * invalidate: <br>
+	 * Drops the values of the given measure, to be called when its properties
+	 * change.
+	 *
+	 * @param measure
+	 *            The measure
+	 */
+	public synchronized void invalidate(Measure measure) {
+		final Integer index = measures.get(measure);
+		if (index == null)
+			return;
+		strengths[index] = Double.NaN;
+		assetValues[index] = null;
+		for (int i = 0; i < factors.length; i++) {
+			if (factors[i] != null && factors[i].length > index * FACTOR_SIZE)
+				Arrays.fill(factors[i], index * FACTOR_SIZE, (index + 1) * FACTOR_SIZE, Double.NaN);
+			if (rrfs[i] != null && rrfs[i].length > index)
+				rrfs[i][index] = null;
+		}
+	}
+
+	/**
+	 * clear: <br>
+	 * Drops all values.
+	 */
+	public synchronized void clear() {
+		scenarios.clear();
+		measures.clear();
+		targets.clear();
+		strengths = new double[0];
+		assetValues = new int[0][];
+		factors = new double[0][];
+		rrfs = new double[0][][];
+		tuning = Double.NaN;
+	}
+
+	private synchronized double getRRF(Scenario scenario, Object target, IParameter tuningParameter, AbstractNormalMeasure measure) throws TrickException {
+		final double tuning = tuningParameter.getValue().doubleValue();
+		if (Double.compare(tuning, this.tuning) != 0) {
+			rrfs = new double[rrfs.length][][];
+			this.tuning = tuning;
+		}
+
+		final int scenarioIndex = indexOf(scenario), measureIndex = indexOf(measure), targetIndex = indexOf(target);
+
+		double[][] scenarioRRFs = rrfs[scenarioIndex];
+		if (scenarioRRFs == null || scenarioRRFs.length <= measureIndex)
+			rrfs[scenarioIndex] = scenarioRRFs = scenarioRRFs == null ? new double[measures.size()][] : Arrays.copyOf(scenarioRRFs, measures.size());
+		double[] values = scenarioRRFs[measureIndex];
+		if (values == null || values.length <= targetIndex)
+			scenarioRRFs[measureIndex] = values = grow(values, targets.size());
+		if (!Double.isNaN(values[targetIndex]))
+			return values[targetIndex];
+
+		final int assetValue = getAssetValue(measureIndex, targetIndex, target, measure);
+
+		if (Double.isNaN(strengths[measureIndex]))
+			strengths[measureIndex] = RRF.calculateRRFStrength(measure);
+
+		double[] scenarioFactors = factors[scenarioIndex];
+		if (scenarioFactors == null || scenarioFactors.length <= measureIndex * FACTOR_SIZE)
+			factors[scenarioIndex] = scenarioFactors = grow(scenarioFactors, measures.size() * FACTOR_SIZE);
+		final int offset = measureIndex * FACTOR_SIZE;
+		if (Double.isNaN(scenarioFactors[offset + SOURCE])) {
+			final double category = RRF.calculateRRFCategory(measure.getMeasurePropertyList(), scenario);
+			final double type = RRF.calculateRRFType(measure, scenario);
+			final double source = RRF.calculateRRFSource(measure.getMeasurePropertyList(), scenario);
+			scenarioFactors[offset + CATEGORY] = category;
+			scenarioFactors[offset + TYPE] = type;
+			scenarioFactors[offset + SOURCE] = source;
+		}
+
+		return values[targetIndex] = RRF.calculateRRF(assetValue, strengths[measureIndex], scenarioFactors[offset + CATEGORY], scenarioFactors[offset + TYPE],
+				scenarioFactors[offset + SOURCE], tuningParameter);
+	}
+
+	private int getAssetValue(int measureIndex, int targetIndex, Object target, AbstractNormalMeasure measure) {
+		int[] values = assetValues[measureIndex];
+		if (values == null || values.length <= targetIndex) {
+			final int length = values == null ? 0 : values.length;
+			assetValues[measureIndex] = values = values == null ? new int[targets.size()] : Arrays.copyOf(values, targets.size());
+			Arrays.fill(values, length, values.length, NO_ASSET_VALUE);
+		}
+		if (values[targetIndex] == NO_ASSET_VALUE) {
+			int value = 0;
+			if (measure instanceof NormalMeasure) {
+				for (AssetTypeValue assetTypeValue : ((NormalMeasure) measure).getAssetTypeValues()) {
+					if (assetTypeValue.getAssetType().equals(target)) {
+						value = assetTypeValue.getValue();
+						break;
+					}
+				}
+			} else {
+				for (MeasureAssetValue measureAssetValue : ((AssetMeasure) measure).getMeasureAssetValues()) {
+					if (measureAssetValue.getAsset().equals(target)) {
+						value = measureAssetValue.getValue();
+						break;
+					}
+				}
+			}
+			values[targetIndex] = value;
+		}
+		return values[targetIndex];
+	}
+
+	private int indexOf(Scenario scenario) {
+		Integer index = scenarios.get(scenario);
+		if (index == null) {
+			scenarios.put(scenario, index = scenarios.size());
+			if (index >= factors.length) {
+				factors = Arrays.copyOf(factors, Math.max(16, index * 2));
+				rrfs = Arrays.copyOf(rrfs, factors.length);
+			}
+		}
+		return index;
+	}
+
+	private int indexOf(Measure measure) {
+		Integer index = measures.get(measure);
+		if (index == null) {
+			measures.put(measure, index = measures.size());
+			if (index >= strengths.length) {
+				strengths = grow(strengths, Math.max(16, index * 2));
+				assetValues = Arrays.copyOf(assetValues, strengths.length);
+			}
+		}
+		return index;
+	}
+
+	private int indexOf(Object target) {
+		return targets.computeIfAbsent(target, key -> targets.size());
+	}
+
+	private static double[] grow(double[] values, int length) {
+		final int from = values == null ? 0 : values.length;
+		final double[] result = values == null ? new double[length] : Arrays.copyOf(values, length);
+		Arrays.fill(result, from, length, Double.NaN);
+		return result;
+	}
+}
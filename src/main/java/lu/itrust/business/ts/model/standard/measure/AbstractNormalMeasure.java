@@ -172,6 +172,19 @@ public abstract class AbstractNormalMeasure extends Measure implements Cloneable
 		}
 	}
 
+	@Override
+	public double[] getImplementationRateValues(Map<String, double[]> columns, int size) {
+		try {
+			final double[] values = (new StringExpressionParser(this.getImplementationRate(),
+					StringExpressionParser.IMPLEMENTATION)).evaluate(columns, size, 0d);
+			for (int i = 0; i < size; i++)
+				values[i] = values[i] < 0 ? 0 : values[i] > 100 ? 100 : values[i];
+			return values;
+		} catch (Exception ex) {
+			return new double[size];
+		}
+	}
+
 	@Transient
 	@Override
 	public List<String> getVariablesInvolvedInImplementationRateValue() {
@@ -252,6 +252,17 @@ public abstract class Measure implements Cloneable {
 	@Transient
 	public abstract double getImplementationRateValue(Map<String, Double> factory);
 
+	/**
+	 * getImplementationRateValues: <br>
+	 * Returns the Implementation Rate values for a batch of variable bindings
+	 * 
+	 * @param columns The values of the variables, one per binding
+	 * @param size    The number of bindings
+	 * @return The Implementation Rate Real Value of each binding
+	 */
+	@Transient
+	public abstract double[] getImplementationRateValues(Map<String, double[]> columns, int size);
+
 	@Transient
 	public double getImplementationRateValue() {
 		return getImplementationRateValue(Collections.emptyMap());
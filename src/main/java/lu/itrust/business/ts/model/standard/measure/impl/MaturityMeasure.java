@@ -1,6 +1,7 @@
 package lu.itrust.business.ts.model.standard.measure.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -279,6 +280,21 @@ public class MaturityMeasure extends Measure implements Cloneable {
 		return getImplementationRateValue((ValueFactory) null);
 	}
 
+	/**
+	 * getImplementationRateValues: <br>
+	 * returns the Real Implementation Rate Value for each binding
+	 * 
+	 * @see lu.itrust.business.ts.model.standard.measure.Measure#getImplementationRateValues(Map,
+	 *      int)
+	 */
+	@Override
+	@Transient
+	public double[] getImplementationRateValues(Map<String, double[]> columns, int size) {
+		final double[] values = new double[size];
+		Arrays.fill(values, getImplementationRateValue((ValueFactory) null));
+		return values;
+	}
+
 	/**
 	 * clone: <br>
 	 * Description
@@ -0,0 +1,4 @@
+START TRANSACTION;
+ALTER TABLE `UserSQLite` CHANGE `dtSQLite` `dtSQLite` longblob NULL;
+ALTER TABLE `UserSQLite` ADD `dtStorage` VARCHAR(255) NULL AFTER `dtSQLite`, ADD `dtSha256` VARCHAR(64) NULL AFTER `dtStorage`;
+COMMIT;
\ No newline at end of file
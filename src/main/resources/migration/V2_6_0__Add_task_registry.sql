@@ -0,0 +1,15 @@
+START TRANSACTION;
+CREATE TABLE `TaskRegistry` (
+  `idTask` varchar(64) NOT NULL,
+  `dtUsername` varchar(255) NOT NULL,
+  `dtNode` varchar(64) NOT NULL,
+  `dtLease` bigint(20) NOT NULL,
+  `dtWorking` bit(1) NOT NULL,
+  `dtSequence` bigint(20) NOT NULL,
+  `dtMessage` longtext DEFAULT NULL,
+  `dtCreated` bigint(20) NOT NULL,
+  PRIMARY KEY (`idTask`),
+  KEY `TaskRegistry_username_idx` (`dtUsername`),
+  KEY `TaskRegistry_lease_idx` (`dtLease`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci;
+COMMIT;
\ No newline at end of file
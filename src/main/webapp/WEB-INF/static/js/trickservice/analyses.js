@@ -1228,12 +1228,16 @@ function importAnalysis(){
 					if(value.trim() === '')
 						updateImportButtonState();
 					else {
-						var size = parseInt($inputFile.attr("maxlength"))
-						if($inputFile[0].files[0].size > size){
-							showDialog("error", MessageResolver("error.file.too.large",undefined, size ));
-							return false;
-						}else if(!checkExtention(value,".sqlite,.SQLITE,.tsdb,.TSDB", $importBtn))
-							return false
+						var size = parseInt($inputFile.attr("maxlength")), files = $inputFile[0].files;
+						for (var i = 0; i < files.length; i++) {
+							if(files[i].size > size){
+								showDialog("error", MessageResolver("error.file.too.large",undefined, size ));
+								return false;
+							}else if(!checkExtention(files[i].name,".sqlite,.SQLITE,.tsdb,.TSDB", $importBtn))
+								return false
+						}
+						if (files.length > 1)
+							value = Array.from(files, file => file.name).join(", ");
 					}
 					$fileInfo.val(value);
 				});
@@ -1243,7 +1247,7 @@ function importAnalysis(){
 				$form.on("submit", (e) => {
 					$progress.show();
 					$.ajax({
-						url: context + "/Analysis/Data-manager/Sqlite/Import-process",
+						url: context + ($inputFile[0].files.length > 1 ? "/Analysis/Data-manager/Sqlite/Import-all-process" : "/Analysis/Data-manager/Sqlite/Import-process"),
 						type: 'POST',
 						data: new FormData($form[0]),
 						cache: false,
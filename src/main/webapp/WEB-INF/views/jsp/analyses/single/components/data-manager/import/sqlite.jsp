@@ -31,7 +31,7 @@
 					</c:choose>
 					<label><spring:message code="label.import.analysis.select.sqlite" /></label>
 					<div class="input-group-btn">
-						<input id="importAnalysis.file" type="file" accept=".sqlite,.tsdb" name="file" style="display: none;" maxlength="${maxFileSize}" /> <input id="importAnalysis.file.info"
+						<input id="importAnalysis.file" type="file" accept=".sqlite,.tsdb" name="file" multiple="multiple" style="display: none;" maxlength="${maxFileSize}" /> <input id="importAnalysis.file.info"
 							name="filename" placeholder="${maxSizeInfo}" class="form-control" readonly="readonly" required="required" style="width: 83%" />
 						<button class="btn btn-primary" type="button" id="importAnalysis.file.browse.button" name="browse" style="margin-left: -5px;">
 							<spring:message code="label.action.browse" text="Browse" />
@@ -0,0 +1,164 @@
+package lu.itrust.ts.helper;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.docx4j.openpackaging.packages.SpreadsheetMLPackage;
+import org.docx4j.openpackaging.parts.SpreadsheetML.WorkbookPart;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.xlsx4j.org.apache.poi.ss.usermodel.DataFormatter;
+import org.xlsx4j.sml.Row;
+import org.xlsx4j.sml.Sheet;
+import org.xlsx4j.sml.SheetData;
+
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamReader;
+
+public class TestExcelStreamReader {
+
+	private static final String NS_MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+
+	private static final String NS_R = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+	private static final String NS_PACKAGE_RELATIONSHIPS = "http://schemas.openxmlformats.org/package/2006/relationships";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testSharedStringsNumberFormatsAndSparseRows() throws Exception {
+		final File file = createWorkbook();
+		assertSameValues(file);
+		try (ExcelStreamReader reader = new ExcelStreamReader(file);
+				ExcelStreamReader.Rows rows = reader.read("Data")) {
+			final List<ExcelStreamReader.Row> values = new ArrayList<>();
+			rows.forEach(values::add);
+			Assert.assertEquals(3, values.size());
+			Assert.assertEquals(Arrays.asList(0, 2, 5), Arrays.asList(values.get(0).getIndex(),
+					values.get(1).getIndex(), values.get(2).getIndex()));
+			Assert.assertEquals("Shared", values.get(0).getString(0));
+			Assert.assertEquals("", values.get(0).getString(1));
+			Assert.assertEquals("Inline", values.get(0).getString(2));
+			Assert.assertEquals("Rich text", values.get(0).getString(3));
+			Assert.assertEquals("12.50%", values.get(1).getString(1));
+			Assert.assertEquals("3.142", values.get(1).getString(2));
+			Assert.assertEquals(42, values.get(1).getInt(4));
+			Assert.assertEquals(" spaced ", values.get(2).getString(0));
+			Assert.assertTrue(values.get(2).getBoolean(1));
+			Assert.assertEquals("", values.get(2).getString(2));
+		}
+	}
+
+	@Test
+	public void testStreamedExport() throws Exception {
+		final File file = folder.newFile("export.xlsx");
+		Files.write(file.toPath(), TestExcelStreamWriter.write(true));
+		assertSameValues(file);
+	}
+
+	@Test
+	public void testStandardImport() throws Exception {
+		assertSameValues(new File("src/test/resources/data/Standard for test.xlsx"));
+	}
+
+	/**
+	 * assertSameValues: <br>
+	 * Checks that every sheet is read with the same rows and the same cell
+	 * values as {@link ExcelHelper#getString(Row, int, DataFormatter)}.
+	 */
+	private static void assertSameValues(File file) throws Exception {
+		final WorkbookPart workbookPart = SpreadsheetMLPackage.load(file).getWorkbookPart();
+		final DataFormatter formatter = new DataFormatter();
+		try (ExcelStreamReader reader = new ExcelStreamReader(file)) {
+			for (Sheet sheet : workbookPart.getContents().getSheets().getSheet()) {
+				final SheetData sheetData = ExcelHelper.findSheet(workbookPart, sheet);
+				final List<Integer> expected = new ArrayList<>(), indexes = new ArrayList<>();
+				for (int i = 0; i < sheetData.getRow().size(); i++) {
+					final Row row = sheetData.getRow().get(i);
+					expected.add(row.getR() == null ? i : (int) (row.getR() - 1));
+				}
+				try (ExcelStreamReader.Rows rows = reader.read(sheet.getName())) {
+					for (ExcelStreamReader.Row row : rows) {
+						indexes.add(row.getIndex());
+						final Row expectedRow = ExcelHelper.getRow(sheetData, row.getIndex());
+						Assert.assertNotNull(expectedRow);
+						int length = 0;
+						for (int i = 0; i < expectedRow.getC().size(); i++)
+							length = Math.max(length, ExcelHelper.colToIndex(expectedRow.getC().get(i).getR(), i) + 1);
+						for (int i = 0; i <= length; i++)
+							Assert.assertEquals(String.format("%s!%s%d", sheet.getName(), ExcelHelper.numToColString(i),
+									row.getIndex() + 1), ExcelHelper.getString(expectedRow, i, formatter), row.getString(i));
+					}
+				}
+				Assert.assertEquals(sheet.getName(), expected, indexes);
+			}
+		}
+	}
+
+	/**
+	 * createWorkbook: <br>
+	 * Writes a workbook with shared strings (plain, rich text and preserved
+	 * spaces), an inline string, a built-in and a custom number format, a
+	 * boolean, an error and rows and cells left out.
+	 */
+	private File createWorkbook() throws Exception {
+		final Map<String, String> parts = new LinkedHashMap<>();
+		parts.put("[Content_Types].xml", "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+				+ "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+				+ "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+				+ "<Override PartName=\"/xl/workbook.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+				+ "<Override PartName=\"/xl/worksheets/sheet1.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+				+ "<Override PartName=\"/xl/styles.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>"
+				+ "<Override PartName=\"/xl/sharedStrings.xml\" ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml\"/>"
+				+ "</Types>");
+		parts.put("_rels/.rels", "<Relationships xmlns=\"" + NS_PACKAGE_RELATIONSHIPS + "\">"
+				+ "<Relationship Id=\"rId1\" Type=\"" + NS_R + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+				+ "</Relationships>");
+		parts.put("xl/workbook.xml", "<workbook xmlns=\"" + NS_MAIN + "\" xmlns:r=\"" + NS_R + "\">"
+				+ "<sheets><sheet name=\"Data\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>");
+		parts.put("xl/_rels/workbook.xml.rels", "<Relationships xmlns=\"" + NS_PACKAGE_RELATIONSHIPS + "\">"
+				+ "<Relationship Id=\"rId1\" Type=\"" + NS_R + "/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+				+ "<Relationship Id=\"rId2\" Type=\"" + NS_R + "/styles\" Target=\"styles.xml\"/>"
+				+ "<Relationship Id=\"rId3\" Type=\"" + NS_R + "/sharedStrings\" Target=\"sharedStrings.xml\"/>"
+				+ "</Relationships>");
+		parts.put("xl/styles.xml", "<styleSheet xmlns=\"" + NS_MAIN + "\">"
+				+ "<numFmts count=\"1\"><numFmt numFmtId=\"164\" formatCode=\"0.000\"/></numFmts>"
+				+ "<fonts count=\"1\"><font/></fonts><fills count=\"1\"><fill/></fills>"
+				+ "<borders count=\"1\"><border/></borders><cellStyleXfs count=\"1\"><xf numFmtId=\"0\"/></cellStyleXfs>"
+				+ "<cellXfs count=\"3\"><xf numFmtId=\"0\"/><xf numFmtId=\"10\" applyNumberFormat=\"1\"/>"
+				+ "<xf numFmtId=\"164\" applyNumberFormat=\"1\"/></cellXfs></styleSheet>");
+		parts.put("xl/sharedStrings.xml", "<sst xmlns=\"" + NS_MAIN + "\" count=\"3\" uniqueCount=\"3\">"
+				+ "<si><t>Shared</t></si><si><r><t xml:space=\"preserve\">Rich </t></r><r><t>text</t></r></si>"
+				+ "<si><t xml:space=\"preserve\"> spaced </t></si></sst>");
+		parts.put("xl/worksheets/sheet1.xml", "<worksheet xmlns=\"" + NS_MAIN + "\"><sheetData>"
+				+ "<row r=\"1\"><c r=\"A1\" t=\"s\"><v>0</v></c><c r=\"C1\" t=\"inlineStr\"><is><t>Inline</t></is></c>"
+				+ "<c r=\"D1\" t=\"s\"><v>1</v></c></row>"
+				+ "<row r=\"3\"><c r=\"B3\" s=\"1\"><v>0.125</v></c><c r=\"C3\" s=\"2\"><v>3.14159</v></c>"
+				+ "<c r=\"E3\"><v>42</v></c></row>"
+				+ "<row r=\"6\"><c r=\"A6\" t=\"s\"><v>2</v></c><c r=\"B6\" t=\"b\"><v>1</v></c>"
+				+ "<c r=\"C6\" t=\"e\"><v>#N/A</v></c></row>"
+				+ "</sheetData></worksheet>");
+		final File file = folder.newFile("workbook.xlsx");
+		try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(file))) {
+			for (Map.Entry<String, String> part : parts.entrySet()) {
+				zip.putNextEntry(new ZipEntry(part.getKey()));
+				zip.write(("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>" + part.getValue())
+						.getBytes(StandardCharsets.UTF_8));
+				zip.closeEntry();
+			}
+		}
+		return file;
+	}
+}
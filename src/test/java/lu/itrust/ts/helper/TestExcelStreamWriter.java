@@ -0,0 +1,104 @@
+package lu.itrust.ts.helper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+
+import org.docx4j.openpackaging.exceptions.Docx4JException;
+import org.docx4j.openpackaging.packages.SpreadsheetMLPackage;
+import org.docx4j.openpackaging.parts.SpreadsheetML.WorkbookPart;
+import org.junit.Assert;
+import org.junit.Test;
+import org.xlsx4j.org.apache.poi.ss.usermodel.DataFormatter;
+import org.xlsx4j.sml.Row;
+import org.xlsx4j.sml.SheetData;
+import org.xlsx4j.sml.Worksheet;
+
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelHelper;
+import lu.itrust.business.ts.exportation.word.impl.docx4j.helper.ExcelStreamWriter;
+
+public class TestExcelStreamWriter {
+
+	/** Default excel template, see app.settings.excel.default.template.paths */
+	public static final File TEMPLATE = new File("src/main/webapp/WEB-INF/data/excel/R171_STA_OT-XlsTempl_v2.16.xlsx");
+
+	/** Template cell style with the number format dd.mm.yy */
+	public static final long DATE_STYLE = 8L;
+
+	@Test
+	public void testRoundTrip() throws Exception {
+		final SpreadsheetMLPackage mlPackage = SpreadsheetMLPackage.load(new ByteArrayInputStream(write(true)));
+		final WorkbookPart workbookPart = mlPackage.getWorkbookPart();
+		final DataFormatter formatter = new DataFormatter();
+
+		Assert.assertEquals(2, workbookPart.getContents().getSheets().getSheet().size());
+		final Worksheet other = ExcelHelper.findWorkSheet(workbookPart, "Other");
+		Assert.assertNotNull(other);
+		Assert.assertEquals(1, other.getMergeCells().getMergeCell().size());
+		Assert.assertEquals("A1:A2", other.getMergeCells().getMergeCell().get(0).getRef());
+		Assert.assertEquals("Top", ExcelHelper.getString(other.getSheetData(), 0, 0, formatter));
+
+		final SheetData sheetData = ExcelHelper.findSheet(workbookPart, "Data");
+		Assert.assertNotNull(ExcelHelper.findTable(sheetData, "Data"));
+		Assert.assertEquals("Name", ExcelHelper.getString(sheetData, 0, 0, formatter));
+		Assert.assertEquals("Date", ExcelHelper.getString(sheetData, 0, 2, formatter));
+		Assert.assertEquals("Alpha", ExcelHelper.getString(sheetData, 1, 0, formatter));
+		Assert.assertEquals("12.5", ExcelHelper.getString(sheetData, 1, 1, formatter));
+		Assert.assertEquals("15.03.23", ExcelHelper.getString(sheetData, 1, 2, formatter));
+		// Sparse row: only the last column is set
+		Assert.assertEquals("", ExcelHelper.getString(sheetData, 2, 0, formatter));
+		Assert.assertEquals("", ExcelHelper.getString(sheetData, 2, 1, formatter));
+		Assert.assertEquals(" Beta ", ExcelHelper.getString(sheetData, 2, 2, formatter));
+	}
+
+	@Test
+	public void testAbort() throws Exception {
+		try {
+			SpreadsheetMLPackage.load(new ByteArrayInputStream(write(false)));
+			Assert.fail("An export which is not completed must not be readable");
+		} catch (Docx4JException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testAbortBeforeFirstSheet() throws Exception {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (ExcelStreamWriter writer = new ExcelStreamWriter(TEMPLATE, "Hist", output)) {
+			Assert.assertEquals("xlsx", writer.getExtension());
+		}
+		Assert.assertEquals(0, output.size());
+	}
+
+	/**
+	 * write: <br>
+	 * Writes a sheet with a table, a dated row and a sparse row, then a sheet
+	 * with merged cells.
+	 * 
+	 * @param complete true to complete the export
+	 * @return the written bytes
+	 */
+	public static byte[] write(boolean complete) throws Exception {
+		final ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (ExcelStreamWriter writer = new ExcelStreamWriter(TEMPLATE, "Hist", output)) {
+			final ExcelStreamWriter.Sheet sheet = writer.createSheet("Data");
+			sheet.createHeader("Data", null, new String[] { "Name", "Value", "Date" });
+			Row row = new Row();
+			ExcelHelper.setValue(row, 0, "Alpha");
+			ExcelHelper.setValue(row, 1, 12.5);
+			ExcelHelper.setValue(row, 2, 45000).setS(DATE_STYLE);
+			sheet.write(row);
+			row = new Row();
+			ExcelHelper.setValue(row, 2, " Beta ");
+			sheet.write(row);
+			final ExcelStreamWriter.Sheet other = writer.createSheet("Other");
+			row = ExcelHelper.newRow(2);
+			ExcelHelper.setValue(row, 0, "Top");
+			other.write(row);
+			other.mergeCells(ExcelHelper.getAddress(0, 0, 1, 0));
+			if (complete)
+				writer.complete();
+		}
+		return output.toByteArray();
+	}
+}
@@ -0,0 +1,302 @@
+package lu.itrust.ts.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import lu.itrust.business.ts.constants.Constant;
+import lu.itrust.business.ts.model.actionplan.ActionPlanMode;
+import lu.itrust.business.ts.model.actionplan.ActionPlanType;
+import lu.itrust.business.ts.model.actionplan.helper.ActionPlanComputation;
+import lu.itrust.business.ts.model.actionplan.ActionPlanEntry;
+import lu.itrust.business.ts.model.analysis.Analysis;
+import lu.itrust.business.ts.model.assessment.Assessment;
+import lu.itrust.business.ts.model.asset.Asset;
+import lu.itrust.business.ts.model.asset.AssetType;
+import lu.itrust.business.ts.model.general.AssetTypeValue;
+import lu.itrust.business.ts.model.general.Phase;
+import lu.itrust.business.ts.model.parameter.impl.MaturityParameter;
+import lu.itrust.business.ts.model.parameter.impl.SimpleParameter;
+import lu.itrust.business.ts.model.parameter.type.impl.ParameterType;
+import lu.itrust.business.ts.model.scenario.Scenario;
+import lu.itrust.business.ts.model.standard.AnalysisStandard;
+import lu.itrust.business.ts.model.standard.AssetStandard;
+import lu.itrust.business.ts.model.standard.MaturityStandard;
+import lu.itrust.business.ts.model.standard.NormalStandard;
+import lu.itrust.business.ts.model.standard.Standard;
+import lu.itrust.business.ts.model.standard.StandardType;
+import lu.itrust.business.ts.model.standard.measure.AbstractNormalMeasure;
+import lu.itrust.business.ts.model.standard.measure.impl.AssetMeasure;
+import lu.itrust.business.ts.model.standard.measure.impl.MaturityMeasure;
+import lu.itrust.business.ts.model.standard.measure.impl.MeasureAssetValue;
+import lu.itrust.business.ts.model.standard.measure.impl.MeasureProperties;
+import lu.itrust.business.ts.model.standard.measure.impl.NormalMeasure;
+import lu.itrust.business.ts.model.standard.measuredescription.MeasureDescription;
+
+public class TestActionPlanComputation {
+
+	private static final long SEED = 20240611L;
+
+	@Test
+	public void testNormalRanking() throws Exception {
+		assertSameRanking(ActionPlanMode.APN);
+	}
+
+	@Test
+	public void testOptimisticRanking() throws Exception {
+		assertSameRanking(ActionPlanMode.APO);
+	}
+
+	@Test
+	public void testPhaseNormalRanking() throws Exception {
+		assertSameRanking(ActionPlanMode.APPN);
+	}
+
+	@Test
+	public void testPhasePessimisticRanking() throws Exception {
+		assertSameRanking(ActionPlanMode.APPP);
+	}
+
+	@Test
+	public void testMaturityRanking() throws Exception {
+		assertSameRanking(ActionPlanMode.APN, true);
+	}
+
+	@Test
+	public void testPhaseMaturityRanking() throws Exception {
+		assertSameRanking(ActionPlanMode.APPN, true);
+	}
+
+	private void assertSameRanking(ActionPlanMode mode) throws Exception {
+		assertSameRanking(mode, false);
+	}
+
+	/**
+	 * @param maturity true to add 27002, maturity and asset measures
+	 */
+	private void assertSameRanking(ActionPlanMode mode, boolean maturity) throws Exception {
+
+		final List<ActionPlanEntry> legacy = compute(mode, false, maturity);
+
+		final List<ActionPlanEntry> indexed = compute(mode, true, maturity);
+
+		if (maturity) {
+			Assert.assertTrue("No maturity entry",
+					legacy.stream().anyMatch(entry -> entry.getMeasure() instanceof MaturityMeasure));
+			Assert.assertTrue("No asset measure entry",
+					legacy.stream().anyMatch(entry -> entry.getMeasure() instanceof AssetMeasure));
+		}
+
+		Assert.assertFalse("Empty action plan", legacy.isEmpty());
+
+		Assert.assertEquals("Size", legacy.size(), indexed.size());
+
+		for (int i = 0; i < legacy.size(); i++) {
+			Assert.assertEquals("Measure at " + i, legacy.get(i).getMeasure().getKey(),
+					indexed.get(i).getMeasure().getKey());
+			Assert.assertEquals("ROI at " + i, legacy.get(i).getROI(), indexed.get(i).getROI(), 1e-6);
+			Assert.assertEquals("Total ALE at " + i, legacy.get(i).getTotalALE(), indexed.get(i).getTotalALE(), 1e-6);
+		}
+	}
+
+	private List<ActionPlanEntry> compute(ActionPlanMode mode, boolean indexedComputation, boolean maturity)
+			throws Exception {
+		final Random random = new Random(SEED);
+		final Analysis analysis = createAnalysis(random);
+		if (maturity)
+			addMaturity(analysis, random);
+		final ActionPlanComputation computation = new ActionPlanComputation(analysis);
+		computation.setStandards(Arrays.asList(analysis.getAnalysisStandards().values().toArray(new AnalysisStandard[0])));
+		computation.setPhases(analysis.getPhases());
+		computation.setIndexedComputation(indexedComputation);
+		computation.setMaturityComputation(maturity);
+		return computation.computeActionPlan(mode, new ActionPlanType(mode));
+	}
+
+	/**
+	 * addMaturity: <br>
+	 * Adds a 27002 standard with two chapters, the maturity of these chapters
+	 * and an asset standard.
+	 */
+	private void addMaturity(Analysis analysis, Random random) throws Exception {
+
+		for (int level = 0; level <= 5; level++) {
+			final MaturityParameter parameter = new MaturityParameter();
+			parameter.setDescription("SML" + level);
+			parameter.setValue(level * 20);
+			analysis.getMaturityParameters().add(parameter);
+		}
+
+		final Phase[] phases = analysis.getPhases().toArray(new Phase[0]);
+
+		final Standard standard27002 = new Standard(Constant.STANDARD_27002, Constant.STANDARD_27002,
+				StandardType.NORMAL, 1, Constant.STANDARD_27002, true);
+		standard27002.setId(2);
+		final NormalStandard normalStandard = new NormalStandard(standard27002);
+		final String[] references = { "5.1", "5.2", "5.3", "6.1", "6.2" };
+		for (int i = 0; i < references.length; i++) {
+			final NormalMeasure measure = new NormalMeasure(new MeasureDescription(references[i], standard27002, true));
+			measure.setId(100 + i);
+			initialise(measure, random, phases);
+			measure.setMeasurePropertyList(createProperties(random));
+			for (AssetType assetType : analysis.getAssets().stream().map(Asset::getAssetType).distinct()
+					.toArray(AssetType[]::new))
+				measure.addAnAssetTypeValue(new AssetTypeValue(assetType, random.nextInt(101)));
+			normalStandard.addMeasure(measure);
+		}
+		analysis.add(normalStandard);
+
+		final Standard maturity = new Standard(Constant.STANDARD_MATURITY, Constant.STANDARD_MATURITY,
+				StandardType.MATURITY, 1, Constant.STANDARD_MATURITY, true);
+		maturity.setId(3);
+		final MaturityStandard maturityStandard = new MaturityStandard(maturity);
+		int id = 200;
+		for (String chapter : new String[] { "5", "6" }) {
+			final MaturityMeasure measure = new MaturityMeasure(
+					new MeasureDescription(Constant.MATURITY_REFERENCE + chapter, maturity, false));
+			measure.setId(id++);
+			measure.setStatus(Constant.MEASURE_STATUS_APPLICABLE);
+			measure.setPhase(phases[0]);
+			measure.setReachedLevel(random.nextInt(3));
+			measure.setSML1Cost(1000 + random.nextInt(5000));
+			measure.setSML2Cost(1000 + random.nextInt(5000));
+			measure.setSML3Cost(1000 + random.nextInt(5000));
+			measure.setSML4Cost(1000 + random.nextInt(5000));
+			measure.setSML5Cost(1000 + random.nextInt(5000));
+			maturityStandard.addMeasure(measure);
+			for (int i = 1; i <= 2; i++) {
+				final MaturityMeasure task = new MaturityMeasure(new MeasureDescription(Constant.MATURITY_REFERENCE
+						+ chapter + "." + (measure.getReachedLevel() + 1) + "." + i, maturity, true));
+				task.setId(id++);
+				task.setStatus(Constant.MEASURE_STATUS_APPLICABLE);
+				task.setPhase(phases[0]);
+				task.setCost(500 + random.nextInt(5000));
+				maturityStandard.addMeasure(task);
+			}
+		}
+		analysis.add(maturityStandard);
+
+		final Standard assetStandard = new Standard("Asset", "Asset", StandardType.ASSET, 1, "Asset", true);
+		assetStandard.setId(4);
+		final AssetStandard standard = new AssetStandard(assetStandard);
+		for (int i = 1; i <= 5; i++) {
+			final AssetMeasure measure = new AssetMeasure(new MeasureDescription("A." + i, assetStandard, true));
+			measure.setId(300 + i);
+			initialise(measure, random, phases);
+			measure.setMeasurePropertyList(createProperties(random));
+			for (Asset asset : analysis.getAssets()) {
+				if (random.nextBoolean())
+					measure.addAnMeasureAssetValue(new MeasureAssetValue(asset, random.nextInt(101)));
+			}
+			standard.addMeasure(measure);
+		}
+		analysis.add(standard);
+	}
+
+	private Analysis createAnalysis(Random random) throws Exception {
+
+		final Analysis analysis = new Analysis();
+
+		analysis.getSimpleParameters().add(new SimpleParameter(
+				new ParameterType(Constant.PARAMETERTYPE_TYPE_SINGLE_NAME), Constant.PARAMETER_MAX_RRF, 20d));
+
+		final Phase[] phases = { new Phase(1), new Phase(2) };
+		for (Phase phase : phases)
+			analysis.add(phase);
+
+		final AssetType[] assetTypes = { new AssetType(1, "Serv"), new AssetType(2, "Info"),
+				new AssetType(3, "Staff") };
+
+		for (int i = 1; i <= 5; i++) {
+			final Asset asset = new Asset("Asset " + i);
+			asset.setId(i);
+			asset.setSelected(true);
+			asset.setAssetType(assetTypes[i % assetTypes.length]);
+			analysis.add(asset);
+		}
+
+		for (int i = 1; i <= 6; i++) {
+			final Scenario scenario = new Scenario("Scenario " + i);
+			scenario.setId(i);
+			scenario.setSelected(true);
+			scenario.setPreventive(random.nextInt(5) * .25);
+			scenario.setDetective(random.nextInt(5) * .25);
+			scenario.setLimitative(random.nextInt(5) * .25);
+			scenario.setCorrective(1);
+			scenario.setIntentional(random.nextInt(5));
+			scenario.setAccidental(random.nextInt(4) + 1);
+			scenario.setEnvironmental(random.nextInt(5));
+			scenario.setInternalThreat(random.nextInt(5));
+			scenario.setExternalThreat(random.nextInt(5));
+			scenario.setConfidentiality(1);
+			scenario.setIntegrity(random.nextInt(2));
+			scenario.setAvailability(random.nextInt(2));
+			analysis.add(scenario);
+		}
+
+		int id = 1;
+		for (Asset asset : analysis.getAssets()) {
+			for (Scenario scenario : analysis.getScenarios()) {
+				final Assessment assessment = new Assessment();
+				assessment.setId(id++);
+				assessment.setAsset(asset);
+				assessment.setScenario(scenario);
+				assessment.setSelected(true);
+				final double ale = 1000 + random.nextInt(100000);
+				assessment.setALE(ale);
+				assessment.setALEO(ale * .5);
+				assessment.setALEP(ale * 2);
+				analysis.add(assessment);
+			}
+		}
+
+		final Standard standard = new Standard("Custom", "Custom", StandardType.NORMAL, 1, "Custom", true);
+		standard.setId(1);
+
+		final NormalStandard normalStandard = new NormalStandard(standard);
+
+		for (int i = 1; i <= 30; i++) {
+			final NormalMeasure measure = new NormalMeasure(new MeasureDescription("M." + i, standard, true));
+			measure.setId(i);
+			initialise(measure, random, phases);
+			measure.setMeasurePropertyList(createProperties(random));
+			for (AssetType assetType : assetTypes)
+				measure.addAnAssetTypeValue(new AssetTypeValue(assetType, random.nextInt(101)));
+			normalStandard.addMeasure(measure);
+		}
+
+		analysis.add(normalStandard);
+
+		return analysis;
+	}
+
+	private void initialise(AbstractNormalMeasure measure, Random random, Phase[] phases) throws Exception {
+		measure.setStatus(
+				measure.getId() % 3 == 0 ? Constant.MEASURE_STATUS_MANDATORY : Constant.MEASURE_STATUS_APPLICABLE);
+		measure.setImplementationRate((double) random.nextInt(10) * 10);
+		measure.setCost(500 + random.nextInt(20000));
+		measure.setPhase(phases[random.nextInt(phases.length)]);
+	}
+
+	private MeasureProperties createProperties(Random random) throws Exception {
+		final MeasureProperties properties = new MeasureProperties();
+		properties.setFMeasure(random.nextInt(10) + 1);
+		properties.setFSectoral(random.nextInt(4) + 1);
+		properties.setPreventive(random.nextInt(5));
+		properties.setDetective(random.nextInt(5));
+		properties.setLimitative(random.nextInt(5));
+		properties.setCorrective(random.nextInt(5));
+		properties.setIntentional(random.nextInt(5));
+		properties.setAccidental(random.nextInt(5));
+		properties.setEnvironmental(random.nextInt(5));
+		properties.setInternalThreat(random.nextInt(5));
+		properties.setExternalThreat(random.nextInt(5));
+		properties.setConfidentiality(random.nextInt(5));
+		properties.setIntegrity(random.nextInt(5));
+		properties.setAvailability(random.nextInt(5));
+		return properties;
+	}
+}
@@ -0,0 +1,100 @@
+package lu.itrust.ts.model;
+
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import lu.itrust.business.ts.model.analysis.Analysis;
+import lu.itrust.business.ts.model.assessment.Assessment;
+import lu.itrust.business.ts.model.asset.Asset;
+import lu.itrust.business.ts.model.cssf.RiskProfile;
+import lu.itrust.business.ts.model.scenario.Scenario;
+
+public class TestAnalysisIndex {
+
+	@Test
+	public void testAssessmentsAfterIdChange() {
+		final Analysis analysis = new Analysis();
+		final Asset asset = new Asset("Asset");
+		final Scenario scenario = new Scenario("Scenario");
+		scenario.setId(1);
+		analysis.add(asset);
+		analysis.add(scenario);
+		analysis.add(assessment(asset, scenario));
+
+		Assert.assertEquals(1, analysis.findAssessmentByAssetId(0).size());
+
+		// Id generated on save
+		asset.setId(7);
+		Assert.assertTrue(analysis.findAssessmentByAssetId(0).isEmpty());
+		Assert.assertEquals(1, analysis.findAssessmentByAssetId(7).size());
+	}
+
+	@Test
+	public void testAssessmentsAfterReplacement() {
+		final Analysis analysis = new Analysis();
+		final Asset asset = new Asset("Asset");
+		asset.setId(1);
+		final Scenario scenario = new Scenario("Scenario");
+		scenario.setId(1);
+		final Scenario other = new Scenario("Other");
+		other.setId(2);
+		analysis.add(asset);
+		analysis.add(scenario);
+		analysis.add(other);
+		analysis.add(assessment(asset, scenario));
+
+		Assert.assertEquals(1, analysis.findAssessmentByScenarioId(1).size());
+
+		final Assessment replacement = assessment(asset, other);
+		analysis.getAssessments().set(0, replacement);
+		Assert.assertTrue(analysis.findAssessmentByScenarioId(1).isEmpty());
+		final Map<Integer, Assessment> assessments = analysis.findAssessmentByScenarioId(2);
+		Assert.assertSame(replacement, assessments.get(1));
+		Assert.assertSame(replacement, analysis.findAssessmentByAssetId(1).get(2));
+	}
+
+	@Test
+	public void testLookupAfterRemoveAndAdd() {
+		final Analysis analysis = new Analysis();
+		final Asset asset = new Asset("Asset");
+		asset.setId(1);
+		final Scenario scenario = new Scenario("Scenario");
+		scenario.setId(1);
+		final Scenario other = new Scenario("Other");
+		other.setId(2);
+		analysis.add(asset);
+		analysis.add(scenario);
+		analysis.add(other);
+		analysis.add(assessment(asset, scenario));
+		analysis.add(assessment(asset, other));
+		analysis.getRiskProfiles().add(new RiskProfile(asset, scenario));
+		analysis.getRiskProfiles().add(new RiskProfile(asset, other));
+
+		final Assessment removed = analysis.findAssessmentByAssetAndScenario(1, 1);
+		final RiskProfile removedProfile = analysis.findRiskProfileByAssetAndScenario(1, 1);
+		Assert.assertNotNull(removed);
+		Assert.assertNotNull(removedProfile);
+
+		// Updated in place, as when assessments are rebuilt, the size does not
+		// change
+		analysis.getAssessments().remove(removed);
+		final Assessment added = assessment(asset, scenario);
+		analysis.getAssessments().add(added);
+		analysis.getRiskProfiles().remove(removedProfile);
+		final RiskProfile addedProfile = new RiskProfile(asset, scenario);
+		analysis.getRiskProfiles().add(addedProfile);
+
+		Assert.assertSame(added, analysis.findAssessmentByAssetAndScenario(1, 1));
+		Assert.assertSame(addedProfile, analysis.findRiskProfileByAssetAndScenario(1, 1));
+		Assert.assertSame(analysis.getAssessments().get(0), analysis.findAssessmentByAssetAndScenario(1, 2));
+	}
+
+	private static Assessment assessment(Asset asset, Scenario scenario) {
+		final Assessment assessment = new Assessment();
+		assessment.setAsset(asset);
+		assessment.setScenario(scenario);
+		return assessment;
+	}
+}
@@ -0,0 +1,84 @@
+package lu.itrust.ts.model;
+
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import lu.itrust.business.ts.exception.TrickException;
+import lu.itrust.business.ts.model.rrf.RRF;
+import lu.itrust.business.ts.model.scenario.Scenario;
+import lu.itrust.business.ts.model.standard.Standard;
+import lu.itrust.business.ts.model.standard.measure.impl.MeasureProperties;
+import lu.itrust.business.ts.model.standard.measure.impl.NormalMeasure;
+import lu.itrust.business.ts.model.standard.measuredescription.MeasureDescription;
+
+public class TestRRF {
+
+	private static final long SEED = 20240611L;
+
+	@Test
+	public void testRoundLikeDecimalFormat() throws Exception {
+		final NumberFormat nf = new DecimalFormat();
+		nf.setMaximumFractionDigits(2);
+		final Random random = new Random(SEED);
+		for (int i = 0; i < 1000000; i++) {
+			// scenario values are set with a step of 0.05, measure values with a step of 1
+			final double value = (random.nextInt(5) * (random.nextInt(21) * .05)
+					+ random.nextInt(5) * (random.nextInt(21) * .05) + random.nextInt(5) * (random.nextInt(21) * .05)
+					+ random.nextInt(5) * (random.nextInt(21) * .05)) / 4.;
+			Assert.assertEquals(String.valueOf(value), nf.parse(nf.format(value)).doubleValue(), RRF.round(value), 0);
+		}
+		for (int i = 0; i <= 400; i++) {
+			final double value = i / 100. + .005;
+			Assert.assertEquals(String.valueOf(value), nf.parse(nf.format(value)).doubleValue(), RRF.round(value), 0);
+		}
+		Assert.assertEquals(.12, RRF.round(.125), 0);
+		Assert.assertEquals(.38, RRF.round(.375), 0);
+	}
+
+	@Test
+	public void testType() throws Exception {
+		final NormalMeasure measure = createMeasure(1, 2, 3, 4);
+		final Scenario scenario = new Scenario("Scenario");
+		scenario.setLimitative(.25);
+		scenario.setPreventive(.5);
+		scenario.setDetective(.75);
+		scenario.setCorrective(1);
+		// (0.25 + 1 + 2.25 + 4) / 4
+		Assert.assertEquals(1.88, RRF.calculateRRFType(measure, scenario), 0);
+	}
+
+	@Test
+	public void testCategory() throws Exception {
+		final NormalMeasure measure = createMeasure(0, 0, 0, 0);
+		final Scenario scenario = new Scenario("Scenario");
+		try {
+			RRF.calculateRRFCategory(measure.getMeasurePropertyList(), scenario);
+			Assert.fail("A scenario without category must be rejected");
+		} catch (TrickException e) {
+			Assert.assertEquals("error.scenario.rrf.compute.arithmetic_denominator_zero", e.getCode());
+		}
+		scenario.setConfidentiality(1);
+		scenario.setIntegrity(1);
+		measure.getMeasurePropertyList().setConfidentiality(4);
+		measure.getMeasurePropertyList().setIntegrity(2);
+		// (4 + 2) / (4 * 2)
+		Assert.assertEquals(.75, RRF.calculateRRFCategory(measure.getMeasurePropertyList(), scenario), 0);
+	}
+
+	private NormalMeasure createMeasure(double limitative, double preventive, double detective, double corrective)
+			throws Exception {
+		final Standard standard = new Standard("Custom", "Custom", 1);
+		final NormalMeasure measure = new NormalMeasure(new MeasureDescription("M.1", standard, true));
+		final MeasureProperties properties = new MeasureProperties();
+		properties.setLimitative(limitative);
+		properties.setPreventive(preventive);
+		properties.setDetective(detective);
+		properties.setCorrective(corrective);
+		measure.setMeasurePropertyList(properties);
+		return measure;
+	}
+}
@@ -0,0 +1,148 @@
+package lu.itrust.ts.model;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import lu.itrust.business.ts.database.service.impl.TaskRegistryJDBC;
+import lu.itrust.business.ts.messagehandler.MessageHandler;
+
+public class TestTaskRegistryJDBC {
+
+	private static final long LEASE = 60000;
+
+	private SingleConnectionDataSource dataSource;
+
+	@Before
+	public void createTable() {
+		dataSource = new SingleConnectionDataSource("jdbc:hsqldb:mem:task_registry_ut", "SA", "", true);
+		new JdbcTemplate(dataSource).execute("CREATE TABLE TaskRegistry (idTask VARCHAR(64) NOT NULL PRIMARY KEY, dtUsername VARCHAR(255) NOT NULL, "
+				+ "dtNode VARCHAR(64) NOT NULL, dtLease BIGINT NOT NULL, dtWorking BOOLEAN NOT NULL, dtSequence BIGINT NOT NULL, dtMessage LONGVARCHAR, dtCreated BIGINT NOT NULL)");
+	}
+
+	@After
+	public void dropTable() {
+		new JdbcTemplate(dataSource).execute("DROP TABLE TaskRegistry");
+		dataSource.destroy();
+	}
+
+	@Test
+	public void testRegisterLimit() {
+		final TaskRegistryJDBC registry = new TaskRegistryJDBC(dataSource, "node-1", LEASE, LEASE);
+		Assert.assertTrue(registry.register("task-1", "user", 2));
+		Assert.assertFalse("Task is already registered", registry.register("task-1", "user", 2));
+		Assert.assertTrue(registry.register("task-2", "user", 2));
+		Assert.assertFalse("User limit is reached", registry.register("task-3", "user", 2));
+		Assert.assertTrue(registry.register("task-3", "other", 2));
+		Assert.assertEquals("user", registry.findUsername("task-1"));
+		Assert.assertEquals(2, registry.findTasks("user").size());
+		Assert.assertTrue(registry.unregister("task-1"));
+		Assert.assertNull(registry.findUsername("task-1"));
+		Assert.assertTrue(registry.register("task-4", "user", 2));
+	}
+
+	@Test
+	public void testRegisterOnTwoNodes() {
+		final TaskRegistryJDBC node1 = new TaskRegistryJDBC(dataSource, "node-1", LEASE, LEASE);
+		final TaskRegistryJDBC node2 = new TaskRegistryJDBC(dataSource, "node-2", LEASE, LEASE);
+		Assert.assertTrue(node1.register("task-1", "user", 2));
+		Assert.assertFalse("Task is registered by the other node", node2.register("task-1", "other", 2));
+		Assert.assertEquals("user", node2.findUsername("task-1"));
+		Assert.assertTrue(node2.register("task-2", "user", 2));
+		Assert.assertFalse("User limit is shared by the nodes", node1.register("task-3", "user", 2));
+		Assert.assertEquals(2, node1.findTasks("user").size());
+	}
+
+	@Test
+	public void testSaveMessageSequence() {
+		final TaskRegistryJDBC registry = new TaskRegistryJDBC(dataSource, "node-1", LEASE, LEASE);
+		registry.register("task-1", "user", 1);
+		Assert.assertTrue(registry.saveMessage("task-1", new MessageHandler("info.progress", "Progress", 50), 2));
+		Assert.assertFalse("Older message cannot replace a newer one", registry.saveMessage("task-1", new MessageHandler("info.progress", "Progress", 10), 1));
+		Assert.assertEquals(50, registry.findMessage("task-1").getProgress());
+		Assert.assertTrue(registry.saveMessage("task-1", new MessageHandler("success.done", new Object[] { "analysis", 1 }, "Done", 100), 3));
+		final MessageHandler handler = registry.findMessage("task-1");
+		Assert.assertEquals("success.done", handler.getCode());
+		Assert.assertEquals(100, handler.getProgress());
+		Assert.assertArrayEquals(new Object[] { "analysis", 1 }, handler.getParameters());
+		Assert.assertFalse("Unknown task", registry.saveMessage("task-2", handler, 4));
+	}
+
+	@Test
+	public void testSaveMessages() {
+		final TaskRegistryJDBC node1 = new TaskRegistryJDBC(dataSource, "node-1", LEASE, LEASE);
+		final TaskRegistryJDBC node2 = new TaskRegistryJDBC(dataSource, "node-2", LEASE, LEASE);
+		node1.register("task-1", "user", 2);
+		node1.register("task-2", "user", 2);
+		node1.saveMessage("task-2", new MessageHandler("success.done", "Done", 100), 5);
+		final Map<String, Entry<Long, MessageHandler>> messages = new LinkedHashMap<>();
+		messages.put("task-1", Map.entry(3L, new MessageHandler("info.progress", "Progress", 30)));
+		messages.put("task-2", Map.entry(4L, new MessageHandler("info.progress", "Progress", 40)));
+		messages.put("task-3", Map.entry(6L, new MessageHandler("info.progress", "Progress", 60)));
+		final Set<String> saved = node1.saveMessages(messages);
+		Assert.assertEquals(1, saved.size());
+		Assert.assertTrue(saved.contains("task-1"));
+		Assert.assertEquals(30, node2.findMessage("task-1").getProgress());
+		Assert.assertEquals("Older message cannot replace a newer one", "success.done", node1.findMessage("task-2").getCode());
+		final Map<String, MessageHandler> handlers = node2.findMessages("user");
+		Assert.assertArrayEquals(new Object[] { "task-1", "task-2" }, handlers.keySet().toArray());
+		Assert.assertEquals(100, handlers.get("task-2").getProgress());
+	}
+
+	@Test
+	public void testRenewAndRemoval() {
+		final TaskRegistryJDBC node1 = new TaskRegistryJDBC(dataSource, "node-1", LEASE, LEASE);
+		final TaskRegistryJDBC node2 = new TaskRegistryJDBC(dataSource, "node-2", LEASE, LEASE);
+		node1.register("task-1", "user", 2);
+		node1.register("task-2", "user", 2);
+		Assert.assertTrue(node2.isProcessedElsewhere("task-1"));
+		Assert.assertFalse(node1.isProcessedElsewhere("task-1"));
+
+		// Stopped by the user on the other node
+		Assert.assertTrue(node2.unregister("task-1"));
+		final Collection<String> removed = node1.renew(id -> true);
+		Assert.assertEquals(1, removed.size());
+		Assert.assertTrue(removed.contains("task-1"));
+		Assert.assertTrue("Removed tasks are no longer renewed", node1.renew(id -> true).isEmpty());
+
+		// A task which is done is no longer processed elsewhere nor owned
+		node1.renew(id -> false);
+		Assert.assertFalse(node2.isProcessedElsewhere("task-2"));
+		Assert.assertTrue(node2.saveMessage("task-2", new MessageHandler("info.other", "Other node", 100), 1));
+		Assert.assertEquals("Message of a done task is read from the database", "info.other", node1.findMessage("task-2").getCode());
+		Assert.assertTrue(node2.unregister("task-2"));
+		Assert.assertTrue(node1.renew(id -> true).isEmpty());
+		Assert.assertNull(node1.findUsername("task-2"));
+	}
+
+	@Test
+	public void testExpire() {
+		final TaskRegistryJDBC stopped = new TaskRegistryJDBC(dataSource, "node-1", -1000, LEASE);
+		stopped.register("task-1", "user", 2);
+		stopped.saveMessage("task-1", new MessageHandler("info.progress", "Progress", 50), 1);
+		final TaskRegistryJDBC node2 = new TaskRegistryJDBC(dataSource, "node-2", LEASE, LEASE);
+		Assert.assertFalse("Lease has expired", node2.isProcessedElsewhere("task-1"));
+
+		Assert.assertEquals(1, node2.expire(new MessageHandler("error.task.lost", "Lost", new IllegalStateException("Task lost"))));
+		final MessageHandler handler = node2.findMessage("task-1");
+		Assert.assertEquals("error.task.lost", handler.getCode());
+		Assert.assertNotNull(handler.getException());
+		Assert.assertFalse("Lost message is final", stopped.saveMessage("task-1", new MessageHandler("info.progress", "Progress", 60), 2));
+		Assert.assertEquals("error.task.lost", stopped.findMessage("task-1").getCode());
+		Assert.assertTrue("Lost task is reported to its node", stopped.renew(id -> true).contains("task-1"));
+		Assert.assertEquals("Task is kept during the retention", "user", node2.findUsername("task-1"));
+
+		final TaskRegistryJDBC purge = new TaskRegistryJDBC(dataSource, "node-3", LEASE, 0);
+		purge.expire(handler);
+		Assert.assertNull(purge.findUsername("task-1"));
+	}
+}
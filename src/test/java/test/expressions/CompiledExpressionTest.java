@@ -0,0 +1,70 @@
+package test.expressions;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+import lu.itrust.business.expressions.CompiledExpression;
+import lu.itrust.business.expressions.InvalidExpressionException;
+import lu.itrust.business.expressions.StringExpressionParser;
+
+public class CompiledExpressionTest extends TestCase {
+
+	public void testCache() {
+		CompiledExpression compiled = CompiledExpression.compile("a*b+c", StringExpressionParser.PROBABILITY);
+		assertSame(compiled, CompiledExpression.compile("a*b+c", StringExpressionParser.PROBABILITY));
+		assertNotSame(compiled, CompiledExpression.compile("a*b+c", StringExpressionParser.IMPACT));
+		assertTrue(compiled.isCompiled());
+		assertEquals(3, compiled.getVariables().length);
+		assertEquals(1, compiled.getSlot("b"));
+		assertNull(CompiledExpression.compile(null, StringExpressionParser.PROBABILITY));
+	}
+
+	public void testEvalCompiled() throws InvalidExpressionException {
+		Map<String, Double> variableValueMap = new HashMap<>();
+		variableValueMap.put("a", 1.5);
+		variableValueMap.put("b", -2d);
+		CompiledExpression compiled = CompiledExpression.compile("max(a;b)*-(b-1)/2+min(a;b)", StringExpressionParser.PROBABILITY);
+		assertEquals(0.25, compiled.evaluate(variableValueMap, 0d));
+		assertEquals(0.25, new StringExpressionParser("max(a;b)*-(b-1)/2+min(a;b)", StringExpressionParser.PROBABILITY).evaluate(variableValueMap));
+	}
+
+	public void testEvalMissingValue() throws InvalidExpressionException {
+		// a has no value: the interpreter ignores the term.
+		StringExpressionParser p = new StringExpressionParser("a+1", StringExpressionParser.PROBABILITY);
+		assertEquals(1d, p.evaluate(Collections.emptyMap(), null));
+		assertEquals(4d, p.evaluate(Collections.emptyMap(), 3d));
+	}
+
+	public void testEvalBatch() throws InvalidExpressionException {
+		Map<String, double[]> columns = new HashMap<>();
+		columns.put("a", new double[] { 1, 2, 3 });
+		columns.put("b", new double[] { -1, 0, 5 });
+		StringExpressionParser p = new StringExpressionParser("a*b+max(a;b)", StringExpressionParser.PROBABILITY);
+		double[] results = p.evaluate(columns, 3, 0d);
+		assertEquals(3, results.length);
+		assertEquals(0d, results[0]);
+		assertEquals(2d, results[1]);
+		assertEquals(20d, results[2]);
+		// z has no column: the default value is used.
+		results = new StringExpressionParser("z+a", StringExpressionParser.PROBABILITY).evaluate(columns, 3, 1d);
+		assertEquals(4d, results[2]);
+	}
+
+	public void testInvalid() {
+		CompiledExpression compiled = CompiledExpression.compile("a+(b", StringExpressionParser.PROBABILITY);
+		assertTrue(compiled.isTokenized());
+		assertFalse(compiled.isCompiled());
+		try {
+			new StringExpressionParser("a+(b", StringExpressionParser.PROBABILITY).evaluate(Collections.emptyMap());
+			fail();
+		} catch (InvalidExpressionException e) {
+		}
+		try {
+			new StringExpressionParser("foo(1)", StringExpressionParser.PROBABILITY).evaluate(Collections.emptyMap());
+			fail();
+		} catch (InvalidExpressionException e) {
+		}
+	}
+}